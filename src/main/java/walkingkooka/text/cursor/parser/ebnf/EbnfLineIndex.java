@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf;
+
+import walkingkooka.text.CharSequences;
+
+import java.util.Objects;
+
+/**
+ * An index of the offset where each line of some text begins, so the line and column of any offset may be found by
+ * a binary search rather than scanning from the start of the text. The index is only built the first time it is
+ * needed, so creating one for text that parses without errors costs nothing.
+ * <br>
+ * A line ends with a NL, CR or CR NL, lines and columns begin at 1.
+ */
+public final class EbnfLineIndex {
+
+    public static EbnfLineIndex with(final CharSequence text) {
+        return new EbnfLineIndex(
+                Objects.requireNonNull(text, "text")
+        );
+    }
+
+    private EbnfLineIndex(final CharSequence text) {
+        this.text = text;
+    }
+
+    /**
+     * Returns the line number holding the given offset.
+     */
+    public int lineNumber(final int offset) {
+        return this.lineIndex(offset) + 1;
+    }
+
+    /**
+     * Returns the column number of the given offset within its line.
+     */
+    public int columnNumber(final int offset) {
+        return offset - this.lineStarts()[this.lineIndex(offset)] + 1;
+    }
+
+    /**
+     * Returns the text of the line holding the given offset, without its line ending.
+     */
+    public CharSequence line(final int offset) {
+        final int index = this.lineIndex(offset);
+        final int[] lineStarts = this.lineStarts();
+        final CharSequence text = this.text;
+
+        int end = index + 1 < this.count ?
+                lineStarts[index + 1] :
+                text.length();
+        while (end > lineStarts[index] && isLineEnding(text.charAt(end - 1))) {
+            end--;
+        }
+
+        return text.subSequence(
+                lineStarts[index],
+                end
+        );
+    }
+
+    /**
+     * Returns the index of the line holding the offset using a binary search of the line starts.
+     */
+    private int lineIndex(final int offset) {
+        final CharSequence text = this.text;
+        if (offset < 0 || offset > text.length()) {
+            throw new IllegalArgumentException("Invalid offset " + offset + " not between 0 and " + text.length());
+        }
+
+        final int[] lineStarts = this.lineStarts();
+        int low = 0;
+        int high = this.count - 1;
+
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (lineStarts[middle] <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Lazily builds and returns the offset where each line begins.
+     */
+    private int[] lineStarts() {
+        int[] lineStarts = this.lineStarts;
+        if (null == lineStarts) {
+            final CharSequence text = this.text;
+            final int length = text.length();
+
+            lineStarts = new int[16];
+            int count = 1;
+
+            for (int i = 0; i < length; i++) {
+                final char c = text.charAt(i);
+                if (isLineEnding(c)) {
+                    if ('\r' == c && i + 1 < length && '\n' == text.charAt(i + 1)) {
+                        i++;
+                    }
+                    if (count == lineStarts.length) {
+                        final int[] grown = new int[count * 2];
+                        System.arraycopy(lineStarts, 0, grown, 0, count);
+                        lineStarts = grown;
+                    }
+                    lineStarts[count] = i + 1;
+                    count++;
+                }
+            }
+
+            this.count = count;
+            this.lineStarts = lineStarts;
+        }
+
+        return lineStarts;
+    }
+
+    private static boolean isLineEnding(final char c) {
+        return '\n' == c || '\r' == c;
+    }
+
+    private final CharSequence text;
+
+    /**
+     * The offset of the first character of each line, only the first {@link #count} are used.
+     */
+    private int[] lineStarts;
+
+    /**
+     * The number of lines.
+     */
+    private int count;
+
+    @Override
+    public String toString() {
+        final CharSequence text = this.text;
+
+        return CharSequences.quoteAndEscape(
+                text.subSequence(
+                        0,
+                        Math.min(text.length(), 32)
+                )
+        ).toString();
+    }
+}
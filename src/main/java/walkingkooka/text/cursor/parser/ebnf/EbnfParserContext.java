@@ -14,9 +14,20 @@
  * limitations under the License.
  *
  */
+
 package walkingkooka.text.cursor.parser.ebnf;
 
 import walkingkooka.text.cursor.parser.ParserContext;
 
+import java.util.Optional;
+
 public interface EbnfParserContext extends ParserContext {
+
+    /**
+     * Returns the {@link EbnfLineIndex} for the text being parsed if one is available, which may be used to find the
+     * line and column of an offset without scanning the text.
+     */
+    default Optional<EbnfLineIndex> lineIndex() {
+        return Optional.empty();
+    }
 }
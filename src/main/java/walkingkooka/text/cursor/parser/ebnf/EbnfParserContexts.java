@@ -28,6 +28,17 @@ public final class EbnfParserContexts implements PublicStaticHelper {
         return BasicEbnfParserContext.instance();
     }
 
+    /**
+     * {@see LineIndexEbnfParserContext}
+     */
+    public static EbnfParserContext lineIndex(final EbnfParserContext context,
+                                              final CharSequence text) {
+        return LineIndexEbnfParserContext.with(
+                context,
+                text
+        );
+    }
+
     /**
      * Stop creation.
      */
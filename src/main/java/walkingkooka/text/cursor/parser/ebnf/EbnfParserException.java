@@ -19,19 +19,106 @@ package walkingkooka.text.cursor.parser.ebnf;
 
 import walkingkooka.text.cursor.parser.ParserException;
 
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Base exception for all EBNF grammar parsing and parser building errors.
+ * <br>
+ * Exceptions created by {@link #stackless(Supplier)} do not capture a stack trace and only build their message when
+ * it is first requested, which makes them cheap enough to create when rejecting bad input is routine.
+ */
 public class EbnfParserException extends ParserException {
 
+    /**
+     * Creates an exception without a stack trace, whose message is only built by {@link #getMessage()}.
+     */
+    public static EbnfParserException stackless(final Supplier<String> message) {
+        return new EbnfParserException(message);
+    }
+
     protected EbnfParserException() {
         super();
+        this.stackTrace = true;
+        this.fillInStackTrace();
     }
 
     public EbnfParserException(final String message) {
         super(message);
+        this.stackTrace = true;
+        this.fillInStackTrace();
     }
 
     public EbnfParserException(final String message, final Throwable cause) {
         super(message, cause);
+        this.stackTrace = true;
+        this.fillInStackTrace();
+    }
+
+    /**
+     * Used by sub classes to create a stackless exception with a lazy message.
+     */
+    protected EbnfParserException(final Supplier<String> message) {
+        super();
+        this.message = Objects.requireNonNull(message, "message");
+    }
+
+    /**
+     * Only captures a stack trace for exceptions not created by {@link #stackless(Supplier)}. The stack trace is
+     * captured directly in each constructor, because the JVM skips constructor frames but not those of a helper
+     * method.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this.stackTrace ?
+                super.fillInStackTrace() :
+                this;
     }
 
+    /**
+     * Only false for stackless exceptions, and while the {@link Throwable} constructor is running.
+     */
+    private boolean stackTrace;
+
+    /**
+     * Builds the lazy message if one is present, otherwise returns the message given to the constructor. The
+     * {@link Supplier} is cleared after the built message is published, so a thread that sees it cleared also sees the
+     * built message.
+     */
+    @Override
+    public String getMessage() {
+        String builtMessage = this.builtMessage;
+        if (null == builtMessage) {
+            final Supplier<String> message = this.message;
+            if (null != message) {
+                builtMessage = message.get();
+                this.builtMessage = builtMessage;
+                this.message = null;
+            } else {
+                builtMessage = this.builtMessage;
+            }
+        }
+
+        return null != builtMessage ?
+                builtMessage :
+                super.getMessage();
+    }
+
+    /**
+     * Builds the lazy message before this exception or a sub class is serialized, because the {@link Supplier} is not
+     * serialized.
+     */
+    protected final Object writeReplace() {
+        this.getMessage();
+        return this;
+    }
+
+    /**
+     * The lazy message, cleared once it has been built.
+     */
+    private transient volatile Supplier<String> message;
+
+    private volatile String builtMessage;
+
     private final static long serialVersionUID = 1L;
 }
@@ -36,14 +36,18 @@ import java.util.Objects;
 public abstract class EbnfParserToken implements ParserToken {
 
     /**
-     * Parses the given EBNF grammar returning the {@link GrammarEbnfParserToken}.
+     * Parses the given EBNF grammar returning the {@link GrammarEbnfParserToken}. The line and column of any invalid
+     * character are found using a {@link EbnfLineIndex} of the text.
      */
     public static GrammarEbnfParserToken parse(final String text) {
         return EbnfParserToken.grammarParser()
                 .orFailIfCursorNotEmpty(ParserReporters.basic())
                 .parseText(
                         text,
-                        EbnfParserContexts.basic()
+                        EbnfParserContexts.lineIndex(
+                                EbnfParserContexts.basic(),
+                                text
+                        )
                 ).cast(GrammarEbnfParserToken.class);
     }
 
@@ -17,12 +17,17 @@
 package walkingkooka.text.cursor.parser.ebnf;
 
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.collect.set.SortedSets;
+import walkingkooka.collect.stack.Stack;
+import walkingkooka.collect.stack.Stacks;
 import walkingkooka.text.cursor.parser.Parser;
 import walkingkooka.text.cursor.parser.ParserContext;
 import walkingkooka.text.cursor.parser.ParserToken;
 import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformer;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformers;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorRecognizer;
 import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinators;
 import walkingkooka.visit.Visiting;
 
@@ -93,6 +98,83 @@ public final class GrammarEbnfParserToken extends ParentEbnfParserToken {
         }
     }
 
+    /**
+     * Returns a {@link GrammarEbnfParserToken} that only contains the rules that are reachable from the given rules,
+     * dropping any dead rules so they are not transformed into parsers. References to identifiers that are not rules
+     * within this grammar, such as external parsers are ignored.
+     * <br>
+     * This is opt-in, {@link #combinator(Function, EbnfParserCombinatorGrammarTransformer)} and
+     * {@link EbnfParserCombinators#transform(GrammarEbnfParserToken, Function, EbnfParserCombinatorGrammarTransformer)}
+     * return a parser for every rule, because they cannot know which rules will be asked for. Callers that only use a
+     * few start rules should call this first, for example <code>grammar.reachable(starts).combinator(...)</code>.
+     */
+    public GrammarEbnfParserToken reachable(final Set<EbnfIdentifierName> rules) {
+        Objects.requireNonNull(rules, "rules");
+
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> nameToRule = Maps.ordered();
+        for (final ParserToken token : this.value()) {
+            if (token instanceof RuleEbnfParserToken) {
+                final RuleEbnfParserToken rule = (RuleEbnfParserToken) token;
+                nameToRule.put(
+                        rule.identifier().value(),
+                        rule
+                );
+            }
+        }
+
+        final Set<EbnfIdentifierName> missing = SortedSets.tree();
+        missing.addAll(rules);
+        missing.removeAll(nameToRule.keySet());
+        if (false == missing.isEmpty()) {
+            throw new EbnfGrammarParserTokenInvalidReferencesException(missing.size() + " invalid (unknown) rules=" + missing, missing);
+        }
+
+        final Set<EbnfIdentifierName> reachable = Sets.hash();
+        final Stack<EbnfIdentifierName> pending = Stacks.jdk();
+        for (final EbnfIdentifierName rule : rules) {
+            pending.push(rule);
+        }
+
+        while (pending.isNotEmpty()) {
+            final EbnfIdentifierName name = pending.peek();
+            pending.pop();
+
+            final RuleEbnfParserToken rule = nameToRule.get(name);
+            if (null != rule && reachable.add(name)) {
+                final GrammarEbnfParserTokenReferenceCollectorEbnfParserTokenVisitor visitor = GrammarEbnfParserTokenReferenceCollectorEbnfParserTokenVisitor.with();
+                visitor.accept(rule.assignment());
+
+                for (final EbnfIdentifierName reference : visitor.references) {
+                    pending.push(reference);
+                }
+            }
+        }
+
+        return reachable.size() == nameToRule.size() ?
+                this :
+                this.removeRules(reachable);
+    }
+
+    private GrammarEbnfParserToken removeRules(final Set<EbnfIdentifierName> keep) {
+        final List<ParserToken> tokens = Lists.array();
+
+        for (final ParserToken token : this.value()) {
+            if (token instanceof RuleEbnfParserToken && false == keep.contains(((RuleEbnfParserToken) token).identifier().value())) {
+                continue;
+            }
+            tokens.add(token);
+        }
+
+        return new GrammarEbnfParserToken(
+                Lists.immutable(tokens),
+                ParserToken.text(tokens)
+        );
+    }
+
+    /**
+     * Transforms every rule in this grammar into a {@link Parser}, dead rules included. Use {@link #reachable(Set)}
+     * first to only transform the rules reachable from known start rules.
+     */
     public <C extends ParserContext> Function<EbnfIdentifierName, Optional<Parser<C>>> combinator(final Function<EbnfIdentifierName, Optional<Parser<C>>> identifierToParser,
                                                                                                   final EbnfParserCombinatorGrammarTransformer<C> transformer) {
         return EbnfParserCombinators.transform(
@@ -102,6 +184,55 @@ public final class GrammarEbnfParserToken extends ParentEbnfParserToken {
         );
     }
 
+    /**
+     * Identical in functionality to {@link #combinator(Function, EbnfParserCombinatorGrammarTransformer)}, except only the
+     * captured rules, and the rules that contain them, build tokens and are given to the transformer. All other rules are
+     * matched by a {@link EbnfParserCombinatorRecognizer} and return a single string token.
+     */
+    public <C extends ParserContext> Function<EbnfIdentifierName, Optional<Parser<C>>> combinator(final Function<EbnfIdentifierName, Optional<Parser<C>>> identifierToParser,
+                                                                                                  final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                                  final Set<EbnfIdentifierName> capture) {
+        return this.combinator(
+                identifierToParser,
+                EbnfParserCombinatorGrammarTransformers.recognizing(
+                        transformer,
+                        EbnfParserCombinators.uncaptured(
+                                this,
+                                capture
+                        )
+                )
+        );
+    }
+
+    /**
+     * Identical in functionality to {@link #combinator(Function, EbnfParserCombinatorGrammarTransformer)}, except this grammar must be LL(1).
+     */
+    public <C extends ParserContext> Function<EbnfIdentifierName, Optional<Parser<C>>> combinatorLl1(final Function<EbnfIdentifierName, Optional<Parser<C>>> identifierToParser,
+                                                                                                     final EbnfParserCombinatorGrammarTransformer<C> transformer) {
+        return EbnfParserCombinators.transformLl1(
+                this,
+                identifierToParser,
+                transformer
+        );
+    }
+
+    /**
+     * Returns a message for each LL(1) conflict within this grammar, an empty list means {@link #combinatorLl1(Function, EbnfParserCombinatorGrammarTransformer)} may be used.
+     */
+    public List<String> ll1Conflicts() {
+        return EbnfParserCombinators.ll1Conflicts(this);
+    }
+
+    /**
+     * Returns a {@link EbnfParserCombinatorRecognizer} for each rule in this grammar, which tests text without creating any tokens.
+     */
+    public Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers(final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> identifierToRecognizer) {
+        return EbnfParserCombinators.recognizers(
+                this,
+                identifierToRecognizer
+        );
+    }
+
     /**
      * Identical in functionality to {@link #combinator(Function, EbnfParserCombinatorGrammarTransformer)}, except the function return will throw if the parser requested is not found.
      */
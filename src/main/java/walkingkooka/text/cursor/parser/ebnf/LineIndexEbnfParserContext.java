@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf;
+
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.datetime.DateTimeSymbols;
+import walkingkooka.math.DecimalNumberContext;
+import walkingkooka.math.DecimalNumberContextDelegator;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link EbnfParserContext} that carries an {@link EbnfLineIndex} for the text being parsed, and uses it to find the
+ * line and column of invalid characters by a binary search. All other methods delegate to the wrapped context.
+ */
+final class LineIndexEbnfParserContext implements EbnfParserContext,
+        DecimalNumberContextDelegator {
+
+    static LineIndexEbnfParserContext with(final EbnfParserContext context,
+                                           final CharSequence text) {
+        Objects.requireNonNull(context, "context");
+
+        return new LineIndexEbnfParserContext(
+                context,
+                EbnfLineIndex.with(text)
+        );
+    }
+
+    private LineIndexEbnfParserContext(final EbnfParserContext context,
+                                       final EbnfLineIndex lineIndex) {
+        this.context = context;
+        this.lineIndex = Optional.of(lineIndex);
+    }
+
+    @Override
+    public Optional<EbnfLineIndex> lineIndex() {
+        return this.lineIndex;
+    }
+
+    private final Optional<EbnfLineIndex> lineIndex;
+
+    // ParserContext....................................................................................................
+
+    @Override
+    public boolean canNumbersHaveGroupSeparator() {
+        return this.context.canNumbersHaveGroupSeparator();
+    }
+
+    /**
+     * Creates the same exception as {@link walkingkooka.text.cursor.parser.InvalidCharacterExceptionFactory#COLUMN_AND_LINE_EXPECTED},
+     * with the line and column found using the {@link EbnfLineIndex}.
+     */
+    @Override
+    public InvalidCharacterException invalidCharacterException(final Parser<?> parser,
+                                                               final TextCursor cursor) {
+        final int offset = cursor.lineInfo()
+                .textOffset();
+        final EbnfLineIndex lineIndex = this.lineIndex.get();
+        final int column = lineIndex.columnNumber(offset);
+
+        return new InvalidCharacterException(
+                lineIndex.line(offset)
+                        .toString(),
+                column - 1
+        ).setColumnAndLine(
+                column,
+                lineIndex.lineNumber(offset)
+        ).appendToMessage("expected " + parser);
+    }
+
+    @Override
+    public char valueSeparator() {
+        return this.context.valueSeparator();
+    }
+
+    // DateTimeContext..................................................................................................
+
+    @Override
+    public List<String> ampms() {
+        return this.context.ampms();
+    }
+
+    @Override
+    public int defaultYear() {
+        return this.context.defaultYear();
+    }
+
+    @Override
+    public Locale locale() {
+        return this.context.locale();
+    }
+
+    @Override
+    public List<String> monthNames() {
+        return this.context.monthNames();
+    }
+
+    @Override
+    public List<String> monthNameAbbreviations() {
+        return this.context.monthNameAbbreviations();
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return this.context.now();
+    }
+
+    @Override
+    public int twoDigitYear() {
+        return this.context.twoDigitYear();
+    }
+
+    @Override
+    public List<String> weekDayNames() {
+        return this.context.weekDayNames();
+    }
+
+    @Override
+    public List<String> weekDayNameAbbreviations() {
+        return this.context.weekDayNameAbbreviations();
+    }
+
+    @Override
+    public DateTimeSymbols dateTimeSymbols() {
+        return this.context.dateTimeSymbols();
+    }
+
+    // DecimalNumberContextDelegator....................................................................................
+
+    @Override
+    public DecimalNumberContext decimalNumberContext() {
+        return this.context;
+    }
+
+    /**
+     * The wrapped {@link EbnfParserContext}.
+     */
+    private final EbnfParserContext context;
+
+    @Override
+    public String toString() {
+        return this.context + " " + this.lineIndex.get();
+    }
+}
@@ -96,7 +96,7 @@ final class TerminalEbnfParser implements Parser<EbnfParserContext>,
                             unicodeIndex = 0;
                             break;
                         default:
-                            throw new TerminalEbnfParserException("Invalid backslash sequence '" + c + "'");
+                            throw TerminalEbnfParserException.stackless(() -> "Invalid backslash sequence '" + c + "'");
                     }
                     backslash = false;
                     continue;
@@ -104,7 +104,7 @@ final class TerminalEbnfParser implements Parser<EbnfParserContext>,
                 if (unicodeIndex >= 0) {
                     final int digit = Character.digit(c, 16);
                     if (-1 == digit) {
-                        throw new TerminalEbnfParserException("Invalid unicode sequence '" + c + "'");
+                        throw TerminalEbnfParserException.stackless(() -> "Invalid unicode sequence '" + c + "'");
                     }
                     unicodeChar = (char) (unicodeChar * 16 + digit);
                     unicodeIndex++;
@@ -17,11 +17,20 @@
 
 package walkingkooka.text.cursor.parser.ebnf;
 
+import java.util.function.Supplier;
+
 /**
  * Used to report errors in a terminal sequence such as an invalid unicode escape sequence or backslash escape character.
  */
 public class TerminalEbnfParserException extends EbnfParserException {
 
+    /**
+     * Creates an exception without a stack trace, whose message is only built by {@link #getMessage()}.
+     */
+    public static TerminalEbnfParserException stackless(final Supplier<String> message) {
+        return new TerminalEbnfParserException(message);
+    }
+
     protected TerminalEbnfParserException() {
         super();
     }
@@ -34,5 +43,9 @@ public class TerminalEbnfParserException extends EbnfParserException {
         super(message, cause);
     }
 
+    protected TerminalEbnfParserException(final Supplier<String> message) {
+        super(message);
+    }
+
     private final static long serialVersionUID = 1L;
 }
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.CharSequences;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of characters, held as sorted non overlapping ranges. ASCII characters are also held within two
+ * longs, so testing those needs no search.
+ */
+final class EbnfParserCombinatorCharSet {
+
+    /**
+     * Holds no characters.
+     */
+    final static EbnfParserCombinatorCharSet EMPTY = new EbnfParserCombinatorCharSet(new int[0]);
+
+    static EbnfParserCombinatorCharSet character(final char c) {
+        return range(c, c);
+    }
+
+    static EbnfParserCombinatorCharSet range(final char begin,
+                                             final char end) {
+        if (begin > end) {
+            throw new IllegalArgumentException("Invalid range begin " + quote(begin) + " > end " + quote(end));
+        }
+
+        return new EbnfParserCombinatorCharSet(
+                new int[]{
+                        begin,
+                        end
+                }
+        );
+    }
+
+    /**
+     * The ranges must be sorted, not overlapping and not adjacent.
+     */
+    private EbnfParserCombinatorCharSet(final int[] ranges) {
+        this.ranges = ranges;
+
+        long low = 0;
+        long high = 0;
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            for (int c = ranges[i]; c <= ranges[i + 1] && c < EbnfParserCombinatorFirstSet.ASCII; c++) {
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << (c - 64);
+                }
+            }
+        }
+
+        this.low = low;
+        this.high = high;
+    }
+
+    boolean isEmpty() {
+        return 0 == this.ranges.length;
+    }
+
+    boolean test(final char c) {
+        return c < 64 ?
+                0 != (this.low & (1L << c)) :
+                c < EbnfParserCombinatorFirstSet.ASCII ?
+                        0 != (this.high & (1L << (c - 64))) :
+                        this.testRanges(c);
+    }
+
+    /**
+     * Returns the number of characters in this set.
+     */
+    int size() {
+        final int[] ranges = this.ranges;
+        int size = 0;
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            size += ranges[i + 1] - ranges[i] + 1;
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns the character at the given index, counting characters in ascending order.
+     */
+    char get(final int index) {
+        final int[] ranges = this.ranges;
+        int remaining = index;
+
+        if (remaining >= 0) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                final int count = ranges[i + 1] - ranges[i] + 1;
+                if (remaining < count) {
+                    return (char) (ranges[i] + remaining);
+                }
+                remaining -= count;
+            }
+        }
+
+        throw new IndexOutOfBoundsException("Invalid index " + index + " not between 0 and " + this.size());
+    }
+
+    private boolean testRanges(final char c) {
+        final int[] ranges = this.ranges;
+
+        int lo = 0;
+        int hi = ranges.length / 2 - 1;
+
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (c < ranges[mid * 2]) {
+                hi = mid - 1;
+            } else if (c > ranges[mid * 2 + 1]) {
+                lo = mid + 1;
+            } else {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns a set holding characters from either set.
+     */
+    EbnfParserCombinatorCharSet union(final EbnfParserCombinatorCharSet other) {
+        final int[] left = this.ranges;
+        final int[] right = other.ranges;
+
+        final int[] merged = new int[left.length + right.length];
+        int count = 0;
+        int l = 0;
+        int r = 0;
+
+        while (l < left.length || r < right.length) {
+            final int begin;
+            final int end;
+
+            if (r >= right.length || (l < left.length && left[l] <= right[r])) {
+                begin = left[l];
+                end = left[l + 1];
+                l += 2;
+            } else {
+                begin = right[r];
+                end = right[r + 1];
+                r += 2;
+            }
+
+            if (count > 0 && begin <= merged[count - 1] + 1) {
+                merged[count - 1] = Math.max(
+                        merged[count - 1],
+                        end
+                );
+            } else {
+                merged[count++] = begin;
+                merged[count++] = end;
+            }
+        }
+
+        return new EbnfParserCombinatorCharSet(
+                Arrays.copyOf(
+                        merged,
+                        count
+                )
+        );
+    }
+
+    /**
+     * Returns a set holding characters from this set that are not in the other set.
+     */
+    EbnfParserCombinatorCharSet difference(final EbnfParserCombinatorCharSet other) {
+        final int[] left = this.ranges;
+        final int[] right = other.ranges;
+
+        // each subtracted range may split at most one range in two
+        final int[] result = new int[left.length + right.length];
+        int count = 0;
+        int r = 0;
+
+        for (int l = 0; l < left.length; l += 2) {
+            int begin = left[l];
+            final int end = left[l + 1];
+
+            // skip subtracted ranges entirely before this range
+            while (r < right.length && right[r + 1] < begin) {
+                r += 2;
+            }
+
+            int i = r;
+            while (i < right.length && right[i] <= end && begin <= end) {
+                if (right[i] > begin) {
+                    result[count++] = begin;
+                    result[count++] = right[i] - 1;
+                }
+                begin = Math.max(
+                        begin,
+                        right[i + 1] + 1
+                );
+                i += 2;
+            }
+
+            if (begin <= end) {
+                result[count++] = begin;
+                result[count++] = end;
+            }
+        }
+
+        return new EbnfParserCombinatorCharSet(
+                Arrays.copyOf(
+                        result,
+                        count
+                )
+        );
+    }
+
+    /**
+     * Pairs of inclusive begin and end characters.
+     */
+    private final int[] ranges;
+
+    /**
+     * Characters 0 to 63.
+     */
+    private final long low;
+
+    /**
+     * Characters 64 to 127.
+     */
+    private final long high;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.ranges);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+                other instanceof EbnfParserCombinatorCharSet &&
+                        Arrays.equals(
+                                this.ranges,
+                                ((EbnfParserCombinatorCharSet) other).ranges
+                        );
+    }
+
+    /**
+     * Single characters are quoted, ranges are quoted begin and end separated by two dots, eg <pre>"a".."z" "_"</pre>.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        final int[] ranges = this.ranges;
+        String separator = "";
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            final char begin = (char) ranges[i];
+            final char end = (char) ranges[i + 1];
+
+            b.append(separator);
+            b.append(quote(begin));
+            if (begin != end) {
+                b.append("..");
+                b.append(quote(end));
+            }
+
+            separator = " ";
+        }
+
+        return b.toString();
+    }
+
+    private static CharSequence quote(final char c) {
+        return CharSequences.quoteAndEscape(
+                String.valueOf(c)
+        );
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} for exceptions where only the right side is a {@link EbnfParserCombinatorCharSet}, such as
+ * <pre>CHAR - "q"</pre>. The next character is tested against the set before the left {@link Parser} is attempted,
+ * rather than parsing the right side at every position.
+ */
+final class EbnfParserCombinatorCharSetGuardParser<C extends ParserContext> implements Parser<C> {
+
+    /**
+     * The equivalent {@link Parser} is only used for {@link #toString()}.
+     */
+    static <C extends ParserContext> EbnfParserCombinatorCharSetGuardParser<C> with(final Parser<C> parser,
+                                                                                    final EbnfParserCombinatorCharSet excluded,
+                                                                                    final Parser<C> equivalent) {
+        return new EbnfParserCombinatorCharSetGuardParser<>(
+                Objects.requireNonNull(parser, "parser"),
+                Objects.requireNonNull(excluded, "excluded"),
+                Objects.requireNonNull(equivalent, "equivalent")
+        );
+    }
+
+    private EbnfParserCombinatorCharSetGuardParser(final Parser<C> parser,
+                                                   final EbnfParserCombinatorCharSet excluded,
+                                                   final Parser<C> equivalent) {
+        this.parser = parser;
+        this.excluded = excluded;
+        this.equivalent = equivalent;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        return false == cursor.isEmpty() && this.excluded.test(cursor.at()) ?
+                Optional.empty() :
+                this.parser.parse(
+                        cursor,
+                        context
+                );
+    }
+
+    @Override
+    public int minCount() {
+        return this.parser.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.parser.maxCount();
+    }
+
+    private final Parser<C> parser;
+
+    /**
+     * Characters matched by the right side of the exception.
+     */
+    private final EbnfParserCombinatorCharSet excluded;
+
+    /**
+     * The equivalent un-optimized {@link Parser}, used for {@link #toString()}.
+     */
+    private final Parser<C> equivalent;
+
+    @Override
+    public String toString() {
+        return this.equivalent.toString();
+    }
+}
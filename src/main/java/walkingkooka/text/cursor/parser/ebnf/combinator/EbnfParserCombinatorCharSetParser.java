@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.RequiredParser;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that matches a single character within a {@link EbnfParserCombinatorCharSet}, returning the same
+ * string token a terminal or range would. Used for exceptions where both sides are character sets, such as
+ * <pre>"a".."z" - "q"</pre>, replacing a parse of both sides with a single test. Tokens for ASCII characters are
+ * created once.
+ */
+final class EbnfParserCombinatorCharSetParser<C extends ParserContext> implements Parser<C>,
+        RequiredParser<C> {
+
+    /**
+     * The equivalent {@link Parser} is only used for {@link #toString()}.
+     */
+    static <C extends ParserContext> EbnfParserCombinatorCharSetParser<C> with(final EbnfParserCombinatorCharSet charSet,
+                                                                               final Parser<C> equivalent) {
+        return new EbnfParserCombinatorCharSetParser<>(
+                Objects.requireNonNull(charSet, "charSet"),
+                Objects.requireNonNull(equivalent, "equivalent")
+        );
+    }
+
+    private EbnfParserCombinatorCharSetParser(final EbnfParserCombinatorCharSet charSet,
+                                              final Parser<C> equivalent) {
+        this.charSet = charSet;
+        this.equivalent = equivalent;
+
+        final ParserToken[] tokens = new ParserToken[EbnfParserCombinatorFirstSet.ASCII];
+        for (char c = 0; c < EbnfParserCombinatorFirstSet.ASCII; c++) {
+            if (charSet.test(c)) {
+                tokens[c] = token(c);
+            }
+        }
+        this.tokens = tokens;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        ParserToken token = null;
+
+        if (false == cursor.isEmpty()) {
+            final char c = cursor.at();
+            if (this.charSet.test(c)) {
+                cursor.next();
+
+                token = c < EbnfParserCombinatorFirstSet.ASCII ?
+                        this.tokens[c] :
+                        token(c);
+            }
+        }
+
+        return Optional.ofNullable(token);
+    }
+
+    private static ParserToken token(final char c) {
+        final String text = String.valueOf(c);
+        return ParserTokens.string(
+                text,
+                text
+        );
+    }
+
+    private final EbnfParserCombinatorCharSet charSet;
+
+    /**
+     * Tokens for the ASCII characters within the set.
+     */
+    private final ParserToken[] tokens;
+
+    /**
+     * The equivalent un-optimized {@link Parser}, used for {@link #toString()}.
+     */
+    private final Parser<C> equivalent;
+
+    @Override
+    public String toString() {
+        return this.equivalent.toString();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Computes the {@link EbnfParserCombinatorCharSet} for tokens that always match exactly one character, such as single
+ * character terminals and ranges, alternatives of those, and exceptions between those. All other tokens, including
+ * recursive rules and external parsers, have no set.
+ */
+final class EbnfParserCombinatorCharSets {
+
+    /**
+     * The {@link Predicate} is used to test if a terminal or range will be matched exactly as written in the grammar,
+     * when it fails that token has no set.
+     */
+    static EbnfParserCombinatorCharSets with(final Map<EbnfIdentifierName, RuleEbnfParserToken> rules,
+                                             final Predicate<EbnfParserToken> exact) {
+        return new EbnfParserCombinatorCharSets(
+                Objects.requireNonNull(rules, "rules"),
+                Objects.requireNonNull(exact, "exact")
+        );
+    }
+
+    private EbnfParserCombinatorCharSets(final Map<EbnfIdentifierName, RuleEbnfParserToken> rules,
+                                         final Predicate<EbnfParserToken> exact) {
+        this.rules = rules;
+        this.exact = exact;
+    }
+
+    /**
+     * Returns the set of characters matched by the given token if it always matches a single character.
+     */
+    Optional<EbnfParserCombinatorCharSet> charSet(final EbnfParserToken token) {
+        Objects.requireNonNull(token, "token");
+
+        Optional<EbnfParserCombinatorCharSet> charSet = this.tokenToCharSet.get(token);
+        if (null == charSet) {
+            charSet = this.compute(token);
+
+            // missing sets are not cached, a range may be exact once its parser has been created
+            if (charSet.isPresent()) {
+                this.tokenToCharSet.put(
+                        token,
+                        charSet
+                );
+            }
+        }
+        return charSet;
+    }
+
+    /**
+     * Cache of previously computed sets.
+     */
+    private final Map<EbnfParserToken, Optional<EbnfParserCombinatorCharSet>> tokenToCharSet = Maps.hash();
+
+    private Optional<EbnfParserCombinatorCharSet> compute(final EbnfParserToken token) {
+        EbnfParserCombinatorCharSet charSet = null;
+
+        if (token.isAlternative()) {
+            charSet = EbnfParserCombinatorCharSet.EMPTY;
+            for (final EbnfParserToken child : EbnfParserCombinatorTokens.children(token)) {
+                final Optional<EbnfParserCombinatorCharSet> childCharSet = this.charSet(child);
+                if (false == childCharSet.isPresent()) {
+                    charSet = null;
+                    break;
+                }
+                charSet = charSet.union(
+                        childCharSet.get()
+                );
+            }
+        } else if (token.isException()) {
+            final List<EbnfParserToken> children = EbnfParserCombinatorTokens.children(token);
+            final Optional<EbnfParserCombinatorCharSet> left = this.charSet(children.get(0));
+            final Optional<EbnfParserCombinatorCharSet> right = this.charSet(children.get(1));
+            if (left.isPresent() && right.isPresent()) {
+                charSet = left.get()
+                        .difference(right.get());
+            }
+        } else if (token.isGroup()) {
+            charSet = this.charSet(
+                    EbnfParserCombinatorTokens.child(token)
+            ).orElse(null);
+        } else if (token.isIdentifier()) {
+            charSet = this.identifier(
+                    token.cast(IdentifierEbnfParserToken.class)
+            );
+        } else if (token.isRange()) {
+            charSet = this.range(
+                    token.cast(RangeEbnfParserToken.class)
+            );
+        } else if (token.isRule()) {
+            charSet = this.charSet(
+                    token.cast(RuleEbnfParserToken.class)
+                            .assignment()
+            ).orElse(null);
+        } else if (token.isTerminal()) {
+            charSet = this.terminal(
+                    token.cast(TerminalEbnfParserToken.class)
+            );
+        }
+
+        return Optional.ofNullable(charSet);
+    }
+
+    /**
+     * Identifiers for rules use the set of the rule, unless the rule refers back to itself.
+     */
+    private EbnfParserCombinatorCharSet identifier(final IdentifierEbnfParserToken token) {
+        EbnfParserCombinatorCharSet charSet = null;
+
+        final EbnfIdentifierName name = token.value();
+        final RuleEbnfParserToken rule = this.rules.get(name);
+        if (null != rule && this.computing.add(name)) {
+            try {
+                charSet = this.charSet(rule)
+                        .orElse(null);
+            } finally {
+                this.computing.remove(name);
+            }
+        }
+
+        return charSet;
+    }
+
+    /**
+     * Rules currently being computed, used to detect recursion.
+     */
+    private final Set<EbnfIdentifierName> computing = Sets.hash();
+
+    private EbnfParserCombinatorCharSet range(final RangeEbnfParserToken token) {
+        EbnfParserCombinatorCharSet charSet = null;
+
+        if (this.exact.test(token)) {
+            final Optional<String> begin = EbnfParserCombinatorTokens.terminalText(
+                    token.begin(),
+                    this.rules
+            );
+            final Optional<String> end = EbnfParserCombinatorTokens.terminalText(
+                    token.end(),
+                    this.rules
+            );
+            if (begin.isPresent() && end.isPresent()) {
+                final String beginText = begin.get();
+                final String endText = end.get();
+
+                if (1 == beginText.length() && 1 == endText.length() && beginText.charAt(0) <= endText.charAt(0)) {
+                    charSet = EbnfParserCombinatorCharSet.range(
+                            beginText.charAt(0),
+                            endText.charAt(0)
+                    );
+                }
+            }
+        }
+
+        return charSet;
+    }
+
+    private EbnfParserCombinatorCharSet terminal(final TerminalEbnfParserToken token) {
+        final String value = token.value();
+
+        return this.exact.test(token) && 1 == value.length() ?
+                EbnfParserCombinatorCharSet.character(value.charAt(0)) :
+                null;
+    }
+
+    /**
+     * Used to resolve identifiers.
+     */
+    private final Map<EbnfIdentifierName, RuleEbnfParserToken> rules;
+
+    /**
+     * Tests if a terminal or range is matched exactly as written.
+     */
+    private final Predicate<EbnfParserToken> exact;
+
+    @Override
+    public String toString() {
+        return this.tokenToCharSet.toString();
+    }
+}
@@ -41,6 +41,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 final class EbnfParserCombinatorContext<C extends ParserContext> implements Context {
 
@@ -72,6 +73,24 @@ final class EbnfParserCombinatorContext<C extends ParserContext> implements Cont
      */
     final EbnfParserCombinatorGrammarTransformer<C> transformer;
 
+    /**
+     * {@link TerminalEbnfParserToken terminals} whose parser was returned unchanged by {@link EbnfParserCombinatorGrammarTransformer#terminal(TerminalEbnfParserToken, Parser)}.
+     * Concatenations of these terminals may be fused into a single {@link EbnfParserCombinatorTerminalsParser}, and
+     * alternatives into a single {@link EbnfParserCombinatorTrieAlternativesParser}.
+     */
+    final Set<EbnfParserToken> untransformedTerminals = Sets.hash();
+
+    /**
+     * {@link RangeEbnfParserToken ranges} whose parser is the built-in {@link EbnfParserCombinatorRangeParser}.
+     */
+    final Set<EbnfParserToken> builtInRanges = Sets.hash();
+
+    /**
+     * When true the grammar has been verified as LL(1) and the transformer promises not to change the text matched by
+     * any parser, so choices are made by looking at the next character alone.
+     */
+    boolean predictive;
+
     /**
      * Records a rule, detecting duplicate identifiers.
      */
@@ -129,6 +148,61 @@ final class EbnfParserCombinatorContext<C extends ParserContext> implements Cont
                 .orElseThrow(()-> new EbnfParserCombinatorException("Rule '" + ruleName + "' parser not available"));
     }
 
+    /**
+     * Lazily computes the FIRST sets for all rules, this must only be called after all rules and terminals have been prepared.
+     */
+    EbnfParserCombinatorFirstSets firstSets() {
+        if (null == this.firstSets) {
+            this.firstSets = EbnfParserCombinatorFirstSets.with(
+                    this.rules(),
+                    this.exact()
+            );
+        }
+        return this.firstSets;
+    }
+
+    private EbnfParserCombinatorFirstSets firstSets;
+
+    /**
+     * Lazily creates the {@link EbnfParserCombinatorCharSets} used to compile exceptions, this must only be called after
+     * all rules and terminals have been prepared.
+     */
+    EbnfParserCombinatorCharSets charSets() {
+        if (null == this.charSets) {
+            this.charSets = EbnfParserCombinatorCharSets.with(
+                    this.rules(),
+                    this.exact()
+            );
+        }
+        return this.charSets;
+    }
+
+    private EbnfParserCombinatorCharSets charSets;
+
+    private Map<EbnfIdentifierName, RuleEbnfParserToken> rules() {
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = Maps.sorted();
+
+        for (final Entry<EbnfIdentifierName, EbnfParserCombinatorsProxy<C>> nameAndProxy : this.ruleIdentifierNameToProxy.entrySet()) {
+            rules.put(
+                    nameAndProxy.getKey(),
+                    nameAndProxy.getValue()
+                            .token
+                            .cast(RuleEbnfParserToken.class)
+            );
+        }
+
+        return rules;
+    }
+
+    /**
+     * Tests if a terminal or range will be matched exactly as written in the grammar.
+     */
+    private Predicate<EbnfParserToken> exact() {
+        return this.predictive ?
+                (t) -> true :
+                (t) -> this.untransformedTerminals.contains(t) || this.builtInRanges.contains(t);
+    }
+
     /**
      * {@link RuleEbnfParserToken#identifier()} to {@link EbnfParserCombinatorsProxy}.
      */
@@ -377,6 +451,31 @@ final class EbnfParserCombinatorContext<C extends ParserContext> implements Cont
 
     private final List<EbnfParserCombinatorProxyParser<C>> proxyParsers = new ArrayList<>();
 
+    /**
+     * Returns the {@link EbnfParserCombinatorSkippedRules} for a token that may be skipped by its FIRST set. Which
+     * rules are tracked is only known once all rules have a parser, in {@link #fixSkippedRules()}.
+     */
+    EbnfParserCombinatorSkippedRules skippedRules(final EbnfParserToken token) {
+        final EbnfParserCombinatorSkippedRules skippedRules = EbnfParserCombinatorSkippedRules.with(
+                this.firstSets()
+                        .leadingRules(token)
+        );
+        this.skippedRules.add(skippedRules);
+        return skippedRules;
+    }
+
+    void fixSkippedRules() {
+        for (final EbnfParserCombinatorSkippedRules skippedRules : this.skippedRules) {
+            skippedRules.resolve(
+                    (n) -> this.transformer.failureTracker(n)
+                            .orElse(null)
+            );
+        }
+        this.skippedRules.clear();
+    }
+
+    private final List<EbnfParserCombinatorSkippedRules> skippedRules = new ArrayList<>();
+
     /**
      * Resolves a given {@link EbnfIdentifierName} into text, which is used to resolve the begin and end text
      * before passing them as arguments to {@link EbnfParserCombinatorGrammarTransformer#range(RangeEbnfParserToken, String, String).}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.Parsers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that tries alternatives in order, but skips any alternative whose
+ * {@link EbnfParserCombinatorFirstSet} cannot match the next character. The candidates for every ASCII character
+ * are computed once, so a mismatch costs a single array lookup rather than an attempt per alternative.
+ * Nullable alternatives are always candidates, so ordered choice semantics are unchanged.
+ * <br>
+ * When parsing with a {@link EbnfParserCombinatorFailureParserContext} the tracked rules of each skipped alternative
+ * are reported as failed from its {@link EbnfParserCombinatorSkippedRules}, without trying it, and the cursor is
+ * wrapped in a {@link EbnfParserCombinatorOffsetTextCursor} unless it already knows its offset.
+ */
+final class EbnfParserCombinatorDispatchAlternativesParser<C extends ParserContext> implements Parser<C> {
+
+    /**
+     * Returns a {@link Parser} that tries each of the parsers in order. If none of the {@link EbnfParserCombinatorFirstSet}
+     * would skip an alternative a plain {@link Parsers#alternatives(List)} is returned. When predictive is true, the grammar
+     * is LL(1) and only a single candidate is tried, preferring an alternative that starts with the character over
+     * one that matches empty text.
+     */
+    static <C extends ParserContext> Parser<C> with(final List<Parser<C>> parsers,
+                                                    final List<EbnfParserCombinatorFirstSet> firstSets,
+                                                    final List<EbnfParserCombinatorSkippedRules> skippedRules,
+                                                    final boolean predictive) {
+        Objects.requireNonNull(parsers, "parsers");
+        Objects.requireNonNull(firstSets, "firstSets");
+        Objects.requireNonNull(skippedRules, "skippedRules");
+
+        final int count = parsers.size();
+        if (count != firstSets.size()) {
+            throw new IllegalArgumentException("Got " + count + " parsers but " + firstSets.size() + " first sets");
+        }
+        if (count != skippedRules.size()) {
+            throw new IllegalArgumentException("Got " + count + " parsers but " + skippedRules.size() + " skipped rules");
+        }
+
+        final Parser<C> alternatives = Parsers.alternatives(parsers);
+
+        boolean prune = false;
+        for (final EbnfParserCombinatorFirstSet firstSet : firstSets) {
+            if (false == firstSet.equals(EbnfParserCombinatorFirstSet.ANY)) {
+                prune = true;
+                break;
+            }
+        }
+
+        return prune && count > 1 ?
+                new EbnfParserCombinatorDispatchAlternativesParser<>(
+                        parsers,
+                        firstSets,
+                        skippedRules,
+                        predictive,
+                        alternatives
+                ) :
+                alternatives;
+    }
+
+    private EbnfParserCombinatorDispatchAlternativesParser(final List<Parser<C>> parsers,
+                                                           final List<EbnfParserCombinatorFirstSet> firstSets,
+                                                           final List<EbnfParserCombinatorSkippedRules> skippedRules,
+                                                           final boolean predictive,
+                                                           final Parser<C> alternatives) {
+        final int ascii = EbnfParserCombinatorFirstSet.ASCII;
+
+        final Parser<C>[][] asciiCandidates = new Parser[ascii][];
+        for (char c = 0; c < ascii; c++) {
+            final List<Parser<C>> candidates = Lists.array();
+
+            for (int i = 0; i < parsers.size(); i++) {
+                final EbnfParserCombinatorFirstSet firstSet = firstSets.get(i);
+                if (firstSet.nullable || firstSet.test(c)) {
+                    candidates.add(parsers.get(i));
+                }
+            }
+
+            asciiCandidates[c] = toArray(
+                    candidates,
+                    firstSets,
+                    parsers,
+                    predictive
+            );
+        }
+        this.ascii = asciiCandidates;
+
+        final List<Parser<C>> nonAscii = Lists.array();
+        final List<Parser<C>> empty = Lists.array();
+
+        for (int i = 0; i < parsers.size(); i++) {
+            final EbnfParserCombinatorFirstSet firstSet = firstSets.get(i);
+            final Parser<C> parser = parsers.get(i);
+
+            if (firstSet.nullable || firstSet.nonAscii) {
+                nonAscii.add(parser);
+            }
+            if (firstSet.nullable) {
+                empty.add(parser);
+            }
+        }
+
+        this.nonAscii = toArray(
+                nonAscii,
+                firstSets,
+                parsers,
+                predictive
+        );
+        this.empty = toArray(
+                empty,
+                firstSets,
+                parsers,
+                predictive
+        );
+        this.parsers = parsers.toArray(new Parser[parsers.size()]);
+        this.skippedRules = skippedRules.toArray(new EbnfParserCombinatorSkippedRules[skippedRules.size()]);
+        this.alternatives = alternatives;
+    }
+
+    private static <C extends ParserContext> Parser<C>[] toArray(final List<Parser<C>> candidates,
+                                                                 final List<EbnfParserCombinatorFirstSet> firstSets,
+                                                                 final List<Parser<C>> parsers,
+                                                                 final boolean predictive) {
+        List<Parser<C>> temp = candidates;
+
+        if (predictive && candidates.size() > 1) {
+            Parser<C> first = null;
+
+            // prefer an alternative that consumes the character over one that matches empty text
+            for (final Parser<C> candidate : candidates) {
+                if (false == firstSets.get(parsers.indexOf(candidate)).nullable) {
+                    first = candidate;
+                    break;
+                }
+            }
+
+            temp = Lists.of(
+                    null != first ?
+                            first :
+                            candidates.get(0)
+            );
+        }
+
+        return temp.toArray(new Parser[temp.size()]);
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor textCursor,
+                                       final C context) {
+        final TextCursor cursor = context instanceof EbnfParserCombinatorFailureParserContext ?
+                EbnfParserCombinatorOffsetTextCursor.wrapIfNecessary(textCursor) :
+                textCursor;
+        final Parser<C>[] candidates;
+
+        if (cursor.isEmpty()) {
+            candidates = this.empty;
+        } else {
+            final char c = cursor.at();
+            candidates = c < EbnfParserCombinatorFirstSet.ASCII ?
+                    this.ascii[c] :
+                    this.nonAscii;
+        }
+
+        Optional<ParserToken> token = Optional.empty();
+
+        for (final Parser<C> candidate : candidates) {
+            token = candidate.parse(
+                    cursor,
+                    context
+            );
+            if (token.isPresent()) {
+                break;
+            }
+        }
+
+        if (false == token.isPresent() && context instanceof EbnfParserCombinatorFailureParserContext) {
+            this.reportSkipped(
+                    cursor,
+                    candidates,
+                    (EbnfParserCombinatorFailureParserContext) context
+            );
+        }
+
+        return token;
+    }
+
+    /**
+     * Reports the tracked rules of every alternative that was not a candidate as failed, as if it had been tried.
+     */
+    private void reportSkipped(final TextCursor cursor,
+                               final Parser<C>[] candidates,
+                               final EbnfParserCombinatorFailureParserContext context) {
+        final Parser<C>[] parsers = this.parsers;
+        final int count = parsers.length;
+
+        for (int i = 0; i < count; i++) {
+            final Parser<C> parser = parsers[i];
+
+            boolean tried = false;
+            for (final Parser<C> candidate : candidates) {
+                if (parser == candidate) {
+                    tried = true;
+                    break;
+                }
+            }
+
+            if (false == tried) {
+                this.skippedRules[i].failed(
+                        cursor,
+                        context
+                );
+            }
+        }
+    }
+
+    @Override
+    public int minCount() {
+        return this.alternatives.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.alternatives.maxCount();
+    }
+
+    /**
+     * Candidates for each ASCII character.
+     */
+    private final Parser<C>[][] ascii;
+
+    /**
+     * Candidates for any character above ASCII.
+     */
+    private final Parser<C>[] nonAscii;
+
+    /**
+     * Candidates when the cursor is empty.
+     */
+    private final Parser<C>[] empty;
+
+    /**
+     * Every alternative in order.
+     */
+    private final Parser<C>[] parsers;
+
+    /**
+     * The tracked rules that fail when the alternative at the same index is skipped.
+     */
+    private final EbnfParserCombinatorSkippedRules[] skippedRules;
+
+    /**
+     * The equivalent un-optimized alternatives, used for {@link #toString()}, {@link #minCount()} and {@link #maxCount()}.
+     */
+    private final Parser<C> alternatives;
+
+    @Override
+    public String toString() {
+        return this.alternatives.toString();
+    }
+}
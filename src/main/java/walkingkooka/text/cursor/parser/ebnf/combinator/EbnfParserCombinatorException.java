@@ -19,11 +19,20 @@ package walkingkooka.text.cursor.parser.ebnf.combinator;
 
 import walkingkooka.text.cursor.parser.ebnf.EbnfParserException;
 
+import java.util.function.Supplier;
+
 /**
  * Common exception for all EBNF grammar parsing etc.
  */
 public class EbnfParserCombinatorException extends EbnfParserException {
 
+    /**
+     * Creates an exception without a stack trace, whose message is only built by {@link #getMessage()}.
+     */
+    public static EbnfParserCombinatorException stackless(final Supplier<String> message) {
+        return new EbnfParserCombinatorException(message);
+    }
+
     protected EbnfParserCombinatorException() {
         super();
     }
@@ -36,5 +45,9 @@ public class EbnfParserCombinatorException extends EbnfParserException {
         super(message, cause);
     }
 
+    protected EbnfParserCombinatorException(final Supplier<String> message) {
+        super(message);
+    }
+
     private final static long serialVersionUID = 1L;
 }
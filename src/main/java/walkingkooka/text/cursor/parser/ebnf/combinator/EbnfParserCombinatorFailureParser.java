@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that reports each failure of a rule to a {@link EbnfParserCombinatorFailureParserContext}, so the
+ * farthest failure is known without parsing again. The cursor is wrapped in a {@link EbnfParserCombinatorOffsetTextCursor}
+ * unless it already knows its offset, so nested failures do not compute it from {@link TextCursor#lineInfo()}. With any
+ * other context this simply delegates.
+ */
+final class EbnfParserCombinatorFailureParser<C extends ParserContext> implements Parser<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorFailureParser<C> with(final Parser<C> parser,
+                                                                               final EbnfIdentifierName rule,
+                                                                               final int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid id " + id + " < 0");
+        }
+
+        return new EbnfParserCombinatorFailureParser<>(
+                Objects.requireNonNull(parser, "parser"),
+                Objects.requireNonNull(rule, "rule"),
+                id
+        );
+    }
+
+    private EbnfParserCombinatorFailureParser(final Parser<C> parser,
+                                              final EbnfIdentifierName rule,
+                                              final int id) {
+        this.parser = parser;
+        this.rule = rule;
+        this.id = id;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        final Optional<ParserToken> token;
+
+        if (context instanceof EbnfParserCombinatorFailureParserContext) {
+            final TextCursor offsetCursor = EbnfParserCombinatorOffsetTextCursor.wrapIfNecessary(cursor);
+
+            token = this.parser.parse(
+                    offsetCursor,
+                    context
+            );
+
+            if (false == token.isPresent()) {
+                ((EbnfParserCombinatorFailureParserContext) context).failed(
+                        offsetCursor,
+                        this.id,
+                        this.rule
+                );
+            }
+        } else {
+            token = this.parser.parse(
+                    cursor,
+                    context
+            );
+        }
+
+        return token;
+    }
+
+    @Override
+    public int minCount() {
+        return this.parser.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.parser.maxCount();
+    }
+
+    private final Parser<C> parser;
+
+    final EbnfIdentifierName rule;
+
+    /**
+     * A unique id for this rule within its grammar, which selects its bit in the expected bitset.
+     */
+    final int id;
+
+    @Override
+    public String toString() {
+        return this.parser.toString();
+    }
+}
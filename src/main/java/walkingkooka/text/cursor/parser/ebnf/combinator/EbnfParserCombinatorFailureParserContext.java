@@ -0,0 +1,399 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.datetime.DateTimeSymbols;
+import walkingkooka.math.DecimalNumberContext;
+import walkingkooka.math.DecimalNumberContextDelegator;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfLineIndex;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link ParserContext} that records the farthest offset where a rule tracked by
+ * {@link EbnfParserCombinatorGrammarTransformers#failureTracking(EbnfParserCombinatorGrammarTransformer, java.util.function.Predicate)}
+ * failed, along with a bitset of every tracked rule that failed at that offset. A new instance should be created for
+ * each parse, all other methods delegate to the wrapped {@link ParserContext}.
+ * <br>
+ * After a failed parse {@link #failure()} returns an exception naming the expected rules, without parsing again. When the
+ * wrapped context has a {@link EbnfLineIndex} it is used to find the line and column.
+ * <br>
+ * When the wrapped context is a {@link EbnfParserCombinatorMemoContext} its {@link EbnfParserCombinatorMemo} is
+ * returned, so memoizing and failure tracking may be used together.
+ */
+public final class EbnfParserCombinatorFailureParserContext implements EbnfParserContext,
+        EbnfParserCombinatorMemoContext,
+        DecimalNumberContextDelegator {
+
+    public static EbnfParserCombinatorFailureParserContext with(final ParserContext context) {
+        return new EbnfParserCombinatorFailureParserContext(
+                Objects.requireNonNull(context, "context")
+        );
+    }
+
+    private EbnfParserCombinatorFailureParserContext(final ParserContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Records that the rule with the given id failed at the position of the cursor. Failures before the farthest offset
+     * are ignored, a farther failure clears the rules recorded so far and saves the position of the cursor. The line and
+     * column are found once when {@link #failure()} is called.
+     */
+    void failed(final TextCursor cursor,
+                final int id,
+                final EbnfIdentifierName rule) {
+        final int offset = EbnfParserCombinatorTextCursorOffset.offset(cursor);
+
+        if (offset >= this.farthest) {
+            this.failed(
+                    cursor,
+                    offset,
+                    id,
+                    rule
+            );
+        }
+    }
+
+    /**
+     * Records that all the given rules failed at the position of the cursor, used when a parser was skipped because
+     * the next character is not within its FIRST set.
+     */
+    void failed(final TextCursor cursor,
+                final int[] ids,
+                final EbnfIdentifierName[] rules) {
+        final int offset = EbnfParserCombinatorTextCursorOffset.offset(cursor);
+
+        if (offset >= this.farthest) {
+            final int count = ids.length;
+            for (int i = 0; i < count; i++) {
+                this.failed(
+                        cursor,
+                        offset,
+                        ids[i],
+                        rules[i]
+                );
+            }
+        }
+    }
+
+    private void failed(final TextCursor cursor,
+                        final int offset,
+                        final int id,
+                        final EbnfIdentifierName rule) {
+        long[] expected = this.expected;
+
+        if (offset > this.farthest) {
+            this.farthest = offset;
+            this.cursor = cursor;
+            this.farthestSavePoint = cursor.save();
+
+            final int length = expected.length;
+            for (int i = 0; i < length; i++) {
+                expected[i] = 0;
+            }
+        }
+
+        final int index = id >> 6;
+        if (index >= expected.length) {
+            expected = this.grow(index);
+        }
+
+        final long bit = 1L << id;
+        if (0 == (expected[index] & bit)) {
+            expected[index] |= bit;
+            this.rules[id] = rule;
+        }
+    }
+
+    /**
+     * Grows the bitset and the rule names so the given bitset index is present.
+     */
+    private long[] grow(final int index) {
+        final long[] expected = new long[index + 1];
+        System.arraycopy(this.expected, 0, expected, 0, this.expected.length);
+        this.expected = expected;
+
+        final EbnfIdentifierName[] rules = new EbnfIdentifierName[expected.length * 64];
+        System.arraycopy(this.rules, 0, rules, 0, this.rules.length);
+        this.rules = rules;
+
+        return expected;
+    }
+
+    /**
+     * Returns the farthest offset where a tracked rule failed, or -1 if none failed.
+     */
+    public int farthestOffset() {
+        return this.farthest;
+    }
+
+    /**
+     * Returns the tracked rules that failed at the {@link #farthestOffset()} in the order they were tracked.
+     */
+    public List<EbnfIdentifierName> expected() {
+        final List<EbnfIdentifierName> expected = Lists.array();
+
+        final long[] bits = this.expected;
+        final int count = bits.length * 64;
+        for (int id = 0; id < count; id++) {
+            if (0 != (bits[id >> 6] & (1L << id))) {
+                expected.add(this.rules[id]);
+            }
+        }
+
+        return Lists.readOnly(expected);
+    }
+
+    /**
+     * Returns a stackless exception with a message naming the expected rules at the farthest failure, or empty if no
+     * tracked rule failed. The line and column are found here, using the {@link EbnfLineIndex} if present, otherwise
+     * from the position of the cursor saved at the farthest failure, so this may be called after the cursor moved
+     * past it, for example after a partial parse. The message is only built when requested.
+     */
+    public Optional<EbnfParserCombinatorException> failure() {
+        final int farthest = this.farthest;
+        final Optional<EbnfParserCombinatorException> failure;
+
+        if (farthest < 0) {
+            failure = Optional.empty();
+        } else {
+            final List<EbnfIdentifierName> expected = this.expected();
+            final Optional<EbnfLineIndex> lineIndex = this.lineIndex();
+
+            final int lineNumber;
+            final int columnNumber;
+
+            if (lineIndex.isPresent()) {
+                final EbnfLineIndex index = lineIndex.get();
+                lineNumber = index.lineNumber(farthest);
+                columnNumber = index.columnNumber(farthest);
+            } else {
+                final TextCursorLineInfo lineInfo = this.lineInfo();
+                lineNumber = lineInfo.lineNumber();
+                columnNumber = lineInfo.columnNumber();
+            }
+
+            failure = Optional.of(
+                    EbnfParserCombinatorException.stackless(
+                            () -> message(
+                                    expected,
+                                    lineNumber,
+                                    columnNumber
+                            )
+                    )
+            );
+        }
+
+        return failure;
+    }
+
+    /**
+     * Moves the cursor back or forward to the {@link #farthest} failure, gets its {@link TextCursorLineInfo} and
+     * restores the cursor.
+     */
+    private TextCursorLineInfo lineInfo() {
+        final TextCursorSavePoint save = this.cursor.save();
+        try {
+            this.farthestSavePoint.restore();
+            return this.cursor.lineInfo();
+        } finally {
+            save.restore();
+        }
+    }
+
+    private static String message(final List<EbnfIdentifierName> expected,
+                                  final int lineNumber,
+                                  final int columnNumber) {
+        final StringBuilder b = new StringBuilder();
+        b.append(1 == expected.size() ?
+                "Expected " :
+                "Expected one of ");
+
+        String separator = "";
+        for (final EbnfIdentifierName rule : expected) {
+            b.append(separator);
+            b.append(rule);
+            separator = ", ";
+        }
+
+        b.append(" at line ");
+        b.append(lineNumber);
+        b.append(" column ");
+        b.append(columnNumber);
+
+        return b.toString();
+    }
+
+    /**
+     * The farthest offset where a tracked rule failed.
+     */
+    private int farthest = -1;
+
+    /**
+     * The cursor of the {@link #farthest} failure, only used to find the line and column if there is no
+     * {@link EbnfLineIndex}.
+     */
+    private TextCursor cursor;
+
+    /**
+     * The position of the {@link #cursor} at the {@link #farthest} failure.
+     */
+    private TextCursorSavePoint farthestSavePoint;
+
+    /**
+     * A bit for each rule id that failed at the {@link #farthest} offset.
+     */
+    private long[] expected = new long[1];
+
+    /**
+     * The name of each rule by id, set the first time a rule fails at an offset.
+     */
+    private EbnfIdentifierName[] rules = new EbnfIdentifierName[64];
+
+    // EbnfParserCombinatorMemoContext..................................................................................
+
+    /**
+     * Returns the {@link EbnfParserCombinatorMemo} of the wrapped context, if it is a {@link EbnfParserCombinatorMemoContext}.
+     */
+    @Override
+    public Optional<EbnfParserCombinatorMemo> memo() {
+        final ParserContext context = this.context;
+
+        return context instanceof EbnfParserCombinatorMemoContext ?
+                ((EbnfParserCombinatorMemoContext) context).memo() :
+                Optional.empty();
+    }
+
+    // EbnfParserContext................................................................................................
+
+    /**
+     * Returns the {@link EbnfLineIndex} of the wrapped context, if it is a {@link EbnfParserContext}.
+     */
+    @Override
+    public Optional<EbnfLineIndex> lineIndex() {
+        final ParserContext context = this.context;
+
+        return context instanceof EbnfParserContext ?
+                ((EbnfParserContext) context).lineIndex() :
+                Optional.empty();
+    }
+
+    // ParserContext....................................................................................................
+
+    @Override
+    public boolean canNumbersHaveGroupSeparator() {
+        return this.context.canNumbersHaveGroupSeparator();
+    }
+
+    @Override
+    public InvalidCharacterException invalidCharacterException(final Parser<?> parser,
+                                                               final TextCursor cursor) {
+        return this.context.invalidCharacterException(
+                parser,
+                cursor
+        );
+    }
+
+    @Override
+    public char valueSeparator() {
+        return this.context.valueSeparator();
+    }
+
+    // DateTimeContext..................................................................................................
+
+    @Override
+    public List<String> ampms() {
+        return this.context.ampms();
+    }
+
+    @Override
+    public int defaultYear() {
+        return this.context.defaultYear();
+    }
+
+    @Override
+    public Locale locale() {
+        return this.context.locale();
+    }
+
+    @Override
+    public List<String> monthNames() {
+        return this.context.monthNames();
+    }
+
+    @Override
+    public List<String> monthNameAbbreviations() {
+        return this.context.monthNameAbbreviations();
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return this.context.now();
+    }
+
+    @Override
+    public int twoDigitYear() {
+        return this.context.twoDigitYear();
+    }
+
+    @Override
+    public List<String> weekDayNames() {
+        return this.context.weekDayNames();
+    }
+
+    @Override
+    public List<String> weekDayNameAbbreviations() {
+        return this.context.weekDayNameAbbreviations();
+    }
+
+    @Override
+    public DateTimeSymbols dateTimeSymbols() {
+        return this.context.dateTimeSymbols();
+    }
+
+    // DecimalNumberContextDelegator....................................................................................
+
+    @Override
+    public DecimalNumberContext decimalNumberContext() {
+        return this.context;
+    }
+
+    /**
+     * The wrapped {@link ParserContext}.
+     */
+    private final ParserContext context;
+
+    @Override
+    public String toString() {
+        return this.context + " " + this.farthest + " " + this.expected();
+    }
+}
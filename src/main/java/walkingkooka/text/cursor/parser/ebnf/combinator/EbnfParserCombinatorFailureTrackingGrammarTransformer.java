@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A {@link EbnfParserCombinatorGrammarTransformer} that wraps the parser for selected rules in a
+ * {@link EbnfParserCombinatorFailureParser}. Each is recorded by rule name and returned by {@link #failureTracker(EbnfIdentifierName)},
+ * so it is found even when another decorator wraps it again.
+ */
+final class EbnfParserCombinatorFailureTrackingGrammarTransformer<C extends ParserContext> extends EbnfParserCombinatorGrammarTransformerWrapper<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorFailureTrackingGrammarTransformer<C> with(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                                   final Predicate<EbnfIdentifierName> rules) {
+        return new EbnfParserCombinatorFailureTrackingGrammarTransformer<>(
+                transformer,
+                Objects.requireNonNull(rules, "rules")
+        );
+    }
+
+    private EbnfParserCombinatorFailureTrackingGrammarTransformer(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                  final Predicate<EbnfIdentifierName> rules) {
+        super(transformer);
+        this.rules = rules;
+    }
+
+    @Override
+    public Parser<C> rule(final RuleEbnfParserToken token,
+                          final Parser<C> parser) {
+        final Parser<C> rule = this.transformer.rule(
+                token,
+                parser
+        );
+        final EbnfIdentifierName name = token.identifier()
+                .value();
+
+        Parser<C> result = rule;
+
+        if (this.rules.test(name)) {
+            result = EbnfParserCombinatorFailureParser.with(
+                    rule,
+                    name,
+                    this.nextId++
+            );
+            this.trackers.put(
+                    name,
+                    result
+            );
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<Parser<C>> failureTracker(final EbnfIdentifierName rule) {
+        final Parser<C> tracker = this.trackers.get(rule);
+        return null != tracker ?
+                Optional.of(tracker) :
+                this.transformer.failureTracker(rule);
+    }
+
+    /**
+     * The {@link EbnfParserCombinatorFailureParser} of the most recent grammar for each tracked rule.
+     */
+    private final Map<EbnfIdentifierName, Parser<C>> trackers = Maps.hash();
+
+    /**
+     * Selects the rules whose failures are tracked.
+     */
+    private final Predicate<EbnfIdentifierName> rules;
+
+    /**
+     * Each tracked rule gets a unique id which selects its bit in the expected bitset.
+     */
+    private int nextId;
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.CharSequences;
+
+/**
+ * An immutable FIRST set, holding the characters that may begin a match and whether an empty match is possible.
+ * ASCII characters are held exactly within two longs, all other characters are approximated by a single flag.
+ */
+final class EbnfParserCombinatorFirstSet {
+
+    /**
+     * Characters below this value are held exactly.
+     */
+    final static int ASCII = 128;
+
+    /**
+     * Matches nothing, the starting value for rules during fixed point iteration.
+     */
+    final static EbnfParserCombinatorFirstSet EMPTY = new EbnfParserCombinatorFirstSet(
+            0,
+            0,
+            false,
+            false
+    );
+
+    /**
+     * Only matches empty text.
+     */
+    final static EbnfParserCombinatorFirstSet NULLABLE = new EbnfParserCombinatorFirstSet(
+            0,
+            0,
+            false,
+            true
+    );
+
+    /**
+     * Used for anything that cannot be analysed, such as external parsers.
+     */
+    final static EbnfParserCombinatorFirstSet ANY = new EbnfParserCombinatorFirstSet(
+            -1L,
+            -1L,
+            true,
+            true
+    );
+
+    static EbnfParserCombinatorFirstSet character(final char c) {
+        return range(c, c);
+    }
+
+    static EbnfParserCombinatorFirstSet range(final char begin,
+                                              final char end) {
+        long low = 0;
+        long high = 0;
+
+        for (int c = begin; c <= end && c < ASCII; c++) {
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+
+        return new EbnfParserCombinatorFirstSet(
+                low,
+                high,
+                begin <= end && end >= ASCII,
+                false
+        );
+    }
+
+    private EbnfParserCombinatorFirstSet(final long low,
+                                         final long high,
+                                         final boolean nonAscii,
+                                         final boolean nullable) {
+        this.low = low;
+        this.high = high;
+        this.nonAscii = nonAscii;
+        this.nullable = nullable;
+    }
+
+    /**
+     * Returns true if the given character may begin a match. Nullable is ignored.
+     */
+    boolean test(final char c) {
+        return c < 64 ?
+                0 != (this.low & (1L << c)) :
+                c < ASCII ?
+                        0 != (this.high & (1L << (c - 64))) :
+                        this.nonAscii;
+    }
+
+    /**
+     * Returns true if both sets share at least one character.
+     */
+    boolean overlaps(final EbnfParserCombinatorFirstSet other) {
+        return 0 != (this.low & other.low) ||
+                0 != (this.high & other.high) ||
+                (this.nonAscii && other.nonAscii);
+    }
+
+    /**
+     * Returns the characters present in both sets, useful for reporting conflicts.
+     */
+    EbnfParserCombinatorFirstSet intersect(final EbnfParserCombinatorFirstSet other) {
+        return new EbnfParserCombinatorFirstSet(
+                this.low & other.low,
+                this.high & other.high,
+                this.nonAscii & other.nonAscii,
+                this.nullable & other.nullable
+        ).canonical();
+    }
+
+    /**
+     * The FIRST set of alternatives.
+     */
+    EbnfParserCombinatorFirstSet union(final EbnfParserCombinatorFirstSet other) {
+        return new EbnfParserCombinatorFirstSet(
+                this.low | other.low,
+                this.high | other.high,
+                this.nonAscii | other.nonAscii,
+                this.nullable | other.nullable
+        ).canonical();
+    }
+
+    /**
+     * The FIRST set of this followed by other. Characters from other are only included when this is nullable.
+     */
+    EbnfParserCombinatorFirstSet concat(final EbnfParserCombinatorFirstSet other) {
+        return this.nullable ?
+                new EbnfParserCombinatorFirstSet(
+                        this.low | other.low,
+                        this.high | other.high,
+                        this.nonAscii | other.nonAscii,
+                        other.nullable
+                ).canonical() :
+                this;
+    }
+
+    EbnfParserCombinatorFirstSet setNullable(final boolean nullable) {
+        return this.nullable == nullable ?
+                this :
+                new EbnfParserCombinatorFirstSet(
+                        this.low,
+                        this.high,
+                        this.nonAscii,
+                        nullable
+                ).canonical();
+    }
+
+    private EbnfParserCombinatorFirstSet canonical() {
+        return this.equals(ANY) ?
+                ANY :
+                this;
+    }
+
+    /**
+     * ASCII characters 0 to 63.
+     */
+    final long low;
+
+    /**
+     * ASCII characters 64 to 127.
+     */
+    final long high;
+
+    /**
+     * When true any character above {@link #ASCII} may begin a match.
+     */
+    final boolean nonAscii;
+
+    /**
+     * When true an empty match is possible.
+     */
+    final boolean nullable;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        final long bits = this.low ^ this.high;
+        return (int) (bits ^ (bits >>> 32)) ^ (this.nonAscii ? 2 : 0) ^ (this.nullable ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+                other instanceof EbnfParserCombinatorFirstSet && this.equals0((EbnfParserCombinatorFirstSet) other);
+    }
+
+    private boolean equals0(final EbnfParserCombinatorFirstSet other) {
+        return this.low == other.low &&
+                this.high == other.high &&
+                this.nonAscii == other.nonAscii &&
+                this.nullable == other.nullable;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+
+        for (char c = 0; c < ASCII; c++) {
+            if (this.test(c)) {
+                b.append(c);
+            }
+        }
+
+        String toString = CharSequences.quoteAndEscape(b).toString();
+        if (this.nonAscii) {
+            toString = toString + " nonAscii";
+        }
+        if (this.nullable) {
+            toString = toString + " nullable";
+        }
+
+        return toString;
+    }
+}
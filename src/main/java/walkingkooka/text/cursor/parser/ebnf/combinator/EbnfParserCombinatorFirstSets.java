@@ -0,0 +1,301 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Computes the {@link EbnfParserCombinatorFirstSet} for any token within a grammar. Rule FIRST sets are computed
+ * once using fixed point iteration, which handles recursive rules.
+ */
+final class EbnfParserCombinatorFirstSets {
+
+    /**
+     * The {@link Predicate} is used to test if a terminal or range will be matched exactly as written in the grammar,
+     * when it fails the FIRST set is {@link EbnfParserCombinatorFirstSet#ANY}.
+     */
+    static EbnfParserCombinatorFirstSets with(final Map<EbnfIdentifierName, RuleEbnfParserToken> rules,
+                                              final Predicate<EbnfParserToken> exact) {
+        return new EbnfParserCombinatorFirstSets(
+                Objects.requireNonNull(rules, "rules"),
+                Objects.requireNonNull(exact, "exact")
+        );
+    }
+
+    private EbnfParserCombinatorFirstSets(final Map<EbnfIdentifierName, RuleEbnfParserToken> rules,
+                                          final Predicate<EbnfParserToken> exact) {
+        this.rules = rules;
+        this.exact = exact;
+
+        final Map<EbnfIdentifierName, EbnfParserCombinatorFirstSet> ruleFirstSets = Maps.sorted();
+        for (final EbnfIdentifierName rule : rules.keySet()) {
+            ruleFirstSets.put(
+                    rule,
+                    EbnfParserCombinatorFirstSet.EMPTY
+            );
+        }
+        this.ruleFirstSets = ruleFirstSets;
+
+        boolean changed;
+        do {
+            changed = false;
+
+            for (final RuleEbnfParserToken rule : rules.values()) {
+                final EbnfParserCombinatorFirstSet first = this.compute(rule.assignment());
+                final EbnfParserCombinatorFirstSet previous = ruleFirstSets.put(
+                        rule.identifier().value(),
+                        first
+                );
+                changed |= false == first.equals(previous);
+            }
+        } while (changed);
+    }
+
+    /**
+     * Returns the FIRST set for the given token.
+     */
+    EbnfParserCombinatorFirstSet first(final EbnfParserToken token) {
+        Objects.requireNonNull(token, "token");
+
+        EbnfParserCombinatorFirstSet first = this.tokenToFirstSet.get(token);
+        if (null == first) {
+            first = this.compute(token);
+            this.tokenToFirstSet.put(
+                    token,
+                    first
+            );
+        }
+        return first;
+    }
+
+    /**
+     * Returns the rules that would fail at the same offset as the given token, when the next character is not within
+     * its FIRST set. These are the rules that begin the token, following each rule through its assignment, less any
+     * that are nullable and therefore always match.
+     */
+    List<EbnfIdentifierName> leadingRules(final EbnfParserToken token) {
+        Objects.requireNonNull(token, "token");
+
+        final List<EbnfIdentifierName> rules = Lists.array();
+        this.leadingRules(
+                token,
+                rules,
+                Lists.array()
+        );
+        return rules;
+    }
+
+    private void leadingRules(final EbnfParserToken token,
+                              final List<EbnfIdentifierName> rules,
+                              final List<EbnfIdentifierName> visited) {
+        if (token.isAlternative()) {
+            for (final EbnfParserToken child : EbnfParserCombinatorTokens.children(token)) {
+                this.leadingRules(
+                        child,
+                        rules,
+                        visited
+                );
+            }
+        } else if (token.isConcatenation()) {
+            for (final EbnfParserToken child : EbnfParserCombinatorTokens.children(token)) {
+                this.leadingRules(
+                        child,
+                        rules,
+                        visited
+                );
+                if (false == this.first(child).nullable) {
+                    break;
+                }
+            }
+        } else if (token.isException()) {
+            this.leadingRules(
+                    EbnfParserCombinatorTokens.children(token)
+                            .get(0),
+                    rules,
+                    visited
+            );
+        } else if (token.isGroup() || token.isOptional() || token.isRepeated()) {
+            this.leadingRules(
+                    EbnfParserCombinatorTokens.child(token),
+                    rules,
+                    visited
+            );
+        } else if (token.isIdentifier()) {
+            final EbnfIdentifierName name = token.cast(IdentifierEbnfParserToken.class)
+                    .value();
+            final RuleEbnfParserToken rule = this.rules.get(name);
+
+            if (null != rule && false == visited.contains(name)) {
+                visited.add(name);
+
+                if (false == this.ruleFirstSets.get(name).nullable) {
+                    rules.add(name);
+                }
+                this.leadingRules(
+                        rule.assignment(),
+                        rules,
+                        visited
+                );
+            }
+        } else if (token.isRule()) {
+            this.leadingRules(
+                    token.cast(RuleEbnfParserToken.class)
+                            .assignment(),
+                    rules,
+                    visited
+            );
+        }
+    }
+
+    /**
+     * Cache of previously computed FIRST sets, only used once all rules have reached their fixed point.
+     */
+    private final Map<EbnfParserToken, EbnfParserCombinatorFirstSet> tokenToFirstSet = Maps.hash();
+
+    private EbnfParserCombinatorFirstSet compute(final EbnfParserToken token) {
+        EbnfParserCombinatorFirstSet first;
+
+        if (token.isAlternative()) {
+            first = EbnfParserCombinatorFirstSet.EMPTY;
+            for (final EbnfParserToken child : EbnfParserCombinatorTokens.children(token)) {
+                first = first.union(
+                        this.compute(child)
+                );
+            }
+        } else if (token.isConcatenation()) {
+            first = EbnfParserCombinatorFirstSet.NULLABLE;
+            for (final EbnfParserToken child : EbnfParserCombinatorTokens.children(token)) {
+                if (false == first.nullable) {
+                    break;
+                }
+                first = first.concat(
+                        this.compute(child)
+                );
+            }
+        } else if (token.isException()) {
+            first = this.compute(
+                    EbnfParserCombinatorTokens.children(token)
+                            .get(0)
+            );
+        } else if (token.isGroup()) {
+            first = this.compute(
+                    EbnfParserCombinatorTokens.child(token)
+            );
+        } else if (token.isOptional() || token.isRepeated()) {
+            first = this.compute(
+                    EbnfParserCombinatorTokens.child(token)
+            ).setNullable(true);
+        } else if (token.isIdentifier()) {
+            first = this.ruleFirstSets.get(
+                    token.cast(IdentifierEbnfParserToken.class)
+                            .value()
+            );
+            if (null == first) {
+                first = EbnfParserCombinatorFirstSet.ANY; // external parser
+            }
+        } else if (token.isRange()) {
+            first = this.range(
+                    token.cast(RangeEbnfParserToken.class)
+            );
+        } else if (token.isRule()) {
+            first = this.compute(
+                    token.cast(RuleEbnfParserToken.class)
+                            .assignment()
+            );
+        } else if (token.isTerminal()) {
+            first = this.terminal(
+                    token.cast(TerminalEbnfParserToken.class)
+            );
+        } else {
+            first = EbnfParserCombinatorFirstSet.ANY;
+        }
+
+        return first;
+    }
+
+    private EbnfParserCombinatorFirstSet range(final RangeEbnfParserToken token) {
+        EbnfParserCombinatorFirstSet first = EbnfParserCombinatorFirstSet.ANY;
+
+        if (this.exact.test(token)) {
+            final Optional<String> begin = EbnfParserCombinatorTokens.terminalText(
+                    token.begin(),
+                    this.rules
+            );
+            final Optional<String> end = EbnfParserCombinatorTokens.terminalText(
+                    token.end(),
+                    this.rules
+            );
+            if (begin.isPresent() && end.isPresent()) {
+                final String beginText = begin.get();
+                final String endText = end.get();
+
+                if (1 == beginText.length() && 1 == endText.length()) {
+                    first = EbnfParserCombinatorFirstSet.range(
+                            beginText.charAt(0),
+                            endText.charAt(0)
+                    );
+                }
+            }
+        }
+
+        return first;
+    }
+
+    private EbnfParserCombinatorFirstSet terminal(final TerminalEbnfParserToken token) {
+        final String value = token.value();
+
+        return this.exact.test(token) ?
+                value.isEmpty() ?
+                        EbnfParserCombinatorFirstSet.NULLABLE :
+                        EbnfParserCombinatorFirstSet.character(value.charAt(0)) :
+                EbnfParserCombinatorFirstSet.ANY;
+    }
+
+    /**
+     * Used to resolve identifiers in ranges.
+     */
+    private final Map<EbnfIdentifierName, RuleEbnfParserToken> rules;
+
+    /**
+     * Tests if a terminal or range is matched exactly as written.
+     */
+    private final Predicate<EbnfParserToken> exact;
+
+    /**
+     * The FIRST set for each rule, during construction these are partial results.
+     */
+    private final Map<EbnfIdentifierName, EbnfParserCombinatorFirstSet> ruleFirstSets;
+
+    @Override
+    public String toString() {
+        return this.ruleFirstSets.toString();
+    }
+}
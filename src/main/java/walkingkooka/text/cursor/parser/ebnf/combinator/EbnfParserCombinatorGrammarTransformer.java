@@ -22,6 +22,7 @@ import walkingkooka.text.cursor.parser.Parser;
 import walkingkooka.text.cursor.parser.ParserContext;
 import walkingkooka.text.cursor.parser.ebnf.AlternativeEbnfParserToken;
 import walkingkooka.text.cursor.parser.ebnf.ConcatenationEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
 import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
 import walkingkooka.text.cursor.parser.ebnf.ExceptionEbnfParserToken;
 import walkingkooka.text.cursor.parser.ebnf.GroupEbnfParserToken;
@@ -32,6 +33,8 @@ import walkingkooka.text.cursor.parser.ebnf.RepeatedEbnfParserToken;
 import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
 import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
 
+import java.util.Optional;
+
 /**
  * The {@link Context} that provides callbacks for a grammar that defines multiple {@link Parser parses}.
  * <br>
@@ -41,6 +44,12 @@ import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
  * <br>
  * Note the {@link EbnfParserToken#toString()} may be set upon the {@link Parser} if the text definition from the grammar
  * file should be kept.
+ * <br>
+ * Alternatives only skip choices whose FIRST set, computed from the grammar, cannot match the next character when
+ * {@link #preservesFirstSets()} returns true, or the grammar was transformed by
+ * {@link EbnfParserCombinators#transformLl1(walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken, java.util.function.Function, EbnfParserCombinatorGrammarTransformer)}.
+ * Otherwise every choice is tried in order. Terminals and ranges whose parser was replaced are always tried, as their
+ * text is no longer known.
  */
 public interface EbnfParserCombinatorGrammarTransformer<C extends ParserContext> extends Context {
 
@@ -64,5 +73,34 @@ public interface EbnfParserCombinatorGrammarTransformer<C extends ParserContext>
 
     Parser<C> rule(final RuleEbnfParserToken token, final Parser<C> parser);
 
+    /**
+     * Returns an {@link EbnfParserCombinatorRuleAction} that builds the token for the rule directly from its children.
+     * The parser given to {@link #rule(RuleEbnfParserToken, Parser)} then calls the action, rather than creating
+     * generic tokens that must be unpacked. By default rules have no action.
+     */
+    default Optional<EbnfParserCombinatorRuleAction<C>> action(final RuleEbnfParserToken token) {
+        return Optional.empty();
+    }
+
     Parser<C> terminal(final TerminalEbnfParserToken token, final Parser<C> parser);
+
+    /**
+     * Returns true if every parser returned by this transformer matches the same text as the parser it was given,
+     * such as returning it unchanged or wrapping it to build different tokens. Alternatives may then skip any choice
+     * whose FIRST set cannot match the next character without trying it. By default this is false, as a parser that
+     * matches other text would be wrongly skipped.
+     */
+    default boolean preservesFirstSets() {
+        return false;
+    }
+
+    /**
+     * Returns the parser created by {@link EbnfParserCombinatorGrammarTransformers#failureTracking(EbnfParserCombinatorGrammarTransformer, java.util.function.Predicate)}
+     * for the given rule, if it is tracked. Alternatives use it to report the tracked rules of choices they skip, so
+     * transformers that decorate another must delegate, otherwise rules wrapped again are missing from the report.
+     * By default no rule is tracked.
+     */
+    default Optional<Parser<C>> failureTracker(final EbnfIdentifierName rule) {
+        return Optional.empty();
+    }
 }
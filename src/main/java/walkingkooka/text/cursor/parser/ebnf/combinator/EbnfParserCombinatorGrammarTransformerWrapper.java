@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.AlternativeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.ConcatenationEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.ExceptionEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GroupEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.OptionalEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RepeatedEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Base class for a {@link EbnfParserCombinatorGrammarTransformer} that decorates another, by default all methods
+ * delegate to the wrapped transformer.
+ */
+abstract class EbnfParserCombinatorGrammarTransformerWrapper<C extends ParserContext> implements EbnfParserCombinatorGrammarTransformer<C> {
+
+    EbnfParserCombinatorGrammarTransformerWrapper(final EbnfParserCombinatorGrammarTransformer<C> transformer) {
+        super();
+        this.transformer = Objects.requireNonNull(transformer, "transformer");
+    }
+
+    @Override
+    public Parser<C> alternatives(final AlternativeEbnfParserToken token,
+                                  final Parser<C> parser) {
+        return this.transformer.alternatives(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> concatenation(final ConcatenationEbnfParserToken token,
+                                   final Parser<C> parser) {
+        return this.transformer.concatenation(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> exception(final ExceptionEbnfParserToken token,
+                               final Parser<C> parser) {
+        return this.transformer.exception(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> group(final GroupEbnfParserToken token,
+                           final Parser<C> parser) {
+        return this.transformer.group(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> identifier(final IdentifierEbnfParserToken token,
+                                final Parser<C> parser) {
+        return this.transformer.identifier(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> optional(final OptionalEbnfParserToken token,
+                              final Parser<C> parser) {
+        return this.transformer.optional(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> range(final RangeEbnfParserToken token,
+                           final String beginText,
+                           final String endText) {
+        return this.transformer.range(
+                token,
+                beginText,
+                endText
+        );
+    }
+
+    @Override
+    public Parser<C> repeated(final RepeatedEbnfParserToken token,
+                              final Parser<C> parser) {
+        return this.transformer.repeated(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> rule(final RuleEbnfParserToken token,
+                          final Parser<C> parser) {
+        return this.transformer.rule(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Optional<EbnfParserCombinatorRuleAction<C>> action(final RuleEbnfParserToken token) {
+        return this.transformer.action(token);
+    }
+
+    @Override
+    public Parser<C> terminal(final TerminalEbnfParserToken token,
+                              final Parser<C> parser) {
+        return this.transformer.terminal(
+                token,
+                parser
+        );
+    }
+
+    /**
+     * Decorators only wrap parsers to record or build tokens differently, so they match the same text as the wrapped
+     * transformer.
+     */
+    @Override
+    public boolean preservesFirstSets() {
+        return this.transformer.preservesFirstSets();
+    }
+
+    @Override
+    public Optional<Parser<C>> failureTracker(final EbnfIdentifierName rule) {
+        return this.transformer.failureTracker(rule);
+    }
+
+    /**
+     * The wrapped transformer.
+     */
+    final EbnfParserCombinatorGrammarTransformer<C> transformer;
+
+    @Override
+    public final String toString() {
+        return this.transformer.toString();
+    }
+}
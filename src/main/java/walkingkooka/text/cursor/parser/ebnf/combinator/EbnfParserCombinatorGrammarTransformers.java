@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A collection of {@link EbnfParserCombinatorGrammarTransformer}, including some that decorate another transformer.
+ */
+public final class EbnfParserCombinatorGrammarTransformers implements PublicStaticHelper {
+
+    /**
+     * A {@link EbnfParserCombinatorGrammarTransformer} that returns all parsers unchanged and uses the built-in
+     * {@link EbnfParserCombinators#range(String, String)} for ranges.
+     */
+    public static <C extends ParserContext> EbnfParserCombinatorGrammarTransformer<C> basic() {
+        return EbnfParserCombinatorBasicGrammarTransformer.instance();
+    }
+
+    /**
+     * Rules with a {@link EbnfParserCombinatorRuleAction} build their tokens by calling the action with the tokens of
+     * their children, all other rules use the given transformer.
+     */
+    public static <C extends ParserContext> EbnfParserCombinatorGrammarTransformer<C> actions(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                              final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRuleAction<C>>> actions) {
+        return EbnfParserCombinatorRuleActionsGrammarTransformer.with(
+                transformer,
+                actions
+        );
+    }
+
+    /**
+     * Wraps the parser of each rule selected by the {@link Predicate} so its failures are recorded when parsing with a
+     * {@link EbnfParserCombinatorFailureParserContext}, which then knows the farthest failure and the rules expected
+     * there. Without that context the parsers behave exactly as before.
+     */
+    public static <C extends ParserContext> EbnfParserCombinatorGrammarTransformer<C> failureTracking(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                                      final Predicate<EbnfIdentifierName> rules) {
+        return EbnfParserCombinatorFailureTrackingGrammarTransformer.with(
+                transformer,
+                rules
+        );
+    }
+
+    /**
+     * Wraps the parser of each rule selected by the {@link Predicate} so its results are memoized when parsing with a
+     * {@link EbnfParserCombinatorMemoContext}, such as {@link EbnfParserCombinatorMemoParserContext}. Without a
+     * {@link EbnfParserCombinatorMemo} the parsers behave exactly as before.
+     */
+    public static <C extends ParserContext> EbnfParserCombinatorGrammarTransformer<C> memoizing(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                                final Predicate<EbnfIdentifierName> rules) {
+        return EbnfParserCombinatorMemoizingGrammarTransformer.with(
+                transformer,
+                rules
+        );
+    }
+
+    /**
+     * Rules with a {@link EbnfParserCombinatorRecognizer} are parsed by it, returning a single string token with the
+     * matched text rather than a token for each part of the rule. The given transformer is not called for those rules.
+     * Recognizers are only used when the given transformer {@link EbnfParserCombinatorGrammarTransformer#preservesFirstSets()},
+     * otherwise its parsers are used for every rule.
+     */
+    public static <C extends ParserContext> EbnfParserCombinatorGrammarTransformer<C> recognizing(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                                  final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers) {
+        return EbnfParserCombinatorRecognizingGrammarTransformer.with(
+                transformer,
+                recognizers
+        );
+    }
+
+    /**
+     * Repetitions of a single character, such as <pre>{ LETTER }</pre> where LETTER is a range, return a single string
+     * token holding all the characters, rather than a repeated token with a token for each character.
+     */
+    public static <C extends ParserContext> EbnfParserCombinatorGrammarTransformer<C> repeatedCharactersString(final EbnfParserCombinatorGrammarTransformer<C> transformer) {
+        return EbnfParserCombinatorRepeatedCharactersStringGrammarTransformer.with(transformer);
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfParserCombinatorGrammarTransformers() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Checks if a grammar is LL(1), that is every choice between alternatives, optionals and repetitions can be made by
+ * looking at the next character alone. FIRST sets come from {@link EbnfParserCombinatorFirstSets} and FOLLOW sets
+ * are computed here with fixed point iteration. The end of text is recorded as a nullable FOLLOW set.
+ */
+final class EbnfParserCombinatorLl1Analyzer {
+
+    /**
+     * Returns a message for each conflict, an empty list means the grammar is LL(1).
+     */
+    static List<String> conflicts(final GrammarEbnfParserToken grammar) {
+        Objects.requireNonNull(grammar, "grammar");
+
+        return new EbnfParserCombinatorLl1Analyzer(
+                EbnfParserCombinatorTokens.rules(grammar)
+        ).conflicts();
+    }
+
+    private EbnfParserCombinatorLl1Analyzer(final Map<EbnfIdentifierName, RuleEbnfParserToken> rules) {
+        this.rules = rules;
+        this.firstSets = EbnfParserCombinatorFirstSets.with(
+                rules,
+                (t) -> true
+        );
+
+        final Map<EbnfIdentifierName, EbnfParserCombinatorFirstSet> ruleFollowSets = Maps.sorted();
+        for (final EbnfIdentifierName rule : rules.keySet()) {
+            ruleFollowSets.put(
+                    rule,
+                    EbnfParserCombinatorFirstSet.NULLABLE // any rule may be followed by the end of text
+            );
+        }
+        this.ruleFollowSets = ruleFollowSets;
+
+        do {
+            this.changed = false;
+            this.tokenFollowSets.clear();
+
+            for (final RuleEbnfParserToken rule : rules.values()) {
+                this.follow(
+                        rule.assignment(),
+                        ruleFollowSets.get(
+                                rule.identifier()
+                                        .value()
+                        )
+                );
+            }
+        } while (this.changed);
+    }
+
+    private void follow(final EbnfParserToken token,
+                        final EbnfParserCombinatorFirstSet follow) {
+        final EbnfParserCombinatorFirstSet previous = this.tokenFollowSets.get(token);
+        this.tokenFollowSets.put(
+                token,
+                null != previous ?
+                        previous.union(follow) :
+                        follow
+        );
+
+        if (token.isAlternative()) {
+            for (final EbnfParserToken child : EbnfParserCombinatorTokens.children(token)) {
+                this.follow(
+                        child,
+                        follow
+                );
+            }
+        } else if (token.isConcatenation()) {
+            final List<EbnfParserToken> children = EbnfParserCombinatorTokens.children(token);
+
+            EbnfParserCombinatorFirstSet rest = follow;
+            for (int i = children.size() - 1; i >= 0; i--) {
+                final EbnfParserToken child = children.get(i);
+                this.follow(
+                        child,
+                        rest
+                );
+                rest = this.first(child)
+                        .concat(rest);
+            }
+        } else if (token.isException()) {
+            this.follow(
+                    EbnfParserCombinatorTokens.children(token)
+                            .get(0),
+                    follow
+            );
+        } else if (token.isGroup() || token.isOptional()) {
+            this.follow(
+                    EbnfParserCombinatorTokens.child(token),
+                    follow
+            );
+        } else if (token.isRepeated()) {
+            final EbnfParserToken child = EbnfParserCombinatorTokens.child(token);
+            this.follow(
+                    child,
+                    this.first(child)
+                            .setNullable(false)
+                            .union(follow)
+            );
+        } else if (token.isIdentifier()) {
+            final EbnfIdentifierName name = token.cast(IdentifierEbnfParserToken.class)
+                    .value();
+            final EbnfParserCombinatorFirstSet ruleFollow = this.ruleFollowSets.get(name);
+            if (null != ruleFollow) {
+                final EbnfParserCombinatorFirstSet union = ruleFollow.union(follow);
+                if (false == union.equals(ruleFollow)) {
+                    this.ruleFollowSets.put(
+                            name,
+                            union
+                    );
+                    this.changed = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Set when any rule FOLLOW set was updated during the current pass.
+     */
+    private boolean changed;
+
+    private List<String> conflicts() {
+        final List<String> conflicts = Lists.array();
+
+        for (final RuleEbnfParserToken rule : this.rules.values()) {
+            this.conflicts(
+                    rule.identifier().value(),
+                    rule.assignment(),
+                    conflicts
+            );
+        }
+
+        return Lists.immutable(conflicts);
+    }
+
+    private void conflicts(final EbnfIdentifierName rule,
+                           final EbnfParserToken token,
+                           final List<String> conflicts) {
+        final List<EbnfParserToken> children = EbnfParserCombinatorTokens.children(token);
+
+        if (token.isAlternative()) {
+            final EbnfParserCombinatorFirstSet follow = this.tokenFollowSets.get(token);
+            final int count = children.size();
+
+            for (int i = 0; i < count; i++) {
+                final EbnfParserCombinatorFirstSet first = this.first(children.get(i));
+
+                for (int j = i + 1; j < count; j++) {
+                    final EbnfParserCombinatorFirstSet other = this.first(children.get(j));
+
+                    if (first.overlaps(other)) {
+                        conflicts.add(
+                                conflict(
+                                        rule,
+                                        token,
+                                        "alternatives " + (i + 1) + " and " + (j + 1) + " share " + first.intersect(other)
+                                )
+                        );
+                    }
+                    if (first.nullable && other.nullable) {
+                        conflicts.add(
+                                conflict(
+                                        rule,
+                                        token,
+                                        "alternatives " + (i + 1) + " and " + (j + 1) + " both match empty text"
+                                )
+                        );
+                    }
+                }
+
+                if (first.nullable) {
+                    for (int j = 0; j < count; j++) {
+                        final EbnfParserCombinatorFirstSet other = this.first(children.get(j));
+                        if (j != i && other.overlaps(follow)) {
+                            conflicts.add(
+                                    conflict(
+                                            rule,
+                                            token,
+                                            "alternative " + (j + 1) + " and what follows share " + other.intersect(follow)
+                                    )
+                            );
+                        }
+                    }
+                }
+            }
+        } else if (token.isOptional() || token.isRepeated()) {
+            final EbnfParserCombinatorFirstSet first = this.first(children.get(0));
+            final EbnfParserCombinatorFirstSet follow = this.tokenFollowSets.get(token);
+
+            if (first.nullable) {
+                conflicts.add(
+                        conflict(
+                                rule,
+                                token,
+                                "matches empty text"
+                        )
+                );
+            }
+            if (first.overlaps(follow)) {
+                conflicts.add(
+                        conflict(
+                                rule,
+                                token,
+                                "and what follows share " + first.intersect(follow)
+                        )
+                );
+            }
+        }
+
+        for (final EbnfParserToken child : children) {
+            this.conflicts(
+                    rule,
+                    child,
+                    conflicts
+            );
+        }
+    }
+
+    // Rule "A" "a" | "ab" alternatives 1 and 2 share "a"
+    private static String conflict(final EbnfIdentifierName rule,
+                                   final EbnfParserToken token,
+                                   final String message) {
+        return "Rule " +
+                CharSequences.quoteAndEscape(rule.value()) +
+                " " +
+                token.text().trim() +
+                " " +
+                message;
+    }
+
+    private EbnfParserCombinatorFirstSet first(final EbnfParserToken token) {
+        return this.firstSets.first(token);
+    }
+
+    private final Map<EbnfIdentifierName, RuleEbnfParserToken> rules;
+
+    private final EbnfParserCombinatorFirstSets firstSets;
+
+    /**
+     * The FOLLOW set for each rule, updated until no more changes happen.
+     */
+    private final Map<EbnfIdentifierName, EbnfParserCombinatorFirstSet> ruleFollowSets;
+
+    /**
+     * The FOLLOW set for each token, rebuilt during each pass.
+     */
+    private final Map<EbnfParserToken, EbnfParserCombinatorFirstSet> tokenFollowSets = Maps.hash();
+
+    @Override
+    public String toString() {
+        return this.ruleFollowSets.toString();
+    }
+}
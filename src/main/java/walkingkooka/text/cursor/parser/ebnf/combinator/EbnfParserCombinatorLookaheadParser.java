@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Parser} that only attempts the wrapped {@link Parser} if the next character is within its FIRST set.
+ * Used by LL(1) grammars for optionals and repetitions, which then fail without creating any save points.
+ * <br>
+ * When parsing with a {@link EbnfParserCombinatorFailureParserContext} the tracked rules of the skipped parser are
+ * reported as failed from its {@link EbnfParserCombinatorSkippedRules}, without trying it, and the cursor is wrapped in
+ * a {@link EbnfParserCombinatorOffsetTextCursor} unless it already knows its offset.
+ */
+final class EbnfParserCombinatorLookaheadParser<C extends ParserContext> implements Parser<C> {
+
+    /**
+     * Returns the given {@link Parser} unchanged if the FIRST set is nullable or matches all characters, the
+     * {@link EbnfParserCombinatorSkippedRules} are only created when the parser is wrapped.
+     */
+    static <C extends ParserContext> Parser<C> with(final Parser<C> parser,
+                                                    final EbnfParserCombinatorFirstSet first,
+                                                    final Supplier<EbnfParserCombinatorSkippedRules> skippedRules) {
+        Objects.requireNonNull(parser, "parser");
+        Objects.requireNonNull(first, "first");
+        Objects.requireNonNull(skippedRules, "skippedRules");
+
+        return first.nullable || first.equals(EbnfParserCombinatorFirstSet.ANY) ?
+                parser :
+                new EbnfParserCombinatorLookaheadParser<>(
+                        parser,
+                        first,
+                        skippedRules.get()
+                );
+    }
+
+    private EbnfParserCombinatorLookaheadParser(final Parser<C> parser,
+                                                final EbnfParserCombinatorFirstSet first,
+                                                final EbnfParserCombinatorSkippedRules skippedRules) {
+        this.parser = parser;
+        this.first = first;
+        this.skippedRules = skippedRules;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor textCursor,
+                                       final C context) {
+        final TextCursor cursor = context instanceof EbnfParserCombinatorFailureParserContext ?
+                EbnfParserCombinatorOffsetTextCursor.wrapIfNecessary(textCursor) :
+                textCursor;
+        final Optional<ParserToken> token;
+
+        if (cursor.isEmpty() || false == this.first.test(cursor.at())) {
+            if (context instanceof EbnfParserCombinatorFailureParserContext) {
+                this.skippedRules.failed(
+                        cursor,
+                        (EbnfParserCombinatorFailureParserContext) context
+                );
+            }
+            token = Optional.empty();
+        } else {
+            token = this.parser.parse(
+                    cursor,
+                    context
+            );
+        }
+
+        return token;
+    }
+
+    @Override
+    public int minCount() {
+        return this.parser.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.parser.maxCount();
+    }
+
+    private final Parser<C> parser;
+
+    private final EbnfParserCombinatorFirstSet first;
+
+    /**
+     * The tracked rules that fail when the parser is skipped.
+     */
+    private final EbnfParserCombinatorSkippedRules skippedRules;
+
+    @Override
+    public String toString() {
+        return this.parser.toString();
+    }
+}
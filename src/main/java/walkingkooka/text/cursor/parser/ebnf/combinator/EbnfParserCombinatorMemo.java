@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the memo table used by rules memoized with
+ * {@link EbnfParserCombinatorGrammarTransformers#memoizing(EbnfParserCombinatorGrammarTransformer, java.util.function.Predicate)}.
+ * A new instance should be created for each parse, and returned by {@link EbnfParserCombinatorMemoContext#memo()}.
+ * <br>
+ * {@link #hits()} counts how many times each rule result was reused, and {@link #rules(int)} picks the rules worth
+ * memoizing for later parses from those counts. Hits are counted in an array indexed by rule id, the counts are only
+ * gathered by name when requested.
+ */
+public final class EbnfParserCombinatorMemo {
+
+    /**
+     * The default maximum number of memo entries before the table is cleared.
+     */
+    public final static int DEFAULT_MAX_ENTRIES = 64 * 1024;
+
+    public static EbnfParserCombinatorMemo with(final int maxEntries) {
+        return new EbnfParserCombinatorMemo(
+                EbnfParserCombinatorMemoTable.with(maxEntries)
+        );
+    }
+
+    private EbnfParserCombinatorMemo(final EbnfParserCombinatorMemoTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Returns the number of times each rule reused a memoized result.
+     */
+    public Map<EbnfIdentifierName, Integer> hits() {
+        final Map<EbnfIdentifierName, Integer> hits = Maps.sorted();
+
+        final int[] counts = this.counts;
+        final EbnfIdentifierName[] names = this.names;
+        final int length = counts.length;
+
+        for (int i = 0; i < length; i++) {
+            final int count = counts[i];
+            if (count > 0) {
+                final EbnfIdentifierName rule = names[i];
+                final Integer previous = hits.get(rule);
+                hits.put(
+                        rule,
+                        null == previous ?
+                                count :
+                                previous + count
+                );
+            }
+        }
+
+        return Collections.unmodifiableMap(hits);
+    }
+
+    /**
+     * Returns the rules that reused a memoized result at least the given number of times. The returned {@link Set} may
+     * be passed as the {@link java.util.function.Predicate} to
+     * {@link EbnfParserCombinatorGrammarTransformers#memoizing(EbnfParserCombinatorGrammarTransformer, java.util.function.Predicate)}
+     * by later parses, which then only memoize rules that are retried at the same offset.
+     */
+    public Set<EbnfIdentifierName> rules(final int minHits) {
+        if (minHits <= 0) {
+            throw new IllegalArgumentException("Invalid minHits " + minHits + " <= 0");
+        }
+
+        final Set<EbnfIdentifierName> rules = SortedSets.tree();
+
+        for (final Map.Entry<EbnfIdentifierName, Integer> hit : this.hits().entrySet()) {
+            if (hit.getValue() >= minHits) {
+                rules.add(hit.getKey());
+            }
+        }
+
+        return Sets.readOnly(rules);
+    }
+
+    /**
+     * Counts a reuse of the result of the rule with the given id.
+     */
+    void hit(final int id,
+             final EbnfIdentifierName rule) {
+        int index = id - this.first;
+        int[] counts = this.counts;
+
+        if (index < 0 || index >= counts.length) {
+            counts = this.grow(id);
+            index = id - this.first;
+        }
+
+        counts[index]++;
+        this.names[index] = rule;
+    }
+
+    /**
+     * Grows the counts and names so they include the given id. Ids are unique across all transformers, so the arrays
+     * only cover the range of ids that were hit, which are usually those of a single transformer.
+     */
+    private int[] grow(final int id) {
+        final int[] counts = this.counts;
+        final int length = counts.length;
+
+        final int first = 0 == length ?
+                id :
+                Math.min(this.first, id);
+        final int last = 0 == length ?
+                id :
+                Math.max(this.first + length - 1, id);
+        final int newLength = Math.max(
+                last - first + 1,
+                Math.max(length * 2, 8)
+        );
+
+        final int[] newCounts = new int[newLength];
+        final EbnfIdentifierName[] newNames = new EbnfIdentifierName[newLength];
+        System.arraycopy(counts, 0, newCounts, this.first - first, length);
+        System.arraycopy(this.names, 0, newNames, this.first - first, length);
+
+        this.counts = newCounts;
+        this.names = newNames;
+        this.first = first;
+
+        return newCounts;
+    }
+
+    /**
+     * The id of the rule counted by the first element of {@link #counts}.
+     */
+    private int first;
+
+    /**
+     * The hits of each rule by id less {@link #first}.
+     */
+    private int[] counts = new int[0];
+
+    /**
+     * The name of each rule in {@link #counts}.
+     */
+    private EbnfIdentifierName[] names = new EbnfIdentifierName[0];
+
+    /**
+     * The memo shared by all memoized rules during a parse.
+     */
+    final EbnfParserCombinatorMemoTable table;
+
+    @Override
+    public String toString() {
+        return this.table.toString();
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.ParserContext;
+
+import java.util.Optional;
+
+/**
+ * May be implemented by any {@link ParserContext} to enable the parsers created by
+ * {@link EbnfParserCombinatorGrammarTransformers#memoizing(EbnfParserCombinatorGrammarTransformer, java.util.function.Predicate)}
+ * to memoize their results. When the context is not a {@link EbnfParserCombinatorMemoContext} or {@link #memo()} is
+ * empty the parsers simply delegate.
+ */
+public interface EbnfParserCombinatorMemoContext {
+
+    /**
+     * The {@link EbnfParserCombinatorMemo} for the current parse, if any.
+     */
+    Optional<EbnfParserCombinatorMemo> memo();
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that records the result of a rule at each offset, so a later attempt of the same rule at the same
+ * offset returns the recorded result and advances the cursor without parsing again. Results are only recorded when
+ * the context is a {@link EbnfParserCombinatorMemoContext} with a {@link EbnfParserCombinatorMemo}, otherwise this
+ * simply delegates. When recording, the cursor is wrapped in a {@link EbnfParserCombinatorOffsetTextCursor} unless it
+ * already knows its offset, so offsets are not computed from {@link TextCursor#lineInfo()} on every attempt.
+ */
+final class EbnfParserCombinatorMemoParser<C extends ParserContext> implements Parser<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorMemoParser<C> with(final Parser<C> parser,
+                                                                            final EbnfIdentifierName rule,
+                                                                            final int id) {
+        return new EbnfParserCombinatorMemoParser<>(
+                Objects.requireNonNull(parser, "parser"),
+                Objects.requireNonNull(rule, "rule"),
+                id
+        );
+    }
+
+    private EbnfParserCombinatorMemoParser(final Parser<C> parser,
+                                           final EbnfIdentifierName rule,
+                                           final int id) {
+        this.parser = parser;
+        this.rule = rule;
+        this.id = id;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        final Optional<EbnfParserCombinatorMemo> memo = context instanceof EbnfParserCombinatorMemoContext ?
+                ((EbnfParserCombinatorMemoContext) context).memo() :
+                Optional.empty();
+
+        return memo.isPresent() ?
+                this.parseMemo(
+                        EbnfParserCombinatorOffsetTextCursor.wrapIfNecessary(cursor),
+                        context,
+                        memo.get()
+                ) :
+                this.parser.parse(
+                        cursor,
+                        context
+                );
+    }
+
+    private Optional<ParserToken> parseMemo(final TextCursor cursor,
+                                            final C context,
+                                            final EbnfParserCombinatorMemo memo) {
+        final EbnfParserCombinatorMemoTable table = memo.table;
+        final int id = this.id;
+        final int offset = EbnfParserCombinatorTextCursorOffset.offset(cursor);
+
+        final Optional<ParserToken> token;
+
+        final int slot = table.find(
+                id,
+                offset
+        );
+        if (slot >= 0) {
+            memo.hit(
+                    id,
+                    this.rule
+            );
+
+            final ParserToken recorded = table.token(slot);
+            if (null != recorded) {
+                advance(
+                        cursor,
+                        table.end(slot) - offset
+                );
+            }
+            token = Optional.ofNullable(recorded);
+        } else {
+            token = this.parser.parse(
+                    cursor,
+                    context
+            );
+            table.put(
+                    id,
+                    offset,
+                    token.isPresent() ?
+                            EbnfParserCombinatorTextCursorOffset.offset(cursor) :
+                            offset,
+                    token.orElse(null)
+            );
+        }
+
+        return token;
+    }
+
+    /**
+     * Moves the cursor forward over a recorded match. An {@link EbnfParserCombinatorOffsetTextCursor} moves its wrapped
+     * cursor and updates its offset once, rather than once per character.
+     */
+    private static void advance(final TextCursor cursor,
+                                final int count) {
+        if (cursor instanceof EbnfParserCombinatorOffsetTextCursor) {
+            ((EbnfParserCombinatorOffsetTextCursor) cursor).advance(count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                cursor.next();
+            }
+        }
+    }
+
+    @Override
+    public int minCount() {
+        return this.parser.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.parser.maxCount();
+    }
+
+    private final Parser<C> parser;
+
+    private final EbnfIdentifierName rule;
+
+    /**
+     * A unique id for this rule taken from {@link EbnfParserCombinatorMemoTable#nextId()}.
+     */
+    private final int id;
+
+    @Override
+    public String toString() {
+        return this.parser.toString();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.datetime.DateTimeSymbols;
+import walkingkooka.math.DecimalNumberContext;
+import walkingkooka.math.DecimalNumberContextDelegator;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfLineIndex;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link ParserContext} that holds the {@link EbnfParserCombinatorMemo} used by rules memoized with
+ * {@link EbnfParserCombinatorGrammarTransformers#memoizing(EbnfParserCombinatorGrammarTransformer, java.util.function.Predicate)}.
+ * A new instance should be created for each parse, all other methods delegate to the wrapped {@link ParserContext}.
+ * Contexts of other types may implement {@link EbnfParserCombinatorMemoContext} themselves, and
+ * {@link EbnfParserCombinatorFailureParserContext} returns the memo of the context it wraps.
+ */
+public final class EbnfParserCombinatorMemoParserContext implements EbnfParserContext,
+        EbnfParserCombinatorMemoContext,
+        DecimalNumberContextDelegator {
+
+    /**
+     * The default maximum number of memo entries before the table is cleared.
+     */
+    public final static int DEFAULT_MAX_ENTRIES = EbnfParserCombinatorMemo.DEFAULT_MAX_ENTRIES;
+
+    public static EbnfParserCombinatorMemoParserContext with(final ParserContext context,
+                                                             final int maxEntries) {
+        return new EbnfParserCombinatorMemoParserContext(
+                Objects.requireNonNull(context, "context"),
+                EbnfParserCombinatorMemo.with(maxEntries)
+        );
+    }
+
+    private EbnfParserCombinatorMemoParserContext(final ParserContext context,
+                                                  final EbnfParserCombinatorMemo memo) {
+        this.context = context;
+        this.memo = Optional.of(memo);
+    }
+
+    /**
+     * Returns a read only view of the number of times each rule reused a memoized result.
+     */
+    public Map<EbnfIdentifierName, Integer> hits() {
+        return this.memo.get()
+                .hits();
+    }
+
+    // EbnfParserCombinatorMemoContext..................................................................................
+
+    @Override
+    public Optional<EbnfParserCombinatorMemo> memo() {
+        return this.memo;
+    }
+
+    private final Optional<EbnfParserCombinatorMemo> memo;
+
+    // EbnfParserContext................................................................................................
+
+    /**
+     * Returns the {@link EbnfLineIndex} of the wrapped context, if it is a {@link EbnfParserContext}.
+     */
+    @Override
+    public Optional<EbnfLineIndex> lineIndex() {
+        final ParserContext context = this.context;
+
+        return context instanceof EbnfParserContext ?
+                ((EbnfParserContext) context).lineIndex() :
+                Optional.empty();
+    }
+
+    // ParserContext....................................................................................................
+
+    @Override
+    public boolean canNumbersHaveGroupSeparator() {
+        return this.context.canNumbersHaveGroupSeparator();
+    }
+
+    @Override
+    public InvalidCharacterException invalidCharacterException(final Parser<?> parser,
+                                                               final TextCursor cursor) {
+        return this.context.invalidCharacterException(
+                parser,
+                cursor
+        );
+    }
+
+    @Override
+    public char valueSeparator() {
+        return this.context.valueSeparator();
+    }
+
+    // DateTimeContext..................................................................................................
+
+    @Override
+    public List<String> ampms() {
+        return this.context.ampms();
+    }
+
+    @Override
+    public int defaultYear() {
+        return this.context.defaultYear();
+    }
+
+    @Override
+    public Locale locale() {
+        return this.context.locale();
+    }
+
+    @Override
+    public List<String> monthNames() {
+        return this.context.monthNames();
+    }
+
+    @Override
+    public List<String> monthNameAbbreviations() {
+        return this.context.monthNameAbbreviations();
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return this.context.now();
+    }
+
+    @Override
+    public int twoDigitYear() {
+        return this.context.twoDigitYear();
+    }
+
+    @Override
+    public List<String> weekDayNames() {
+        return this.context.weekDayNames();
+    }
+
+    @Override
+    public List<String> weekDayNameAbbreviations() {
+        return this.context.weekDayNameAbbreviations();
+    }
+
+    @Override
+    public DateTimeSymbols dateTimeSymbols() {
+        return this.context.dateTimeSymbols();
+    }
+
+    // DecimalNumberContextDelegator....................................................................................
+
+    @Override
+    public DecimalNumberContext decimalNumberContext() {
+        return this.context;
+    }
+
+    /**
+     * The wrapped {@link ParserContext}.
+     */
+    private final ParserContext context;
+
+    @Override
+    public String toString() {
+        return this.context + " " + this.memo.get();
+    }
+}
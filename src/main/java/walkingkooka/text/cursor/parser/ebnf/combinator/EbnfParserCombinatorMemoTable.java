@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.ParserToken;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash table from rule and offset to the end offset and token, a null token records a failure.
+ * Keys are held in a primitive long array, avoiding boxing and entry objects. The table is bounded, when it
+ * becomes full all entries are discarded, which is always safe because it only caches results.
+ */
+final class EbnfParserCombinatorMemoTable {
+
+    /**
+     * Marks an unused slot, real keys are never negative because rule ids and offsets are never negative.
+     */
+    private final static long UNUSED = -1L;
+
+    /**
+     * Returns a new id for a memoized rule. Ids are unique across all transformers, so parsers built by different
+     * transformers may share a table without their keys colliding.
+     */
+    static synchronized int nextId() {
+        final int id = nextId;
+        if (id < 0) {
+            throw new EbnfParserCombinatorException("Too many memoized rules");
+        }
+        nextId = id + 1;
+        return id;
+    }
+
+    private static int nextId;
+
+    static EbnfParserCombinatorMemoTable with(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid maxEntries " + maxEntries + " <= 0");
+        }
+        return new EbnfParserCombinatorMemoTable(maxEntries);
+    }
+
+    private EbnfParserCombinatorMemoTable(final int maxEntries) {
+        int capacity = 16;
+        while (capacity < maxEntries * 2 && capacity < 1 << 30) {
+            capacity = capacity << 1;
+        }
+
+        this.keys = new long[capacity];
+        Arrays.fill(this.keys, UNUSED);
+        this.ends = new int[capacity];
+        this.tokens = new ParserToken[capacity];
+        this.mask = capacity - 1;
+        this.maxEntries = Math.min(maxEntries, capacity / 2);
+    }
+
+    /**
+     * Returns the slot for the given rule and offset or -1 if none is present.
+     */
+    int find(final int rule,
+             final int offset) {
+        final long key = key(rule, offset);
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+
+        int slot = hash(key) & mask;
+        int found = -1;
+
+        for (; ; ) {
+            final long k = keys[slot];
+            if (UNUSED == k) {
+                break;
+            }
+            if (key == k) {
+                found = slot;
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return found;
+    }
+
+    int end(final int slot) {
+        return this.ends[slot];
+    }
+
+    ParserToken token(final int slot) {
+        return this.tokens[slot];
+    }
+
+    void put(final int rule,
+             final int offset,
+             final int end,
+             final ParserToken token) {
+        if (this.size >= this.maxEntries) {
+            this.clear();
+        }
+
+        final long key = key(rule, offset);
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+
+        int slot = hash(key) & mask;
+        for (; ; ) {
+            final long k = keys[slot];
+            if (UNUSED == k) {
+                keys[slot] = key;
+                this.size++;
+                break;
+            }
+            if (key == k) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        this.ends[slot] = end;
+        this.tokens[slot] = token;
+    }
+
+    void clear() {
+        Arrays.fill(this.keys, UNUSED);
+        Arrays.fill(this.tokens, null);
+        this.size = 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    private static long key(final int rule,
+                            final int offset) {
+        return ((long) rule << 32) | (offset & 0xffffffffL);
+    }
+
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private final long[] keys;
+    private final int[] ends;
+    private final ParserToken[] tokens;
+    private final int mask;
+    private final int maxEntries;
+    private int size;
+
+    @Override
+    public String toString() {
+        return this.size + "/" + this.maxEntries;
+    }
+}
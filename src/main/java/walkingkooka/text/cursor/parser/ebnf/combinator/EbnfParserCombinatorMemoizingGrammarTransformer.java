@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A {@link EbnfParserCombinatorGrammarTransformer} that wraps the parser for selected rules in a
+ * {@link EbnfParserCombinatorMemoParser}.
+ */
+final class EbnfParserCombinatorMemoizingGrammarTransformer<C extends ParserContext> extends EbnfParserCombinatorGrammarTransformerWrapper<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorMemoizingGrammarTransformer<C> with(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                             final Predicate<EbnfIdentifierName> rules) {
+        return new EbnfParserCombinatorMemoizingGrammarTransformer<>(
+                transformer,
+                Objects.requireNonNull(rules, "rules")
+        );
+    }
+
+    private EbnfParserCombinatorMemoizingGrammarTransformer(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                            final Predicate<EbnfIdentifierName> rules) {
+        super(transformer);
+        this.rules = rules;
+    }
+
+    @Override
+    public Parser<C> rule(final RuleEbnfParserToken token,
+                          final Parser<C> parser) {
+        final Parser<C> rule = this.transformer.rule(
+                token,
+                parser
+        );
+        final EbnfIdentifierName name = token.identifier()
+                .value();
+
+        return this.rules.test(name) ?
+                EbnfParserCombinatorMemoParser.with(
+                        rule,
+                        name,
+                        EbnfParserCombinatorMemoTable.nextId()
+                ) :
+                rule;
+    }
+
+    /**
+     * Selects the rules that will be memoized.
+     */
+    private final Predicate<EbnfIdentifierName> rules;
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import java.util.Objects;
+
+/**
+ * A {@link EbnfParserCombinatorRecognizer} that runs a compiled recognizer using a {@link EbnfParserCombinatorRecognizerMachine},
+ * which keeps its state on the heap rather than the Java stack. Rules nested deeper than the maximum depth throw a
+ * {@link EbnfParserCombinatorException} rather than a {@link StackOverflowError}.
+ */
+final class EbnfParserCombinatorNonRecursiveRecognizer implements EbnfParserCombinatorRecognizer {
+
+    static EbnfParserCombinatorNonRecursiveRecognizer with(final EbnfParserCombinatorRecognizer recognizer,
+                                                           final int maxDepth) {
+        Objects.requireNonNull(recognizer, "recognizer");
+        if (false == recognizer instanceof EbnfParserCombinatorRecognizerNode) {
+            throw new IllegalArgumentException("Recognizer " + recognizer + " was not compiled from a grammar");
+        }
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Invalid max depth " + maxDepth + " < 1");
+        }
+
+        return new EbnfParserCombinatorNonRecursiveRecognizer(
+                (EbnfParserCombinatorRecognizerNode) recognizer,
+                maxDepth
+        );
+    }
+
+    private EbnfParserCombinatorNonRecursiveRecognizer(final EbnfParserCombinatorRecognizerNode node,
+                                                       final int maxDepth) {
+        this.node = node;
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public int matchLength(final CharSequence text,
+                           final int from) {
+        EbnfParserCombinatorRecognizerNode.checkText(
+                text,
+                from
+        );
+
+        return EbnfParserCombinatorRecognizerNode.length(
+                EbnfParserCombinatorRecognizerMachine.with(
+                        text,
+                        null,
+                        this.maxDepth
+                ).run(
+                        this.node,
+                        from
+                ),
+                from
+        );
+    }
+
+    @Override
+    public int matchLength(final CharSequence text,
+                           final int from,
+                           final EbnfParserCombinatorRecognizerListener listener) {
+        EbnfParserCombinatorRecognizerNode.checkText(
+                text,
+                from
+        );
+        Objects.requireNonNull(listener, "listener");
+
+        final EbnfParserCombinatorRecognizerEvents events = EbnfParserCombinatorRecognizerEvents.with(listener);
+        final int end = EbnfParserCombinatorRecognizerMachine.with(
+                text,
+                events,
+                this.maxDepth
+        ).run(
+                this.node,
+                from
+        );
+        events.flush();
+
+        return EbnfParserCombinatorRecognizerNode.length(
+                end,
+                from
+        );
+    }
+
+    private final EbnfParserCombinatorRecognizerNode node;
+
+    private final int maxDepth;
+
+    @Override
+    public String toString() {
+        return this.node.toString();
+    }
+}
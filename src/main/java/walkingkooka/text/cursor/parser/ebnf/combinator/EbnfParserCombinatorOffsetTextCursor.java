@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+
+import java.util.Objects;
+
+/**
+ * A {@link TextCursor} that wraps another counting its offset, so memoizing and failure tracking know the offset
+ * without asking the wrapped cursor for its {@link TextCursorLineInfo} on every call. The offset of the wrapped cursor
+ * is only read once, when this is created.
+ */
+public final class EbnfParserCombinatorOffsetTextCursor implements TextCursor {
+
+    public static EbnfParserCombinatorOffsetTextCursor with(final TextCursor cursor) {
+        Objects.requireNonNull(cursor, "cursor");
+
+        return new EbnfParserCombinatorOffsetTextCursor(
+                cursor,
+                EbnfParserCombinatorTextCursorOffset.offset(cursor)
+        );
+    }
+
+    /**
+     * Wraps the given cursor unless it already knows its offset. Memoizing and failure tracking parsers call this before
+     * parsing, so only the outermost wraps a {@link walkingkooka.text.cursor.TextCursors#charSequence(CharSequence)} and
+     * every nested parser finds the offset without asking for the {@link TextCursorLineInfo}.
+     */
+    static TextCursor wrapIfNecessary(final TextCursor cursor) {
+        return cursor instanceof EbnfParserCombinatorOffsetTextCursor || cursor instanceof EbnfParserCombinatorReaderTextCursor ?
+                cursor :
+                with(cursor);
+    }
+
+    private EbnfParserCombinatorOffsetTextCursor(final TextCursor cursor,
+                                                 final int offset) {
+        this.cursor = cursor;
+        this.offset = offset;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.cursor.isEmpty();
+    }
+
+    @Override
+    public char at() {
+        return this.cursor.at();
+    }
+
+    @Override
+    public TextCursor next() {
+        this.cursor.next();
+        this.offset++;
+        return this;
+    }
+
+    /**
+     * Moves the wrapped cursor forward by the given number of characters, updating the offset once.
+     */
+    void advance(final int count) {
+        final TextCursor cursor = this.cursor;
+        for (int i = 0; i < count; i++) {
+            cursor.next();
+        }
+        this.offset += count;
+    }
+
+    @Override
+    public TextCursor end() {
+        while (false == this.isEmpty()) {
+            this.next();
+        }
+        return this;
+    }
+
+    @Override
+    public TextCursorSavePoint save() {
+        return EbnfParserCombinatorOffsetTextCursorSavePoint.with(this);
+    }
+
+    @Override
+    public TextCursorLineInfo lineInfo() {
+        return this.cursor.lineInfo();
+    }
+
+    /**
+     * The wrapped {@link TextCursor}.
+     */
+    final TextCursor cursor;
+
+    /**
+     * The offset of the current character.
+     */
+    int offset;
+
+    @Override
+    public String toString() {
+        return this.cursor.toString();
+    }
+}
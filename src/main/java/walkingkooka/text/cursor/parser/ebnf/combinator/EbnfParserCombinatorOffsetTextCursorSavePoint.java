@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+
+/**
+ * A {@link TextCursorSavePoint} for a {@link EbnfParserCombinatorOffsetTextCursor}, which also restores its offset.
+ */
+final class EbnfParserCombinatorOffsetTextCursorSavePoint implements TextCursorSavePoint {
+
+    static EbnfParserCombinatorOffsetTextCursorSavePoint with(final EbnfParserCombinatorOffsetTextCursor cursor) {
+        return new EbnfParserCombinatorOffsetTextCursorSavePoint(
+                cursor,
+                cursor.cursor.save()
+        );
+    }
+
+    private EbnfParserCombinatorOffsetTextCursorSavePoint(final EbnfParserCombinatorOffsetTextCursor cursor,
+                                                          final TextCursorSavePoint save) {
+        this.cursor = cursor;
+        this.save = save;
+        this.offset = cursor.offset;
+    }
+
+    @Override
+    public TextCursor restore() {
+        final EbnfParserCombinatorOffsetTextCursor cursor = this.cursor;
+
+        this.save.restore();
+        cursor.offset = this.offset;
+
+        return cursor;
+    }
+
+    @Override
+    public void save() {
+        this.save.save();
+        this.offset = this.cursor.offset;
+    }
+
+    @Override
+    public CharSequence textBetween() {
+        return this.save.textBetween();
+    }
+
+    private final EbnfParserCombinatorOffsetTextCursor cursor;
+
+    /**
+     * The save point of the wrapped cursor.
+     */
+    private final TextCursorSavePoint save;
+
+    private int offset;
+
+    @Override
+    public String toString() {
+        return this.save.toString();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.RequiredParser;
+
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that matches text lexicographically between the begin and end of a range inclusive, returning a
+ * string token. Single character ranges compare the next character against the bounds and return tokens that were
+ * created once, single code point ranges compare code points, and longer ranges compare each character against
+ * both bounds as it is read, keeping the longest match.
+ */
+final class EbnfParserCombinatorRangeParser<C extends ParserContext> implements Parser<C>,
+        RequiredParser<C> {
+
+    /**
+     * Single character ranges with at most this many characters have all their tokens created up front.
+     */
+    private final static int MAX_CACHED_TOKENS = 256;
+
+    static <C extends ParserContext> EbnfParserCombinatorRangeParser<C> with(final String begin,
+                                                                             final String end) {
+        CharSequences.failIfNullOrEmpty(begin, "begin");
+        CharSequences.failIfNullOrEmpty(end, "end");
+
+        if (begin.compareTo(end) > 0) {
+            throw new IllegalArgumentException("Invalid range begin " + CharSequences.quoteAndEscape(begin) + " > end " + CharSequences.quoteAndEscape(end));
+        }
+
+        return new EbnfParserCombinatorRangeParser<>(
+                begin,
+                end
+        );
+    }
+
+    private EbnfParserCombinatorRangeParser(final String begin,
+                                            final String end) {
+        this.begin = begin;
+        this.end = end;
+
+        final boolean character = 1 == begin.length() && 1 == end.length();
+        this.character = character;
+
+        this.codePoint = false == character &&
+                isSingleCodePoint(begin) &&
+                isSingleCodePoint(end);
+        this.beginCodePoint = begin.codePointAt(0);
+        this.endCodePoint = end.codePointAt(0);
+
+        this.minLength = Math.min(begin.length(), end.length());
+        this.maxLength = Math.max(begin.length(), end.length());
+
+        ParserToken[] tokens = null;
+        if (character) {
+            final char beginChar = begin.charAt(0);
+            final int count = end.charAt(0) - beginChar + 1;
+
+            if (count <= MAX_CACHED_TOKENS) {
+                tokens = new ParserToken[count];
+                for (int i = 0; i < count; i++) {
+                    final String text = String.valueOf((char) (beginChar + i));
+                    tokens[i] = ParserTokens.string(
+                            text,
+                            text
+                    );
+                }
+            }
+        }
+        this.tokens = tokens;
+    }
+
+    private static boolean isSingleCodePoint(final String text) {
+        return 2 == text.length() &&
+                Character.isHighSurrogate(text.charAt(0)) &&
+                Character.isLowSurrogate(text.charAt(1));
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        return cursor.isEmpty() ?
+                Optional.empty() :
+                this.character ?
+                        this.parseCharacter(cursor) :
+                        this.codePoint ?
+                                this.parseCodePoint(cursor) :
+                                this.parseString(cursor);
+    }
+
+    private Optional<ParserToken> parseCharacter(final TextCursor cursor) {
+        final char c = cursor.at();
+        final char begin = this.begin.charAt(0);
+
+        ParserToken token = null;
+
+        if (c >= begin && c <= this.end.charAt(0)) {
+            cursor.next();
+
+            final ParserToken[] tokens = this.tokens;
+            if (null != tokens) {
+                token = tokens[c - begin];
+            } else {
+                final String text = String.valueOf(c);
+                token = ParserTokens.string(
+                        text,
+                        text
+                );
+            }
+        }
+
+        return Optional.ofNullable(token);
+    }
+
+    private Optional<ParserToken> parseCodePoint(final TextCursor cursor) {
+        final TextCursorSavePoint save = cursor.save();
+
+        ParserToken token = null;
+
+        final char high = cursor.at();
+        if (Character.isHighSurrogate(high)) {
+            cursor.next();
+            if (false == cursor.isEmpty()) {
+                final char low = cursor.at();
+                if (Character.isLowSurrogate(low)) {
+                    final int codePoint = Character.toCodePoint(high, low);
+                    if (codePoint >= this.beginCodePoint && codePoint <= this.endCodePoint) {
+                        cursor.next();
+
+                        final String text = save.textBetween()
+                                .toString();
+                        token = ParserTokens.string(
+                                text,
+                                text
+                        );
+                    }
+                }
+            }
+        }
+
+        if (null == token) {
+            save.restore();
+        }
+
+        return Optional.ofNullable(token);
+    }
+
+    /**
+     * Reads up to {@link #maxLength} characters, comparing each against the begin and end. Once a character is greater
+     * than begin the remaining characters are not compared against begin, and likewise once less than end.
+     */
+    private Optional<ParserToken> parseString(final TextCursor cursor) {
+        final TextCursorSavePoint save = cursor.save();
+
+        final String begin = this.begin;
+        final String end = this.end;
+        final int beginLength = begin.length();
+        final int endLength = end.length();
+
+        boolean equalsBegin = true; // text so far is equal to the prefix of begin
+        boolean equalsEnd = true; // text so far is equal to the prefix of end
+        int matched = 0;
+        int i = 0;
+
+        while (i < this.maxLength && false == cursor.isEmpty()) {
+            final char c = cursor.at();
+
+            if (equalsBegin) {
+                if (i < beginLength) {
+                    final char b = begin.charAt(i);
+                    if (c < b) {
+                        break;
+                    }
+                    equalsBegin = c == b;
+                } else {
+                    equalsBegin = false; // longer than begin and begin is a prefix, so greater
+                }
+            }
+            if (equalsEnd) {
+                if (i < endLength) {
+                    final char e = end.charAt(i);
+                    if (c > e) {
+                        break;
+                    }
+                    equalsEnd = c == e;
+                } else {
+                    break; // longer than end and end is a prefix, so greater
+                }
+            }
+
+            cursor.next();
+            i++;
+
+            if (i >= this.minLength && (false == equalsBegin || i >= beginLength)) {
+                matched = i;
+            }
+        }
+
+        ParserToken token = null;
+
+        if (matched > 0) {
+            if (matched != i) {
+                save.restore();
+                for (int j = 0; j < matched; j++) {
+                    cursor.next();
+                }
+            }
+
+            final String text = save.textBetween()
+                    .toString();
+            token = ParserTokens.string(
+                    text,
+                    text
+            );
+        } else {
+            save.restore();
+        }
+
+        return Optional.ofNullable(token);
+    }
+
+    private final String begin;
+
+    private final String end;
+
+    /**
+     * When true both begin and end are a single character.
+     */
+    private final boolean character;
+
+    /**
+     * When true both begin and end are a single supplementary code point.
+     */
+    private final boolean codePoint;
+
+    private final int beginCodePoint;
+
+    private final int endCodePoint;
+
+    private final int minLength;
+
+    private final int maxLength;
+
+    /**
+     * Tokens for every character within a small single character range.
+     */
+    private final ParserToken[] tokens;
+
+    @Override
+    public String toString() {
+        return CharSequences.quoteAndEscape(this.begin) + ".." + CharSequences.quoteAndEscape(this.end);
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@link TextCursor} that reads text from a {@link Reader} as it is needed, holding only a window of text in a buffer.
+ * Text more than the maximum backtrack distance behind the current position, or before the last {@link #cut()}, may
+ * be released once more text must be read, so memory is bounded by the window and not the size of the text.
+ * <br>
+ * Restoring a {@link TextCursorSavePoint} or getting its text once the text it refers to was released fails with a
+ * {@link EbnfParserCombinatorException}. Because parsers take the text of their tokens from save points, the maximum
+ * backtrack distance must be larger than the longest token that is parsed, and large inputs are best parsed as a
+ * series of records with a {@link #cut()} after each.
+ */
+public final class EbnfParserCombinatorReaderTextCursor implements TextCursor {
+
+    /**
+     * The number of characters read from the {@link Reader} at a time.
+     */
+    final static int BLOCK_SIZE = 4096;
+
+    public static EbnfParserCombinatorReaderTextCursor with(final Reader reader,
+                                                            final int maxBacktrack) {
+        Objects.requireNonNull(reader, "reader");
+        if (maxBacktrack < 0) {
+            throw new IllegalArgumentException("Invalid max backtrack " + maxBacktrack + " < 0");
+        }
+
+        return new EbnfParserCombinatorReaderTextCursor(
+                reader,
+                maxBacktrack
+        );
+    }
+
+    private EbnfParserCombinatorReaderTextCursor(final Reader reader,
+                                                 final int maxBacktrack) {
+        this.reader = reader;
+        this.maxBacktrack = maxBacktrack;
+    }
+
+    /**
+     * Declares that no save point before the current position will be restored, allowing all text before it to be
+     * released.
+     */
+    public void cut() {
+        this.cut = this.position;
+    }
+
+    // TextCursor.......................................................................................................
+
+    @Override
+    public boolean isEmpty() {
+        return this.position == this.start + this.count &&
+                false == this.fill();
+    }
+
+    @Override
+    public char at() {
+        this.failIfEmpty();
+
+        return this.buffer[(int) (this.position - this.start)];
+    }
+
+    @Override
+    public TextCursor next() {
+        final char c = this.at();
+        final long position = this.position + 1;
+
+        switch (c) {
+            case '\n':
+                if (false == this.afterCr) {
+                    this.lineNumber++;
+                }
+                this.lineStart = position;
+                this.afterCr = false;
+                break;
+            case '\r':
+                this.lineNumber++;
+                this.lineStart = position;
+                this.afterCr = true;
+                break;
+            default:
+                this.afterCr = false;
+                break;
+        }
+
+        this.position = position;
+        return this;
+    }
+
+    @Override
+    public TextCursor end() {
+        while (false == this.isEmpty()) {
+            this.next();
+        }
+        return this;
+    }
+
+    @Override
+    public TextCursorSavePoint save() {
+        return EbnfParserCombinatorReaderTextCursorSavePoint.with(this);
+    }
+
+    @Override
+    public TextCursorLineInfo lineInfo() {
+        return EbnfParserCombinatorTextCursorLineInfo.with(
+                this,
+                this.lineNumber,
+                this.lineStart,
+                this.position
+        );
+    }
+
+    /**
+     * Returns the offset of the current character, failing rather than truncating when it is too large for an int.
+     */
+    int offset() {
+        return toInt(
+                "Offset",
+                this.position
+        );
+    }
+
+    /**
+     * Returns the value as an int, failing rather than truncating when it is too large.
+     */
+    static int toInt(final String label,
+                     final long value) {
+        if (value > Integer.MAX_VALUE) {
+            throw new EbnfParserCombinatorException(label + " " + value + " too large, max " + Integer.MAX_VALUE);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns the text of the line starting at the given offset that is still held in the buffer, up to the end of the
+     * line or the buffer, used by {@link EbnfParserCombinatorTextCursorLineInfo#text()}. If the position was already
+     * released the end of its line is unknown, and the text is empty.
+     */
+    CharSequence line(final long lineStart,
+                      final long position) {
+        final long start = this.start;
+        if (position < start) {
+            return "";
+        }
+
+        final int from = (int) (Math.max(lineStart, start) - start);
+        final char[] buffer = this.buffer;
+        final int count = this.count;
+
+        int to = (int) (position - start);
+        while (to < count) {
+            final char c = buffer[to];
+            if ('\n' == c || '\r' == c) {
+                break;
+            }
+            to++;
+        }
+
+        return new String(
+                buffer,
+                from,
+                to - from
+        );
+    }
+
+    private void failIfEmpty() {
+        if (this.isEmpty()) {
+            throw new EbnfParserCombinatorException("Empty text at " + this.position);
+        }
+    }
+
+    // buffer...........................................................................................................
+
+    /**
+     * Reads more text into the buffer, first releasing any text that may no longer be restored. Returns false when
+     * there is no more text.
+     */
+    private boolean fill() {
+        boolean filled = false;
+
+        if (false == this.eof) {
+            this.release();
+
+            if (this.count == this.buffer.length) {
+                this.buffer = Arrays.copyOf(
+                        this.buffer,
+                        this.count + BLOCK_SIZE
+                );
+            }
+
+            try {
+                int read;
+                do {
+                    read = this.reader.read(
+                            this.buffer,
+                            this.count,
+                            this.buffer.length - this.count
+                    );
+                } while (0 == read);
+
+                if (-1 == read) {
+                    this.eof = true;
+                } else {
+                    this.count += read;
+                    filled = true;
+                }
+            } catch (final IOException cause) {
+                throw new EbnfParserCombinatorException("Unable to read text at " + this.position + ": " + cause.getMessage(), cause);
+            }
+        }
+
+        return filled;
+    }
+
+    /**
+     * Moves the text that must be kept to the start of the buffer.
+     */
+    private void release() {
+        final long keep = Math.max(
+                this.cut,
+                this.position - this.maxBacktrack
+        );
+        final int released = (int) (keep - this.start);
+
+        if (released > 0) {
+            System.arraycopy(
+                    this.buffer,
+                    released,
+                    this.buffer,
+                    0,
+                    this.count - released
+            );
+            this.start = keep;
+            this.count -= released;
+        }
+    }
+
+    /**
+     * Used by {@link EbnfParserCombinatorReaderTextCursorSavePoint} to return to a saved position.
+     */
+    void restore(final long position,
+                 final int lineNumber,
+                 final long lineStart,
+                 final boolean afterCr) {
+        this.failIfReleased(position);
+
+        this.position = position;
+        this.lineNumber = lineNumber;
+        this.lineStart = lineStart;
+        this.afterCr = afterCr;
+    }
+
+    /**
+     * Returns the text between the given position and the current position.
+     */
+    CharSequence textBetween(final long position) {
+        final long from = Math.min(
+                position,
+                this.position
+        );
+        this.failIfReleased(from);
+
+        return new String(
+                this.buffer,
+                (int) (from - this.start),
+                (int) (Math.max(position, this.position) - from)
+        );
+    }
+
+    private void failIfReleased(final long position) {
+        final long start = this.start;
+        if (position < start) {
+            throw new EbnfParserCombinatorException("Text at " + position + " was released, only text after " + start + " is available, max backtrack " + this.maxBacktrack);
+        }
+    }
+
+    /**
+     * The number of characters the buffer can hold, which never exceeds the max backtrack plus {@link #BLOCK_SIZE}.
+     */
+    int capacity() {
+        return this.buffer.length;
+    }
+
+    private final Reader reader;
+
+    private final int maxBacktrack;
+
+    private char[] buffer = new char[BLOCK_SIZE];
+
+    /**
+     * The offset of the first character in the buffer.
+     */
+    private long start;
+
+    /**
+     * The number of characters in the buffer.
+     */
+    private int count;
+
+    /**
+     * The offset of the current character.
+     */
+    long position;
+
+    /**
+     * The offset before which text may be released.
+     */
+    private long cut;
+
+    private boolean eof;
+
+    /**
+     * The current line number, starting at 1.
+     */
+    int lineNumber = 1;
+
+    /**
+     * The offset of the first character of the current line.
+     */
+    long lineStart;
+
+    /**
+     * True if the previous character was a CR, so a following NL does not start another line.
+     */
+    boolean afterCr;
+
+    @Override
+    public String toString() {
+        return this.start + ".." + (this.start + this.count) + " @" + this.position;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+
+/**
+ * A {@link TextCursorSavePoint} for a {@link EbnfParserCombinatorReaderTextCursor}, which also remembers the line so
+ * restoring does not need to count lines again.
+ */
+final class EbnfParserCombinatorReaderTextCursorSavePoint implements TextCursorSavePoint {
+
+    static EbnfParserCombinatorReaderTextCursorSavePoint with(final EbnfParserCombinatorReaderTextCursor cursor) {
+        return new EbnfParserCombinatorReaderTextCursorSavePoint(cursor);
+    }
+
+    private EbnfParserCombinatorReaderTextCursorSavePoint(final EbnfParserCombinatorReaderTextCursor cursor) {
+        this.cursor = cursor;
+        this.save();
+    }
+
+    @Override
+    public TextCursor restore() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.cursor;
+        cursor.restore(
+                this.position,
+                this.lineNumber,
+                this.lineStart,
+                this.afterCr
+        );
+        return cursor;
+    }
+
+    @Override
+    public void save() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.cursor;
+
+        this.position = cursor.position;
+        this.lineNumber = cursor.lineNumber;
+        this.lineStart = cursor.lineStart;
+        this.afterCr = cursor.afterCr;
+    }
+
+    @Override
+    public CharSequence textBetween() {
+        return this.cursor.textBetween(this.position);
+    }
+
+    private final EbnfParserCombinatorReaderTextCursor cursor;
+
+    private long position;
+
+    private int lineNumber;
+
+    private long lineStart;
+
+    private boolean afterCr;
+
+    @Override
+    public String toString() {
+        return String.valueOf(this.position);
+    }
+}
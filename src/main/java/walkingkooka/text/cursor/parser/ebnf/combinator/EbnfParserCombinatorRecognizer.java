@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Tests if text matches a rule of a grammar without creating any tokens, compiled by
+ * {@link EbnfParserCombinators#recognizers(GrammarEbnfParserToken, java.util.function.Function)}. Choices are made in
+ * the same way as the parsers created by {@link EbnfParserCombinators}, so both agree on the text that was matched.
+ */
+public interface EbnfParserCombinatorRecognizer extends Predicate<CharSequence> {
+
+    /**
+     * Returns the number of characters matched beginning at the given offset or -1 if the text does not match.
+     */
+    int matchLength(final CharSequence text,
+                    final int from);
+
+    /**
+     * Identical to {@link #matchLength(CharSequence, int)}, also giving the rules and terminals that were matched to
+     * the {@link EbnfParserCombinatorRecognizerListener}. Recognizers that were not compiled from a grammar have no
+     * rules and only return the length.
+     */
+    default int matchLength(final CharSequence text,
+                            final int from,
+                            final EbnfParserCombinatorRecognizerListener listener) {
+        Objects.requireNonNull(listener, "listener");
+
+        return this.matchLength(
+                text,
+                from
+        );
+    }
+
+    /**
+     * Returns true if all the text is matched.
+     */
+    @Override
+    default boolean test(final CharSequence text) {
+        return text.length() == this.matchLength(
+                text,
+                0
+        );
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+/**
+ * Tries each alternative in order, returning the first match.
+ */
+final class EbnfParserCombinatorRecognizerAlternatives extends EbnfParserCombinatorRecognizerNode {
+
+    static EbnfParserCombinatorRecognizerAlternatives with(final EbnfParserCombinatorRecognizerNode[] alternatives) {
+        return new EbnfParserCombinatorRecognizerAlternatives(alternatives);
+    }
+
+    private EbnfParserCombinatorRecognizerAlternatives(final EbnfParserCombinatorRecognizerNode[] alternatives) {
+        super();
+        this.alternatives = alternatives;
+    }
+
+    @Override
+    int match(final CharSequence text,
+              final int from) {
+        int end = NO_MATCH;
+
+        for (final EbnfParserCombinatorRecognizerNode alternative : this.alternatives) {
+            end = alternative.match(
+                    text,
+                    from
+            );
+            if (NO_MATCH != end) {
+                break;
+            }
+        }
+
+        return end;
+    }
+
+    @Override
+    int emit(final CharSequence text,
+             final int from,
+             final EbnfParserCombinatorRecognizerEvents events) {
+        int end = NO_MATCH;
+
+        for (final EbnfParserCombinatorRecognizerNode alternative : this.alternatives) {
+            end = alternative.emit(
+                    text,
+                    from,
+                    events
+            );
+            if (NO_MATCH != end) {
+                break;
+            }
+        }
+
+        return end;
+    }
+
+    final EbnfParserCombinatorRecognizerNode[] alternatives;
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        String separator = "";
+
+        b.append('(');
+        for (final EbnfParserCombinatorRecognizerNode child : this.alternatives) {
+            b.append(separator);
+            b.append(child);
+            separator = " | ";
+        }
+        b.append(')');
+
+        return b.toString();
+    }
+}
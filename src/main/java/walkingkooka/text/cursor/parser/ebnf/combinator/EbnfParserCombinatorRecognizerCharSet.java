@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+/**
+ * Matches a single character within a {@link EbnfParserCombinatorCharSet}, used for single character terminals and
+ * ranges, and for alternatives and exceptions made only of those.
+ */
+final class EbnfParserCombinatorRecognizerCharSet extends EbnfParserCombinatorRecognizerNode {
+
+    static EbnfParserCombinatorRecognizerCharSet with(final EbnfParserCombinatorCharSet charSet) {
+        return new EbnfParserCombinatorRecognizerCharSet(charSet);
+    }
+
+    private EbnfParserCombinatorRecognizerCharSet(final EbnfParserCombinatorCharSet charSet) {
+        super();
+        this.charSet = charSet;
+    }
+
+    @Override
+    int match(final CharSequence text,
+              final int from) {
+        return false == isEnd(text, from) && this.charSet.test(text.charAt(from)) ?
+                from + 1 :
+                NO_MATCH;
+    }
+
+    final EbnfParserCombinatorCharSet charSet;
+
+    @Override
+    public String toString() {
+        return this.charSet.toString();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Compiles every rule of a grammar into a {@link EbnfParserCombinatorRecognizer}. Tokens that always match a single
+ * character, such as <pre>"a".."z" - "q"</pre>, become a single {@link EbnfParserCombinatorRecognizerCharSet}.
+ */
+final class EbnfParserCombinatorRecognizerCompiler {
+
+    static Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> compile(final GrammarEbnfParserToken grammar,
+                                                                                           final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> identifierToRecognizer) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(identifierToRecognizer, "identifierToRecognizer");
+
+        return new EbnfParserCombinatorRecognizerCompiler(
+                EbnfParserCombinatorTokens.rules(grammar),
+                identifierToRecognizer
+        ).compile();
+    }
+
+    private EbnfParserCombinatorRecognizerCompiler(final Map<EbnfIdentifierName, RuleEbnfParserToken> rules,
+                                                   final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> identifierToRecognizer) {
+        this.rules = rules;
+        this.identifierToRecognizer = identifierToRecognizer;
+
+        // a recognizer matches the grammar as written, so every terminal and range is exact
+        this.charSets = EbnfParserCombinatorCharSets.with(
+                rules,
+                (t) -> true
+        );
+    }
+
+    private Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> compile() {
+        final Map<EbnfIdentifierName, EbnfParserCombinatorRecognizerRule> ruleNodes = this.ruleNodes;
+
+        for (final EbnfIdentifierName name : this.rules.keySet()) {
+            ruleNodes.put(
+                    name,
+                    EbnfParserCombinatorRecognizerRule.with(name)
+            );
+        }
+
+        for (final RuleEbnfParserToken rule : this.rules.values()) {
+            ruleNodes.get(
+                    rule.identifier()
+                            .value()
+            ).setAssignment(
+                    this.compile(
+                            rule.assignment()
+                    )
+            );
+        }
+
+        return (n) -> Optional.ofNullable(
+                ruleNodes.get(n)
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerNode compile(final EbnfParserToken token) {
+        final EbnfParserCombinatorRecognizerNode node;
+
+        final Optional<EbnfParserCombinatorCharSet> charSet = this.charSets.charSet(token);
+        if (charSet.isPresent()) {
+            node = EbnfParserCombinatorRecognizerCharSet.with(
+                    charSet.get()
+            );
+        } else if (token.isAlternative()) {
+            node = EbnfParserCombinatorRecognizerAlternatives.with(
+                    this.compileChildren(token)
+            );
+        } else if (token.isConcatenation()) {
+            final List<EbnfParserToken> children = EbnfParserCombinatorTokens.children(token);
+            final boolean[] optional = new boolean[children.size()];
+
+            for (int i = 0; i < optional.length; i++) {
+                optional[i] = this.isOptional(
+                        children.get(i)
+                );
+            }
+
+            node = EbnfParserCombinatorRecognizerConcatenation.with(
+                    this.compileChildren(token),
+                    optional
+            );
+        } else if (token.isException()) {
+            final List<EbnfParserToken> children = EbnfParserCombinatorTokens.children(token);
+
+            node = EbnfParserCombinatorRecognizerException.with(
+                    this.compile(children.get(0)),
+                    this.compile(children.get(1))
+            );
+        } else if (token.isGroup() || token.isOptional()) {
+            node = this.compile(
+                    EbnfParserCombinatorTokens.child(token)
+            );
+        } else if (token.isRepeated()) {
+            node = EbnfParserCombinatorRecognizerRepeated.with(
+                    this.compile(
+                            EbnfParserCombinatorTokens.child(token)
+                    )
+            );
+        } else if (token.isIdentifier()) {
+            node = this.identifier(
+                    token.cast(IdentifierEbnfParserToken.class)
+                            .value()
+            );
+        } else if (token.isRange()) {
+            node = this.range(
+                    token.cast(RangeEbnfParserToken.class)
+            );
+        } else if (token.isTerminal()) {
+            node = EbnfParserCombinatorRecognizerTerminal.with(
+                    token.cast(TerminalEbnfParserToken.class)
+                            .value()
+            );
+        } else {
+            throw new EbnfParserCombinatorException("Unexpected token " + token);
+        }
+
+        return node;
+    }
+
+    private EbnfParserCombinatorRecognizerNode[] compileChildren(final EbnfParserToken token) {
+        final List<EbnfParserToken> children = EbnfParserCombinatorTokens.children(token);
+        final EbnfParserCombinatorRecognizerNode[] nodes = new EbnfParserCombinatorRecognizerNode[children.size()];
+
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = this.compile(
+                    children.get(i)
+            );
+        }
+
+        return nodes;
+    }
+
+    private EbnfParserCombinatorRecognizerNode identifier(final EbnfIdentifierName name) {
+        EbnfParserCombinatorRecognizerNode node = this.ruleNodes.get(name);
+        if (null == node) {
+            node = EbnfParserCombinatorRecognizerExternal.with(
+                    name,
+                    this.identifierToRecognizer.apply(name)
+                            .orElseThrow(() -> new EbnfParserCombinatorException("Missing recognizer for " + name))
+            );
+        }
+        return node;
+    }
+
+    private EbnfParserCombinatorRecognizerNode range(final RangeEbnfParserToken token) {
+        final String begin = EbnfParserCombinatorTokens.terminalText(
+                token.begin(),
+                this.rules
+        ).orElseThrow(() -> new EbnfParserCombinatorException("Invalid range begin, expected identifier or terminal but got " + token.begin()));
+        final String end = EbnfParserCombinatorTokens.terminalText(
+                token.end(),
+                this.rules
+        ).orElseThrow(() -> new EbnfParserCombinatorException("Invalid range end, expected identifier or terminal but got " + token.end()));
+
+        if (begin.isEmpty() || end.isEmpty() || begin.compareTo(end) > 0) {
+            throw new EbnfParserCombinatorException("Invalid range " + CharSequences.quoteAndEscape(begin) + ".." + CharSequences.quoteAndEscape(end));
+        }
+
+        return EbnfParserCombinatorRecognizerRange.with(
+                begin,
+                end
+        );
+    }
+
+    /**
+     * Optional and repeated tokens, including rules that are only those, are skipped by a concatenation when they do
+     * not match.
+     */
+    private boolean isOptional(final EbnfParserToken token) {
+        boolean optional = false;
+
+        if (token.isOptional() || token.isRepeated()) {
+            optional = true;
+        } else if (token.isGroup()) {
+            optional = this.isOptional(
+                    EbnfParserCombinatorTokens.child(token)
+            );
+        } else if (token.isIdentifier()) {
+            final EbnfIdentifierName name = token.cast(IdentifierEbnfParserToken.class)
+                    .value();
+            final RuleEbnfParserToken rule = this.rules.get(name);
+            if (null != rule && this.optionalComputing.add(name)) {
+                try {
+                    optional = this.isOptional(rule.assignment());
+                } finally {
+                    this.optionalComputing.remove(name);
+                }
+            }
+        }
+
+        return optional;
+    }
+
+    /**
+     * Rules whose optionality is being computed, used to detect recursion.
+     */
+    private final Set<EbnfIdentifierName> optionalComputing = Sets.hash();
+
+    private final Map<EbnfIdentifierName, RuleEbnfParserToken> rules;
+
+    private final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> identifierToRecognizer;
+
+    private final EbnfParserCombinatorCharSets charSets;
+
+    private final Map<EbnfIdentifierName, EbnfParserCombinatorRecognizerRule> ruleNodes = Maps.sorted();
+}
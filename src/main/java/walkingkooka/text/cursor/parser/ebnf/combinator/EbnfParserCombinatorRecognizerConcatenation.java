@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+/**
+ * Matches each child in order. Optional and repeated children that do not match are skipped, in the same way a
+ * concatenation of parsers skips them.
+ */
+final class EbnfParserCombinatorRecognizerConcatenation extends EbnfParserCombinatorRecognizerNode {
+
+    static EbnfParserCombinatorRecognizerConcatenation with(final EbnfParserCombinatorRecognizerNode[] children,
+                                                            final boolean[] optional) {
+        return new EbnfParserCombinatorRecognizerConcatenation(
+                children,
+                optional
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerConcatenation(final EbnfParserCombinatorRecognizerNode[] children,
+                                                        final boolean[] optional) {
+        super();
+        this.children = children;
+        this.optional = optional;
+
+        final int count = children.length;
+        final boolean[] remainingOptional = new boolean[count];
+        boolean remaining = true;
+        for (int i = count - 1; i >= 0; i--) {
+            remainingOptional[i] = remaining;
+            remaining = remaining && optional[i];
+        }
+        this.remainingOptional = remainingOptional;
+    }
+
+    @Override
+    int match(final CharSequence text,
+              final int from) {
+        final EbnfParserCombinatorRecognizerNode[] children = this.children;
+        final boolean[] optional = this.optional;
+        final int count = children.length;
+
+        int offset = from;
+
+        for (int i = 0; i < count; i++) {
+            final int end = children[i].match(
+                    text,
+                    offset
+            );
+            if (NO_MATCH != end) {
+                offset = end;
+            } else {
+                if (false == optional[i]) {
+                    offset = NO_MATCH;
+                    break;
+                }
+            }
+        }
+
+        return offset;
+    }
+
+    /**
+     * Once a child matches and all following children are optional the concatenation can no longer fail, so its
+     * events are committed.
+     */
+    @Override
+    int emit(final CharSequence text,
+             final int from,
+             final EbnfParserCombinatorRecognizerEvents events) {
+        final EbnfParserCombinatorRecognizerNode[] children = this.children;
+        final boolean[] optional = this.optional;
+        final boolean[] remainingOptional = this.remainingOptional;
+        final int count = children.length;
+
+        final int mark = events.enter();
+        int offset = from;
+
+        for (int i = 0; i < count; i++) {
+            events.propagate(remainingOptional[i]);
+
+            final int end = children[i].emit(
+                    text,
+                    offset,
+                    events
+            );
+            if (NO_MATCH != end) {
+                offset = end;
+                if (remainingOptional[i]) {
+                    events.commit();
+                }
+            } else {
+                if (false == optional[i]) {
+                    offset = NO_MATCH;
+                    break;
+                }
+            }
+        }
+
+        return events.exit(
+                mark,
+                offset
+        );
+    }
+
+    final EbnfParserCombinatorRecognizerNode[] children;
+
+    /**
+     * Children that may be skipped.
+     */
+    final boolean[] optional;
+
+    /**
+     * For each child, true if all the children after it are optional.
+     */
+    final boolean[] remainingOptional;
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        String separator = "";
+
+        b.append('(');
+        for (final EbnfParserCombinatorRecognizerNode child : this.children) {
+            b.append(separator);
+            b.append(child);
+            separator = ", ";
+        }
+        b.append(')');
+
+        return b.toString();
+    }
+}
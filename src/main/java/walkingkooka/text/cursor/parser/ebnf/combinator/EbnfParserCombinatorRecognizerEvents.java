@@ -0,0 +1,289 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Arrays;
+
+/**
+ * Buffers the events of a recognizer until they can no longer be abandoned by backtracking, and then gives them to the
+ * {@link EbnfParserCombinatorRecognizerListener}.
+ * <br>
+ * Rules and concatenations open a frame with {@link #enter()}, which records where their events begin so they may be
+ * removed if they fail. A frame is committed once it can no longer fail, for example a concatenation once all its
+ * remaining children are optional, and committing also commits the enclosing frames that succeed whenever their
+ * current child succeeds. When every open frame is committed the buffer is flushed, so a grammar such as
+ * <pre>DOCUMENT = { ITEM }</pre> only ever buffers the events of a single ITEM.
+ */
+final class EbnfParserCombinatorRecognizerEvents {
+
+    private final static int INITIAL_CAPACITY = 16;
+
+    private final static byte START_RULE = 0;
+
+    private final static byte TERMINAL = 1;
+
+    private final static byte END_RULE = 2;
+
+    static EbnfParserCombinatorRecognizerEvents with(final EbnfParserCombinatorRecognizerListener listener) {
+        return new EbnfParserCombinatorRecognizerEvents(listener);
+    }
+
+    private EbnfParserCombinatorRecognizerEvents(final EbnfParserCombinatorRecognizerListener listener) {
+        super();
+        this.listener = listener;
+    }
+
+    // frames...........................................................................................................
+
+    /**
+     * Opens a new uncommitted frame, returning the mark that should be given to {@link #exit(int, int)}.
+     */
+    int enter() {
+        final int frame = this.frames;
+        if (frame == this.committed.length) {
+            this.committed = Arrays.copyOf(this.committed, frame * 2);
+            this.propagate = Arrays.copyOf(this.propagate, frame * 2);
+        }
+        this.committed[frame] = false;
+        this.propagate[frame] = false;
+        this.frames = frame + 1;
+        this.uncommitted++;
+
+        return this.size;
+    }
+
+    /**
+     * Sets whether the current frame succeeds when its current child succeeds.
+     */
+    void propagate(final boolean propagate) {
+        this.propagate[this.frames - 1] = propagate;
+    }
+
+    /**
+     * Marks the current frame as unable to fail, along with any enclosing frames that succeed with it.
+     */
+    void commit() {
+        int frame = this.frames - 1;
+        if (false == this.committed[frame]) {
+            this.committed[frame] = true;
+            this.uncommitted--;
+
+            while (frame > 0 && this.propagate[frame - 1] && false == this.committed[frame - 1]) {
+                frame--;
+                this.committed[frame] = true;
+                this.uncommitted--;
+            }
+
+            this.flushIfCommitted();
+        }
+    }
+
+    /**
+     * Closes the current frame, removing its events if the end is {@link EbnfParserCombinatorRecognizerNode#NO_MATCH}.
+     */
+    int exit(final int mark,
+             final int end) {
+        final int frame = this.frames - 1;
+        this.frames = frame;
+
+        if (false == this.committed[frame]) {
+            this.uncommitted--;
+            if (EbnfParserCombinatorRecognizerNode.NO_MATCH == end) {
+                this.size = mark;
+            }
+            this.flushIfCommitted();
+        }
+
+        return end;
+    }
+
+    /**
+     * Whether each open frame is committed.
+     */
+    private boolean[] committed = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Whether each open frame succeeds when its current child succeeds.
+     */
+    private boolean[] propagate = new boolean[INITIAL_CAPACITY];
+
+    private int frames;
+
+    private int uncommitted;
+
+    // events...........................................................................................................
+
+    void startRule(final EbnfIdentifierName name,
+                   final int offset) {
+        final int rule = this.ruleCount;
+        if (rule == this.rules.length) {
+            this.rules = Arrays.copyOf(this.rules, rule * 2);
+        }
+        this.rules[rule] = name;
+        this.ruleCount = rule + 1;
+
+        this.add(
+                START_RULE,
+                name,
+                offset,
+                offset
+        );
+    }
+
+    /**
+     * Adds a terminal belonging to the current rule.
+     */
+    void terminal(final int start,
+                  final int end) {
+        final int ruleCount = this.ruleCount;
+
+        this.terminal(
+                0 == ruleCount ?
+                        null :
+                        this.rules[ruleCount - 1],
+                start,
+                end
+        );
+    }
+
+    void terminal(final EbnfIdentifierName name,
+                  final int start,
+                  final int end) {
+        this.add(
+                TERMINAL,
+                name,
+                start,
+                end
+        );
+        this.flushIfCommitted();
+    }
+
+    /**
+     * Leaves the current rule, adding an end event if the rule matched.
+     */
+    void endRule(final EbnfIdentifierName name,
+                 final int end) {
+        this.ruleCount--;
+        this.rules[this.ruleCount] = null;
+
+        if (EbnfParserCombinatorRecognizerNode.NO_MATCH != end) {
+            this.add(
+                    END_RULE,
+                    name,
+                    end,
+                    end
+            );
+            this.flushIfCommitted();
+        }
+    }
+
+    private void add(final byte kind,
+                     final EbnfIdentifierName name,
+                     final int start,
+                     final int end) {
+        final int size = this.size;
+        if (size == this.kinds.length) {
+            final int capacity = size * 2;
+            this.kinds = Arrays.copyOf(this.kinds, capacity);
+            this.names = Arrays.copyOf(this.names, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+        }
+        this.kinds[size] = kind;
+        this.names[size] = name;
+        this.starts[size] = start;
+        this.ends[size] = end;
+        this.size = size + 1;
+    }
+
+    private void flushIfCommitted() {
+        if (0 == this.uncommitted) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Gives all buffered events to the listener.
+     */
+    void flush() {
+        final EbnfParserCombinatorRecognizerListener listener = this.listener;
+        final int size = this.size;
+
+        for (int i = 0; i < size; i++) {
+            final EbnfIdentifierName name = this.names[i];
+            this.names[i] = null;
+
+            switch (this.kinds[i]) {
+                case START_RULE:
+                    listener.startRule(
+                            name,
+                            this.starts[i]
+                    );
+                    break;
+                case TERMINAL:
+                    listener.terminal(
+                            name,
+                            this.starts[i],
+                            this.ends[i]
+                    );
+                    break;
+                default:
+                    listener.endRule(
+                            name,
+                            this.ends[i]
+                    );
+                    break;
+            }
+        }
+
+        this.size = 0;
+    }
+
+    /**
+     * The number of events waiting to be given to the listener.
+     */
+    int size() {
+        return this.size;
+    }
+
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+
+    private EbnfIdentifierName[] names = new EbnfIdentifierName[INITIAL_CAPACITY];
+
+    private int[] starts = new int[INITIAL_CAPACITY];
+
+    private int[] ends = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * The names of the rules currently being matched, the last is the owner of any terminals.
+     */
+    private EbnfIdentifierName[] rules = new EbnfIdentifierName[INITIAL_CAPACITY];
+
+    private int ruleCount;
+
+    private final EbnfParserCombinatorRecognizerListener listener;
+
+    @Override
+    public String toString() {
+        return this.size + " event(s) " + this.uncommitted + " uncommitted frame(s)";
+    }
+}
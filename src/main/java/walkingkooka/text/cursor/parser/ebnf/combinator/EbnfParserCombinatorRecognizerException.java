@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+/**
+ * Matches the left side unless the right side matches at the same offset.
+ */
+final class EbnfParserCombinatorRecognizerException extends EbnfParserCombinatorRecognizerNode {
+
+    static EbnfParserCombinatorRecognizerException with(final EbnfParserCombinatorRecognizerNode left,
+                                                        final EbnfParserCombinatorRecognizerNode right) {
+        return new EbnfParserCombinatorRecognizerException(
+                left,
+                right
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerException(final EbnfParserCombinatorRecognizerNode left,
+                                                    final EbnfParserCombinatorRecognizerNode right) {
+        super();
+        this.left = left;
+        this.right = right;
+    }
+
+    @Override
+    int match(final CharSequence text,
+              final int from) {
+        return NO_MATCH != this.right.match(text, from) ?
+                NO_MATCH :
+                this.left.match(
+                        text,
+                        from
+                );
+    }
+
+    /**
+     * The right is only tested, so it never adds events.
+     */
+    @Override
+    int emit(final CharSequence text,
+             final int from,
+             final EbnfParserCombinatorRecognizerEvents events) {
+        return NO_MATCH != this.right.match(text, from) ?
+                NO_MATCH :
+                this.left.emit(
+                        text,
+                        from,
+                        events
+                );
+    }
+
+    final EbnfParserCombinatorRecognizerNode left;
+
+    final EbnfParserCombinatorRecognizerNode right;
+
+    @Override
+    public String toString() {
+        return this.left + " - " + this.right;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+/**
+ * Adapts a {@link EbnfParserCombinatorRecognizer} provided for an identifier that is not defined by the grammar.
+ */
+final class EbnfParserCombinatorRecognizerExternal extends EbnfParserCombinatorRecognizerNode {
+
+    static EbnfParserCombinatorRecognizerExternal with(final EbnfIdentifierName name,
+                                                       final EbnfParserCombinatorRecognizer recognizer) {
+        return new EbnfParserCombinatorRecognizerExternal(
+                name,
+                recognizer
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerExternal(final EbnfIdentifierName name,
+                                                   final EbnfParserCombinatorRecognizer recognizer) {
+        super();
+        this.name = name;
+        this.recognizer = recognizer;
+    }
+
+    @Override
+    int match(final CharSequence text,
+              final int from) {
+        final int length = this.recognizer.matchLength(
+                text,
+                from
+        );
+        return length < 0 ?
+                NO_MATCH :
+                from + length;
+    }
+
+    @Override
+    int emit(final CharSequence text,
+             final int from,
+             final EbnfParserCombinatorRecognizerEvents events) {
+        final int end = this.match(
+                text,
+                from
+        );
+        if (NO_MATCH != end) {
+            events.terminal(
+                    this.name,
+                    from,
+                    end
+            );
+        }
+        return end;
+    }
+
+    private final EbnfIdentifierName name;
+
+    private final EbnfParserCombinatorRecognizer recognizer;
+
+    @Override
+    public String toString() {
+        return this.name.toString();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+/**
+ * Receives the rules and terminals matched by
+ * {@link EbnfParserCombinatorRecognizer#matchLength(CharSequence, int, EbnfParserCombinatorRecognizerListener)}, in
+ * the order they appear in the text, rather than building a tree of tokens. Only events that belong to the final
+ * match are received, events from choices that were abandoned are never seen.
+ */
+public interface EbnfParserCombinatorRecognizerListener {
+
+    /**
+     * Called before any events for the contents of the named rule.
+     */
+    void startRule(final EbnfIdentifierName name,
+                   final int offset);
+
+    /**
+     * Called with the offsets of text matched by a terminal, range or external recognizer. The name is the enclosing
+     * rule, or the identifier of an external recognizer.
+     */
+    void terminal(final EbnfIdentifierName name,
+                  final int start,
+                  final int end);
+
+    /**
+     * Called after all events for the contents of the named rule, with the offset after its text.
+     */
+    void endRule(final EbnfIdentifierName name,
+                 final int offset);
+}
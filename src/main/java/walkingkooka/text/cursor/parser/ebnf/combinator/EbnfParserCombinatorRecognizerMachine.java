@@ -0,0 +1,402 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import java.util.Arrays;
+
+/**
+ * Runs a compiled {@link EbnfParserCombinatorRecognizerNode} keeping a frame for each rule, concatenation, alternatives,
+ * repetition and exception on arrays rather than the Java stack, so nesting is only limited by the maximum rule depth.
+ * Leaf nodes such as terminals, ranges and char sets are matched directly. A new machine is needed for each match.
+ * <br>
+ * Each step either pushes a child, or pops the current frame leaving its end offset in {@link #result}, after which
+ * the parent sees {@link #returned} is true and continues with that result. Events are added exactly as
+ * {@link EbnfParserCombinatorRecognizerNode#emit(CharSequence, int, EbnfParserCombinatorRecognizerEvents)} would.
+ */
+final class EbnfParserCombinatorRecognizerMachine {
+
+    private final static int NO_MATCH = EbnfParserCombinatorRecognizerNode.NO_MATCH;
+
+    private final static int INITIAL_CAPACITY = 16;
+
+    static EbnfParserCombinatorRecognizerMachine with(final CharSequence text,
+                                                      final EbnfParserCombinatorRecognizerEvents events,
+                                                      final int maxDepth) {
+        return new EbnfParserCombinatorRecognizerMachine(
+                text,
+                events,
+                maxDepth
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerMachine(final CharSequence text,
+                                                  final EbnfParserCombinatorRecognizerEvents events,
+                                                  final int maxDepth) {
+        this.text = text;
+        this.events = events;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Returns the offset after the text matched by the node or {@link EbnfParserCombinatorRecognizerNode#NO_MATCH}.
+     */
+    int run(final EbnfParserCombinatorRecognizerNode node,
+            final int from) {
+        this.push(
+                node,
+                from,
+                null != this.events
+        );
+
+        while (this.top >= 0) {
+            final EbnfParserCombinatorRecognizerNode current = this.nodes[this.top];
+
+            if (current instanceof EbnfParserCombinatorRecognizerRule) {
+                this.rule((EbnfParserCombinatorRecognizerRule) current);
+            } else if (current instanceof EbnfParserCombinatorRecognizerConcatenation) {
+                this.concatenation((EbnfParserCombinatorRecognizerConcatenation) current);
+            } else if (current instanceof EbnfParserCombinatorRecognizerAlternatives) {
+                this.alternatives((EbnfParserCombinatorRecognizerAlternatives) current);
+            } else if (current instanceof EbnfParserCombinatorRecognizerRepeated) {
+                this.repeated((EbnfParserCombinatorRecognizerRepeated) current);
+            } else {
+                this.exception((EbnfParserCombinatorRecognizerException) current);
+            }
+        }
+
+        return this.result;
+    }
+
+    private void rule(final EbnfParserCombinatorRecognizerRule rule) {
+        final int top = this.top;
+        final EbnfParserCombinatorRecognizerEvents events = this.events;
+        final boolean emit = this.emits[top];
+
+        if (false == this.returned) {
+            final int from = this.froms[top];
+            if (emit) {
+                this.marks[top] = events.enter();
+                events.startRule(
+                        rule.name,
+                        from
+                );
+                events.propagate(true);
+            }
+            this.push(
+                    rule.assignment,
+                    from,
+                    emit
+            );
+        } else {
+            int end = this.result;
+            if (emit) {
+                events.endRule(
+                        rule.name,
+                        end
+                );
+                if (NO_MATCH != end) {
+                    events.commit();
+                }
+                end = events.exit(
+                        this.marks[top],
+                        end
+                );
+            }
+            this.ruleDepth--;
+            this.pop(end);
+        }
+    }
+
+    private void concatenation(final EbnfParserCombinatorRecognizerConcatenation concatenation) {
+        final int top = this.top;
+        final EbnfParserCombinatorRecognizerEvents events = this.events;
+        final boolean emit = this.emits[top];
+        final boolean[] remainingOptional = concatenation.remainingOptional;
+
+        final int index = this.indexes[top];
+        int offset = this.offsets[top];
+
+        if (false == this.returned) {
+            if (emit) {
+                this.marks[top] = events.enter();
+            }
+        } else {
+            final int end = this.result;
+            final int child = index - 1;
+
+            if (NO_MATCH != end) {
+                offset = end;
+                this.offsets[top] = end;
+                if (emit && remainingOptional[child]) {
+                    events.commit();
+                }
+            } else {
+                if (false == concatenation.optional[child]) {
+                    this.concatenationEnd(NO_MATCH);
+                    return;
+                }
+            }
+        }
+
+        final EbnfParserCombinatorRecognizerNode[] children = concatenation.children;
+        if (index == children.length) {
+            this.concatenationEnd(offset);
+        } else {
+            this.indexes[top] = index + 1;
+            if (emit) {
+                events.propagate(remainingOptional[index]);
+            }
+            this.push(
+                    children[index],
+                    offset,
+                    emit
+            );
+        }
+    }
+
+    private void concatenationEnd(final int end) {
+        final int top = this.top;
+
+        this.pop(
+                this.emits[top] ?
+                        this.events.exit(
+                                this.marks[top],
+                                end
+                        ) :
+                        end
+        );
+    }
+
+    private void alternatives(final EbnfParserCombinatorRecognizerAlternatives alternatives) {
+        final int top = this.top;
+        final int index = this.indexes[top];
+        final EbnfParserCombinatorRecognizerNode[] children = alternatives.alternatives;
+
+        if (this.returned && NO_MATCH != this.result) {
+            this.pop(this.result);
+        } else {
+            if (index == children.length) {
+                this.pop(NO_MATCH);
+            } else {
+                this.indexes[top] = index + 1;
+                this.push(
+                        children[index],
+                        this.froms[top],
+                        this.emits[top]
+                );
+            }
+        }
+    }
+
+    /**
+     * {@link #indexes} holds the offset the repeated node was last tried at and {@link #offsets} the end of the last
+     * match.
+     */
+    private void repeated(final EbnfParserCombinatorRecognizerRepeated repeated) {
+        final int top = this.top;
+
+        if (false == this.returned) {
+            final int from = this.froms[top];
+            this.offsets[top] = NO_MATCH;
+            this.indexes[top] = from;
+            this.push(
+                    repeated.repeated,
+                    from,
+                    this.emits[top]
+            );
+        } else {
+            final int end = this.result;
+            if (NO_MATCH == end) {
+                this.pop(this.offsets[top]);
+            } else {
+                this.offsets[top] = end;
+                if (end == this.indexes[top]) {
+                    this.pop(end);
+                } else {
+                    this.indexes[top] = end;
+                    this.push(
+                            repeated.repeated,
+                            end,
+                            this.emits[top]
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * The right is tried first without events, and the left only if the right does not match.
+     */
+    private void exception(final EbnfParserCombinatorRecognizerException exception) {
+        final int top = this.top;
+
+        if (false == this.returned) {
+            this.indexes[top] = 0;
+            this.push(
+                    exception.right,
+                    this.froms[top],
+                    false
+            );
+        } else {
+            if (0 == this.indexes[top]) {
+                if (NO_MATCH != this.result) {
+                    this.pop(NO_MATCH);
+                } else {
+                    this.indexes[top] = 1;
+                    this.push(
+                            exception.left,
+                            this.froms[top],
+                            this.emits[top]
+                    );
+                }
+            } else {
+                this.pop(this.result);
+            }
+        }
+    }
+
+    /**
+     * Leaf nodes are matched immediately, all other nodes get a new frame.
+     */
+    private void push(final EbnfParserCombinatorRecognizerNode node,
+                      final int from,
+                      final boolean emit) {
+        if (node instanceof EbnfParserCombinatorRecognizerRule ||
+                node instanceof EbnfParserCombinatorRecognizerConcatenation ||
+                node instanceof EbnfParserCombinatorRecognizerAlternatives ||
+                node instanceof EbnfParserCombinatorRecognizerRepeated ||
+                node instanceof EbnfParserCombinatorRecognizerException) {
+            if (node instanceof EbnfParserCombinatorRecognizerRule) {
+                this.enterRule(from);
+            }
+
+            final int top = this.top + 1;
+            if (top == this.nodes.length) {
+                this.grow();
+            }
+
+            this.nodes[top] = node;
+            this.froms[top] = from;
+            this.indexes[top] = 0;
+            this.offsets[top] = from;
+            this.emits[top] = emit;
+            this.top = top;
+            this.returned = false;
+        } else {
+            this.result = emit ?
+                    node.emit(
+                            this.text,
+                            from,
+                            this.events
+                    ) :
+                    node.match(
+                            this.text,
+                            from
+                    );
+            this.returned = true;
+        }
+    }
+
+    private void enterRule(final int from) {
+        final int maxDepth = this.maxDepth;
+        if (this.ruleDepth == maxDepth) {
+            throw EbnfParserCombinatorException.stackless(
+                    () -> "Maximum depth " + maxDepth + " exceeded at " + from
+            );
+        }
+        this.ruleDepth++;
+    }
+
+    private void pop(final int result) {
+        this.nodes[this.top] = null;
+        this.top--;
+        this.result = result;
+        this.returned = true;
+    }
+
+    private void grow() {
+        final int capacity = this.nodes.length * 2;
+
+        this.nodes = Arrays.copyOf(this.nodes, capacity);
+        this.froms = Arrays.copyOf(this.froms, capacity);
+        this.indexes = Arrays.copyOf(this.indexes, capacity);
+        this.offsets = Arrays.copyOf(this.offsets, capacity);
+        this.marks = Arrays.copyOf(this.marks, capacity);
+        this.emits = Arrays.copyOf(this.emits, capacity);
+    }
+
+    private final CharSequence text;
+
+    /**
+     * Null when only matching.
+     */
+    private final EbnfParserCombinatorRecognizerEvents events;
+
+    /**
+     * The maximum number of rules that may be nested.
+     */
+    private final int maxDepth;
+
+    private int ruleDepth;
+
+    /**
+     * The index of the current frame, or -1 when there are no frames.
+     */
+    private int top = -1;
+
+    /**
+     * The end offset of the node that just finished.
+     */
+    private int result;
+
+    /**
+     * True when the current frame is continuing after a child finished, false when it has just been pushed.
+     */
+    private boolean returned;
+
+    // frames...........................................................................................................
+
+    private EbnfParserCombinatorRecognizerNode[] nodes = new EbnfParserCombinatorRecognizerNode[INITIAL_CAPACITY];
+
+    private int[] froms = new int[INITIAL_CAPACITY];
+
+    /**
+     * The next child of concatenations and alternatives, the progress of repetitions and exceptions.
+     */
+    private int[] indexes = new int[INITIAL_CAPACITY];
+
+    /**
+     * The offset reached by concatenations and repetitions.
+     */
+    private int[] offsets = new int[INITIAL_CAPACITY];
+
+    /**
+     * The mark returned by {@link EbnfParserCombinatorRecognizerEvents#enter()} for rules and concatenations.
+     */
+    private int[] marks = new int[INITIAL_CAPACITY];
+
+    /**
+     * False for the right side of exceptions, which never add events.
+     */
+    private boolean[] emits = new boolean[INITIAL_CAPACITY];
+
+    @Override
+    public String toString() {
+        return this.top + 1 + " frames";
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import java.util.Objects;
+
+/**
+ * Base class for all {@link EbnfParserCombinatorRecognizer} compiled from a grammar. Nodes call each other using
+ * {@link #match(CharSequence, int)}, passing and returning offsets so nothing is allocated.
+ */
+abstract class EbnfParserCombinatorRecognizerNode implements EbnfParserCombinatorRecognizer {
+
+    /**
+     * Returned by {@link #match(CharSequence, int)} when the text does not match.
+     */
+    final static int NO_MATCH = -1;
+
+    EbnfParserCombinatorRecognizerNode() {
+        super();
+    }
+
+    @Override
+    public final int matchLength(final CharSequence text,
+                                 final int from) {
+        checkText(
+                text,
+                from
+        );
+
+        return length(
+                this.match(
+                        text,
+                        from
+                ),
+                from
+        );
+    }
+
+    @Override
+    public final int matchLength(final CharSequence text,
+                                 final int from,
+                                 final EbnfParserCombinatorRecognizerListener listener) {
+        checkText(
+                text,
+                from
+        );
+        Objects.requireNonNull(listener, "listener");
+
+        final EbnfParserCombinatorRecognizerEvents events = EbnfParserCombinatorRecognizerEvents.with(listener);
+        final int end = this.emit(
+                text,
+                from,
+                events
+        );
+        events.flush();
+
+        return length(
+                end,
+                from
+        );
+    }
+
+    static void checkText(final CharSequence text,
+                          final int from) {
+        Objects.requireNonNull(text, "text");
+        if (from < 0 || from > text.length()) {
+            throw new IllegalArgumentException("Invalid from " + from + " not between 0 and " + text.length());
+        }
+    }
+
+    static int length(final int end,
+                      final int from) {
+        return NO_MATCH == end ?
+                NO_MATCH :
+                end - from;
+    }
+
+    /**
+     * Tests if the offset is at or past the end of the text, without asking a
+     * {@link EbnfParserCombinatorTextCursorCharSequence} for its length which would read all its remaining text.
+     */
+    static boolean isEnd(final CharSequence text,
+                         final int offset) {
+        return text instanceof EbnfParserCombinatorTextCursorCharSequence ?
+                ((EbnfParserCombinatorTextCursorCharSequence) text).isEnd(offset) :
+                offset >= text.length();
+    }
+
+    /**
+     * Returns the offset after the matched text or {@link #NO_MATCH}.
+     */
+    abstract int match(final CharSequence text,
+                       final int from);
+
+    /**
+     * Identical to {@link #match(CharSequence, int)} also adding events. Nodes that fail must leave no events behind,
+     * this default treats the entire match as a single terminal.
+     */
+    int emit(final CharSequence text,
+             final int from,
+             final EbnfParserCombinatorRecognizerEvents events) {
+        final int end = this.match(
+                text,
+                from
+        );
+        if (NO_MATCH != end) {
+            events.terminal(
+                    from,
+                    end
+            );
+        }
+        return end;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that uses a {@link EbnfParserCombinatorRecognizer} to match text, returning a single string token
+ * with the matched text rather than a token for each part of the grammar. Text matched by nothing is treated as a
+ * failure. The minimum and maximum counts come from the {@link Parser} that is being replaced, so concatenations
+ * continue to skip the rule in the same way.
+ */
+final class EbnfParserCombinatorRecognizerParser<C extends ParserContext> implements Parser<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorRecognizerParser<C> with(final EbnfParserCombinatorRecognizer recognizer,
+                                                                                  final Parser<C> parser) {
+        return new EbnfParserCombinatorRecognizerParser<>(
+                Objects.requireNonNull(recognizer, "recognizer"),
+                Objects.requireNonNull(parser, "parser")
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerParser(final EbnfParserCombinatorRecognizer recognizer,
+                                                 final Parser<C> parser) {
+        this.recognizer = recognizer;
+        this.parser = parser;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        final TextCursorSavePoint save = cursor.save();
+
+        final int length = this.matchLength(
+                EbnfParserCombinatorTextCursorCharSequence.with(cursor)
+        );
+        save.restore();
+
+        ParserToken token = null;
+
+        if (length > 0) {
+            for (int i = 0; i < length; i++) {
+                cursor.next();
+            }
+
+            final String text = save.textBetween()
+                    .toString();
+            token = ParserTokens.string(
+                    text,
+                    text
+            );
+        }
+
+        return Optional.ofNullable(token);
+    }
+
+    /**
+     * Recognizers compiled from a grammar are called directly, so only the characters they examine are read.
+     */
+    private int matchLength(final EbnfParserCombinatorTextCursorCharSequence text) {
+        final EbnfParserCombinatorRecognizer recognizer = this.recognizer;
+
+        return recognizer instanceof EbnfParserCombinatorRecognizerNode ?
+                ((EbnfParserCombinatorRecognizerNode) recognizer).match(
+                        text,
+                        0
+                ) :
+                recognizer.matchLength(
+                        text,
+                        0
+                );
+    }
+
+    @Override
+    public int minCount() {
+        return this.parser.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.parser.maxCount();
+    }
+
+    private final EbnfParserCombinatorRecognizer recognizer;
+
+    /**
+     * The {@link Parser} being replaced.
+     */
+    private final Parser<C> parser;
+
+    @Override
+    public String toString() {
+        return this.recognizer.toString();
+    }
+}
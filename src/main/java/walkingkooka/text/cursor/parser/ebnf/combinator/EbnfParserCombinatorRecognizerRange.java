@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.CharSequences;
+
+/**
+ * Matches text lexicographically between begin and end inclusive, keeping the longest match in the same way as
+ * {@link EbnfParserCombinatorRangeParser}. Ranges of single characters are matched by {@link EbnfParserCombinatorRecognizerCharSet}.
+ */
+final class EbnfParserCombinatorRecognizerRange extends EbnfParserCombinatorRecognizerNode {
+
+    static EbnfParserCombinatorRecognizerRange with(final String begin,
+                                                    final String end) {
+        return new EbnfParserCombinatorRecognizerRange(
+                begin,
+                end
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerRange(final String begin,
+                                                final String end) {
+        super();
+        this.begin = begin;
+        this.end = end;
+        this.minLength = Math.min(begin.length(), end.length());
+        this.maxLength = Math.max(begin.length(), end.length());
+    }
+
+    @Override
+    int match(final CharSequence text,
+              final int from) {
+        final String begin = this.begin;
+        final String end = this.end;
+        final int beginLength = begin.length();
+        final int endLength = end.length();
+        final int last = from + this.maxLength;
+
+        boolean equalsBegin = true; // text so far is equal to the prefix of begin
+        boolean equalsEnd = true; // text so far is equal to the prefix of end
+        int matched = NO_MATCH;
+
+        for (int offset = from; offset < last && false == isEnd(text, offset); offset++) {
+            final int i = offset - from;
+            final char c = text.charAt(offset);
+
+            if (equalsBegin) {
+                if (i < beginLength) {
+                    final char b = begin.charAt(i);
+                    if (c < b) {
+                        break;
+                    }
+                    equalsBegin = c == b;
+                } else {
+                    equalsBegin = false; // longer than begin and begin is a prefix, so greater
+                }
+            }
+            if (equalsEnd) {
+                if (i < endLength) {
+                    final char e = end.charAt(i);
+                    if (c > e) {
+                        break;
+                    }
+                    equalsEnd = c == e;
+                } else {
+                    break; // longer than end and end is a prefix, so greater
+                }
+            }
+
+            final int length = i + 1;
+            if (length >= this.minLength && (false == equalsBegin || length >= beginLength)) {
+                matched = offset + 1;
+            }
+        }
+
+        return matched;
+    }
+
+    final String begin;
+
+    final String end;
+
+    private final int minLength;
+
+    private final int maxLength;
+
+    @Override
+    public String toString() {
+        return CharSequences.quoteAndEscape(this.begin) + ".." + CharSequences.quoteAndEscape(this.end);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+/**
+ * Matches the repeated node as many times as possible, failing if it does not match at least once. Stops if the
+ * repeated node matches empty text, which would otherwise loop forever.
+ */
+final class EbnfParserCombinatorRecognizerRepeated extends EbnfParserCombinatorRecognizerNode {
+
+    static EbnfParserCombinatorRecognizerRepeated with(final EbnfParserCombinatorRecognizerNode repeated) {
+        return new EbnfParserCombinatorRecognizerRepeated(repeated);
+    }
+
+    private EbnfParserCombinatorRecognizerRepeated(final EbnfParserCombinatorRecognizerNode repeated) {
+        super();
+        this.repeated = repeated;
+    }
+
+    @Override
+    int match(final CharSequence text,
+              final int from) {
+        final EbnfParserCombinatorRecognizerNode repeated = this.repeated;
+
+        int offset = NO_MATCH;
+        int next = from;
+
+        for (;;) {
+            final int end = repeated.match(
+                    text,
+                    next
+            );
+            if (NO_MATCH == end) {
+                break;
+            }
+            offset = end;
+            if (end == next) {
+                break;
+            }
+            next = end;
+        }
+
+        return offset;
+    }
+
+    @Override
+    int emit(final CharSequence text,
+             final int from,
+             final EbnfParserCombinatorRecognizerEvents events) {
+        final EbnfParserCombinatorRecognizerNode repeated = this.repeated;
+
+        int offset = NO_MATCH;
+        int next = from;
+
+        for (;;) {
+            final int end = repeated.emit(
+                    text,
+                    next,
+                    events
+            );
+            if (NO_MATCH == end) {
+                break;
+            }
+            offset = end;
+            if (end == next) {
+                break;
+            }
+            next = end;
+        }
+
+        return offset;
+    }
+
+    final EbnfParserCombinatorRecognizerNode repeated;
+
+    @Override
+    public String toString() {
+        return "{" + this.repeated + "}";
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+/**
+ * A rule within a grammar, references to the rule are made to this node, so the assignment is set once it has been
+ * compiled, which allows rules to refer to themselves.
+ */
+final class EbnfParserCombinatorRecognizerRule extends EbnfParserCombinatorRecognizerNode {
+
+    static EbnfParserCombinatorRecognizerRule with(final EbnfIdentifierName name) {
+        return new EbnfParserCombinatorRecognizerRule(name);
+    }
+
+    private EbnfParserCombinatorRecognizerRule(final EbnfIdentifierName name) {
+        super();
+        this.name = name;
+    }
+
+    @Override
+    int match(final CharSequence text,
+              final int from) {
+        return this.assignment.match(
+                text,
+                from
+        );
+    }
+
+    @Override
+    int emit(final CharSequence text,
+             final int from,
+             final EbnfParserCombinatorRecognizerEvents events) {
+        final EbnfIdentifierName name = this.name;
+
+        final int mark = events.enter();
+        events.startRule(
+                name,
+                from
+        );
+        events.propagate(true);
+
+        final int end = this.assignment.emit(
+                text,
+                from,
+                events
+        );
+
+        events.endRule(
+                name,
+                end
+        );
+        if (NO_MATCH != end) {
+            events.commit();
+        }
+
+        return events.exit(
+                mark,
+                end
+        );
+    }
+
+    void setAssignment(final EbnfParserCombinatorRecognizerNode assignment) {
+        this.assignment = assignment;
+    }
+
+    final EbnfIdentifierName name;
+
+    EbnfParserCombinatorRecognizerNode assignment;
+
+    @Override
+    public String toString() {
+        return this.name.toString();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.CharSequences;
+
+/**
+ * Matches the text of a terminal exactly.
+ */
+final class EbnfParserCombinatorRecognizerTerminal extends EbnfParserCombinatorRecognizerNode {
+
+    static EbnfParserCombinatorRecognizerTerminal with(final String terminal) {
+        return new EbnfParserCombinatorRecognizerTerminal(terminal);
+    }
+
+    private EbnfParserCombinatorRecognizerTerminal(final String terminal) {
+        super();
+        this.terminal = terminal;
+    }
+
+    @Override
+    int match(final CharSequence text,
+              final int from) {
+        final String terminal = this.terminal;
+        final int length = terminal.length();
+
+        int end = from + length;
+
+        for (int i = 0; i < length; i++) {
+            final int offset = from + i;
+            if (isEnd(text, offset) || terminal.charAt(i) != text.charAt(offset)) {
+                end = NO_MATCH;
+                break;
+            }
+        }
+
+        return end;
+    }
+
+    final String terminal;
+
+    @Override
+    public String toString() {
+        return CharSequences.quoteAndEscape(this.terminal)
+                .toString();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A {@link EbnfParserCombinatorGrammarTransformer} that replaces the parser of each rule that has a
+ * {@link EbnfParserCombinatorRecognizer} with a {@link EbnfParserCombinatorRecognizerParser}. The wrapped transformer
+ * is not given those rules.
+ * <br>
+ * Recognizers are compiled from the grammar and never see the parsers returned by the wrapped transformer, so they are
+ * only used when it {@link EbnfParserCombinatorGrammarTransformer#preservesFirstSets()}, which promises every parser
+ * matches the same text as the grammar. Otherwise all rules are given to the wrapped transformer, so changes it makes
+ * to what a rule accepts are kept.
+ */
+final class EbnfParserCombinatorRecognizingGrammarTransformer<C extends ParserContext> extends EbnfParserCombinatorGrammarTransformerWrapper<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorRecognizingGrammarTransformer<C> with(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                               final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers) {
+        return new EbnfParserCombinatorRecognizingGrammarTransformer<>(
+                transformer,
+                Objects.requireNonNull(recognizers, "recognizers")
+        );
+    }
+
+    private EbnfParserCombinatorRecognizingGrammarTransformer(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                              final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers) {
+        super(transformer);
+        this.recognizers = recognizers;
+    }
+
+    @Override
+    public Parser<C> rule(final RuleEbnfParserToken token,
+                          final Parser<C> parser) {
+        final Optional<EbnfParserCombinatorRecognizer> recognizer = this.transformer.preservesFirstSets() ?
+                this.recognizers.apply(
+                        token.identifier()
+                                .value()
+                ) :
+                Optional.empty();
+
+        return recognizer.isPresent() ?
+                EbnfParserCombinatorRecognizerParser.with(
+                        recognizer.get(),
+                        parser
+                ) :
+                this.transformer.rule(
+                        token,
+                        parser
+                );
+    }
+
+    private final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers;
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} for a repetition of a parser that matches a single character from a {@link EbnfParserCombinatorCharSet},
+ * such as <pre>{ LETTER }</pre>. The characters are scanned in a single loop, without a parse attempt per character.
+ * By default the repeated token holds a string token for each character, the same as the repetition would, with
+ * tokens for ASCII characters created once. {@link #string()} returns a parser that returns a single string token,
+ * like {@link Parsers#charPredicateString(walkingkooka.predicate.character.CharPredicate, int, int)}.
+ */
+final class EbnfParserCombinatorRepeatedCharSetParser<C extends ParserContext> implements Parser<C> {
+
+    /**
+     * The equivalent {@link Parser} is used for {@link #toString()}, {@link #minCount()} and {@link #maxCount()}.
+     */
+    static <C extends ParserContext> EbnfParserCombinatorRepeatedCharSetParser<C> with(final EbnfParserCombinatorCharSet charSet,
+                                                                                       final Parser<C> equivalent) {
+        return new EbnfParserCombinatorRepeatedCharSetParser<>(
+                Objects.requireNonNull(charSet, "charSet"),
+                Objects.requireNonNull(equivalent, "equivalent"),
+                false
+        );
+    }
+
+    private EbnfParserCombinatorRepeatedCharSetParser(final EbnfParserCombinatorCharSet charSet,
+                                                      final Parser<C> equivalent,
+                                                      final boolean string) {
+        this.charSet = charSet;
+        this.equivalent = equivalent;
+        this.string = string;
+
+        ParserToken[] tokens = null;
+        if (false == string) {
+            tokens = new ParserToken[EbnfParserCombinatorFirstSet.ASCII];
+            for (char c = 0; c < EbnfParserCombinatorFirstSet.ASCII; c++) {
+                if (charSet.test(c)) {
+                    tokens[c] = token(c);
+                }
+            }
+        }
+        this.tokens = tokens;
+    }
+
+    /**
+     * Returns a {@link Parser} that returns a single string token holding all the matched characters.
+     */
+    EbnfParserCombinatorRepeatedCharSetParser<C> string() {
+        return this.string ?
+                this :
+                new EbnfParserCombinatorRepeatedCharSetParser<>(
+                        this.charSet,
+                        this.equivalent,
+                        true
+                );
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        ParserToken token = null;
+
+        final EbnfParserCombinatorCharSet charSet = this.charSet;
+        if (false == cursor.isEmpty() && charSet.test(cursor.at())) {
+            final TextCursorSavePoint save = cursor.save();
+
+            if (this.string) {
+                do {
+                    cursor.next();
+                } while (false == cursor.isEmpty() && charSet.test(cursor.at()));
+
+                final String text = save.textBetween()
+                        .toString();
+                token = ParserTokens.string(
+                        text,
+                        text
+                );
+            } else {
+                final ParserToken[] tokens = this.tokens;
+                final List<ParserToken> repeated = Lists.array();
+
+                char c = cursor.at();
+                do {
+                    repeated.add(
+                            c < EbnfParserCombinatorFirstSet.ASCII ?
+                                    tokens[c] :
+                                    token(c)
+                    );
+                    cursor.next();
+                } while (false == cursor.isEmpty() && charSet.test(c = cursor.at()));
+
+                token = ParserTokens.repeated(
+                        repeated,
+                        save.textBetween()
+                                .toString()
+                );
+            }
+        }
+
+        return Optional.ofNullable(token);
+    }
+
+    private static ParserToken token(final char c) {
+        final String text = String.valueOf(c);
+        return ParserTokens.string(
+                text,
+                text
+        );
+    }
+
+    @Override
+    public int minCount() {
+        return this.equivalent.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.equivalent.maxCount();
+    }
+
+    private final EbnfParserCombinatorCharSet charSet;
+
+    /**
+     * When true a single string token is returned, otherwise a repeated token.
+     */
+    private final boolean string;
+
+    /**
+     * Tokens for the ASCII characters within the set, only used when returning repeated tokens.
+     */
+    private final ParserToken[] tokens;
+
+    /**
+     * The equivalent un-optimized {@link Parser}.
+     */
+    private final Parser<C> equivalent;
+
+    @Override
+    public String toString() {
+        return this.equivalent.toString();
+    }
+}
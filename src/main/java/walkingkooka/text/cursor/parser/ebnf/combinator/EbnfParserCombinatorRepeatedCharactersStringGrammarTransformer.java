@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.Cast;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.RepeatedEbnfParserToken;
+
+/**
+ * A {@link EbnfParserCombinatorGrammarTransformer} that replaces repetitions of single characters with a parser that
+ * returns a single string token, before giving it to the wrapped transformer.
+ */
+final class EbnfParserCombinatorRepeatedCharactersStringGrammarTransformer<C extends ParserContext> extends EbnfParserCombinatorGrammarTransformerWrapper<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorRepeatedCharactersStringGrammarTransformer<C> with(final EbnfParserCombinatorGrammarTransformer<C> transformer) {
+        return new EbnfParserCombinatorRepeatedCharactersStringGrammarTransformer<>(transformer);
+    }
+
+    private EbnfParserCombinatorRepeatedCharactersStringGrammarTransformer(final EbnfParserCombinatorGrammarTransformer<C> transformer) {
+        super(transformer);
+    }
+
+    @Override
+    public Parser<C> repeated(final RepeatedEbnfParserToken token,
+                              final Parser<C> parser) {
+        return this.transformer.repeated(
+                token,
+                parser instanceof EbnfParserCombinatorRepeatedCharSetParser ?
+                        Cast.<EbnfParserCombinatorRepeatedCharSetParser<C>>to(parser).string() :
+                        parser
+        );
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+import java.util.List;
+
+/**
+ * Builds the token for a rule directly from the tokens of its children, returned by
+ * {@link EbnfParserCombinatorGrammarTransformer#action(walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken)}.
+ * When the rule is a concatenation the children are the tokens of each part in order, with missing optional parts
+ * skipped, and no {@link walkingkooka.text.cursor.parser.SequenceParserToken} is created. Any other rule has a single
+ * child.
+ */
+public interface EbnfParserCombinatorRuleAction<C extends ParserContext> {
+
+    /**
+     * Returns the token for the rule, which must not be null.
+     */
+    ParserToken build(final List<ParserToken> children,
+                      final String text,
+                      final C context);
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that runs the parsers of each child of a rule in order, giving their tokens to a
+ * {@link EbnfParserCombinatorRuleAction} rather than creating a sequence token. The children are tried by the same
+ * {@link EbnfParserCombinatorSequenceChildren} as a concatenation.
+ */
+final class EbnfParserCombinatorRuleActionParser<C extends ParserContext> implements Parser<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorRuleActionParser<C> with(final EbnfIdentifierName rule,
+                                                                                  final List<Parser<C>> children,
+                                                                                  final EbnfParserCombinatorRuleAction<C> action,
+                                                                                  final Parser<C> equivalent) {
+        Objects.requireNonNull(rule, "rule");
+        Objects.requireNonNull(children, "children");
+        Objects.requireNonNull(action, "action");
+        Objects.requireNonNull(equivalent, "equivalent");
+
+        if (children.isEmpty()) {
+            throw new IllegalArgumentException("Missing children");
+        }
+
+        return new EbnfParserCombinatorRuleActionParser<>(
+                rule,
+                EbnfParserCombinatorSequenceChildren.with(children),
+                action,
+                equivalent
+        );
+    }
+
+    private EbnfParserCombinatorRuleActionParser(final EbnfIdentifierName rule,
+                                                 final EbnfParserCombinatorSequenceChildren<C> children,
+                                                 final EbnfParserCombinatorRuleAction<C> action,
+                                                 final Parser<C> equivalent) {
+        this.rule = rule;
+        this.children = children;
+        this.action = action;
+        this.equivalent = equivalent;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        final TextCursorSavePoint save = cursor.save();
+        final List<ParserToken> children = this.children.parse(
+                cursor,
+                context,
+                save
+        );
+        if (null == children) {
+            return Optional.empty();
+        }
+
+        final ParserToken token = this.action.build(
+                children,
+                save.textBetween()
+                        .toString(),
+                context
+        );
+        if (null == token) {
+            throw new EbnfParserCombinatorException("Action for " + this.rule + " returned null");
+        }
+
+        return Optional.of(token);
+    }
+
+    @Override
+    public int minCount() {
+        return this.equivalent.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.equivalent.maxCount();
+    }
+
+    private final EbnfIdentifierName rule;
+
+    private final EbnfParserCombinatorSequenceChildren<C> children;
+
+    private final EbnfParserCombinatorRuleAction<C> action;
+
+    /**
+     * The {@link Parser} that would create the generic tokens, also the source of the min and max counts.
+     */
+    private final Parser<C> equivalent;
+
+    @Override
+    public String toString() {
+        return this.equivalent.toString();
+    }
+}
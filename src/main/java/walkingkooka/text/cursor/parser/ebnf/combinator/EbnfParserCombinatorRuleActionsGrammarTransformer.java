@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A {@link EbnfParserCombinatorGrammarTransformer} that returns an {@link EbnfParserCombinatorRuleAction} for rules
+ * selected by name, falling back to the wrapped transformer for all other rules.
+ */
+final class EbnfParserCombinatorRuleActionsGrammarTransformer<C extends ParserContext> extends EbnfParserCombinatorGrammarTransformerWrapper<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorRuleActionsGrammarTransformer<C> with(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                               final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRuleAction<C>>> actions) {
+        return new EbnfParserCombinatorRuleActionsGrammarTransformer<>(
+                transformer,
+                Objects.requireNonNull(actions, "actions")
+        );
+    }
+
+    private EbnfParserCombinatorRuleActionsGrammarTransformer(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                              final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRuleAction<C>>> actions) {
+        super(transformer);
+        this.actions = actions;
+    }
+
+    @Override
+    public Optional<EbnfParserCombinatorRuleAction<C>> action(final RuleEbnfParserToken token) {
+        final Optional<EbnfParserCombinatorRuleAction<C>> action = this.actions.apply(
+                token.identifier()
+                        .value()
+        );
+
+        return action.isPresent() ?
+                action :
+                this.transformer.action(token);
+    }
+
+    private final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRuleAction<C>>> actions;
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Generates random text that matches a rule of a grammar, useful for creating large amounts of valid input for
+ * load tests, or warming up parsers before they are used.
+ * <ul>
+ * <li>Alternatives are chosen evenly</li>
+ * <li>Optional tokens are included and repetitions repeated again with the chance given by the bias, so a repetition
+ * averages bias / (1 - bias) items</li>
+ * <li>Ranges of single characters pick any character within the range, other ranges pick either the begin or end</li>
+ * <li>Once rules are nested the maximum depth, optional and repeated tokens are skipped and the alternative that ends
+ * in the fewest rules is always chosen, so every sentence ends</li>
+ * </ul>
+ * The grammar must define every rule it references. Sentences follow the grammar as written, so a grammar that relies
+ * on the order alternatives are tried, such as <pre>"a" | "ab"</pre>, may generate text its parsers reject.
+ * <br>
+ * The {@link Random} is not shared between threads, so each thread should use its own generator.
+ */
+public final class EbnfParserCombinatorSentenceGenerator {
+
+    /**
+     * The number of times an exception generates text, before giving up because all the text was excluded.
+     */
+    private final static int MAX_EXCEPTION_ATTEMPTS = 100;
+
+    /**
+     * The height of tokens that can never end, such as a rule that always references itself.
+     */
+    private final static int NEVER = Integer.MAX_VALUE;
+
+    static EbnfParserCombinatorSentenceGenerator with(final GrammarEbnfParserToken grammar,
+                                                      final Random random,
+                                                      final double bias,
+                                                      final int maxDepth) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(random, "random");
+        if (bias < 0 || bias >= 1) {
+            throw new IllegalArgumentException("Invalid bias " + bias + " not between 0 and 1");
+        }
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Invalid maxDepth " + maxDepth + " < 1");
+        }
+
+        return new EbnfParserCombinatorSentenceGenerator(
+                grammar,
+                random,
+                bias,
+                maxDepth
+        );
+    }
+
+    private EbnfParserCombinatorSentenceGenerator(final GrammarEbnfParserToken grammar,
+                                                  final Random random,
+                                                  final double bias,
+                                                  final int maxDepth) {
+        final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers = EbnfParserCombinatorRecognizerCompiler.compile(
+                grammar,
+                (n) -> Optional.empty()
+        );
+
+        final Map<EbnfIdentifierName, EbnfParserCombinatorRecognizerRule> rules = this.rules;
+        for (final EbnfIdentifierName name : EbnfParserCombinatorTokens.rules(grammar).keySet()) {
+            rules.put(
+                    name,
+                    (EbnfParserCombinatorRecognizerRule) recognizers.apply(name)
+                            .get()
+            );
+        }
+
+        this.random = random;
+        this.bias = bias;
+        this.maxDepth = maxDepth;
+
+        this.computeRuleHeights();
+        for (final EbnfParserCombinatorRecognizerRule rule : rules.values()) {
+            this.computeHeights(rule.assignment);
+        }
+    }
+
+    /**
+     * Repeatedly computes the height of every rule, until no rule gets any shorter. Rules that only reference
+     * themselves keep the height {@link #NEVER}.
+     */
+    private void computeRuleHeights() {
+        final Map<EbnfParserCombinatorRecognizerNode, Integer> heights = this.heights;
+        final Map<EbnfIdentifierName, EbnfParserCombinatorRecognizerRule> rules = this.rules;
+
+        for (final EbnfParserCombinatorRecognizerRule rule : rules.values()) {
+            heights.put(
+                    rule,
+                    NEVER
+            );
+        }
+
+        boolean changed;
+        do {
+            changed = false;
+
+            for (final EbnfParserCombinatorRecognizerRule rule : rules.values()) {
+                final int assignment = this.height(rule.assignment);
+                final int height = NEVER == assignment ?
+                        NEVER :
+                        assignment + 1;
+                if (height < heights.get(rule)) {
+                    heights.put(
+                            rule,
+                            height
+                    );
+                    changed = true;
+                }
+            }
+        } while (changed);
+    }
+
+    /**
+     * Records the height of every node within a rule, so they need not be computed while generating.
+     */
+    private void computeHeights(final EbnfParserCombinatorRecognizerNode node) {
+        if (false == node instanceof EbnfParserCombinatorRecognizerRule && false == this.heights.containsKey(node)) {
+            this.heights.put(
+                    node,
+                    this.height(node)
+            );
+
+            if (node instanceof EbnfParserCombinatorRecognizerAlternatives) {
+                for (final EbnfParserCombinatorRecognizerNode alternative : ((EbnfParserCombinatorRecognizerAlternatives) node).alternatives) {
+                    this.computeHeights(alternative);
+                }
+            } else if (node instanceof EbnfParserCombinatorRecognizerConcatenation) {
+                for (final EbnfParserCombinatorRecognizerNode child : ((EbnfParserCombinatorRecognizerConcatenation) node).children) {
+                    this.computeHeights(child);
+                }
+            } else if (node instanceof EbnfParserCombinatorRecognizerException) {
+                this.computeHeights(((EbnfParserCombinatorRecognizerException) node).left);
+            } else if (node instanceof EbnfParserCombinatorRecognizerRepeated) {
+                this.computeHeights(((EbnfParserCombinatorRecognizerRepeated) node).repeated);
+            }
+        }
+    }
+
+    /**
+     * The height is the fewest rules that must be nested to generate text, when optional and repeated tokens are
+     * skipped and the shortest alternative is chosen.
+     */
+    private int height(final EbnfParserCombinatorRecognizerNode node) {
+        int height;
+
+        if (node instanceof EbnfParserCombinatorRecognizerRule) {
+            height = this.heights.get(node);
+        } else if (node instanceof EbnfParserCombinatorRecognizerAlternatives) {
+            height = NEVER;
+            for (final EbnfParserCombinatorRecognizerNode alternative : ((EbnfParserCombinatorRecognizerAlternatives) node).alternatives) {
+                height = Math.min(
+                        height,
+                        this.height(alternative)
+                );
+            }
+        } else if (node instanceof EbnfParserCombinatorRecognizerConcatenation) {
+            final EbnfParserCombinatorRecognizerConcatenation concatenation = (EbnfParserCombinatorRecognizerConcatenation) node;
+            final EbnfParserCombinatorRecognizerNode[] children = concatenation.children;
+
+            height = 0;
+            for (int i = 0; i < children.length; i++) {
+                if (false == concatenation.optional[i]) {
+                    height = Math.max(
+                            height,
+                            this.height(children[i])
+                    );
+                }
+            }
+        } else if (node instanceof EbnfParserCombinatorRecognizerException) {
+            height = this.height(((EbnfParserCombinatorRecognizerException) node).left);
+        } else {
+            height = 0; // terminals, ranges and repetitions which may be empty
+        }
+
+        return height;
+    }
+
+    /**
+     * Returns a sentence matching the given rule.
+     */
+    public String generate(final EbnfIdentifierName rule) {
+        final StringBuilder b = new StringBuilder();
+        try {
+            this.generate(
+                    rule,
+                    b
+            );
+        } catch (final IOException cause) {
+            throw new EbnfParserCombinatorException(cause.getMessage(), cause); // StringBuilder never throws
+        }
+        return b.toString();
+    }
+
+    /**
+     * Appends a sentence matching the given rule to the {@link Appendable}, such as a {@link java.io.Writer}, without
+     * holding the sentence in memory.
+     */
+    public void generate(final EbnfIdentifierName rule,
+                         final Appendable output) throws IOException {
+        Objects.requireNonNull(rule, "rule");
+        Objects.requireNonNull(output, "output");
+
+        final EbnfParserCombinatorRecognizerRule node = this.rules.get(rule);
+        if (null == node) {
+            throw new IllegalArgumentException("Unknown rule " + rule);
+        }
+        if (NEVER == this.heights.get(node)) {
+            throw new EbnfParserCombinatorException("Rule " + rule + " never ends");
+        }
+
+        this.generate(
+                node,
+                0,
+                output
+        );
+    }
+
+    private void generate(final EbnfParserCombinatorRecognizerNode node,
+                          final int depth,
+                          final Appendable output) throws IOException {
+        if (node instanceof EbnfParserCombinatorRecognizerRule) {
+            this.generate(
+                    ((EbnfParserCombinatorRecognizerRule) node).assignment,
+                    depth + 1,
+                    output
+            );
+        } else if (node instanceof EbnfParserCombinatorRecognizerAlternatives) {
+            this.alternatives(
+                    (EbnfParserCombinatorRecognizerAlternatives) node,
+                    depth,
+                    output
+            );
+        } else if (node instanceof EbnfParserCombinatorRecognizerConcatenation) {
+            this.concatenation(
+                    (EbnfParserCombinatorRecognizerConcatenation) node,
+                    depth,
+                    output
+            );
+        } else if (node instanceof EbnfParserCombinatorRecognizerRepeated) {
+            final EbnfParserCombinatorRecognizerNode repeated = ((EbnfParserCombinatorRecognizerRepeated) node).repeated;
+
+            while (this.include(repeated, depth)) {
+                this.generate(
+                        repeated,
+                        depth,
+                        output
+                );
+            }
+        } else if (node instanceof EbnfParserCombinatorRecognizerException) {
+            output.append(
+                    this.exception(
+                            (EbnfParserCombinatorRecognizerException) node,
+                            depth
+                    )
+            );
+        } else if (node instanceof EbnfParserCombinatorRecognizerTerminal) {
+            output.append(((EbnfParserCombinatorRecognizerTerminal) node).terminal);
+        } else if (node instanceof EbnfParserCombinatorRecognizerCharSet) {
+            final EbnfParserCombinatorCharSet charSet = ((EbnfParserCombinatorRecognizerCharSet) node).charSet;
+
+            output.append(
+                    charSet.get(
+                            this.random.nextInt(charSet.size())
+                    )
+            );
+        } else if (node instanceof EbnfParserCombinatorRecognizerRange) {
+            final EbnfParserCombinatorRecognizerRange range = (EbnfParserCombinatorRecognizerRange) node;
+
+            output.append(
+                    this.random.nextBoolean() ?
+                            range.begin :
+                            range.end
+            );
+        } else {
+            throw new EbnfParserCombinatorException("Unable to generate text for " + node);
+        }
+    }
+
+    /**
+     * Chooses any alternative that ends, or the shortest once the maximum depth is reached.
+     */
+    private void alternatives(final EbnfParserCombinatorRecognizerAlternatives alternatives,
+                              final int depth,
+                              final Appendable output) throws IOException {
+        final EbnfParserCombinatorRecognizerNode[] choices = alternatives.alternatives;
+        final Map<EbnfParserCombinatorRecognizerNode, Integer> heights = this.heights;
+
+        EbnfParserCombinatorRecognizerNode chosen = null;
+
+        if (depth >= this.maxDepth) {
+            int shortest = NEVER;
+            for (final EbnfParserCombinatorRecognizerNode choice : choices) {
+                final int height = heights.get(choice);
+                if (height < shortest) {
+                    chosen = choice;
+                    shortest = height;
+                }
+            }
+        } else {
+            int count = 0;
+            for (final EbnfParserCombinatorRecognizerNode choice : choices) {
+                if (NEVER != heights.get(choice)) {
+                    count++;
+
+                    // keeps each of the choices that end with the same chance
+                    if (0 == this.random.nextInt(count)) {
+                        chosen = choice;
+                    }
+                }
+            }
+        }
+
+        this.generate(
+                chosen,
+                depth,
+                output
+        );
+    }
+
+    private void concatenation(final EbnfParserCombinatorRecognizerConcatenation concatenation,
+                               final int depth,
+                               final Appendable output) throws IOException {
+        final EbnfParserCombinatorRecognizerNode[] children = concatenation.children;
+        final boolean[] optional = concatenation.optional;
+
+        for (int i = 0; i < children.length; i++) {
+            final EbnfParserCombinatorRecognizerNode child = children[i];
+
+            // repetitions decide for themselves how many times they repeat
+            if (false == optional[i] || child instanceof EbnfParserCombinatorRecognizerRepeated || this.include(child, depth)) {
+                this.generate(
+                        child,
+                        depth,
+                        output
+                );
+            }
+        }
+    }
+
+    /**
+     * Tries the left side of the exception until its text is not also matched by the right side.
+     */
+    private String exception(final EbnfParserCombinatorRecognizerException exception,
+                             final int depth) throws IOException {
+        for (int i = 0; i < MAX_EXCEPTION_ATTEMPTS; i++) {
+            final StringBuilder b = new StringBuilder();
+            this.generate(
+                    exception.left,
+                    depth,
+                    b
+            );
+
+            if (false == exception.right.test(b)) {
+                return b.toString();
+            }
+        }
+
+        throw new EbnfParserCombinatorException("Unable to generate text for " + exception + " after " + MAX_EXCEPTION_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * Optional and repeated tokens are included with the chance given by the bias, but never past the maximum depth.
+     */
+    private boolean include(final EbnfParserCombinatorRecognizerNode node,
+                            final int depth) {
+        return depth < this.maxDepth &&
+                NEVER != this.heights.get(node) &&
+                this.random.nextDouble() < this.bias;
+    }
+
+    /**
+     * Every rule in the grammar by name.
+     */
+    private final Map<EbnfIdentifierName, EbnfParserCombinatorRecognizerRule> rules = Maps.ordered();
+
+    /**
+     * The height of every rule and of every node within a rule.
+     */
+    private final Map<EbnfParserCombinatorRecognizerNode, Integer> heights = Maps.hash();
+
+    private final Random random;
+
+    private final double bias;
+
+    private final int maxDepth;
+
+    @Override
+    public String toString() {
+        return "bias=" + this.bias + " maxDepth=" + this.maxDepth + " " + this.rules.keySet();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The children of a concatenation, tried in order by {@link EbnfParserCombinatorSequenceParser} and
+ * {@link EbnfParserCombinatorRuleActionParser}. Children tagged with {@link EbnfParserCombinatorOptionalParser} or with
+ * a minimum count of zero may be missing.
+ */
+final class EbnfParserCombinatorSequenceChildren<C extends ParserContext> {
+
+    static <C extends ParserContext> EbnfParserCombinatorSequenceChildren<C> with(final List<Parser<C>> children) {
+        Objects.requireNonNull(children, "children");
+
+        final int count = children.size();
+        final Parser<C>[] parsers = new Parser[count];
+        final boolean[] optional = new boolean[count];
+
+        for (int i = 0; i < count; i++) {
+            Parser<C> parser = children.get(i);
+            if (parser instanceof EbnfParserCombinatorOptionalParser) {
+                parser = EbnfParserCombinatorOptionalParser.unwrapIfNecessary(parser);
+                optional[i] = true;
+            } else {
+                optional[i] = 0 == parser.minCount();
+            }
+            parsers[i] = parser;
+        }
+
+        return new EbnfParserCombinatorSequenceChildren<>(
+                parsers,
+                optional
+        );
+    }
+
+    private EbnfParserCombinatorSequenceChildren(final Parser<C>[] parsers,
+                                                 final boolean[] optional) {
+        this.parsers = parsers;
+        this.optional = optional;
+    }
+
+    /**
+     * Tries each child in order, returning their tokens in a list sized for every child, or null after restoring the
+     * save point if a child that may not be missing failed.
+     */
+    List<ParserToken> parse(final TextCursor cursor,
+                            final C context,
+                            final TextCursorSavePoint save) {
+        final Parser<C>[] parsers = this.parsers;
+        final boolean[] optional = this.optional;
+        final int count = parsers.length;
+        List<ParserToken> tokens = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final Optional<ParserToken> token = parsers[i].parse(
+                    cursor,
+                    context
+            );
+            if (token.isPresent()) {
+                tokens.add(token.get());
+            } else {
+                if (false == optional[i]) {
+                    save.restore();
+                    tokens = null;
+                    break;
+                }
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * The parser for each child, with any optional tag removed.
+     */
+    private final Parser<C>[] parsers;
+
+    /**
+     * For each child, true if it may be missing.
+     */
+    private final boolean[] optional;
+
+    @Override
+    public String toString() {
+        return this.parsers.length + " children";
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} for an entire concatenation, replacing a chain of parsers joined by {@link Parser#and(Parser)}.
+ * The {@link EbnfParserCombinatorSequenceChildren} are tried in order using a single save point, returning the same
+ * sequence token the chain would have produced.
+ */
+final class EbnfParserCombinatorSequenceParser<C extends ParserContext> implements Parser<C> {
+
+    /**
+     * Children tagged with {@link EbnfParserCombinatorOptionalParser} or with a minimum count of zero may be missing.
+     */
+    static <C extends ParserContext> EbnfParserCombinatorSequenceParser<C> with(final List<Parser<C>> children) {
+        Objects.requireNonNull(children, "children");
+
+        final int count = children.size();
+        if (count < 2) {
+            throw new IllegalArgumentException("Expected at least 2 children but got " + count);
+        }
+
+        Parser<C> and = null;
+
+        for (final Parser<C> child : children) {
+            final Parser<C> andParser = child instanceof EbnfParserCombinatorOptionalParser ?
+                    EbnfParserCombinatorOptionalParser.unwrapIfNecessary(child)
+                            .optional() :
+                    child;
+
+            and = null == and ?
+                    andParser :
+                    and.and(andParser);
+        }
+
+        return new EbnfParserCombinatorSequenceParser<>(
+                EbnfParserCombinatorSequenceChildren.with(children),
+                and
+        );
+    }
+
+    private EbnfParserCombinatorSequenceParser(final EbnfParserCombinatorSequenceChildren<C> children,
+                                               final Parser<C> and) {
+        this.children = children;
+        this.and = and;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        final TextCursorSavePoint save = cursor.save();
+        final List<ParserToken> tokens = this.children.parse(
+                cursor,
+                context,
+                save
+        );
+
+        return null == tokens ?
+                Optional.empty() :
+                Optional.of(
+                        ParserTokens.sequence(
+                                tokens,
+                                save.textBetween()
+                                        .toString()
+                        )
+                );
+    }
+
+    @Override
+    public int minCount() {
+        return this.and.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.and.maxCount();
+    }
+
+    private final EbnfParserCombinatorSequenceChildren<C> children;
+
+    /**
+     * The equivalent chain of {@link Parser#and(Parser)}, used for {@link #toString()}, {@link #minCount()} and
+     * {@link #maxCount()}.
+     */
+    private final Parser<C> and;
+
+    @Override
+    public String toString() {
+        return this.and.toString();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The tracked rules that would fail at the current offset when a parser is skipped because the next character is
+ * not within its FIRST set. They are reported to the {@link EbnfParserCombinatorFailureParserContext} as if the
+ * skipped parser had been tried, without parsing.
+ * <br>
+ * The rule names are known when the parser is created, but which of those rules are tracked by a
+ * {@link EbnfParserCombinatorFailureParser} is only known once every rule has a parser, when {@link #resolve(Function)}
+ * is called with {@link EbnfParserCombinatorGrammarTransformer#failureTracker(EbnfIdentifierName)}, which finds them by
+ * name even when other decorators wrapped them again.
+ */
+final class EbnfParserCombinatorSkippedRules {
+
+    static EbnfParserCombinatorSkippedRules with(final List<EbnfIdentifierName> rules) {
+        return new EbnfParserCombinatorSkippedRules(
+                Objects.requireNonNull(rules, "rules")
+        );
+    }
+
+    private EbnfParserCombinatorSkippedRules(final List<EbnfIdentifierName> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Keeps the id and name of each rule whose tracker is a {@link EbnfParserCombinatorFailureParser}, all other rules,
+     * including those without a tracker, are ignored.
+     */
+    void resolve(final Function<EbnfIdentifierName, Parser<?>> ruleParser) {
+        final List<EbnfParserCombinatorFailureParser<?>> tracked = Lists.array();
+
+        for (final EbnfIdentifierName rule : this.rules) {
+            final Parser<?> parser = ruleParser.apply(rule);
+            if (parser instanceof EbnfParserCombinatorFailureParser) {
+                tracked.add((EbnfParserCombinatorFailureParser<?>) parser);
+            }
+        }
+
+        final int count = tracked.size();
+        final int[] ids = new int[count];
+        final EbnfIdentifierName[] names = new EbnfIdentifierName[count];
+
+        for (int i = 0; i < count; i++) {
+            final EbnfParserCombinatorFailureParser<?> parser = tracked.get(i);
+            ids[i] = parser.id;
+            names[i] = parser.rule;
+        }
+
+        this.ids = ids;
+        this.names = names;
+    }
+
+    /**
+     * Records that every tracked rule failed at the position of the cursor.
+     */
+    void failed(final TextCursor cursor,
+                final EbnfParserCombinatorFailureParserContext context) {
+        final int[] ids = this.ids;
+
+        if (null != ids && ids.length > 0) {
+            context.failed(
+                    cursor,
+                    ids,
+                    this.names
+            );
+        }
+    }
+
+    /**
+     * The leading rules of the skipped parser, tracked or not.
+     */
+    private final List<EbnfIdentifierName> rules;
+
+    /**
+     * The id of each tracked rule, null until resolved.
+     */
+    private int[] ids;
+
+    /**
+     * The name of each tracked rule, null until resolved.
+     */
+    private EbnfIdentifierName[] names;
+
+    @Override
+    public String toString() {
+        return this.rules.toString();
+    }
+}
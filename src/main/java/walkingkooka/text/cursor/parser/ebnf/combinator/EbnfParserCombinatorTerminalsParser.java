@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.RequiredParser;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that matches a concatenation of {@link TerminalEbnfParserToken terminals} as a single string,
+ * replacing a chain of string parsers joined by {@link Parser#and(Parser)}. The returned token is a
+ * sequence holding a string token for each terminal, so transformers see the same split view that the chain would
+ * have produced. Because the matched text is always the same the token is computed once and shared.
+ */
+final class EbnfParserCombinatorTerminalsParser<C extends ParserContext> implements Parser<C>,
+        RequiredParser<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorTerminalsParser<C> with(final List<TerminalEbnfParserToken> terminals) {
+        Objects.requireNonNull(terminals, "terminals");
+        if (terminals.isEmpty()) {
+            throw new IllegalArgumentException("Terminals must not be empty");
+        }
+
+        return new EbnfParserCombinatorTerminalsParser<>(terminals);
+    }
+
+    private EbnfParserCombinatorTerminalsParser(final List<TerminalEbnfParserToken> terminals) {
+        final List<ParserToken> tokens = Lists.array();
+        final StringBuilder text = new StringBuilder();
+        final StringBuilder toString = new StringBuilder();
+        String separator = "";
+
+        for (final TerminalEbnfParserToken terminal : terminals) {
+            final String value = terminal.value();
+
+            tokens.add(
+                    ParserTokens.string(
+                            value,
+                            value
+                    )
+            );
+            text.append(value);
+
+            toString.append(separator);
+            toString.append(CharSequences.quoteAndEscape(value));
+            separator = ", ";
+        }
+
+        this.text = text.toString();
+        this.token = Optional.of(
+                ParserTokens.sequence(
+                        tokens,
+                        this.text
+                )
+        );
+        this.toString = toString.toString();
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        final TextCursorSavePoint save = cursor.save();
+        final String text = this.text;
+        final int length = text.length();
+
+        Optional<ParserToken> token = this.token;
+
+        for (int i = 0; i < length; i++) {
+            if (cursor.isEmpty() || text.charAt(i) != cursor.at()) {
+                save.restore();
+                token = Optional.empty();
+                break;
+            }
+            cursor.next();
+        }
+
+        return token;
+    }
+
+    /**
+     * The concatenated text of all terminals.
+     */
+    private final String text;
+
+    /**
+     * The shared sequence token holding a string token for each terminal.
+     */
+    private final Optional<ParserToken> token;
+
+    @Override
+    public String toString() {
+        return this.toString;
+    }
+
+    private final String toString;
+}
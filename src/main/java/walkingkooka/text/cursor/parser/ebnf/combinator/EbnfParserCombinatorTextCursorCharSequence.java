@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+
+/**
+ * A {@link CharSequence} view of the text remaining in a {@link TextCursor}, which reads characters from the cursor
+ * only as they are needed. Characters are not copied, the cursor is left at the farthest character read, and earlier
+ * characters are taken from a slice of the underlying text between a save point and the cursor, which is only
+ * created when reading backwards and reused until the cursor moves again. It is the responsibility of the caller to
+ * save and restore the position of the cursor.
+ */
+final class EbnfParserCombinatorTextCursorCharSequence implements CharSequence {
+
+    static EbnfParserCombinatorTextCursorCharSequence with(final TextCursor cursor) {
+        return new EbnfParserCombinatorTextCursorCharSequence(cursor);
+    }
+
+    private EbnfParserCombinatorTextCursorCharSequence(final TextCursor cursor) {
+        super();
+        this.cursor = cursor;
+        this.start = cursor.save();
+    }
+
+    /**
+     * Returns true if the text ends at or before the given offset, reading no more characters than necessary.
+     */
+    boolean isEnd(final int offset) {
+        return offset >= this.offset &&
+                (false == this.moveTo(offset) || this.cursor.isEmpty());
+    }
+
+    @Override
+    public char charAt(final int index) {
+        final char c;
+
+        if (index < this.offset) {
+            c = this.slice()
+                    .charAt(index);
+        } else {
+            if (false == this.moveTo(index) || this.cursor.isEmpty()) {
+                throw new StringIndexOutOfBoundsException("Invalid index " + index);
+            }
+            c = this.cursor.at();
+        }
+
+        return c;
+    }
+
+    /**
+     * Reads all the remaining text in the cursor.
+     */
+    @Override
+    public int length() {
+        this.moveTo(Integer.MAX_VALUE);
+        return this.offset;
+    }
+
+    @Override
+    public CharSequence subSequence(final int start,
+                                    final int end) {
+        this.moveTo(end);
+        return this.slice()
+                .subSequence(
+                        start,
+                        end
+                );
+    }
+
+    /**
+     * Advances the cursor until it is at the given offset, returning false if the cursor became empty first.
+     */
+    private boolean moveTo(final int offset) {
+        final TextCursor cursor = this.cursor;
+        int at = this.offset;
+
+        if (at < offset) {
+            while (at < offset && false == cursor.isEmpty()) {
+                cursor.next();
+                at++;
+            }
+            this.offset = at;
+            this.slice = null;
+        }
+
+        return at >= offset;
+    }
+
+    /**
+     * Returns the text between the start and the cursor, creating it only when the cursor has moved since the last call.
+     */
+    private CharSequence slice() {
+        CharSequence slice = this.slice;
+        if (null == slice) {
+            slice = this.start.textBetween();
+            this.slice = slice;
+        }
+        return slice;
+    }
+
+    private final TextCursor cursor;
+
+    /**
+     * The position of the cursor when this was created.
+     */
+    private final TextCursorSavePoint start;
+
+    /**
+     * The offset of the cursor from the start.
+     */
+    private int offset;
+
+    /**
+     * The text between the start and the cursor, cleared whenever the cursor moves.
+     */
+    private CharSequence slice;
+
+    @Override
+    public String toString() {
+        this.length();
+        return this.slice()
+                .toString();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+
+/**
+ * The {@link TextCursorLineInfo} of a {@link EbnfParserCombinatorReaderTextCursor}, which only captures the position
+ * of the cursor. The text of the line is only copied from the cursor when {@link #text()} is first called, and only
+ * includes the part of the line still held by the cursor at that time. The column and text offset fail with a
+ * {@link EbnfParserCombinatorException} rather than being truncated when they are too large for an int.
+ */
+final class EbnfParserCombinatorTextCursorLineInfo implements TextCursorLineInfo {
+
+    static EbnfParserCombinatorTextCursorLineInfo with(final EbnfParserCombinatorReaderTextCursor cursor,
+                                                       final int lineNumber,
+                                                       final long lineStart,
+                                                       final long position) {
+        return new EbnfParserCombinatorTextCursorLineInfo(
+                cursor,
+                lineNumber,
+                lineStart,
+                position
+        );
+    }
+
+    private EbnfParserCombinatorTextCursorLineInfo(final EbnfParserCombinatorReaderTextCursor cursor,
+                                                   final int lineNumber,
+                                                   final long lineStart,
+                                                   final long position) {
+        this.cursor = cursor;
+        this.lineNumber = lineNumber;
+        this.lineStart = lineStart;
+        this.position = position;
+    }
+
+    @Override
+    public CharSequence text() {
+        CharSequence text = this.text;
+        if (null == text) {
+            text = this.cursor.line(
+                    this.lineStart,
+                    this.position
+            );
+            this.text = text;
+        }
+        return text;
+    }
+
+    private final EbnfParserCombinatorReaderTextCursor cursor;
+
+    /**
+     * The text of the line, copied from the cursor when first requested.
+     */
+    private CharSequence text;
+
+    @Override
+    public int lineNumber() {
+        return this.lineNumber;
+    }
+
+    private final int lineNumber;
+
+    @Override
+    public int column() {
+        return EbnfParserCombinatorReaderTextCursor.toInt(
+                "Column",
+                this.position - this.lineStart + 1
+        );
+    }
+
+    /**
+     * The offset of the first character of the line.
+     */
+    private final long lineStart;
+
+    @Override
+    public int textOffset() {
+        return EbnfParserCombinatorReaderTextCursor.toInt(
+                "Offset",
+                this.position
+        );
+    }
+
+    /**
+     * The offset of the character when this was created.
+     */
+    private final long position;
+
+    @Override
+    public String toString() {
+        return "(" + (this.position - this.lineStart + 1) + "," + this.lineNumber + ") " + CharSequences.quoteAndEscape(this.text());
+    }
+}
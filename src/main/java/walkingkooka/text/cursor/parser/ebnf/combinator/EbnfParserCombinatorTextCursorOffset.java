@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+
+/**
+ * Finds the offset of a {@link TextCursor}, which is used as a key by memoizing and failure tracking.
+ * {@link EbnfParserCombinatorOffsetTextCursor} and {@link EbnfParserCombinatorReaderTextCursor} know their offset, all
+ * other cursors such as {@link TextCursors#charSequence(CharSequence)} are asked for their {@link TextCursor#lineInfo()},
+ * which is why memoizing and failure tracking parsers first call {@link EbnfParserCombinatorOffsetTextCursor#wrapIfNecessary(TextCursor)}.
+ */
+final class EbnfParserCombinatorTextCursorOffset {
+
+    static int offset(final TextCursor cursor) {
+        final int offset;
+
+        if (cursor instanceof EbnfParserCombinatorOffsetTextCursor) {
+            offset = ((EbnfParserCombinatorOffsetTextCursor) cursor).offset;
+        } else {
+            if (cursor instanceof EbnfParserCombinatorReaderTextCursor) {
+                offset = ((EbnfParserCombinatorReaderTextCursor) cursor).offset();
+            } else {
+                offset = cursor.lineInfo()
+                        .textOffset();
+            }
+        }
+
+        return offset;
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfParserCombinatorTextCursorOffset() {
+        throw new UnsupportedOperationException();
+    }
+}
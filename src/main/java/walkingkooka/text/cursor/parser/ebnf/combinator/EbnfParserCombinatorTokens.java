@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.AlternativeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.ConcatenationEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.ExceptionEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GroupEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.OptionalEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RepeatedEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Helpers used by the various grammar analysis passes to walk {@link EbnfParserToken} without visitors.
+ */
+final class EbnfParserCombinatorTokens {
+
+    /**
+     * Returns the children of the given token ignoring comments, symbols and whitespace. Leaves return an empty list,
+     * and a {@link RuleEbnfParserToken} returns only its assignment.
+     */
+    static List<EbnfParserToken> children(final EbnfParserToken token) {
+        final List<ParserToken> value;
+
+        if (token.isAlternative()) {
+            value = token.cast(AlternativeEbnfParserToken.class).value();
+        } else if (token.isConcatenation()) {
+            value = token.cast(ConcatenationEbnfParserToken.class).value();
+        } else if (token.isException()) {
+            final ExceptionEbnfParserToken exception = token.cast(ExceptionEbnfParserToken.class);
+            value = Lists.of(
+                    exception.token(),
+                    exception.exception()
+            );
+        } else if (token.isGroup()) {
+            value = token.cast(GroupEbnfParserToken.class).value();
+        } else if (token.isOptional()) {
+            value = token.cast(OptionalEbnfParserToken.class).value();
+        } else if (token.isRange()) {
+            final RangeEbnfParserToken range = token.cast(RangeEbnfParserToken.class);
+            value = Lists.of(
+                    range.begin(),
+                    range.end()
+            );
+        } else if (token.isRepeated()) {
+            value = token.cast(RepeatedEbnfParserToken.class).value();
+        } else if (token.isRule()) {
+            value = Lists.of(
+                    token.cast(RuleEbnfParserToken.class).assignment()
+            );
+        } else {
+            value = Lists.empty();
+        }
+
+        final List<EbnfParserToken> children = Lists.array();
+        for (final ParserToken child : value) {
+            if (child instanceof EbnfParserToken) {
+                final EbnfParserToken ebnf = (EbnfParserToken) child;
+                if (false == (ebnf.isComment() || ebnf.isSymbol())) {
+                    children.add(ebnf);
+                }
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Returns the only child, useful for {@link GroupEbnfParserToken}, {@link OptionalEbnfParserToken} and {@link RepeatedEbnfParserToken}.
+     */
+    static EbnfParserToken child(final EbnfParserToken token) {
+        final List<EbnfParserToken> children = children(token);
+        if (children.size() != 1) {
+            throw new EbnfParserCombinatorException("Expected 1 child but got " + children.size() + " for " + token);
+        }
+        return children.get(0);
+    }
+
+    /**
+     * Returns a {@link Map} of all the rules in the given grammar by name.
+     */
+    static Map<EbnfIdentifierName, RuleEbnfParserToken> rules(final GrammarEbnfParserToken grammar) {
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = Maps.ordered();
+
+        for (final ParserToken token : grammar.value()) {
+            if (token instanceof RuleEbnfParserToken) {
+                final RuleEbnfParserToken rule = (RuleEbnfParserToken) token;
+                rules.put(
+                        rule.identifier().value(),
+                        rule
+                );
+            }
+        }
+
+        return rules;
+    }
+
+    /**
+     * Resolves the begin or end of a range into its terminal text, following identifiers to their rules.
+     * Empty is returned if the text cannot be resolved, which includes references to external parsers.
+     */
+    static Optional<String> terminalText(final EbnfParserToken token,
+                                         final Map<EbnfIdentifierName, RuleEbnfParserToken> rules) {
+        EbnfParserToken temp = token;
+        int count = rules.size();
+
+        while (null != temp && temp.isIdentifier() && count >= 0) {
+            final RuleEbnfParserToken rule = rules.get(
+                    temp.cast(IdentifierEbnfParserToken.class)
+                            .value()
+            );
+            temp = null != rule ?
+                    rule.assignment() :
+                    null;
+            count--; // guards against rules that only reference each other
+        }
+
+        return null != temp && temp.isTerminal() ?
+                Optional.of(
+                        temp.cast(TerminalEbnfParserToken.class)
+                                .value()
+                ) :
+                Optional.empty();
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfParserCombinatorTokens() {
+        throw new UnsupportedOperationException();
+    }
+}
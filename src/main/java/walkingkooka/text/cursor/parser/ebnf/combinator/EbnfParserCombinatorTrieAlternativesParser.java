@@ -0,0 +1,261 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.RequiredParser;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that matches alternatives made only of {@link TerminalEbnfParserToken terminals} by walking a trie,
+ * so the cost depends on the length of the text matched rather than the number of alternatives. Ordered choice
+ * semantics are kept: when several terminals match, the one that appears first in the alternatives wins, even if a
+ * later terminal is longer. Each node records the lowest alternative index below it, so the walk stops once no
+ * deeper terminal could win.
+ */
+final class EbnfParserCombinatorTrieAlternativesParser<C extends ParserContext> implements Parser<C>,
+        RequiredParser<C> {
+
+    /**
+     * The terminals and their parsers must be in the same order, the parsers are only used for {@link #toString()}.
+     */
+    static <C extends ParserContext> EbnfParserCombinatorTrieAlternativesParser<C> with(final List<TerminalEbnfParserToken> terminals,
+                                                                                       final List<Parser<C>> parsers) {
+        Objects.requireNonNull(terminals, "terminals");
+        Objects.requireNonNull(parsers, "parsers");
+
+        final int count = terminals.size();
+        if (0 == count) {
+            throw new IllegalArgumentException("Terminals must not be empty");
+        }
+        if (count != parsers.size()) {
+            throw new IllegalArgumentException("Got " + count + " terminals but " + parsers.size() + " parsers");
+        }
+
+        return new EbnfParserCombinatorTrieAlternativesParser<>(
+                terminals,
+                Parsers.alternatives(parsers)
+        );
+    }
+
+    private EbnfParserCombinatorTrieAlternativesParser(final List<TerminalEbnfParserToken> terminals,
+                                                       final Parser<C> alternatives) {
+        final int count = terminals.size();
+        final ParserToken[] tokens = new ParserToken[count];
+        final NodeBuilder root = new NodeBuilder();
+
+        for (int i = 0; i < count; i++) {
+            final String value = terminals.get(i)
+                    .value();
+            tokens[i] = ParserTokens.string(
+                    value,
+                    value
+            );
+            root.add(
+                    value,
+                    i
+            );
+        }
+
+        this.tokens = tokens;
+        this.root = root.build();
+        this.alternatives = alternatives;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        final TextCursorSavePoint save = cursor.save();
+
+        Node node = this.root;
+        int best = node.terminal;
+        int bestLength = 0;
+        int length = 0;
+
+        while (false == cursor.isEmpty()) {
+            final Node child = node.child(cursor.at());
+            if (null == child || child.lowest > best) {
+                break;
+            }
+
+            cursor.next();
+            length++;
+            node = child;
+
+            final int terminal = node.terminal;
+            if (terminal < best) {
+                best = terminal;
+                bestLength = length;
+            }
+        }
+
+        ParserToken token = null;
+
+        if (NONE != best) {
+            if (bestLength != length) {
+                save.restore();
+                for (int i = 0; i < bestLength; i++) {
+                    cursor.next();
+                }
+            }
+            token = this.tokens[best];
+        } else {
+            save.restore();
+        }
+
+        return Optional.ofNullable(token);
+    }
+
+    /**
+     * A string token for each terminal, these are shared by all matches.
+     */
+    private final ParserToken[] tokens;
+
+    private final Node root;
+
+    /**
+     * Marks a node that does not complete a terminal, larger than every index so comparisons need no special case.
+     */
+    private final static int NONE = Integer.MAX_VALUE;
+
+    /**
+     * An immutable trie node, with children sorted by character.
+     */
+    private static final class Node {
+
+        Node(final char[] characters,
+             final Node[] children,
+             final int terminal,
+             final int lowest) {
+            this.characters = characters;
+            this.children = children;
+            this.terminal = terminal;
+            this.lowest = lowest;
+        }
+
+        Node child(final char c) {
+            final int i = Arrays.binarySearch(
+                    this.characters,
+                    c
+            );
+            return i >= 0 ?
+                    this.children[i] :
+                    null;
+        }
+
+        private final char[] characters;
+
+        private final Node[] children;
+
+        /**
+         * The index of the first terminal ending at this node or {@link #NONE}.
+         */
+        final int terminal;
+
+        /**
+         * The lowest terminal index at or below this node.
+         */
+        final int lowest;
+    }
+
+    /**
+     * Mutable node used to build the trie.
+     */
+    private static final class NodeBuilder {
+
+        void add(final String text,
+                 final int index) {
+            NodeBuilder node = this;
+
+            for (int i = 0; i < text.length(); i++) {
+                final Character c = text.charAt(i);
+
+                NodeBuilder child = node.children.get(c);
+                if (null == child) {
+                    child = new NodeBuilder();
+                    node.children.put(
+                            c,
+                            child
+                    );
+                }
+                node = child;
+            }
+
+            // duplicate terminals keep the first
+            node.terminal = Math.min(
+                    node.terminal,
+                    index
+            );
+        }
+
+        Node build() {
+            final int count = this.children.size();
+            final char[] characters = new char[count];
+            final Node[] children = new Node[count];
+            int lowest = this.terminal;
+            int i = 0;
+
+            for (final Entry<Character, NodeBuilder> characterAndChild : this.children.entrySet()) {
+                final Node child = characterAndChild.getValue()
+                        .build();
+                characters[i] = characterAndChild.getKey();
+                children[i] = child;
+                lowest = Math.min(
+                        lowest,
+                        child.lowest
+                );
+                i++;
+            }
+
+            return new Node(
+                    characters,
+                    children,
+                    this.terminal,
+                    lowest
+            );
+        }
+
+        private final Map<Character, NodeBuilder> children = Maps.sorted();
+
+        private int terminal = NONE;
+    }
+
+    /**
+     * The equivalent un-optimized alternatives, used for {@link #toString()}.
+     */
+    private final Parser<C> alternatives;
+
+    @Override
+    public String toString() {
+        return this.alternatives.toString();
+    }
+}
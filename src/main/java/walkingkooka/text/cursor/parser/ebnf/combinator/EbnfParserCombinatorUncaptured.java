@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Finds the rules that are not needed to build the tokens of the captured rules, and compiles them into
+ * {@link EbnfParserCombinatorRecognizer}. A rule needs tokens if it is captured, references an identifier that is not a
+ * rule such as an external parser, or references another rule that needs tokens.
+ */
+final class EbnfParserCombinatorUncaptured {
+
+    static Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers(final GrammarEbnfParserToken grammar,
+                                                                                               final Set<EbnfIdentifierName> capture) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(capture, "capture");
+
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = EbnfParserCombinatorTokens.rules(grammar);
+
+        final Set<EbnfIdentifierName> unknown = SortedSets.tree();
+        unknown.addAll(capture);
+        unknown.removeAll(rules.keySet());
+        if (false == unknown.isEmpty()) {
+            throw new EbnfParserCombinatorException("Unknown captured rule(s) " + unknown);
+        }
+
+        final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> ruleToReferences = Maps.hash();
+        final Set<EbnfIdentifierName> tokens = Sets.hash();
+
+        for (final RuleEbnfParserToken rule : rules.values()) {
+            final EbnfIdentifierName name = rule.identifier()
+                    .value();
+            final Set<EbnfIdentifierName> references = Sets.hash();
+            references(
+                    rule.assignment(),
+                    references
+            );
+            ruleToReferences.put(
+                    name,
+                    references
+            );
+
+            if (capture.contains(name) || false == rules.keySet().containsAll(references)) {
+                tokens.add(name);
+            }
+        }
+
+        boolean changed;
+        do {
+            changed = false;
+
+            for (final Map.Entry<EbnfIdentifierName, Set<EbnfIdentifierName>> ruleAndReferences : ruleToReferences.entrySet()) {
+                final EbnfIdentifierName name = ruleAndReferences.getKey();
+                if (false == tokens.contains(name)) {
+                    for (final EbnfIdentifierName reference : ruleAndReferences.getValue()) {
+                        if (tokens.contains(reference)) {
+                            tokens.add(name);
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        } while (changed);
+
+        final Set<EbnfIdentifierName> uncaptured = SortedSets.tree();
+        uncaptured.addAll(rules.keySet());
+        uncaptured.removeAll(tokens);
+
+        final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers;
+
+        if (uncaptured.isEmpty()) {
+            recognizers = (n) -> Optional.empty();
+        } else {
+            // uncaptured rules only reference other uncaptured rules, so none of the compiled rules reference externals
+            final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> compiled = EbnfParserCombinatorRecognizerCompiler.compile(
+                    grammar.reachable(uncaptured),
+                    (n) -> Optional.empty()
+            );
+            recognizers = (n) -> uncaptured.contains(n) ?
+                    compiled.apply(n) :
+                    Optional.empty();
+        }
+
+        return recognizers;
+    }
+
+    private static void references(final EbnfParserToken token,
+                                   final Set<EbnfIdentifierName> references) {
+        if (token.isIdentifier()) {
+            references.add(
+                    token.cast(IdentifierEbnfParserToken.class)
+                            .value()
+            );
+        } else {
+            for (final EbnfParserToken child : EbnfParserCombinatorTokens.children(token)) {
+                references(
+                        child,
+                        references
+                );
+            }
+        }
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfParserCombinatorUncaptured() {
+        throw new UnsupportedOperationException();
+    }
+}
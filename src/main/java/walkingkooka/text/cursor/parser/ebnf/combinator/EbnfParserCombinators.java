@@ -23,9 +23,13 @@ import walkingkooka.text.cursor.parser.Parser;
 import walkingkooka.text.cursor.parser.ParserContext;
 import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
 import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -48,6 +52,116 @@ public final class EbnfParserCombinators implements PublicStaticHelper {
     public static <C extends ParserContext> Function<EbnfIdentifierName, Optional<Parser<C>>> transform(final GrammarEbnfParserToken grammar,
                                                                                                         final Function<EbnfIdentifierName, Optional<Parser<C>>> identifierToParser,
                                                                                                         final EbnfParserCombinatorGrammarTransformer<C> transformer) {
+        return transform0(
+                grammar,
+                identifierToParser,
+                transformer,
+                false // predictive
+        );
+    }
+
+    /**
+     * Identical to {@link #transform(GrammarEbnfParserToken, Function, EbnfParserCombinatorGrammarTransformer)} but
+     * first verifies the grammar is LL(1), failing with a report of all conflicts if it is not. The returned parsers
+     * choose between alternatives, optionals and repetitions by looking at the next character alone and never
+     * backtrack over those choices. The transformer must not change the text matched by any parser, whatever its
+     * {@link EbnfParserCombinatorGrammarTransformer#preservesFirstSets()}.
+     */
+    public static <C extends ParserContext> Function<EbnfIdentifierName, Optional<Parser<C>>> transformLl1(final GrammarEbnfParserToken grammar,
+                                                                                                           final Function<EbnfIdentifierName, Optional<Parser<C>>> identifierToParser,
+                                                                                                           final EbnfParserCombinatorGrammarTransformer<C> transformer) {
+        final List<String> conflicts = ll1Conflicts(grammar);
+        if (false == conflicts.isEmpty()) {
+            throw new EbnfParserCombinatorException("Grammar is not LL(1), " + conflicts.size() + " conflict(s)\n" + String.join("\n", conflicts));
+        }
+
+        return transform0(
+                grammar,
+                identifierToParser,
+                transformer,
+                true // predictive
+        );
+    }
+
+    /**
+     * Returns a message for every LL(1) conflict in the given grammar. An empty list means the grammar may be used with
+     * {@link #transformLl1(GrammarEbnfParserToken, Function, EbnfParserCombinatorGrammarTransformer)}.
+     */
+    public static List<String> ll1Conflicts(final GrammarEbnfParserToken grammar) {
+        return EbnfParserCombinatorLl1Analyzer.conflicts(grammar);
+    }
+
+    /**
+     * Compiles every rule in the given grammar into a {@link EbnfParserCombinatorRecognizer} which only answers whether
+     * text matches, without creating any tokens. Identifiers that are not rules within the grammar are resolved using
+     * the given {@link Function}.
+     */
+    public static Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers(final GrammarEbnfParserToken grammar,
+                                                                                                     final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> identifierToRecognizer) {
+        return EbnfParserCombinatorRecognizerCompiler.compile(
+                grammar,
+                identifierToRecognizer
+        );
+    }
+
+    /**
+     * Returns a message for every terminal, including those that are the bounds of ranges, that contains a character
+     * that is not ASCII. An empty list means the grammar may be used with
+     * {@link walkingkooka.text.cursor.parser.ebnf.combinator.ascii.EbnfParserCombinatorByteBuffers}, which reads each
+     * byte as a single character. Identifiers that are not rules within the grammar are not checked.
+     */
+    public static List<String> nonAsciiTerminals(final GrammarEbnfParserToken grammar) {
+        return EbnfParserCombinatorsAsciiEbnfParserTokenVisitor.nonAsciiTerminals(grammar);
+    }
+
+    /**
+     * Returns a {@link EbnfParserCombinatorRecognizer} that runs a recognizer returned by
+     * {@link #recognizers(GrammarEbnfParserToken, Function)} without recursing on the Java stack, so deeply nested
+     * text may be matched on threads with small stacks. Text that nests more than the maximum number of rules throws a
+     * {@link EbnfParserCombinatorException}.
+     */
+    public static EbnfParserCombinatorRecognizer nonRecursive(final EbnfParserCombinatorRecognizer recognizer,
+                                                              final int maxDepth) {
+        return EbnfParserCombinatorNonRecursiveRecognizer.with(
+                recognizer,
+                maxDepth
+        );
+    }
+
+    /**
+     * Returns a {@link EbnfParserCombinatorSentenceGenerator} that creates random text matching the rules of the
+     * grammar. The bias is the chance optional tokens are included and repetitions repeat again, and rules nested
+     * deeper than the maximum depth always take the shortest path to the end of a sentence.
+     */
+    public static EbnfParserCombinatorSentenceGenerator sentences(final GrammarEbnfParserToken grammar,
+                                                                  final Random random,
+                                                                  final double bias,
+                                                                  final int maxDepth) {
+        return EbnfParserCombinatorSentenceGenerator.with(
+                grammar,
+                random,
+                bias,
+                maxDepth
+        );
+    }
+
+    /**
+     * Returns {@link EbnfParserCombinatorRecognizer} for the rules that are not needed to build tokens for the captured
+     * rules, suitable for {@link EbnfParserCombinatorGrammarTransformers#recognizing(EbnfParserCombinatorGrammarTransformer, Function)}.
+     * Rules that reference external parsers always build tokens.
+     */
+    public static Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> uncaptured(final GrammarEbnfParserToken grammar,
+                                                                                                    final Set<EbnfIdentifierName> capture) {
+        return EbnfParserCombinatorUncaptured.recognizers(
+                grammar,
+                capture
+        );
+    }
+
+    private static <C extends ParserContext> Function<EbnfIdentifierName, Optional<Parser<C>>> transform0(final GrammarEbnfParserToken grammar,
+                                                                                                          final Function<EbnfIdentifierName, Optional<Parser<C>>> identifierToParser,
+                                                                                                          final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                                          final boolean predictive) {
         Objects.requireNonNull(grammar, "grammar");
         Objects.requireNonNull(identifierToParser, "identifierToParser");
         Objects.requireNonNull(transformer, "transformer");
@@ -56,6 +170,7 @@ public final class EbnfParserCombinators implements PublicStaticHelper {
                 identifierToParser,
                 transformer
         );
+        context.predictive = predictive;
 
         EbnfParserCombinatorsPrepareEbnfParserTokenVisitor.with(context)
                 .accept(grammar);
@@ -65,6 +180,7 @@ public final class EbnfParserCombinators implements PublicStaticHelper {
         context.tryCreatingParsers(true); // ignoreCycles=true
         context.fixIdentifierToProxyWithoutParser();
         context.fixProxyParsers();
+        context.fixSkippedRules();
 
         return context.nameToParser();
     }
@@ -90,6 +206,19 @@ public final class EbnfParserCombinators implements PublicStaticHelper {
                 .orElseThrow(() -> new EbnfParserCombinatorException("Missing parser " + CharSequences.quoteAndEscape(n.value()) + " in " + CharSequences.quoteAndEscape(filename)));
     }
 
+    /**
+     * Returns a {@link Parser} that matches text between the begin and end of a range inclusive. A
+     * {@link EbnfParserCombinatorGrammarTransformer#range(RangeEbnfParserToken, String, String)} may return this parser
+     * rather than building its own.
+     */
+    public static <C extends ParserContext> Parser<C> range(final String begin,
+                                                            final String end) {
+        return EbnfParserCombinatorRangeParser.with(
+                begin,
+                end
+        );
+    }
+
     /**
      * Stop creation
      */
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserTokenVisitor;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+import walkingkooka.visit.Visiting;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Visits every terminal in a grammar, including the bounds of ranges, returning a message for each that contains a
+ * character that is not ASCII.
+ */
+final class EbnfParserCombinatorsAsciiEbnfParserTokenVisitor extends EbnfParserTokenVisitor {
+
+    static List<String> nonAsciiTerminals(final GrammarEbnfParserToken grammar) {
+        Objects.requireNonNull(grammar, "grammar");
+
+        final EbnfParserCombinatorsAsciiEbnfParserTokenVisitor visitor = new EbnfParserCombinatorsAsciiEbnfParserTokenVisitor();
+        visitor.accept(grammar);
+        return visitor.messages;
+    }
+
+    // @VisibleForTesting
+    EbnfParserCombinatorsAsciiEbnfParserTokenVisitor() {
+        super();
+    }
+
+    @Override
+    protected Visiting startVisit(final RuleEbnfParserToken token) {
+        this.rule = token;
+        return Visiting.CONTINUE;
+    }
+
+    @Override
+    protected void visit(final TerminalEbnfParserToken token) {
+        final String text = token.value();
+        final int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c > 127) {
+                this.messages.add(
+                        "Rule " +
+                                this.rule.identifier()
+                                        .value() +
+                                " terminal contains non ASCII character " +
+                                unicode(c) +
+                                " at " +
+                                i
+                );
+                break;
+            }
+        }
+    }
+
+    /**
+     * Formats the character as U+ followed by four hex digits, eg U+00E9.
+     */
+    private static String unicode(final char c) {
+        final String hex = Integer.toHexString(c)
+                .toUpperCase();
+        return "U+0000".substring(0, 6 - hex.length()) + hex;
+    }
+
+    /**
+     * The rule being visited.
+     */
+    private RuleEbnfParserToken rule;
+
+    private final List<String> messages = Lists.array();
+
+    @Override
+    public String toString() {
+        return this.messages.toString();
+    }
+}
@@ -21,6 +21,7 @@ import walkingkooka.ToStringBuilder;
 import walkingkooka.collect.stack.Stack;
 import walkingkooka.collect.stack.Stacks;
 import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.parser.Parser;
 import walkingkooka.text.cursor.parser.ParserContext;
 import walkingkooka.text.cursor.parser.Parsers;
 import walkingkooka.text.cursor.parser.ebnf.AlternativeEbnfParserToken;
@@ -184,17 +185,25 @@ final class EbnfParserCombinatorsPrepareEbnfParserTokenVisitor<C extends ParserC
 
     @Override
     protected void visit(final TerminalEbnfParserToken token) {
+        final EbnfParserCombinatorContext<C> context = this.context;
+
+        final Parser<C> string = Parsers.string(
+                token.value(),
+                CaseSensitivity.SENSITIVE
+        );
+        final Parser<C> parser = context.transformer.terminal(
+                token,
+                string
+        );
+
         this.proxy(token)
                 .proxy
-                .setParser(
-                        this.context.transformer.terminal(
-                                token,
-                                Parsers.string(
-                                        token.value(),
-                                        CaseSensitivity.SENSITIVE
-                                )
-                        )
-                );
+                .setParser(parser);
+
+        // terminals with untouched parsers may be fused with adjacent terminals
+        if (string == parser) {
+            context.untransformedTerminals.add(token);
+        }
     }
 
     // helpers..........................................................................................................
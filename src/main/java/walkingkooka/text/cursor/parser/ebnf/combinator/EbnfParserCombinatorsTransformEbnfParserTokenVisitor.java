@@ -17,6 +17,7 @@
 
 package walkingkooka.text.cursor.parser.ebnf.combinator;
 
+import walkingkooka.collect.list.Lists;
 import walkingkooka.text.cursor.parser.Parser;
 import walkingkooka.text.cursor.parser.ParserContext;
 import walkingkooka.text.cursor.parser.Parsers;
@@ -37,6 +38,7 @@ import walkingkooka.visit.Visiting;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -86,6 +88,14 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
                     if (null == ruleGot.proxy.parser) {
                         final EbnfParserCombinatorsProxyGet<C> assignmentGot = this.context.proxy(assignment);
                         parser = assignmentGot.proxy.parser;
+
+                        if (null != parser) {
+                            parser = this.ruleAction(
+                                    rule,
+                                    assignmentGot.proxy,
+                                    parser
+                            );
+                        }
                     }
 
                     return Optional.ofNullable(parser);
@@ -96,6 +106,56 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
         return Visiting.SKIP;
     }
 
+    /**
+     * If the transformer has an {@link EbnfParserCombinatorRuleAction} for the rule, returns a parser that gives the
+     * tokens of the children of a concatenation, or the single token of any other assignment, to the action. The
+     * action parser replaces the parser of a concatenation, so it is given to
+     * {@link EbnfParserCombinatorGrammarTransformer#concatenation(ConcatenationEbnfParserToken, Parser)}, letting
+     * decorators wrap or replace the parser that actually runs.
+     */
+    private Parser<C> ruleAction(final RuleEbnfParserToken rule,
+                                 final EbnfParserCombinatorsProxy<C> assignment,
+                                 final Parser<C> parser) {
+        Parser<C> actionParser = parser;
+
+        final Optional<EbnfParserCombinatorRuleAction<C>> action = this.context.transformer.action(rule);
+        if (action.isPresent()) {
+            final Parser<C> equivalent = EbnfParserCombinatorOptionalParser.unwrapIfNecessary(parser);
+
+            final Optional<List<Parser<C>>> children = assignment.token.isConcatenation() ?
+                    assignment.childParsers() :
+                    Optional.of(
+                            Lists.of(equivalent)
+                    );
+
+            if (children.isPresent()) {
+                actionParser = EbnfParserCombinatorRuleActionParser.with(
+                        rule.identifier()
+                                .value(),
+                        children.get(),
+                        action.get(),
+                        equivalent
+                );
+
+                if (assignment.token.isConcatenation()) {
+                    actionParser = this.context.transformer.concatenation(
+                            assignment.token.cast(ConcatenationEbnfParserToken.class),
+                            actionParser
+                    );
+                }
+
+                if (parser instanceof EbnfParserCombinatorOptionalParser) {
+                    actionParser = EbnfParserCombinatorOptionalParser.with(
+                            actionParser,
+                            assignment.token
+                    );
+                }
+            }
+        }
+
+        return actionParser;
+    }
+
     // ALT .............................................................................................................
 
     @Override
@@ -133,7 +193,64 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
             throw new EbnfParserCombinatorException("Alternatives got " + count + " optional(s) expected 0, " + b);
         }
 
-        return Parsers.alternatives(parsers);
+        final Parser<C> trie = this.trieAlternativesParser(parsers);
+        if (null != trie) {
+            return trie;
+        }
+
+        final EbnfParserCombinatorContext<C> context = this.context;
+        if (false == (context.predictive || context.transformer.preservesFirstSets())) {
+            return Parsers.alternatives(parsers);
+        }
+
+        final EbnfParserCombinatorFirstSets firstSets = context.firstSets();
+        final List<EbnfParserCombinatorFirstSet> childFirstSets = Lists.array();
+        final List<EbnfParserCombinatorSkippedRules> childSkippedRules = Lists.array();
+
+        for (final EbnfParserCombinatorsProxy<C> child : this.proxy.children) {
+            final EbnfParserToken token = child.token;
+
+            childFirstSets.add(
+                    firstSets.first(token)
+            );
+            childSkippedRules.add(
+                    context.skippedRules(token)
+            );
+        }
+
+        return EbnfParserCombinatorDispatchAlternativesParser.with(
+                parsers,
+                childFirstSets,
+                childSkippedRules,
+                context.predictive
+        );
+    }
+
+    /**
+     * If every child is a terminal with an untransformed parser, returns a single {@link EbnfParserCombinatorTrieAlternativesParser}
+     * otherwise returns null.
+     */
+    private Parser<C> trieAlternativesParser(final List<Parser<C>> parsers) {
+        final List<EbnfParserCombinatorsProxy<C>> children = this.proxy.children;
+        final Set<EbnfParserToken> untransformedTerminals = this.context.untransformedTerminals;
+        final List<TerminalEbnfParserToken> terminals = Lists.array();
+
+        for (final EbnfParserCombinatorsProxy<C> child : children) {
+            final EbnfParserToken childToken = child.token;
+            if (false == untransformedTerminals.contains(childToken)) {
+                break;
+            }
+            terminals.add(
+                    childToken.cast(TerminalEbnfParserToken.class)
+            );
+        }
+
+        return terminals.size() > 1 && terminals.size() == children.size() ?
+                EbnfParserCombinatorTrieAlternativesParser.with(
+                        terminals,
+                        parsers
+                ) :
+                null;
     }
 
     // CONCAT ..........................................................................................................
@@ -148,26 +265,24 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
         this.tryCreateAndTransformParser(
                 token,
                 (c) -> {
-                    Parser<C> parser = null;
+                    Parser<C> parser = this.terminalsParser();
+                    if (null != parser) {
+                        return Optional.of(parser);
+                    }
 
-                    for (final EbnfParserCombinatorsProxy<C> child : this.proxy.children) {
-                        final Optional<Parser<C>> maybeChildParser = child.parser();
-                        if (maybeChildParser.isPresent()) {
-                            Parser<C> childParser = maybeChildParser.get();
+                    final Optional<List<Parser<C>>> childParsers = this.proxy.childParsers();
+                    if (childParsers.isPresent()) {
+                        final List<Parser<C>> children = childParsers.get();
 
-                            if (childParser instanceof EbnfParserCombinatorOptionalParser) {
-                                childParser = EbnfParserCombinatorOptionalParser.unwrapIfNecessary(childParser)
-                                        .optional();
-                            }
+                        if (1 == children.size()) {
+                            parser = children.get(0);
 
-                            if (null == parser) {
-                                parser = childParser;
-                            } else {
-                                parser = parser.and(childParser);
+                            if (parser instanceof EbnfParserCombinatorOptionalParser) {
+                                parser = EbnfParserCombinatorOptionalParser.unwrapIfNecessary(parser)
+                                        .optional();
                             }
                         } else {
-                            parser = null;
-                            break;
+                            parser = EbnfParserCombinatorSequenceParser.with(children);
                         }
                     }
 
@@ -177,6 +292,30 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
         );
     }
 
+    /**
+     * If every child is a terminal with an untransformed parser, returns a single {@link EbnfParserCombinatorTerminalsParser}
+     * otherwise returns null.
+     */
+    private Parser<C> terminalsParser() {
+        final List<EbnfParserCombinatorsProxy<C>> children = this.proxy.children;
+        final Set<EbnfParserToken> untransformedTerminals = this.context.untransformedTerminals;
+        final List<TerminalEbnfParserToken> terminals = Lists.array();
+
+        for (final EbnfParserCombinatorsProxy<C> child : children) {
+            final EbnfParserToken childToken = child.token;
+            if (false == untransformedTerminals.contains(childToken)) {
+                break;
+            }
+            terminals.add(
+                    childToken.cast(TerminalEbnfParserToken.class)
+            );
+        }
+
+        return terminals.size() > 1 && terminals.size() == children.size() ?
+                EbnfParserCombinatorTerminalsParser.with(terminals) :
+                null;
+    }
+
     // EXCEPTION ........................................................................................................
 
     @Override
@@ -211,7 +350,8 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
                         throw new EbnfParserCombinatorException("Exception right must not be optional got " + token.token());
                     }
 
-                    parsers = Parsers.andNot(
+                    parsers = this.exceptionParser(
+                            token,
                             left,
                             right
                     );
@@ -224,6 +364,51 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
         return Optional.ofNullable(parsers);
     }
 
+    /**
+     * When the right side is a set of characters, the exception becomes a test of the next character. If the left side
+     * is also a single character terminal or range with an untouched parser, both sides are replaced by a test of the
+     * difference of both sets. Sets are computed from the grammar, so like alternatives this is only done when predictive
+     * or the transformer preserves FIRST sets, otherwise a rule or identifier parser it replaced could match other text.
+     */
+    private Parser<C> exceptionParser(final ExceptionEbnfParserToken token,
+                                      final Parser<C> left,
+                                      final Parser<C> right) {
+        final Parser<C> andNot = Parsers.andNot(
+                left,
+                right
+        );
+        Parser<C> parser = andNot;
+
+        final EbnfParserCombinatorContext<C> context = this.context;
+        if (false == (context.predictive || context.transformer.preservesFirstSets())) {
+            return parser;
+        }
+
+        final EbnfParserCombinatorCharSets charSets = context.charSets();
+        final Optional<EbnfParserCombinatorCharSet> excluded = charSets.charSet(token.exception());
+        if (excluded.isPresent()) {
+            // the left token must be produced by an untouched parser, because the CharSetParser creates its own tokens
+            final EbnfParserToken leftToken = token.token();
+            final Optional<EbnfParserCombinatorCharSet> included = context.untransformedTerminals.contains(leftToken) || context.builtInRanges.contains(leftToken) ?
+                    charSets.charSet(leftToken) :
+                    Optional.empty();
+
+            parser = included.isPresent() ?
+                    EbnfParserCombinatorCharSetParser.with(
+                            included.get()
+                                    .difference(excluded.get()),
+                            andNot
+                    ) :
+                    EbnfParserCombinatorCharSetGuardParser.with(
+                            left,
+                            excluded.get(),
+                            andNot
+                    );
+        }
+
+        return parser;
+    }
+
     // GROUP ...........................................................................................................
 
     @Override
@@ -251,7 +436,7 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
     protected void endVisit(final OptionalEbnfParserToken token) {
         this.tryCreateAndTransformParser(
                 token,
-                t -> this.firstChildParser(),
+                t -> this.lookaheadFirstChildParser(),
                 this.context.transformer::optional
         );
     }
@@ -267,12 +452,57 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
     protected void endVisit(final RepeatedEbnfParserToken token) {
         this.tryCreateAndTransformParser(
                 token,
-                (t) -> this.firstChildParser()
-                        .map(Parser::repeating), // parser
+                (t) -> this.repeatedParser(), // parser
                 this.context.transformer::repeated
         );
     }
 
+    /**
+     * Repetitions of a parser that matches a single character from a set are scanned in a single loop.
+     */
+    private Optional<Parser<C>> repeatedParser() {
+        Optional<Parser<C>> parser = Optional.empty();
+
+        final Optional<Parser<C>> child = this.firstChildParser();
+        if (child.isPresent()) {
+            final Parser<C> childParser = child.get();
+            final Optional<EbnfParserCombinatorCharSet> charSet = this.singleCharacterParserCharSet(
+                    this.proxy.children.get(0)
+                            .token,
+                    childParser
+            );
+
+            parser = charSet.isPresent() ?
+                    Optional.of(
+                            EbnfParserCombinatorRepeatedCharSetParser.with(
+                                    charSet.get(),
+                                    childParser.repeating()
+                            )
+                    ) :
+                    this.lookaheadFirstChildParser()
+                            .map(Parser::repeating);
+        }
+
+        return parser;
+    }
+
+    /**
+     * Returns the {@link EbnfParserCombinatorCharSet} if the token always matches a single character and its parser is
+     * known to return a string token holding that character.
+     */
+    private Optional<EbnfParserCombinatorCharSet> singleCharacterParserCharSet(final EbnfParserToken token,
+                                                                               final Parser<C> parser) {
+        final EbnfParserCombinatorContext<C> context = this.context;
+
+        return parser instanceof EbnfParserCombinatorCharSetParser ||
+                parser instanceof EbnfParserCombinatorRangeParser ||
+                parser instanceof EbnfParserCombinatorTrieAlternativesParser ||
+                context.untransformedTerminals.contains(token) ?
+                context.charSets()
+                        .charSet(token) :
+                Optional.empty();
+    }
+
     // IDENTIFIER ......................................................................................................
 
     @Override
@@ -298,6 +528,29 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
         return this.proxy.firstChildParser();
     }
 
+    /**
+     * When the grammar is LL(1) the child parser is only attempted when the next character is within its FIRST set.
+     */
+    private Optional<Parser<C>> lookaheadFirstChildParser() {
+        final EbnfParserCombinatorContext<C> context = this.context;
+
+        Optional<Parser<C>> parser = this.firstChildParser();
+        if (context.predictive) {
+            final EbnfParserToken child = this.proxy.children.get(0)
+                    .token;
+            final EbnfParserCombinatorFirstSet first = context.firstSets()
+                    .first(child);
+            parser = parser.map(
+                    p -> EbnfParserCombinatorLookaheadParser.with(
+                            p,
+                            first,
+                            () -> context.skippedRules(child)
+                    )
+            );
+        }
+        return parser;
+    }
+
     private <T extends EbnfParserToken> boolean tryCreateAndTransformParser(final T token,
                                                                             final Function<T, Optional<Parser<C>>> parserProvider,
                                                                             final BiFunction<T, Parser<C>, Parser<C>> transformer) {
@@ -353,13 +606,16 @@ final class EbnfParserCombinatorsTransformEbnfParserTokenVisitor<C extends Parse
                 final String beginText = maybeBeginText.get();
                 final String endText = maybeEndText.get();
 
-                this.proxy.setParser(
-                        context.transformer.range(
-                                token,
-                                beginText,
-                                endText
-                        )
+                final Parser<C> parser = context.transformer.range(
+                        token,
+                        beginText,
+                        endText
                 );
+                if (parser instanceof EbnfParserCombinatorRangeParser) {
+                    context.builtInRanges.add(token);
+                }
+
+                this.proxy.setParser(parser);
             }
         }
     }
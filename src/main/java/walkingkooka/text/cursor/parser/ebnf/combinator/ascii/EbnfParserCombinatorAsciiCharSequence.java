@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.ascii;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link CharSequence} view of bytes within a {@link ByteBuffer}, where each byte is a single character. Bytes are
+ * read using absolute gets, so the position of the buffer is never changed, and a {@link String} is only created by
+ * {@link #toString()}.
+ */
+final class EbnfParserCombinatorAsciiCharSequence implements CharSequence {
+
+    static EbnfParserCombinatorAsciiCharSequence with(final ByteBuffer buffer,
+                                                      final int offset,
+                                                      final int length) {
+        return new EbnfParserCombinatorAsciiCharSequence(
+                buffer,
+                offset,
+                length
+        );
+    }
+
+    private EbnfParserCombinatorAsciiCharSequence(final ByteBuffer buffer,
+                                                  final int offset,
+                                                  final int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.length) {
+            throw new StringIndexOutOfBoundsException("Invalid index " + index + " not between 0 and " + this.length);
+        }
+        return (char) (this.buffer.get(this.offset + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start,
+                                    final int end) {
+        if (start < 0 || end > this.length || start > end) {
+            throw new StringIndexOutOfBoundsException("Invalid range " + start + ".." + end + " not between 0 and " + this.length);
+        }
+        return start == 0 && end == this.length ?
+                this :
+                new EbnfParserCombinatorAsciiCharSequence(
+                        this.buffer,
+                        this.offset + start,
+                        end - start
+                );
+    }
+
+    private final ByteBuffer buffer;
+
+    /**
+     * The index of the first byte within the buffer.
+     */
+    private final int offset;
+
+    private final int length;
+
+    @Override
+    public String toString() {
+        String string = this.string;
+
+        if (null == string) {
+            final ByteBuffer buffer = this.buffer;
+            final int offset = this.offset;
+            final int length = this.length;
+
+            final char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) (buffer.get(offset + i) & 0xff);
+            }
+            string = new String(chars);
+            this.string = string;
+        }
+
+        return string;
+    }
+
+    /**
+     * Cache of the text created by {@link #toString()}.
+     */
+    private String string;
+}
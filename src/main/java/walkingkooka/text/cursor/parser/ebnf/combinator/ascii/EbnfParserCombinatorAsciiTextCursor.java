@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.ascii;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorException;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A {@link TextCursor} over the bytes between the position and limit of a {@link ByteBuffer}, such as a
+ * {@link java.nio.MappedByteBuffer}, where each byte is a single character. The bytes are never decoded or copied,
+ * the text of a {@link TextCursorSavePoint} is a {@link EbnfParserCombinatorAsciiCharSequence} view of the bytes,
+ * which only creates a {@link String} when asked.
+ * <br>
+ * This is intended for grammars whose terminals and ranges are all ASCII, see
+ * {@link walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinators#nonAsciiTerminals(walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken)}. A byte
+ * of a multi byte UTF-8 character appears as a character above 127, which such grammars never match.
+ */
+final class EbnfParserCombinatorAsciiTextCursor implements TextCursor {
+
+    static EbnfParserCombinatorAsciiTextCursor with(final ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+
+        return new EbnfParserCombinatorAsciiTextCursor(buffer);
+    }
+
+    private EbnfParserCombinatorAsciiTextCursor(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.start = buffer.position();
+        this.limit = buffer.limit();
+        this.position = this.start;
+        this.lineStart = this.start;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.position >= this.limit;
+    }
+
+    @Override
+    public char at() {
+        if (this.isEmpty()) {
+            throw new EbnfParserCombinatorException("Empty text at " + (this.position - this.start));
+        }
+        return (char) (this.buffer.get(this.position) & 0xff);
+    }
+
+    @Override
+    public TextCursor next() {
+        final char c = this.at();
+        final int position = this.position + 1;
+
+        switch (c) {
+            case '\n':
+                if (false == this.afterCr) {
+                    this.lineNumber++;
+                }
+                this.lineStart = position;
+                this.afterCr = false;
+                break;
+            case '\r':
+                this.lineNumber++;
+                this.lineStart = position;
+                this.afterCr = true;
+                break;
+            default:
+                this.afterCr = false;
+                break;
+        }
+
+        this.position = position;
+        return this;
+    }
+
+    @Override
+    public TextCursor end() {
+        while (false == this.isEmpty()) {
+            this.next();
+        }
+        return this;
+    }
+
+    @Override
+    public TextCursorSavePoint save() {
+        return EbnfParserCombinatorAsciiTextCursorSavePoint.with(this);
+    }
+
+    /**
+     * The end of the line is only found if the text of the returned {@link TextCursorLineInfo} is used.
+     */
+    @Override
+    public TextCursorLineInfo lineInfo() {
+        final int lineStart = this.lineStart;
+
+        return EbnfParserCombinatorAsciiTextCursorLineInfo.with(
+                this.buffer,
+                lineStart,
+                this.limit,
+                this.lineNumber,
+                this.position - lineStart + 1,
+                this.position - this.start
+        );
+    }
+
+    /**
+     * Returns a view of the bytes between the given position and the current position.
+     */
+    CharSequence textBetween(final int position) {
+        final int from = Math.min(
+                position,
+                this.position
+        );
+
+        return EbnfParserCombinatorAsciiCharSequence.with(
+                this.buffer,
+                from,
+                Math.max(position, this.position) - from
+        );
+    }
+
+    private final ByteBuffer buffer;
+
+    /**
+     * The position of the buffer when this cursor was created, which is offset 0.
+     */
+    private final int start;
+
+    private final int limit;
+
+    /**
+     * The index of the current byte within the buffer.
+     */
+    int position;
+
+    /**
+     * The current line number, starting at 1.
+     */
+    int lineNumber = 1;
+
+    /**
+     * The index of the first byte of the current line.
+     */
+    int lineStart;
+
+    /**
+     * True if the previous character was a CR, so a following NL does not start another line.
+     */
+    boolean afterCr;
+
+    @Override
+    public String toString() {
+        return this.textBetween(this.start) + "|" + EbnfParserCombinatorAsciiCharSequence.with(
+                this.buffer,
+                this.position,
+                this.limit - this.position
+        );
+    }
+}
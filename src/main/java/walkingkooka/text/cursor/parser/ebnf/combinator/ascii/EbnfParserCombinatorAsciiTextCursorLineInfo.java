@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.ascii;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The {@link TextCursorLineInfo} of a {@link EbnfParserCombinatorAsciiTextCursor}. The end of the line is only found
+ * when the text is first asked for, and the text is a {@link EbnfParserCombinatorAsciiCharSequence} view of the bytes.
+ */
+final class EbnfParserCombinatorAsciiTextCursorLineInfo implements TextCursorLineInfo {
+
+    static EbnfParserCombinatorAsciiTextCursorLineInfo with(final ByteBuffer buffer,
+                                                          final int lineStart,
+                                                          final int limit,
+                                                          final int lineNumber,
+                                                          final int column,
+                                                          final int textOffset) {
+        return new EbnfParserCombinatorAsciiTextCursorLineInfo(
+                buffer,
+                lineStart,
+                limit,
+                lineNumber,
+                column,
+                textOffset
+        );
+    }
+
+    private EbnfParserCombinatorAsciiTextCursorLineInfo(final ByteBuffer buffer,
+                                                      final int lineStart,
+                                                      final int limit,
+                                                      final int lineNumber,
+                                                      final int column,
+                                                      final int textOffset) {
+        this.buffer = buffer;
+        this.lineStart = lineStart;
+        this.limit = limit;
+        this.lineNumber = lineNumber;
+        this.column = column;
+        this.textOffset = textOffset;
+    }
+
+    @Override
+    public CharSequence text() {
+        CharSequence text = this.text;
+
+        if (null == text) {
+            final ByteBuffer buffer = this.buffer;
+            final int lineStart = this.lineStart;
+            final int limit = this.limit;
+
+            int lineEnd = lineStart;
+            while (lineEnd < limit) {
+                final byte b = buffer.get(lineEnd);
+                if ('\n' == b || '\r' == b) {
+                    break;
+                }
+                lineEnd++;
+            }
+
+            text = EbnfParserCombinatorAsciiCharSequence.with(
+                    buffer,
+                    lineStart,
+                    lineEnd - lineStart
+            );
+            this.text = text;
+        }
+
+        return text;
+    }
+
+    private final ByteBuffer buffer;
+
+    /**
+     * The index of the first byte of the line within the buffer.
+     */
+    private final int lineStart;
+
+    private final int limit;
+
+    /**
+     * Cache of the text of the line.
+     */
+    private CharSequence text;
+
+    @Override
+    public int lineNumber() {
+        return this.lineNumber;
+    }
+
+    private final int lineNumber;
+
+    @Override
+    public int column() {
+        return this.column;
+    }
+
+    private final int column;
+
+    @Override
+    public int textOffset() {
+        return this.textOffset;
+    }
+
+    private final int textOffset;
+
+    @Override
+    public String toString() {
+        return "(" + this.column + "," + this.lineNumber + ") " + CharSequences.quoteAndEscape(this.text());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.ascii;
+
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.cursor.TextCursor;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Factory methods that read the bytes of a {@link ByteBuffer} as ASCII text. This package uses {@link java.nio} and is
+ * therefore only available on the JVM, it is excluded from GWT and J2CL builds.
+ */
+public final class EbnfParserCombinatorByteBuffers implements PublicStaticHelper {
+
+    /**
+     * Returns a {@link TextCursor} over the bytes between the position and limit of the {@link ByteBuffer}, such as a
+     * {@link java.nio.MappedByteBuffer}, where each byte is a single character. Bytes are neither decoded nor copied,
+     * text is only created when a token asks for it. The grammar should only have ASCII terminals, see
+     * {@link walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinators#nonAsciiTerminals(walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken)}.
+     */
+    public static TextCursor ascii(final ByteBuffer buffer) {
+        return EbnfParserCombinatorAsciiTextCursor.with(buffer);
+    }
+
+    /**
+     * Returns a {@link CharSequence} view of the bytes between the position and limit of the {@link ByteBuffer}, where
+     * each byte is a single character, which may be given to a
+     * {@link walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorRecognizer} to match bytes without
+     * decoding or copying them.
+     */
+    public static CharSequence asciiCharSequence(final ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+
+        return EbnfParserCombinatorAsciiCharSequence.with(
+                buffer,
+                buffer.position(),
+                buffer.remaining()
+        );
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfParserCombinatorByteBuffers() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.batch;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Parses many independent inputs with the same {@link Parser}, sharing the work between a number of workers run by an
+ * {@link Executor}, with the calling thread acting as one of the workers. Each worker takes the next unparsed input
+ * until none remain, so long and short inputs are spread evenly, and creates a single {@link ParserContext} which it
+ * reuses for all its inputs. Results are always returned in the order of the inputs.
+ * <br>
+ * An input fails if the parser does not match it entirely or throws a {@link RuntimeException}.
+ */
+public final class EbnfParserCombinatorBatchParser<C extends ParserContext> {
+
+    static <C extends ParserContext> EbnfParserCombinatorBatchParser<C> with(final Parser<C> parser,
+                                                                             final Supplier<C> context,
+                                                                             final Executor executor,
+                                                                             final int parallelism) {
+        Objects.requireNonNull(parser, "parser");
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(executor, "executor");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism + " < 1");
+        }
+
+        return new EbnfParserCombinatorBatchParser<>(
+                parser,
+                context,
+                executor,
+                parallelism
+        );
+    }
+
+    private EbnfParserCombinatorBatchParser(final Parser<C> parser,
+                                            final Supplier<C> context,
+                                            final Executor executor,
+                                            final int parallelism) {
+        this.parser = parser;
+        this.context = context;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Parses all inputs, stopping at the first failure, which is then thrown. When several inputs fail the failure of
+     * the first of those inputs is thrown.
+     */
+    public List<ParserToken> parse(final List<? extends CharSequence> inputs) {
+        final EbnfParserCombinatorBatchResult[] results = this.run(
+                inputs,
+                true
+        );
+
+        final List<ParserToken> tokens = new ArrayList<>(results.length);
+        for (final EbnfParserCombinatorBatchResult result : results) {
+            final RuntimeException error = result.error()
+                    .orElse(null);
+            if (null != error) {
+                throw error;
+            }
+            tokens.add(
+                    result.token()
+                            .get()
+            );
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Parses all inputs, returning a {@link EbnfParserCombinatorBatchResult} for each with either its token or failure.
+     */
+    public List<EbnfParserCombinatorBatchResult> parseAll(final List<? extends CharSequence> inputs) {
+        return Arrays.asList(
+                this.run(
+                        inputs,
+                        false
+                )
+        );
+    }
+
+    /**
+     * When failing fast, workers stop taking inputs after the first failed input, and the results are truncated
+     * after that failure. Inputs are taken in order, so every input before a failure has already been taken and is
+     * always parsed.
+     */
+    private EbnfParserCombinatorBatchResult[] run(final List<? extends CharSequence> inputs,
+                                                  final boolean failFast) {
+        Objects.requireNonNull(inputs, "inputs");
+
+        final int count = inputs.size();
+        final EbnfParserCombinatorBatchResult[] results = new EbnfParserCombinatorBatchResult[count];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger firstFailure = new AtomicInteger(count);
+
+        final int workers = Math.max(
+                1,
+                Math.min(
+                        this.parallelism,
+                        count
+                )
+        );
+        final CountDownLatch done = new CountDownLatch(workers - 1);
+        final Throwable[] workerFailure = new Throwable[1];
+
+        for (int i = 1; i < workers; i++) {
+            this.executor.execute(
+                    () -> {
+                        try {
+                            this.work(
+                                    inputs,
+                                    results,
+                                    next,
+                                    failFast ? firstFailure : null
+                            );
+                        } catch (final Throwable cause) {
+                            synchronized (workerFailure) {
+                                workerFailure[0] = cause;
+                            }
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+            );
+        }
+
+        this.work(
+                inputs,
+                results,
+                next,
+                failFast ? firstFailure : null
+        );
+
+        try {
+            done.await();
+        } catch (final InterruptedException cause) {
+            Thread.currentThread().interrupt();
+            throw new EbnfParserCombinatorException("Interrupted while waiting for batch to complete", cause);
+        }
+
+        synchronized (workerFailure) {
+            if (null != workerFailure[0]) {
+                throw new EbnfParserCombinatorException("Batch worker failed: " + workerFailure[0].getMessage(), workerFailure[0]);
+            }
+        }
+
+        return failFast && firstFailure.get() < count ?
+                Arrays.copyOf(
+                        results,
+                        firstFailure.get() + 1
+                ) :
+                results;
+    }
+
+    /**
+     * Takes and parses inputs until there are none left, or an input before the next has already failed.
+     */
+    private void work(final List<? extends CharSequence> inputs,
+                      final EbnfParserCombinatorBatchResult[] results,
+                      final AtomicInteger next,
+                      final AtomicInteger firstFailure) {
+        final C context = this.context.get();
+        final int count = results.length;
+
+        for (; ; ) {
+            final int index = next.getAndIncrement();
+            if (index >= count || (null != firstFailure && index > firstFailure.get())) {
+                break;
+            }
+
+            final EbnfParserCombinatorBatchResult result = this.parse(
+                    inputs.get(index),
+                    context
+            );
+            results[index] = result;
+
+            if (null != firstFailure && result.error().isPresent()) {
+                int previous;
+                do {
+                    previous = firstFailure.get();
+                } while (index < previous && false == firstFailure.compareAndSet(previous, index));
+            }
+        }
+    }
+
+    private EbnfParserCombinatorBatchResult parse(final CharSequence input,
+                                                  final C context) {
+        EbnfParserCombinatorBatchResult result;
+
+        try {
+            final TextCursor cursor = TextCursors.charSequence(input);
+            final Optional<ParserToken> token = this.parser.parse(
+                    cursor,
+                    context
+            );
+
+            if (token.isPresent() && cursor.isEmpty()) {
+                result = EbnfParserCombinatorBatchResult.token(
+                        input,
+                        token.get()
+                );
+            } else {
+                final int offset = token.isPresent() ?
+                        token.get()
+                                .text()
+                                .length() :
+                        0;
+                result = EbnfParserCombinatorBatchResult.error(
+                        input,
+                        EbnfParserCombinatorException.stackless(
+                                () -> "Unable to parse " + CharSequences.quoteAndEscape(input) + " at " + offset
+                        )
+                );
+            }
+        } catch (final RuntimeException cause) {
+            result = EbnfParserCombinatorBatchResult.error(
+                    input,
+                    cause
+            );
+        }
+
+        return result;
+    }
+
+    private final Parser<C> parser;
+
+    /**
+     * Creates the context for each worker.
+     */
+    private final Supplier<C> context;
+
+    private final Executor executor;
+
+    /**
+     * The maximum number of workers including the calling thread.
+     */
+    private final int parallelism;
+
+    @Override
+    public String toString() {
+        return this.parser + " parallelism " + this.parallelism;
+    }
+}
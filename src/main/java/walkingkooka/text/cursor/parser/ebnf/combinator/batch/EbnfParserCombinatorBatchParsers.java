@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.batch;
+
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Factory methods for {@link EbnfParserCombinatorBatchParser}. This package uses {@link java.util.concurrent} and is
+ * therefore only available on the JVM, it is excluded from GWT and J2CL builds.
+ */
+public final class EbnfParserCombinatorBatchParsers implements PublicStaticHelper {
+
+    /**
+     * Returns a {@link EbnfParserCombinatorBatchParser} that parses many inputs with the given {@link Parser}, using up
+     * to the given number of threads including the calling thread. Each thread is started for a single batch and
+     * creates one context which it reuses for all the inputs it parses.
+     */
+    public static <C extends ParserContext> EbnfParserCombinatorBatchParser<C> threads(final Parser<C> parser,
+                                                                                       final Supplier<C> context,
+                                                                                       final int parallelism) {
+        return executor(
+                parser,
+                context,
+                (r) -> {
+                    final Thread thread = new Thread(r);
+                    thread.setDaemon(true);
+                    thread.start();
+                },
+                parallelism
+        );
+    }
+
+    /**
+     * Returns a {@link EbnfParserCombinatorBatchParser} that parses many inputs with the given {@link Parser}, running
+     * all but one of its workers with the given {@link Executor}, which may be a virtual thread executor where
+     * available.
+     */
+    public static <C extends ParserContext> EbnfParserCombinatorBatchParser<C> executor(final Parser<C> parser,
+                                                                                        final Supplier<C> context,
+                                                                                        final Executor executor,
+                                                                                        final int parallelism) {
+        return EbnfParserCombinatorBatchParser.with(
+                parser,
+                context,
+                executor,
+                parallelism
+        );
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfParserCombinatorBatchParsers() {
+        throw new UnsupportedOperationException();
+    }
+}
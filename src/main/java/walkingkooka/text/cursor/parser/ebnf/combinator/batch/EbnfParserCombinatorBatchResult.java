@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.batch;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The outcome of parsing one input of a batch with {@link EbnfParserCombinatorBatchParser#parseAll(java.util.List)},
+ * holding either the {@link ParserToken} or the {@link RuntimeException} describing why the input failed.
+ */
+public final class EbnfParserCombinatorBatchResult {
+
+    static EbnfParserCombinatorBatchResult token(final CharSequence input,
+                                                 final ParserToken token) {
+        return new EbnfParserCombinatorBatchResult(
+                input,
+                Objects.requireNonNull(token, "token"),
+                null
+        );
+    }
+
+    static EbnfParserCombinatorBatchResult error(final CharSequence input,
+                                                 final RuntimeException error) {
+        return new EbnfParserCombinatorBatchResult(
+                input,
+                null,
+                Objects.requireNonNull(error, "error")
+        );
+    }
+
+    private EbnfParserCombinatorBatchResult(final CharSequence input,
+                                            final ParserToken token,
+                                            final RuntimeException error) {
+        this.input = input;
+        this.token = token;
+        this.error = error;
+    }
+
+    public CharSequence input() {
+        return this.input;
+    }
+
+    private final CharSequence input;
+
+    /**
+     * The token for the entire input, which is absent if the input failed.
+     */
+    public Optional<ParserToken> token() {
+        return Optional.ofNullable(this.token);
+    }
+
+    private final ParserToken token;
+
+    /**
+     * The reason the input failed, which is absent if the input was parsed.
+     */
+    public Optional<RuntimeException> error() {
+        return Optional.ofNullable(this.error);
+    }
+
+    private final RuntimeException error;
+
+    @Override
+    public String toString() {
+        return CharSequences.quoteAndEscape(this.input) +
+                " " +
+                (null != this.token ?
+                        this.token :
+                        this.error.getMessage());
+    }
+}
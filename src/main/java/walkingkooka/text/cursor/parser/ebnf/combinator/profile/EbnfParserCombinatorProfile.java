@@ -0,0 +1,219 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects counters for every rule, identifier and alternatives of parsers created with
+ * {@link EbnfParserCombinatorProfiles#transformer(walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformer, EbnfParserCombinatorProfile)}.
+ * For each it counts invocations, successes, failures, characters consumed, characters read but then backtracked, and
+ * when timing the nanoseconds spent, which include any nested rules.
+ * <br>
+ * Only one in every sample rate invocations is measured, along with everything nested within it, so a profile may stay
+ * enabled in production. Invocations that are not measured only increment a shared {@link AtomicInteger}, so the sample
+ * rate holds when many threads parse with the same parsers.
+ * <br>
+ * {@link #report()} ranks rules by cost and alternatives by failures, listing how often each identifier choice was tried
+ * and failed.
+ */
+public final class EbnfParserCombinatorProfile {
+
+    static EbnfParserCombinatorProfile with(final int sampleRate,
+                                           final boolean timing) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Invalid sampleRate " + sampleRate + " < 1");
+        }
+
+        return new EbnfParserCombinatorProfile(
+                sampleRate,
+                timing
+        );
+    }
+
+    private EbnfParserCombinatorProfile(final int sampleRate,
+                                        final boolean timing) {
+        this.sampleRate = sampleRate;
+        this.timing = timing;
+    }
+
+    // sites............................................................................................................
+
+    EbnfParserCombinatorProfileSite rule(final String label) {
+        return add(
+                label,
+                this.rules
+        );
+    }
+
+    EbnfParserCombinatorProfileSite identifier(final String label) {
+        return add(
+                label,
+                this.identifiers
+        );
+    }
+
+    EbnfParserCombinatorProfileSite alternatives(final String label) {
+        return add(
+                label,
+                this.alternatives
+        );
+    }
+
+    private static EbnfParserCombinatorProfileSite add(final String label,
+                                                       final List<EbnfParserCombinatorProfileSite> sites) {
+        final EbnfParserCombinatorProfileSite site = EbnfParserCombinatorProfileSite.with(label);
+        synchronized (sites) {
+            sites.add(site);
+        }
+        return site;
+    }
+
+    private final List<EbnfParserCombinatorProfileSite> rules = Lists.array();
+
+    private final List<EbnfParserCombinatorProfileSite> identifiers = Lists.array();
+
+    private final List<EbnfParserCombinatorProfileSite> alternatives = Lists.array();
+
+    // sampling.........................................................................................................
+
+    /**
+     * Returns true if an invocation that is not already being measured should be measured. Every thread takes a number
+     * from the same counter with a single atomic increment, so exactly one in every sample rate invocations is
+     * measured no matter how many threads share the profile.
+     */
+    boolean sample() {
+        return 0 == Math.floorMod(
+                this.unmeasured.getAndIncrement(),
+                this.sampleRate
+        );
+    }
+
+    /**
+     * Counts invocations that were not already being measured, starting at zero so the first is measured.
+     */
+    private final AtomicInteger unmeasured = new AtomicInteger();
+
+    /**
+     * One in every this many invocations is measured.
+     */
+    private final int sampleRate;
+
+    /**
+     * When true measured invocations also record the time spent.
+     */
+    final boolean timing;
+
+    // report...........................................................................................................
+
+    /**
+     * Returns a report of the rules ranked by cost, followed by the alternatives ranked by failures with the
+     * identifiers that are their choices. Sites that were never measured are not included.
+     */
+    public String report() {
+        final StringBuilder b = new StringBuilder();
+
+        b.append("Sampled 1 in ")
+                .append(this.sampleRate)
+                .append(" invocations\n");
+
+        final boolean timing = this.timing;
+
+        b.append("Rules by ")
+                .append(
+                        timing ?
+                                "time" :
+                                "characters read"
+                ).append(":\n");
+        for (final EbnfParserCombinatorProfileSite rule : sorted(this.rules, (l, r) -> Long.compare(r.cost(timing), l.cost(timing)))) {
+            b.append("  ")
+                    .append(rule)
+                    .append('\n');
+        }
+
+        b.append("Alternatives by failures:\n");
+        for (final EbnfParserCombinatorProfileSite alternatives : sorted(this.alternatives, EbnfParserCombinatorProfile::compareFailures)) {
+            b.append("  ")
+                    .append(alternatives)
+                    .append('\n');
+
+            for (final EbnfParserCombinatorProfileSite choice : sorted(alternatives.choices, EbnfParserCombinatorProfile::compareFailures)) {
+                b.append("    ")
+                        .append(choice)
+                        .append('\n');
+            }
+        }
+
+        return b.toString();
+    }
+
+    /**
+     * Returns a copy of the sites that were measured, sorted by the {@link Comparator} and then by label.
+     */
+    private static List<EbnfParserCombinatorProfileSite> sorted(final List<EbnfParserCombinatorProfileSite> sites,
+                                                                final Comparator<EbnfParserCombinatorProfileSite> comparator) {
+        final List<EbnfParserCombinatorProfileSite> sorted = Lists.array();
+
+        synchronized (sites) {
+            for (final EbnfParserCombinatorProfileSite site : sites) {
+                if (site.invocations.sum() > 0) {
+                    sorted.add(site);
+                }
+            }
+        }
+
+        sorted.sort(
+                comparator.thenComparing((l, r) -> l.label.compareTo(r.label))
+        );
+        return sorted;
+    }
+
+    private static int compareFailures(final EbnfParserCombinatorProfileSite left,
+                                       final EbnfParserCombinatorProfileSite right) {
+        return Long.compare(
+                right.failures.sum(),
+                left.failures.sum()
+        );
+    }
+
+    /**
+     * Clears all counters, keeping the rules, identifiers and alternatives.
+     */
+    public void reset() {
+        reset(this.rules);
+        reset(this.identifiers);
+        reset(this.alternatives);
+    }
+
+    private static void reset(final List<EbnfParserCombinatorProfileSite> sites) {
+        synchronized (sites) {
+            for (final EbnfParserCombinatorProfileSite site : sites) {
+                site.reset();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.report();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Parser} that records each measured invocation of the wrapped parser in a
+ * {@link EbnfParserCombinatorProfileSite}. An invocation is measured if an enclosing invocation is being measured,
+ * which is known because the cursor is a {@link EbnfParserCombinatorProfileTextCursor}, or if the
+ * {@link EbnfParserCombinatorProfile} picks it as a sample. All other invocations simply delegate.
+ */
+final class EbnfParserCombinatorProfileParser<C extends ParserContext> implements Parser<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorProfileParser<C> with(final Parser<C> parser,
+                                                                               final EbnfParserCombinatorProfileSite site,
+                                                                               final EbnfParserCombinatorProfile profile) {
+        return new EbnfParserCombinatorProfileParser<>(
+                Objects.requireNonNull(parser, "parser"),
+                Objects.requireNonNull(site, "site"),
+                Objects.requireNonNull(profile, "profile")
+        );
+    }
+
+    private EbnfParserCombinatorProfileParser(final Parser<C> parser,
+                                              final EbnfParserCombinatorProfileSite site,
+                                              final EbnfParserCombinatorProfile profile) {
+        this.parser = parser;
+        this.site = site;
+        this.profile = profile;
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final C context) {
+        final Optional<ParserToken> token;
+
+        if (cursor instanceof EbnfParserCombinatorProfileTextCursor) {
+            token = this.measure(
+                    (EbnfParserCombinatorProfileTextCursor) cursor,
+                    context
+            );
+        } else {
+            token = this.profile.sample() ?
+                    this.measure(
+                            EbnfParserCombinatorProfileTextCursor.with(cursor),
+                            context
+                    ) :
+                    this.parser.parse(
+                            cursor,
+                            context
+                    );
+        }
+
+        return token;
+    }
+
+    private Optional<ParserToken> measure(final EbnfParserCombinatorProfileTextCursor cursor,
+                                          final C context) {
+        final boolean timing = this.profile.timing;
+        final long position = cursor.position;
+        final long read = cursor.read;
+        final long start = timing ?
+                System.nanoTime() :
+                0;
+
+        final Optional<ParserToken> token = this.parser.parse(
+                cursor,
+                context
+        );
+
+        this.site.record(
+                token.isPresent(),
+                cursor.position - position,
+                cursor.read - read,
+                timing ?
+                        System.nanoTime() - start :
+                        0
+        );
+
+        return token;
+    }
+
+    @Override
+    public int minCount() {
+        return this.parser.minCount();
+    }
+
+    @Override
+    public int maxCount() {
+        return this.parser.maxCount();
+    }
+
+    private final Parser<C> parser;
+
+    private final EbnfParserCombinatorProfileSite site;
+
+    private final EbnfParserCombinatorProfile profile;
+
+    @Override
+    public String toString() {
+        return this.parser.toString();
+    }
+}
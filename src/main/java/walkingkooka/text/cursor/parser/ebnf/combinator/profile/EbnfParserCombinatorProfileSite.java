@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters for a single rule, identifier or alternatives parser within a {@link EbnfParserCombinatorProfile}.
+ * {@link LongAdder} keeps updates cheap when many threads parse with the same parsers.
+ */
+final class EbnfParserCombinatorProfileSite {
+
+    static EbnfParserCombinatorProfileSite with(final String label) {
+        return new EbnfParserCombinatorProfileSite(label);
+    }
+
+    private EbnfParserCombinatorProfileSite(final String label) {
+        this.label = label;
+    }
+
+    /**
+     * Records a single measured invocation. Characters read but not part of a match were backtracked.
+     */
+    void record(final boolean success,
+                final long consumed,
+                final long read,
+                final long nanos) {
+        this.invocations.increment();
+
+        if (success) {
+            this.successes.increment();
+            this.consumed.add(consumed);
+            this.backtracked.add(read - consumed);
+        } else {
+            this.failures.increment();
+            this.backtracked.add(read);
+        }
+
+        if (0 != nanos) {
+            this.nanos.add(nanos);
+        }
+    }
+
+    /**
+     * Adds a site that is one of the choices of these alternatives.
+     */
+    void addChoice(final EbnfParserCombinatorProfileSite choice) {
+        if (false == this.choices.contains(choice)) {
+            this.choices.add(choice);
+        }
+    }
+
+    /**
+     * The time spent when timing, otherwise the number of characters read.
+     */
+    long cost(final boolean timing) {
+        return timing ?
+                this.nanos.sum() :
+                this.consumed.sum() + this.backtracked.sum();
+    }
+
+    void reset() {
+        this.invocations.reset();
+        this.successes.reset();
+        this.failures.reset();
+        this.consumed.reset();
+        this.backtracked.reset();
+        this.nanos.reset();
+    }
+
+    /**
+     * The rule name, identifier or text of the alternatives.
+     */
+    final String label;
+
+    final LongAdder invocations = new LongAdder();
+
+    final LongAdder successes = new LongAdder();
+
+    final LongAdder failures = new LongAdder();
+
+    final LongAdder consumed = new LongAdder();
+
+    final LongAdder backtracked = new LongAdder();
+
+    final LongAdder nanos = new LongAdder();
+
+    /**
+     * For alternatives, the identifiers that are its choices.
+     */
+    final List<EbnfParserCombinatorProfileSite> choices = Lists.array();
+
+    @Override
+    public String toString() {
+        return this.label +
+                " invocations=" + this.invocations.sum() +
+                " successes=" + this.successes.sum() +
+                " failures=" + this.failures.sum() +
+                " consumed=" + this.consumed.sum() +
+                " backtracked=" + this.backtracked.sum() +
+                " nanos=" + this.nanos.sum();
+    }
+}
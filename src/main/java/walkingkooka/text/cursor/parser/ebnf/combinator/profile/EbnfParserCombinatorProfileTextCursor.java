@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+
+import java.util.Objects;
+
+/**
+ * A {@link TextCursor} that wraps another counting the position and the number of characters read, including those
+ * read again after a {@link TextCursorSavePoint} is restored. Measured invocations of a
+ * {@link EbnfParserCombinatorProfileParser} compare these before and after parsing.
+ */
+final class EbnfParserCombinatorProfileTextCursor implements TextCursor {
+
+    static EbnfParserCombinatorProfileTextCursor with(final TextCursor cursor) {
+        Objects.requireNonNull(cursor, "cursor");
+
+        return new EbnfParserCombinatorProfileTextCursor(cursor);
+    }
+
+    private EbnfParserCombinatorProfileTextCursor(final TextCursor cursor) {
+        this.cursor = cursor;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.cursor.isEmpty();
+    }
+
+    @Override
+    public char at() {
+        return this.cursor.at();
+    }
+
+    @Override
+    public TextCursor next() {
+        this.cursor.next();
+        this.position++;
+        this.read++;
+        return this;
+    }
+
+    @Override
+    public TextCursor end() {
+        while (false == this.isEmpty()) {
+            this.next();
+        }
+        return this;
+    }
+
+    @Override
+    public TextCursorSavePoint save() {
+        return EbnfParserCombinatorProfileTextCursorSavePoint.with(this);
+    }
+
+    @Override
+    public TextCursorLineInfo lineInfo() {
+        return this.cursor.lineInfo();
+    }
+
+    /**
+     * The wrapped {@link TextCursor}.
+     */
+    final TextCursor cursor;
+
+    /**
+     * The number of characters after the position of the wrapped cursor when this was created.
+     */
+    long position;
+
+    /**
+     * The total number of characters read, which never goes backwards.
+     */
+    long read;
+
+    @Override
+    public String toString() {
+        return this.cursor.toString();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+
+/**
+ * A {@link TextCursorSavePoint} for a {@link EbnfParserCombinatorProfileTextCursor}, which also restores its position.
+ */
+final class EbnfParserCombinatorProfileTextCursorSavePoint implements TextCursorSavePoint {
+
+    static EbnfParserCombinatorProfileTextCursorSavePoint with(final EbnfParserCombinatorProfileTextCursor cursor) {
+        return new EbnfParserCombinatorProfileTextCursorSavePoint(
+                cursor,
+                cursor.cursor.save()
+        );
+    }
+
+    private EbnfParserCombinatorProfileTextCursorSavePoint(final EbnfParserCombinatorProfileTextCursor cursor,
+                                                           final TextCursorSavePoint save) {
+        this.cursor = cursor;
+        this.save = save;
+        this.position = cursor.position;
+    }
+
+    @Override
+    public TextCursor restore() {
+        final EbnfParserCombinatorProfileTextCursor cursor = this.cursor;
+
+        this.save.restore();
+        cursor.position = this.position;
+
+        return cursor;
+    }
+
+    @Override
+    public void save() {
+        this.save.save();
+        this.position = this.cursor.position;
+    }
+
+    @Override
+    public CharSequence textBetween() {
+        return this.save.textBetween();
+    }
+
+    private final EbnfParserCombinatorProfileTextCursor cursor;
+
+    /**
+     * The save point of the wrapped cursor.
+     */
+    private final TextCursorSavePoint save;
+
+    private long position;
+
+    @Override
+    public String toString() {
+        return this.save.toString();
+    }
+}
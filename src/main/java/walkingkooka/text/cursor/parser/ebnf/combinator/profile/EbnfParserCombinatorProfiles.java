@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformer;
+
+/**
+ * Factory methods for profiling the parsers of a grammar. This package uses {@link java.util.concurrent} and is
+ * therefore only available on the JVM, it is excluded from GWT and J2CL builds.
+ */
+public final class EbnfParserCombinatorProfiles implements PublicStaticHelper {
+
+    /**
+     * Returns an empty {@link EbnfParserCombinatorProfile} that measures one in every sample rate invocations, also
+     * recording the time spent if timing.
+     */
+    public static EbnfParserCombinatorProfile profile(final int sampleRate,
+                                                      final boolean timing) {
+        return EbnfParserCombinatorProfile.with(
+                sampleRate,
+                timing
+        );
+    }
+
+    /**
+     * Wraps the parser of every rule, identifier and alternatives so a sample of their invocations are counted by the
+     * {@link EbnfParserCombinatorProfile}, whose {@link EbnfParserCombinatorProfile#report()} then shows the costly
+     * rules and the choices that failed most often.
+     */
+    public static <C extends ParserContext> EbnfParserCombinatorGrammarTransformer<C> transformer(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                                  final EbnfParserCombinatorProfile profile) {
+        return EbnfParserCombinatorProfilingGrammarTransformer.with(
+                transformer,
+                profile
+        );
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfParserCombinatorProfiles() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.AlternativeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.ConcatenationEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.ExceptionEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GroupEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.OptionalEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RepeatedEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformer;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorRuleAction;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link EbnfParserCombinatorGrammarTransformer} that wraps the parser of every rule, identifier and alternatives in
+ * a {@link EbnfParserCombinatorProfileParser} recording to a {@link EbnfParserCombinatorProfile}. Identifiers that are
+ * a choice of alternatives are added to its choices, so the report shows which choices failed. All other methods
+ * delegate to the wrapped transformer.
+ * <br>
+ * Terminals are not wrapped, nor alternatives of only terminals which are matched by a trie.
+ */
+final class EbnfParserCombinatorProfilingGrammarTransformer<C extends ParserContext> implements EbnfParserCombinatorGrammarTransformer<C> {
+
+    static <C extends ParserContext> EbnfParserCombinatorProfilingGrammarTransformer<C> with(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                                                             final EbnfParserCombinatorProfile profile) {
+        return new EbnfParserCombinatorProfilingGrammarTransformer<>(
+                Objects.requireNonNull(transformer, "transformer"),
+                Objects.requireNonNull(profile, "profile")
+        );
+    }
+
+    private EbnfParserCombinatorProfilingGrammarTransformer(final EbnfParserCombinatorGrammarTransformer<C> transformer,
+                                                            final EbnfParserCombinatorProfile profile) {
+        super();
+        this.transformer = transformer;
+        this.profile = profile;
+    }
+
+    @Override
+    public Parser<C> alternatives(final AlternativeEbnfParserToken token,
+                                  final Parser<C> parser) {
+        final Parser<C> alternatives = this.transformer.alternatives(
+                token,
+                parser
+        );
+
+        final List<EbnfParserToken> identifiers = Lists.array();
+        boolean terminals = true;
+
+        for (final ParserToken child : token.value()) {
+            if (child instanceof EbnfParserToken) {
+                final EbnfParserToken ebnf = (EbnfParserToken) child;
+                if (false == (ebnf.isComment() || ebnf.isSymbol() || ebnf.isWhitespace())) {
+                    terminals = terminals && ebnf.isTerminal();
+                    if (ebnf.isIdentifier()) {
+                        identifiers.add(ebnf);
+                    }
+                }
+            }
+        }
+
+        final Parser<C> profiled;
+        if (terminals) {
+            profiled = alternatives;
+        } else {
+            final EbnfParserCombinatorProfileSite site = this.profile.alternatives(
+                    label(token)
+            );
+
+            for (final EbnfParserToken identifier : identifiers) {
+                final EbnfParserCombinatorProfileSite choice = this.identifiers.get(identifier);
+                if (null != choice) {
+                    site.addChoice(choice);
+                } else {
+                    List<EbnfParserCombinatorProfileSite> pending = this.pending.get(identifier);
+                    if (null == pending) {
+                        pending = Lists.array();
+                        this.pending.put(
+                                identifier,
+                                pending
+                        );
+                    }
+                    pending.add(site);
+                }
+            }
+
+            profiled = this.profile(
+                    alternatives,
+                    site
+            );
+        }
+
+        return profiled;
+    }
+
+    /**
+     * The text of the alternatives with any run of whitespace replaced by a single space.
+     */
+    private static String label(final AlternativeEbnfParserToken token) {
+        final String text = token.text();
+        final StringBuilder b = new StringBuilder();
+        boolean whitespace = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                whitespace = true;
+            } else {
+                if (whitespace && b.length() > 0) {
+                    b.append(' ');
+                }
+                b.append(c);
+                whitespace = false;
+            }
+        }
+
+        return b.toString();
+    }
+
+    @Override
+    public Parser<C> concatenation(final ConcatenationEbnfParserToken token,
+                                   final Parser<C> parser) {
+        return this.transformer.concatenation(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> exception(final ExceptionEbnfParserToken token,
+                               final Parser<C> parser) {
+        return this.transformer.exception(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> group(final GroupEbnfParserToken token,
+                           final Parser<C> parser) {
+        return this.transformer.group(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> identifier(final IdentifierEbnfParserToken token,
+                                final Parser<C> parser) {
+        EbnfParserCombinatorProfileSite site = this.identifiers.get(token);
+        if (null == site) {
+            site = this.profile.identifier(
+                    token.value()
+                            .value()
+            );
+            this.identifiers.put(
+                    token,
+                    site
+            );
+
+            final List<EbnfParserCombinatorProfileSite> pending = this.pending.remove(token);
+            if (null != pending) {
+                for (final EbnfParserCombinatorProfileSite alternatives : pending) {
+                    alternatives.addChoice(site);
+                }
+            }
+        }
+
+        return this.profile(
+                this.transformer.identifier(
+                        token,
+                        parser
+                ),
+                site
+        );
+    }
+
+    @Override
+    public Parser<C> optional(final OptionalEbnfParserToken token,
+                              final Parser<C> parser) {
+        return this.transformer.optional(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> range(final RangeEbnfParserToken token,
+                           final String beginText,
+                           final String endText) {
+        return this.transformer.range(
+                token,
+                beginText,
+                endText
+        );
+    }
+
+    @Override
+    public Parser<C> repeated(final RepeatedEbnfParserToken token,
+                              final Parser<C> parser) {
+        return this.transformer.repeated(
+                token,
+                parser
+        );
+    }
+
+    @Override
+    public Parser<C> rule(final RuleEbnfParserToken token,
+                          final Parser<C> parser) {
+        return this.profile(
+                this.transformer.rule(
+                        token,
+                        parser
+                ),
+                this.profile.rule(
+                        token.identifier()
+                                .value()
+                                .value()
+                )
+        );
+    }
+
+    @Override
+    public Optional<EbnfParserCombinatorRuleAction<C>> action(final RuleEbnfParserToken token) {
+        return this.transformer.action(token);
+    }
+
+    @Override
+    public Parser<C> terminal(final TerminalEbnfParserToken token,
+                              final Parser<C> parser) {
+        return this.transformer.terminal(
+                token,
+                parser
+        );
+    }
+
+    /**
+     * Profiling parsers match the same text as the parsers they wrap.
+     */
+    @Override
+    public boolean preservesFirstSets() {
+        return this.transformer.preservesFirstSets();
+    }
+
+    @Override
+    public Optional<Parser<C>> failureTracker(final EbnfIdentifierName rule) {
+        return this.transformer.failureTracker(rule);
+    }
+
+    private Parser<C> profile(final Parser<C> parser,
+                              final EbnfParserCombinatorProfileSite site) {
+        return EbnfParserCombinatorProfileParser.with(
+                parser,
+                site,
+                this.profile
+        );
+    }
+
+    /**
+     * The wrapped transformer.
+     */
+    private final EbnfParserCombinatorGrammarTransformer<C> transformer;
+
+    private final EbnfParserCombinatorProfile profile;
+
+    /**
+     * Identifier tokens are equal to other references to the same rule, so all share a single site.
+     */
+    private final Map<EbnfParserToken, EbnfParserCombinatorProfileSite> identifiers = Maps.hash();
+
+    /**
+     * Alternatives waiting for a choice whose identifier has not yet been transformed.
+     */
+    private final Map<EbnfParserToken, List<EbnfParserCombinatorProfileSite>> pending = Maps.hash();
+
+    @Override
+    public String toString() {
+        return this.transformer.toString();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfLineIndexTest implements ClassTesting2<EbnfLineIndex> {
+
+    private final static String TEXT = "abc\ndef\r\nghi\rjkl";
+
+    @Test
+    public void testWithNullTextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfLineIndex.with(null)
+        );
+    }
+
+    @Test
+    public void testInvalidOffsetFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfLineIndex.with(TEXT)
+                        .lineNumber(-1)
+        );
+    }
+
+    @Test
+    public void testOffsetAfterEndFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfLineIndex.with(TEXT)
+                        .lineNumber(TEXT.length() + 1)
+        );
+    }
+
+    @Test
+    public void testFirstLine() {
+        this.lineColumnAndCheck(0, 1, 1, "abc");
+        this.lineColumnAndCheck(2, 1, 3, "abc");
+    }
+
+    @Test
+    public void testLineFeed() {
+        this.lineColumnAndCheck(3, 1, 4, "abc");
+        this.lineColumnAndCheck(4, 2, 1, "def");
+    }
+
+    @Test
+    public void testCarriageReturnLineFeed() {
+        this.lineColumnAndCheck(6, 2, 3, "def");
+        this.lineColumnAndCheck(9, 3, 1, "ghi");
+    }
+
+    @Test
+    public void testCarriageReturn() {
+        this.lineColumnAndCheck(13, 4, 1, "jkl");
+    }
+
+    @Test
+    public void testEnd() {
+        this.lineColumnAndCheck(TEXT.length(), 4, 4, "jkl");
+    }
+
+    @Test
+    public void testEmpty() {
+        final EbnfLineIndex index = EbnfLineIndex.with("");
+
+        this.checkEquals(1, index.lineNumber(0), "lineNumber");
+        this.checkEquals(1, index.columnNumber(0), "columnNumber");
+        this.checkEquals("", index.line(0).toString(), "line");
+    }
+
+    @Test
+    public void testManyLines() {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            b.append("line\n");
+        }
+        final EbnfLineIndex index = EbnfLineIndex.with(b);
+
+        this.checkEquals(51, index.lineNumber(50 * 5 + 2), "lineNumber");
+        this.checkEquals(3, index.columnNumber(50 * 5 + 2), "columnNumber");
+        this.checkEquals(101, index.lineNumber(b.length()), "lineNumber end");
+    }
+
+    private void lineColumnAndCheck(final int offset,
+                                    final int line,
+                                    final int column,
+                                    final String lineText) {
+        final EbnfLineIndex index = EbnfLineIndex.with(TEXT);
+
+        this.checkEquals(line, index.lineNumber(offset), () -> "lineNumber " + offset);
+        this.checkEquals(column, index.columnNumber(offset), () -> "columnNumber " + offset);
+        this.checkEquals(lineText, index.line(offset).toString(), () -> "line " + offset);
+    }
+
+    @Override
+    public Class<EbnfLineIndex> type() {
+        return EbnfLineIndex.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
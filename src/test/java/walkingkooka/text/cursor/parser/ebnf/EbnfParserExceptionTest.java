@@ -17,11 +17,91 @@
 
 package walkingkooka.text.cursor.parser.ebnf;
 
+import org.junit.jupiter.api.Test;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.reflect.StandardThrowableTesting;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public class EbnfParserExceptionTest implements StandardThrowableTesting<EbnfParserException> {
 
+    @Test
+    public void testStacklessWithNullMessageFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserException.stackless(null)
+        );
+    }
+
+    @Test
+    public void testStacklessMessageLazy() {
+        final AtomicInteger count = new AtomicInteger();
+        final EbnfParserException thrown = EbnfParserException.stackless(
+                () -> {
+                    count.incrementAndGet();
+                    return "Lazy message 123";
+                }
+        );
+
+        this.checkEquals(0, count.get(), "message built before getMessage");
+        this.checkEquals("Lazy message 123", thrown.getMessage());
+        this.checkEquals("Lazy message 123", thrown.getMessage());
+        this.checkEquals(1, count.get(), "message built more than once");
+    }
+
+    @Test
+    public void testStacklessNoStackTrace() {
+        this.checkEquals(
+                0,
+                EbnfParserException.stackless(() -> "message")
+                        .getStackTrace()
+                        .length
+        );
+    }
+
+    @Test
+    public void testStackTrace() {
+        this.checkNotEquals(
+                0,
+                this.createThrowable("message")
+                        .getStackTrace()
+                        .length
+        );
+    }
+
+    @Test
+    public void testStacklessSerialized() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(
+                    EbnfParserException.stackless(() -> "Lazy message 123")
+            );
+        }
+
+        try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            this.checkEquals(
+                    "Lazy message 123",
+                    ((EbnfParserException) input.readObject()).getMessage()
+            );
+        }
+    }
+
+    @Test
+    public void testStackTraceStartsAtCaller() {
+        this.checkEquals(
+                "createThrowable",
+                this.createThrowable("message")
+                        .getStackTrace()[0]
+                        .getMethodName()
+        );
+    }
+
     @Override
     public EbnfParserException createThrowable(final String message) {
         return new EbnfParserException(message);
@@ -23,6 +23,7 @@ import walkingkooka.collect.list.Lists;
 import walkingkooka.reflect.ClassTesting;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.test.ParseStringTesting;
+import walkingkooka.text.cursor.parser.ParserReporters;
 import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorException;
 import walkingkooka.text.printer.TreePrintableTesting;
 
@@ -47,6 +48,37 @@ public final class EbnfParserTokenTest implements ParseStringTesting<EbnfParserT
         );
     }
 
+    @Test
+    public void testParseWithInvalidGrammarSeveralLinesFails() {
+        final String text = "Hello= \"text\";\nGoodbye= \"text\";\r\n  Bad!";
+
+        final RuntimeException expected = assertThrows(
+                RuntimeException.class,
+                () -> EbnfParserToken.grammarParser()
+                        .orFailIfCursorNotEmpty(ParserReporters.basic())
+                        .parseText(
+                                text,
+                                EbnfParserContexts.basic()
+                        )
+        );
+
+        final RuntimeException thrown = assertThrows(
+                RuntimeException.class,
+                () -> EbnfParserToken.parse(text)
+        );
+
+        this.checkEquals(
+                expected.getClass(),
+                thrown.getClass(),
+                "exception"
+        );
+        this.checkEquals(
+                expected.getMessage(),
+                thrown.getMessage(),
+                "message"
+        );
+    }
+
     @Test
     public void testParse() {
         final String text = "Hello=\"text\";";
@@ -187,6 +187,74 @@ public final class GrammarEbnfParserTokenTest extends ParentEbnfParserTokenTestC
                 .checkIdentifiers(GrammarEbnfParserToken.NO_EXTERNALS);
     }
 
+    // reachable.......................................................................................................
+
+    @Test
+    public void testReachableNullRulesFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createToken().reachable(null)
+        );
+    }
+
+    @Test
+    public void testReachableUnknownRuleFails() {
+        assertThrows(
+                EbnfGrammarParserTokenInvalidReferencesException.class,
+                () -> EbnfParserToken.parse("A=\"a\";")
+                        .reachable(Sets.of(EbnfIdentifierName.with("Unknown")))
+        );
+    }
+
+    @Test
+    public void testReachableAllSame() {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse("A=B;B=\"b\";");
+
+        assertSame(
+                grammar,
+                grammar.reachable(Sets.of(EbnfIdentifierName.with("A")))
+        );
+    }
+
+    @Test
+    public void testReachableRemovesDeadRules() {
+        this.reachableAndCheck(
+                "A=B, EXTERNAL;B=\"b\";C=\"c\";D=C;",
+                "A",
+                "A=B, EXTERNAL;B=\"b\";"
+        );
+    }
+
+    @Test
+    public void testReachableRecursive() {
+        this.reachableAndCheck(
+                "A=B;B=\"b\", [A];C=\"c\";",
+                "A",
+                "A=B;B=\"b\", [A];"
+        );
+    }
+
+    @Test
+    public void testReachableSecondRule() {
+        this.reachableAndCheck(
+                "A=B;B=\"b\";C=\"c\";",
+                "C",
+                "C=\"c\";"
+        );
+    }
+
+    private void reachableAndCheck(final String grammar,
+                                   final String rule,
+                                   final String expected) {
+        this.checkEquals(
+                expected,
+                EbnfParserToken.parse(grammar)
+                        .reachable(Sets.of(EbnfIdentifierName.with(rule)))
+                        .text(),
+                () -> "reachable " + rule + " in " + grammar
+        );
+    }
+
     @Override
     public GrammarEbnfParserToken createDifferentToken() {
         final String ruleText = "identifier2='terminal2';";
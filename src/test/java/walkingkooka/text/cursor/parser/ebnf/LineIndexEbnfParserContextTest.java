@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.InvalidCharacterExceptionFactory;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.Parsers;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LineIndexEbnfParserContextTest implements ClassTesting2<LineIndexEbnfParserContext> {
+
+    private final static String TEXT = "abc\ndef\nghi";
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> LineIndexEbnfParserContext.with(
+                        null,
+                        TEXT
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullTextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> LineIndexEbnfParserContext.with(
+                        EbnfParserContexts.basic(),
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testLineIndex() {
+        this.checkEquals(
+                2,
+                this.createContext()
+                        .lineIndex()
+                        .get()
+                        .lineNumber(TEXT.indexOf('f'))
+        );
+    }
+
+    @Test
+    public void testInvalidCharacterExceptionSameAsBasic() {
+        final Parser<EbnfParserContext> parser = Parsers.string("xyz", CaseSensitivity.SENSITIVE);
+
+        final TextCursor cursor = TextCursors.charSequence(TEXT);
+        for (int i = 0; i < TEXT.indexOf('e'); i++) {
+            cursor.next();
+        }
+
+        this.checkEquals(
+                InvalidCharacterExceptionFactory.COLUMN_AND_LINE_EXPECTED.apply(
+                        parser,
+                        cursor
+                ).getMessage(),
+                this.createContext()
+                        .invalidCharacterException(
+                                parser,
+                                cursor
+                        ).getMessage()
+        );
+    }
+
+    @Test
+    public void testDelegates() {
+        this.checkEquals(
+                EbnfParserContexts.basic().decimalSeparator(),
+                this.createContext()
+                        .decimalSeparator()
+        );
+    }
+
+    private LineIndexEbnfParserContext createContext() {
+        return LineIndexEbnfParserContext.with(
+                EbnfParserContexts.basic(),
+                TEXT
+        );
+    }
+
+    @Override
+    public Class<LineIndexEbnfParserContext> type() {
+        return LineIndexEbnfParserContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
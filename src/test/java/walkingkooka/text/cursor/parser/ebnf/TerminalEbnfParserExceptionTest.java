@@ -17,11 +17,60 @@
 
 package walkingkooka.text.cursor.parser.ebnf;
 
+import org.junit.jupiter.api.Test;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.reflect.StandardThrowableTesting;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public class TerminalEbnfParserExceptionTest implements StandardThrowableTesting<TerminalEbnfParserException> {
 
+    @Test
+    public void testStacklessWithNullMessageFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> TerminalEbnfParserException.stackless(null)
+        );
+    }
+
+    @Test
+    public void testStacklessMessageLazy() {
+        final AtomicInteger count = new AtomicInteger();
+        final TerminalEbnfParserException thrown = TerminalEbnfParserException.stackless(
+                () -> {
+                    count.incrementAndGet();
+                    return "Lazy message 123";
+                }
+        );
+
+        this.checkEquals(0, count.get(), "message built before getMessage");
+        this.checkEquals("Lazy message 123", thrown.getMessage());
+        this.checkEquals("Lazy message 123", thrown.getMessage());
+        this.checkEquals(1, count.get(), "message built more than once");
+    }
+
+    @Test
+    public void testStacklessNoStackTrace() {
+        this.checkEquals(
+                0,
+                TerminalEbnfParserException.stackless(() -> "message")
+                        .getStackTrace()
+                        .length
+        );
+    }
+
+    @Test
+    public void testStackTrace() {
+        this.checkNotEquals(
+                0,
+                this.createThrowable("message")
+                        .getStackTrace()
+                        .length
+        );
+    }
+
     @Override
     public TerminalEbnfParserException createThrowable(final String message) {
         return new TerminalEbnfParserException(message);
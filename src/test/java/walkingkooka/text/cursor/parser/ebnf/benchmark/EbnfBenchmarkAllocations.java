@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the number of bytes allocated by the current thread, using the HotSpot {@link com.sun.management.ThreadMXBean}
+ * when it is available.
+ */
+public final class EbnfBenchmarkAllocations {
+
+    /**
+     * Returned by {@link #currentThread()} when the JVM does not count allocations.
+     */
+    public final static long UNSUPPORTED = -1;
+
+    /**
+     * Returns the total number of bytes allocated by the current thread, or {@link #UNSUPPORTED}.
+     */
+    public static long currentThread() {
+        final com.sun.management.ThreadMXBean threads = THREADS;
+
+        return null != threads ?
+                threads.getThreadAllocatedBytes(
+                        Thread.currentThread()
+                                .getId()
+                ) :
+                UNSUPPORTED;
+    }
+
+    public static boolean isSupported() {
+        return null != THREADS;
+    }
+
+    private final static com.sun.management.ThreadMXBean THREADS = threads();
+
+    private static com.sun.management.ThreadMXBean threads() {
+        com.sun.management.ThreadMXBean threads = null;
+
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+            } else {
+                threads = null;
+            }
+        }
+
+        return threads;
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfBenchmarkAllocations() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.benchmark;
+
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+/**
+ * Grammars and inputs used by the benchmarks.
+ */
+public final class EbnfBenchmarkGrammars {
+
+    /**
+     * The rule in {@link #JSON} that matches an entire document.
+     */
+    public final static EbnfIdentifierName JSON_RULE = EbnfIdentifierName.with("JSON");
+
+    /**
+     * A complete JSON grammar, following the structure of the grammar in the README but with every rule defined, so
+     * it may be compiled without any other parsers.
+     */
+    public final static String JSON = "JSON=[WS], VALUE, [WS];\n" +
+            "VALUE=OBJECT | ARRAY | STRING | NUMBER | \"true\" | \"false\" | \"null\";\n" +
+            "OBJECT=\"{\", [WS], [MEMBER, {[WS], \",\", [WS], MEMBER}], [WS], \"}\";\n" +
+            "MEMBER=STRING, [WS], \":\", [WS], VALUE;\n" +
+            "ARRAY=\"[\", [WS], [VALUE, {[WS], \",\", [WS], VALUE}], [WS], \"]\";\n" +
+            "STRING='\"', {CHARACTER}, '\"';\n" +
+            "CHARACTER=UNESCAPED | ESCAPE;\n" +
+            "UNESCAPED=' '..'!' | '#'..'[' | ']'..'~';\n" +
+            "ESCAPE='\\u005c', ('\"' | '\\u005c' | \"/\" | \"b\" | \"f\" | \"n\" | \"r\" | \"t\" | (\"u\", HEX, HEX, HEX, HEX));\n" +
+            "HEX='0'..'9' | 'a'..'f' | 'A'..'F';\n" +
+            "NUMBER=[\"-\"], INTEGER, [FRACTION], [EXPONENT];\n" +
+            "INTEGER=\"0\" | ('1'..'9', {DIGIT});\n" +
+            "FRACTION=\".\", DIGIT, {DIGIT};\n" +
+            "EXPONENT=(\"e\" | \"E\"), [\"+\" | \"-\"], DIGIT, {DIGIT};\n" +
+            "DIGIT='0'..'9';\n" +
+            "WS={\" \" | \"\\t\" | \"\\n\" | \"\\r\"};\n";
+
+    /**
+     * The rule in {@link #README} that matches any JSON value.
+     */
+    public final static EbnfIdentifierName README_RULE = EbnfIdentifierName.with("VALUE");
+
+    /**
+     * The sample JSON grammar from the README, followed by the rules it leaves to other parsers, so it may be compiled
+     * without any other parsers.
+     */
+    public final static String README = "VALUE=                  NULL | BOOLEAN | STRING | NUMBER | ARRAY | OBJECT;\n" +
+            "VALUE_REQUIRED=         VALUE;\n" +
+            "\n" +
+            "ARRAY_ELEMENT=          [ WHITESPACE ], VALUE;\n" +
+            "ARRAY_ELEMENT_REQUIRED= [ WHITESPACE ], VALUE_REQUIRED;\n" +
+            "\n" +
+            "ARRAY=                  ARRAY_BEGIN,\n" +
+            "                        ARRAY_REQUIRED;\n" +
+            "\n" +
+            "ARRAY_REQUIRED=         [ ARRAY_ELEMENT, [{ [ WHITESPACE ], SEPARATOR, ARRAY_ELEMENT_REQUIRED }]],\n" +
+            "                        [ WHITESPACE ],\n" +
+            "                        ARRAY_END;\n" +
+            "\n" +
+            "OBJECT_PROPERTY_REQUIRED=OBJECT_PROPERTY;\n" +
+            "OBJECT_PROPERTY        =[ WHITESPACE ], STRING, [ WHITESPACE ], OBJECT_ASSIGNMENT, [ WHITESPACE ], VALUE_REQUIRED;\n" +
+            "\n" +
+            "OBJECT=                 OBJECT_BEGIN,\n" +
+            "                        OBJECT_REQUIRED;\n" +
+            "OBJECT_REQUIRED=        [ OBJECT_PROPERTY, [{[ WHITESPACE ], SEPARATOR, OBJECT_PROPERTY_REQUIRED }]],\n" +
+            "                        [ WHITESPACE ],\n" +
+            "                        OBJECT_END;\n" +
+            "\n" +
+            "NULL=\"null\";\n" +
+            "BOOLEAN=\"true\" | \"false\";\n" +
+            "ARRAY_BEGIN=\"[\";\n" +
+            "ARRAY_END=\"]\";\n" +
+            "OBJECT_BEGIN=\"{\";\n" +
+            "OBJECT_END=\"}\";\n" +
+            "OBJECT_ASSIGNMENT=\":\";\n" +
+            "SEPARATOR=\",\";\n" +
+            "WHITESPACE=WHITESPACE_CHARACTER, {WHITESPACE_CHARACTER};\n" +
+            "WHITESPACE_CHARACTER=\" \" | \"\\t\" | \"\\n\" | \"\\r\";\n" +
+            "STRING='\"', {CHARACTER}, '\"';\n" +
+            "CHARACTER=UNESCAPED | ESCAPE;\n" +
+            "UNESCAPED=' '..'!' | '#'..'[' | ']'..'~';\n" +
+            "ESCAPE='\\u005c', ('\"' | '\\u005c' | \"/\" | \"b\" | \"f\" | \"n\" | \"r\" | \"t\" | (\"u\", HEX, HEX, HEX, HEX));\n" +
+            "HEX='0'..'9' | 'a'..'f' | 'A'..'F';\n" +
+            "NUMBER=[\"-\"], INTEGER, [FRACTION], [EXPONENT];\n" +
+            "INTEGER=\"0\" | ('1'..'9', {DIGIT});\n" +
+            "FRACTION=\".\", DIGIT, {DIGIT};\n" +
+            "EXPONENT=(\"e\" | \"E\"), [\"+\" | \"-\"], DIGIT, {DIGIT};\n" +
+            "DIGIT='0'..'9';\n";
+
+    /**
+     * Returns a JSON document holding an array with the given number of objects.
+     */
+    public static String jsonDocument(final int objects) {
+        final StringBuilder b = new StringBuilder();
+        b.append("[\n");
+
+        String separator = "";
+        for (int i = 0; i < objects; i++) {
+            b.append(separator)
+                    .append("  {\"id\": ")
+                    .append(i)
+                    .append(", \"name\": \"item ")
+                    .append(i)
+                    .append("\", \"price\": ")
+                    .append(i * 7 % 1000)
+                    .append('.')
+                    .append(i % 100)
+                    .append(", \"tags\": [\"a\", \"b\\n\"], \"active\": ")
+                    .append(0 == i % 2)
+                    .append(", \"parent\": null}");
+            separator = ",\n";
+        }
+
+        b.append("\n]\n");
+        return b.toString();
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfBenchmarkGrammars() {
+        throw new UnsupportedOperationException();
+    }
+}
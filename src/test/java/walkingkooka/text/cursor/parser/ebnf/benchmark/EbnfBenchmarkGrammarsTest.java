@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.benchmark;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformers;
+
+import java.util.Optional;
+
+/**
+ * Verifies the benchmark grammars and inputs are valid, so the benchmarks measure successful parses.
+ */
+public final class EbnfBenchmarkGrammarsTest implements Testing {
+
+    @Test
+    public void testJsonDocument() {
+        final Parser<FakeParserContext> parser = EbnfParserToken.parse(EbnfBenchmarkGrammars.JSON)
+                .combinator(
+                        (n) -> Optional.empty(),
+                        EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+                ).apply(EbnfBenchmarkGrammars.JSON_RULE)
+                .get();
+        final String json = EbnfBenchmarkGrammars.jsonDocument(10);
+        final TextCursor cursor = TextCursors.charSequence(json);
+
+        this.checkEquals(
+                json,
+                parser.parse(
+                        cursor,
+                        new FakeParserContext()
+                ).map(ParserToken::text)
+                        .orElse(null)
+        );
+    }
+
+    @Test
+    public void testReadmeJsonDocument() {
+        final Parser<FakeParserContext> parser = EbnfParserToken.parse(EbnfBenchmarkGrammars.README)
+                .combinator(
+                        (n) -> Optional.empty(),
+                        EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+                ).apply(EbnfBenchmarkGrammars.README_RULE)
+                .get();
+        final String json = EbnfBenchmarkGrammars.jsonDocument(10);
+
+        this.checkEquals(
+                json.trim(),
+                parser.parse(
+                        TextCursors.charSequence(json),
+                        new FakeParserContext()
+                ).map(ParserToken::text)
+                        .orElse(null)
+        );
+    }
+
+    @Test
+    public void testReadmeGrammarCheckIdentifiers() {
+        EbnfParserToken.parse(EbnfBenchmarkGrammars.README)
+                .checkIdentifiers(GrammarEbnfParserToken.NO_EXTERNALS);
+    }
+
+    @Test
+    public void testJsonGrammarCheckIdentifiers() {
+        EbnfParserToken.parse(EbnfBenchmarkGrammars.JSON)
+                .checkIdentifiers(GrammarEbnfParserToken.NO_EXTERNALS);
+    }
+}
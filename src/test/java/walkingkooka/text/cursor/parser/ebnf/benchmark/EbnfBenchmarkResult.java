@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.benchmark;
+
+/**
+ * The averages measured by a {@link EbnfBenchmarkRunner} for a single benchmark.
+ */
+public final class EbnfBenchmarkResult {
+
+    static EbnfBenchmarkResult with(final String name,
+                                    final long operations,
+                                    final long nanos,
+                                    final long allocatedBytes,
+                                    final long charsPerOperation) {
+        return new EbnfBenchmarkResult(
+                name,
+                operations,
+                nanos,
+                allocatedBytes,
+                charsPerOperation
+        );
+    }
+
+    private EbnfBenchmarkResult(final String name,
+                                final long operations,
+                                final long nanos,
+                                final long allocatedBytes,
+                                final long charsPerOperation) {
+        this.name = name;
+        this.operations = operations;
+        this.nanos = nanos;
+        this.allocatedBytes = allocatedBytes;
+        this.charsPerOperation = charsPerOperation;
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    private final String name;
+
+    /**
+     * The number of measured operations.
+     */
+    public long operations() {
+        return this.operations;
+    }
+
+    private final long operations;
+
+    public double nanosPerOperation() {
+        return (double) this.nanos / this.operations;
+    }
+
+    private final long nanos;
+
+    /**
+     * The bytes allocated by each operation, or a negative value if allocations are not counted.
+     */
+    public double bytesPerOperation() {
+        return this.allocatedBytes < 0 ?
+                -1 :
+                (double) this.allocatedBytes / this.operations;
+    }
+
+    private final long allocatedBytes;
+
+    /**
+     * The allocation rate in megabytes per second, like the gc.alloc.rate reported by JMH.
+     */
+    public double allocationRate() {
+        return this.allocatedBytes < 0 ?
+                -1 :
+                this.allocatedBytes * 1000.0 / this.nanos;
+    }
+
+    /**
+     * The number of characters parsed per second, or zero if the benchmark does not parse text.
+     */
+    public double charsPerSecond() {
+        return this.charsPerOperation * this.operations * 1000_000_000.0 / this.nanos;
+    }
+
+    private final long charsPerOperation;
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append(this.name)
+                .append(' ')
+                .append(round(this.nanosPerOperation() / 1000))
+                .append(" us/op");
+
+        if (this.allocatedBytes >= 0) {
+            b.append(' ')
+                    .append(round(this.bytesPerOperation()))
+                    .append(" B/op ")
+                    .append(round(this.allocationRate()))
+                    .append(" MB/s alloc");
+        }
+        if (this.charsPerOperation > 0) {
+            b.append(' ')
+                    .append(round(this.charsPerSecond() / 1000_000))
+                    .append(" Mchars/s");
+        }
+
+        return b.toString();
+    }
+
+    private static String round(final double value) {
+        return String.valueOf(Math.round(value * 100) / 100.0);
+    }
+}
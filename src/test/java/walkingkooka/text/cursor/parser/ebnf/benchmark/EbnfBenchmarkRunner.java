@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.benchmark;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs benchmarks in the current thread with a number of warmup and measured iterations, each of which repeats the
+ * operation until a minimum time has passed. The time and bytes allocated by the current thread are measured for each
+ * iteration. The result of every operation is kept so the JIT cannot remove the work. Each result is given to a
+ * reporter, rather than printed, so tests decide where results go.
+ */
+public final class EbnfBenchmarkRunner {
+
+    public static EbnfBenchmarkRunner with(final int warmupIterations,
+                                           final int iterations,
+                                           final long iterationMillis,
+                                           final Consumer<EbnfBenchmarkResult> reporter) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Invalid warmup iterations " + warmupIterations + " < 0");
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Invalid iterations " + iterations + " < 1");
+        }
+        if (iterationMillis < 0) {
+            throw new IllegalArgumentException("Invalid iteration millis " + iterationMillis + " < 0");
+        }
+
+        return new EbnfBenchmarkRunner(
+                warmupIterations,
+                iterations,
+                iterationMillis,
+                Objects.requireNonNull(reporter, "reporter")
+        );
+    }
+
+    private EbnfBenchmarkRunner(final int warmupIterations,
+                                final int iterations,
+                                final long iterationMillis,
+                                final Consumer<EbnfBenchmarkResult> reporter) {
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.iterationNanos = iterationMillis * 1000_000;
+        this.reporter = reporter;
+    }
+
+    /**
+     * Runs a benchmark that does not parse text.
+     */
+    public EbnfBenchmarkResult run(final String name,
+                                   final Supplier<?> operation) {
+        return this.run(
+                name,
+                0,
+                operation
+        );
+    }
+
+    /**
+     * Runs a benchmark whose operation parses the given number of characters, so its throughput is also reported.
+     */
+    public EbnfBenchmarkResult run(final String name,
+                                   final long charsPerOperation,
+                                   final Supplier<?> operation) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(operation, "operation");
+
+        for (int i = 0; i < this.warmupIterations; i++) {
+            this.iteration(operation);
+        }
+
+        long operations = 0;
+        long nanos = 0;
+        long allocatedBytes = 0;
+
+        for (int i = 0; i < this.iterations; i++) {
+            final long allocatedBefore = EbnfBenchmarkAllocations.currentThread();
+            final long start = System.nanoTime();
+
+            operations += this.iteration(operation);
+
+            nanos += System.nanoTime() - start;
+            allocatedBytes += EbnfBenchmarkAllocations.currentThread() - allocatedBefore;
+        }
+
+        final EbnfBenchmarkResult result = EbnfBenchmarkResult.with(
+                name,
+                operations,
+                nanos,
+                EbnfBenchmarkAllocations.isSupported() ?
+                        allocatedBytes :
+                        EbnfBenchmarkAllocations.UNSUPPORTED,
+                charsPerOperation
+        );
+        this.reporter.accept(result);
+        return result;
+    }
+
+    /**
+     * Repeats the operation until the iteration time has passed, returning the number of operations.
+     */
+    private long iteration(final Supplier<?> operation) {
+        final long end = System.nanoTime() + this.iterationNanos;
+        long count = 0;
+
+        do {
+            sink = operation.get();
+            count++;
+        } while (System.nanoTime() < end);
+
+        return count;
+    }
+
+    private final int warmupIterations;
+
+    private final int iterations;
+
+    private final long iterationNanos;
+
+    private final Consumer<EbnfBenchmarkResult> reporter;
+
+    /**
+     * Holds the result of the last operation.
+     */
+    private static volatile Object sink;
+
+    @Override
+    public String toString() {
+        return this.warmupIterations + " warmup " + this.iterations + " iterations " + this.iterationNanos / 1000_000 + "ms";
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.benchmark;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfBenchmarkRunnerTest implements Testing {
+
+    @Test
+    public void testWithInvalidIterationsFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfBenchmarkRunner.with(
+                        0,
+                        0,
+                        0,
+                        (r) -> {
+                            throw new UnsupportedOperationException();
+                        }
+                )
+        );
+    }
+
+    @Test
+    public void testRun() {
+        final List<EbnfBenchmarkResult> reported = Lists.array();
+        final EbnfBenchmarkResult result = EbnfBenchmarkRunner.with(
+                1,
+                2,
+                0,
+                reported::add
+        ).run(
+                "test",
+                10,
+                () -> new StringBuilder("abc")
+        );
+
+        this.checkEquals("test", result.name(), "name");
+        this.checkEquals(true, result.operations() >= 2, () -> "operations " + result.operations());
+        this.checkEquals(true, result.charsPerSecond() > 0, () -> "charsPerSecond " + result.charsPerSecond());
+        this.checkEquals(
+                Lists.of(result),
+                reported,
+                "reported"
+        );
+    }
+}
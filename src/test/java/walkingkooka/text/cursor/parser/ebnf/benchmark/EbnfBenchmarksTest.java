@@ -0,0 +1,278 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformers;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorRecognizer;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorRuleAction;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinators;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmarks for loading grammars, compiling them into parsers and parsing text, which are skipped unless the
+ * benchmarks system property is true. They need nothing beyond the test dependencies, so may be run offline with
+ * <pre>
+ * mvn -o test -Dtest=EbnfBenchmarksTest -Dbenchmarks=true
+ * </pre>
+ * Each result reports the time and bytes allocated per operation along with the allocation rate, and is published as a
+ * JUnit report entry, which surefire writes to the test report under target/surefire-reports. The number of warmup
+ * iterations, measured iterations and milliseconds per iteration may be changed with the benchmarks.warmups,
+ * benchmarks.iterations and benchmarks.millis system properties.
+ */
+public final class EbnfBenchmarksTest {
+
+    private final static int MEDIUM_RULES = 1000;
+
+    private final static int HUGE_RULES = 20000;
+
+    private final static int JSON_OBJECTS = 1000;
+
+    /**
+     * All generated grammars use the same seed, so results may be compared between runs.
+     */
+    private final static long SEED = 1;
+
+    @BeforeEach
+    public void beforeEach(final TestReporter reporter) {
+        assumeTrue(
+                Boolean.getBoolean("benchmarks"),
+                "Benchmarks are only run with -Dbenchmarks=true"
+        );
+        this.reporter = reporter;
+    }
+
+    private TestReporter reporter;
+
+    @Test
+    public void testParseGrammar() {
+        this.parseGrammar(
+                "parse grammar json",
+                EbnfBenchmarkGrammars.JSON
+        );
+        this.parseGrammar(
+                "parse grammar medium " + MEDIUM_RULES,
+                generated(MEDIUM_RULES)
+        );
+        this.parseGrammar(
+                "parse grammar huge " + HUGE_RULES,
+                generated(HUGE_RULES)
+        );
+    }
+
+    private void parseGrammar(final String name,
+                              final String grammar) {
+        this.runner()
+                .run(
+                        name,
+                        grammar.length(),
+                        () -> EbnfParserToken.parse(grammar)
+                );
+    }
+
+    @Test
+    public void testCheckIdentifiers() {
+        this.checkIdentifiers(
+                "checkIdentifiers json",
+                EbnfBenchmarkGrammars.JSON
+        );
+        this.checkIdentifiers(
+                "checkIdentifiers medium " + MEDIUM_RULES,
+                generated(MEDIUM_RULES)
+        );
+        this.checkIdentifiers(
+                "checkIdentifiers huge " + HUGE_RULES,
+                generated(HUGE_RULES)
+        );
+    }
+
+    private void checkIdentifiers(final String name,
+                                  final String text) {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse(text);
+
+        this.runner()
+                .run(
+                        name,
+                        () -> {
+                            grammar.checkIdentifiers(GrammarEbnfParserToken.NO_EXTERNALS);
+                            return grammar;
+                        }
+                );
+    }
+
+    @Test
+    public void testTransform() {
+        for (int rules = 10; rules <= 100000; rules = rules * 10) {
+            this.transform(
+                    "transform " + rules,
+                    EbnfGrammarGenerator.with(SEED)
+                            .setRules(rules)
+            );
+        }
+    }
+
+    @Test
+    public void testTransformShapes() {
+        final EbnfGrammarGenerator generator = EbnfGrammarGenerator.with(SEED)
+                .setRules(MEDIUM_RULES);
+
+        for (int alternatives = 1; alternatives <= 16; alternatives = alternatives * 4) {
+            this.transform(
+                    "transform alternatives " + alternatives,
+                    generator.setAlternatives(alternatives)
+            );
+        }
+        for (int concatenation = 1; concatenation <= 16; concatenation = concatenation * 4) {
+            this.transform(
+                    "transform concatenation " + concatenation,
+                    generator.setConcatenation(concatenation)
+            );
+        }
+        for (int depth = 0; depth <= 4; depth = depth + 2) {
+            this.transform(
+                    "transform depth " + depth,
+                    generator.setDepth(depth)
+            );
+        }
+        for (int recursion = 0; recursion <= 100; recursion = recursion + 50) {
+            this.transform(
+                    "transform recursion " + recursion + "%",
+                    generator.setRecursion(recursion / 100.0)
+            );
+        }
+    }
+
+    private void transform(final String name,
+                           final EbnfGrammarGenerator generator) {
+        final GrammarEbnfParserToken grammar = generator.grammar();
+
+        this.runner()
+                .run(
+                        name,
+                        () -> EbnfParserCombinators.transform(
+                                grammar,
+                                (n) -> Optional.empty(),
+                                EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+                        )
+                );
+    }
+
+    @Test
+    public void testParseJson() {
+        final Parser<FakeParserContext> parser = EbnfParserToken.parse(EbnfBenchmarkGrammars.JSON)
+                .combinator(
+                        (n) -> Optional.empty(),
+                        EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+                ).apply(EbnfBenchmarkGrammars.JSON_RULE)
+                .get();
+        final String json = EbnfBenchmarkGrammars.jsonDocument(JSON_OBJECTS);
+        final FakeParserContext context = new FakeParserContext();
+
+        this.runner()
+                .run(
+                        "parse json " + json.length() + " chars",
+                        json.length(),
+                        () -> parser.parse(
+                                TextCursors.charSequence(json),
+                                context
+                        ).get()
+                );
+    }
+
+    /**
+     * Parses the same JSON as {@link #testParseJson()} but every rule has an action, so the bytes per operation of the
+     * two show the allocations saved by not creating sequence tokens.
+     */
+    @Test
+    public void testParseJsonRuleActions() {
+        final EbnfParserCombinatorRuleAction<FakeParserContext> action = (children, text, context) -> ParserTokens.string(
+                text,
+                text
+        );
+        final Parser<FakeParserContext> parser = EbnfParserCombinators.transform(
+                EbnfParserToken.parse(EbnfBenchmarkGrammars.JSON),
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.actions(
+                        EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic(),
+                        (n) -> Optional.of(action)
+                )
+        ).apply(EbnfBenchmarkGrammars.JSON_RULE)
+                .get();
+        final String json = EbnfBenchmarkGrammars.jsonDocument(JSON_OBJECTS);
+        final FakeParserContext context = new FakeParserContext();
+
+        this.runner()
+                .run(
+                        "parse json rule actions " + json.length() + " chars",
+                        json.length(),
+                        () -> parser.parse(
+                                TextCursors.charSequence(json),
+                                context
+                        ).get()
+                );
+    }
+
+    @Test
+    public void testRecognizeJson() {
+        final EbnfParserCombinatorRecognizer recognizer = EbnfParserCombinators.recognizers(
+                EbnfParserToken.parse(EbnfBenchmarkGrammars.JSON),
+                (n) -> Optional.empty()
+        ).apply(EbnfBenchmarkGrammars.JSON_RULE)
+                .get();
+        final String json = EbnfBenchmarkGrammars.jsonDocument(JSON_OBJECTS);
+
+        this.runner()
+                .run(
+                        "recognize json " + json.length() + " chars",
+                        json.length(),
+                        () -> recognizer.matchLength(
+                                json,
+                                0
+                        )
+                );
+    }
+
+    private static String generated(final int rules) {
+        return EbnfGrammarGenerator.with(SEED)
+                .setRules(rules)
+                .text();
+    }
+
+    private EbnfBenchmarkRunner runner() {
+        return EbnfBenchmarkRunner.with(
+                Integer.getInteger("benchmarks.warmups", 3),
+                Integer.getInteger("benchmarks.iterations", 5),
+                Long.getLong("benchmarks.millis", 1000),
+                (r) -> this.reporter.publishEntry(
+                        r.name(),
+                        r.toString()
+                )
+        );
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.benchmark;
+
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+
+import java.util.Random;
+
+/**
+ * Generates grammars with a controlled shape for benchmarks and stress tests. The same settings and seed always produce
+ * the same grammar. Rules are named R0, R1 etc and terminals t0, t1 etc.
+ * <ul>
+ * <li>rules: the number of rules</li>
+ * <li>alternatives: the number of alternatives of each rule and group</li>
+ * <li>concatenation: the number of parts in each alternative</li>
+ * <li>depth: how deeply groups, optionals and repetitions may nest</li>
+ * <li>recursion: the chance a reference is to the same or an earlier rule, forming a cycle, rather than a later rule</li>
+ * <li>terminals: the number of different terminals</li>
+ * </ul>
+ * The first part of every alternative is a terminal, so generated grammars are never left recursive and may be used
+ * to parse text.
+ */
+public final class EbnfGrammarGenerator {
+
+    public static EbnfGrammarGenerator with(final long seed) {
+        return new EbnfGrammarGenerator(
+                seed,
+                100, // rules
+                2, // alternatives
+                3, // concatenation
+                1, // depth
+                0.1, // recursion
+                50 // terminals
+        );
+    }
+
+    private EbnfGrammarGenerator(final long seed,
+                                 final int rules,
+                                 final int alternatives,
+                                 final int concatenation,
+                                 final int depth,
+                                 final double recursion,
+                                 final int terminals) {
+        this.seed = seed;
+        this.rules = rules;
+        this.alternatives = alternatives;
+        this.concatenation = concatenation;
+        this.depth = depth;
+        this.recursion = recursion;
+        this.terminals = terminals;
+    }
+
+    public EbnfGrammarGenerator setRules(final int rules) {
+        checkAtLeastOne(rules, "rules");
+
+        return new EbnfGrammarGenerator(
+                this.seed,
+                rules,
+                this.alternatives,
+                this.concatenation,
+                this.depth,
+                this.recursion,
+                this.terminals
+        );
+    }
+
+    public EbnfGrammarGenerator setAlternatives(final int alternatives) {
+        checkAtLeastOne(alternatives, "alternatives");
+
+        return new EbnfGrammarGenerator(
+                this.seed,
+                this.rules,
+                alternatives,
+                this.concatenation,
+                this.depth,
+                this.recursion,
+                this.terminals
+        );
+    }
+
+    public EbnfGrammarGenerator setConcatenation(final int concatenation) {
+        checkAtLeastOne(concatenation, "concatenation");
+
+        return new EbnfGrammarGenerator(
+                this.seed,
+                this.rules,
+                this.alternatives,
+                concatenation,
+                this.depth,
+                this.recursion,
+                this.terminals
+        );
+    }
+
+    public EbnfGrammarGenerator setDepth(final int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Invalid depth " + depth + " < 0");
+        }
+
+        return new EbnfGrammarGenerator(
+                this.seed,
+                this.rules,
+                this.alternatives,
+                this.concatenation,
+                depth,
+                this.recursion,
+                this.terminals
+        );
+    }
+
+    public EbnfGrammarGenerator setRecursion(final double recursion) {
+        if (recursion < 0 || recursion > 1) {
+            throw new IllegalArgumentException("Invalid recursion " + recursion + " not between 0 and 1");
+        }
+
+        return new EbnfGrammarGenerator(
+                this.seed,
+                this.rules,
+                this.alternatives,
+                this.concatenation,
+                this.depth,
+                recursion,
+                this.terminals
+        );
+    }
+
+    public EbnfGrammarGenerator setTerminals(final int terminals) {
+        checkAtLeastOne(terminals, "terminals");
+
+        return new EbnfGrammarGenerator(
+                this.seed,
+                this.rules,
+                this.alternatives,
+                this.concatenation,
+                this.depth,
+                this.recursion,
+                terminals
+        );
+    }
+
+    private static void checkAtLeastOne(final int value,
+                                        final String label) {
+        if (value < 1) {
+            throw new IllegalArgumentException("Invalid " + label + " " + value + " < 1");
+        }
+    }
+
+    /**
+     * Returns the generated grammar parsed into a {@link GrammarEbnfParserToken}.
+     */
+    public GrammarEbnfParserToken grammar() {
+        return EbnfParserToken.parse(
+                this.text()
+        );
+    }
+
+    /**
+     * Returns the text of the generated grammar, with one rule per line.
+     */
+    public String text() {
+        final Random random = new Random(this.seed);
+        final StringBuilder b = new StringBuilder();
+
+        for (int i = 0; i < this.rules; i++) {
+            b.append('R')
+                    .append(i)
+                    .append('=');
+            this.alternatives(
+                    i,
+                    this.depth,
+                    random,
+                    b
+            );
+            b.append(";\n");
+        }
+
+        return b.toString();
+    }
+
+    private void alternatives(final int rule,
+                              final int depth,
+                              final Random random,
+                              final StringBuilder b) {
+        String separator = "";
+
+        for (int i = 0; i < this.alternatives; i++) {
+            b.append(separator);
+            this.concatenation(
+                    rule,
+                    depth,
+                    random,
+                    b
+            );
+            separator = " | ";
+        }
+    }
+
+    private void concatenation(final int rule,
+                               final int depth,
+                               final Random random,
+                               final StringBuilder b) {
+        final boolean group = this.alternatives > 1 && this.concatenation > 1;
+        if (group) {
+            b.append('(');
+        }
+
+        this.terminal(random, b);
+
+        for (int i = 1; i < this.concatenation; i++) {
+            b.append(", ");
+            this.part(
+                    rule,
+                    depth,
+                    random,
+                    b
+            );
+        }
+
+        if (group) {
+            b.append(')');
+        }
+    }
+
+    /**
+     * A part after the first is a terminal, reference, or while the depth allows a group, optional or repetition.
+     */
+    private void part(final int rule,
+                      final int depth,
+                      final Random random,
+                      final StringBuilder b) {
+        final int choice = random.nextInt(
+                depth > 0 ?
+                        5 :
+                        2
+        );
+
+        switch (choice) {
+            case 0:
+                this.terminal(random, b);
+                break;
+            case 1:
+                this.reference(rule, random, b);
+                break;
+            case 2:
+                this.nested("(", ")", rule, depth, random, b);
+                break;
+            case 3:
+                this.nested("[", "]", rule, depth, random, b);
+                break;
+            default:
+                this.nested("{", "}", rule, depth, random, b);
+                break;
+        }
+    }
+
+    private void nested(final String open,
+                        final String close,
+                        final int rule,
+                        final int depth,
+                        final Random random,
+                        final StringBuilder b) {
+        b.append(open);
+        this.alternatives(
+                rule,
+                depth - 1,
+                random,
+                b
+        );
+        b.append(close);
+    }
+
+    private void terminal(final Random random,
+                          final StringBuilder b) {
+        b.append("\"t")
+                .append(random.nextInt(this.terminals))
+                .append('"');
+    }
+
+    /**
+     * References the same or an earlier rule with the recursion chance, otherwise a later rule. The last rule has no
+     * later rules so references a terminal instead.
+     */
+    private void reference(final int rule,
+                           final Random random,
+                           final StringBuilder b) {
+        final int rules = this.rules;
+
+        if (random.nextDouble() < this.recursion) {
+            b.append('R')
+                    .append(random.nextInt(rule + 1));
+        } else {
+            if (rule + 1 < rules) {
+                b.append('R')
+                        .append(rule + 1 + random.nextInt(rules - rule - 1));
+            } else {
+                this.terminal(random, b);
+            }
+        }
+    }
+
+    private final long seed;
+
+    private final int rules;
+
+    private final int alternatives;
+
+    private final int concatenation;
+
+    private final int depth;
+
+    private final double recursion;
+
+    private final int terminals;
+
+    @Override
+    public String toString() {
+        return "seed=" + this.seed +
+                " rules=" + this.rules +
+                " alternatives=" + this.alternatives +
+                " concatenation=" + this.concatenation +
+                " depth=" + this.depth +
+                " recursion=" + this.recursion +
+                " terminals=" + this.terminals;
+    }
+}
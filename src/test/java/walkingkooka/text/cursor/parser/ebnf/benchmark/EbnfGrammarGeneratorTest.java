@@ -0,0 +1,249 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.benchmark;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformers;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinators;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarGeneratorTest implements Testing {
+
+    /**
+     * Large enough that work growing with the square of the number of rules makes the build noticeably slow.
+     */
+    private final static int STRESS_RULES = 10000;
+
+    @Test
+    public void testSetRulesInvalidFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarGenerator.with(1)
+                        .setRules(0)
+        );
+    }
+
+    @Test
+    public void testSetAlternativesInvalidFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarGenerator.with(1)
+                        .setAlternatives(0)
+        );
+    }
+
+    @Test
+    public void testSetConcatenationInvalidFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarGenerator.with(1)
+                        .setConcatenation(0)
+        );
+    }
+
+    @Test
+    public void testSetDepthInvalidFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarGenerator.with(1)
+                        .setDepth(-1)
+        );
+    }
+
+    @Test
+    public void testSetRecursionNegativeFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarGenerator.with(1)
+                        .setRecursion(-0.1)
+        );
+    }
+
+    @Test
+    public void testSetRecursionGreaterOneFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarGenerator.with(1)
+                        .setRecursion(1.1)
+        );
+    }
+
+    @Test
+    public void testSetTerminalsInvalidFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarGenerator.with(1)
+                        .setTerminals(0)
+        );
+    }
+
+    @Test
+    public void testSetRulesDifferent() {
+        final EbnfGrammarGenerator generator = EbnfGrammarGenerator.with(1);
+        final EbnfGrammarGenerator different = generator.setRules(5);
+
+        assertNotSame(
+                generator,
+                different
+        );
+        this.checkEquals(
+                "seed=1 rules=100 alternatives=2 concatenation=3 depth=1 recursion=0.1 terminals=50",
+                generator.toString()
+        );
+        this.checkEquals(
+                "seed=1 rules=5 alternatives=2 concatenation=3 depth=1 recursion=0.1 terminals=50",
+                different.toString()
+        );
+    }
+
+    @Test
+    public void testText() {
+        this.checkEquals(
+                "R0=(\"t0\", [(\"t2\", \"t4\") | (\"t4\", \"t1\")]) | (\"t3\", [(\"t4\", \"t2\") | (\"t3\", R2)]);\n" +
+                        "R1=(\"t1\", {(\"t1\", R0) | (\"t4\", R2)}) | (\"t0\", {(\"t0\", \"t3\") | (\"t0\", \"t0\")});\n" +
+                        "R2=(\"t0\", {(\"t0\", \"t2\") | (\"t2\", \"t2\")}) | (\"t0\", [(\"t0\", R2) | (\"t0\", \"t4\")]);\n",
+                EbnfGrammarGenerator.with(1)
+                        .setRules(3)
+                        .setAlternatives(2)
+                        .setConcatenation(2)
+                        .setDepth(1)
+                        .setRecursion(0.5)
+                        .setTerminals(5)
+                        .text()
+        );
+    }
+
+    @Test
+    public void testTextWithoutAlternativesOrNesting() {
+        this.checkEquals(
+                "R0=\"t1\", \"t2\", \"t0\";\n" +
+                        "R1=\"t0\", \"t0\", \"t0\";\n",
+                this.sentences()
+                        .text()
+        );
+    }
+
+    @Test
+    public void testTextSameSeed() {
+        final EbnfGrammarGenerator generator = EbnfGrammarGenerator.with(123)
+                .setRules(50);
+
+        this.checkEquals(
+                generator.text(),
+                EbnfGrammarGenerator.with(123)
+                        .setRules(50)
+                        .text()
+        );
+    }
+
+    @Test
+    public void testTextDifferentSeed() {
+        this.checkNotEquals(
+                EbnfGrammarGenerator.with(1)
+                        .setRules(50)
+                        .text(),
+                EbnfGrammarGenerator.with(2)
+                        .setRules(50)
+                        .text()
+        );
+    }
+
+    @Test
+    public void testGrammarCheckIdentifiers() {
+        EbnfGrammarGenerator.with(1)
+                .grammar()
+                .checkIdentifiers(GrammarEbnfParserToken.NO_EXTERNALS);
+    }
+
+    @Test
+    public void testGrammarCheckIdentifiersRecursive() {
+        EbnfGrammarGenerator.with(1)
+                .setRecursion(1)
+                .setDepth(3)
+                .grammar()
+                .checkIdentifiers(GrammarEbnfParserToken.NO_EXTERNALS);
+    }
+
+    @Test
+    public void testGrammarTransformAndParse() {
+        final Function<EbnfIdentifierName, Optional<Parser<FakeParserContext>>> parsers = EbnfParserCombinators.transform(
+                this.sentences()
+                        .grammar(),
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+        );
+
+        this.checkEquals(
+                "t1t2t0",
+                parsers.apply(EbnfIdentifierName.with("R0"))
+                        .get()
+                        .parse(
+                                TextCursors.charSequence("t1t2t0"),
+                                new FakeParserContext()
+                        ).map(ParserToken::text)
+                        .orElse(null)
+        );
+    }
+
+    private EbnfGrammarGenerator sentences() {
+        return EbnfGrammarGenerator.with(2)
+                .setRules(2)
+                .setAlternatives(1)
+                .setConcatenation(3)
+                .setDepth(0)
+                .setRecursion(0)
+                .setTerminals(3);
+    }
+
+    /**
+     * Loads, checks and transforms a large grammar during every build, so work that grows with the square of the number
+     * of rules is noticed.
+     */
+    @Test
+    public void testStress() {
+        final GrammarEbnfParserToken grammar = EbnfGrammarGenerator.with(1)
+                .setRules(STRESS_RULES)
+                .setRecursion(0.5)
+                .grammar();
+        grammar.checkIdentifiers(GrammarEbnfParserToken.NO_EXTERNALS);
+
+        final Function<EbnfIdentifierName, Optional<Parser<FakeParserContext>>> parsers = EbnfParserCombinators.transform(
+                grammar,
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+        );
+
+        this.checkEquals(
+                true,
+                parsers.apply(EbnfIdentifierName.with("R" + (STRESS_RULES - 1)))
+                        .isPresent()
+        );
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserTesting2;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorCharSetGuardParserTest implements ParserTesting2<EbnfParserCombinatorCharSetGuardParser<FakeParserContext>, FakeParserContext>,
+        ClassTesting2<EbnfParserCombinatorCharSetGuardParser<FakeParserContext>> {
+
+    @Test
+    public void testWithNullParserFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorCharSetGuardParser.with(
+                        null,
+                        EbnfParserCombinatorCharSet.EMPTY,
+                        EQUIVALENT
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullExcludedFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorCharSetGuardParser.with(
+                        PARSER,
+                        null,
+                        EQUIVALENT
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullEquivalentFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorCharSetGuardParser.with(
+                        PARSER,
+                        EbnfParserCombinatorCharSet.EMPTY,
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testParse() {
+        this.parseAndCheck(
+                "abc!",
+                ParserTokens.string("abc", "abc"),
+                "abc",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseExcludedLaterCharacter() {
+        this.parseAndCheck(
+                "aq",
+                ParserTokens.string("aq", "aq"),
+                "aq",
+                ""
+        );
+    }
+
+    @Test
+    public void testParseExcludedFails() {
+        this.parseFailAndCheck("qa");
+    }
+
+    @Test
+    public void testParseParserFails() {
+        this.parseFailAndCheck("1");
+    }
+
+    @Test
+    public void testParseEmptyFails() {
+        this.parseFailAndCheck("");
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createParser(),
+                EQUIVALENT.toString()
+        );
+    }
+
+    private final static Parser<FakeParserContext> PARSER = Parsers.charPredicateString(
+            CharPredicates.letter(),
+            1,
+            Integer.MAX_VALUE
+    ).cast();
+
+    private final static Parser<FakeParserContext> EQUIVALENT = Parsers.string(
+            "equivalent",
+            CaseSensitivity.SENSITIVE
+    );
+
+    @Override
+    public EbnfParserCombinatorCharSetGuardParser<FakeParserContext> createParser() {
+        return EbnfParserCombinatorCharSetGuardParser.with(
+                PARSER,
+                EbnfParserCombinatorCharSet.character('q'),
+                EQUIVALENT
+        );
+    }
+
+    @Override
+    public FakeParserContext createContext() {
+        return new FakeParserContext();
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorCharSetGuardParser<FakeParserContext>> type() {
+        return Cast.to(EbnfParserCombinatorCharSetGuardParser.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
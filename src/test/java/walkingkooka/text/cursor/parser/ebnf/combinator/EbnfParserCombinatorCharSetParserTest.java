@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserTesting2;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorCharSetParserTest implements ParserTesting2<EbnfParserCombinatorCharSetParser<FakeParserContext>, FakeParserContext>,
+        ClassTesting2<EbnfParserCombinatorCharSetParser<FakeParserContext>> {
+
+    @Test
+    public void testWithNullCharSetFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorCharSetParser.with(
+                        null,
+                        EQUIVALENT
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullEquivalentFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorCharSetParser.with(
+                        EbnfParserCombinatorCharSet.EMPTY,
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testParse() {
+        this.parseAndCheck2(
+                "a",
+                "a"
+        );
+    }
+
+    @Test
+    public void testParseTextAfter() {
+        this.parseAndCheck2(
+                "zq",
+                "z"
+        );
+    }
+
+    @Test
+    public void testParseNonAscii() {
+        this.parseAndCheck2(
+                "\u00e9!",
+                "\u00e9"
+        );
+    }
+
+    @Test
+    public void testParseExcludedFails() {
+        this.parseFailAndCheck("q");
+    }
+
+    @Test
+    public void testParseOutsideFails() {
+        this.parseFailAndCheck("A");
+    }
+
+    @Test
+    public void testParseEmptyFails() {
+        this.parseFailAndCheck("");
+    }
+
+    private void parseAndCheck2(final String text,
+                                final String consumed) {
+        this.parseAndCheck(
+                text,
+                ParserTokens.string(consumed, consumed),
+                consumed,
+                text.substring(consumed.length())
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createParser(),
+                EQUIVALENT.toString()
+        );
+    }
+
+    private final static Parser<FakeParserContext> EQUIVALENT = Parsers.string(
+            "equivalent",
+            CaseSensitivity.SENSITIVE
+    );
+
+    @Override
+    public EbnfParserCombinatorCharSetParser<FakeParserContext> createParser() {
+        return EbnfParserCombinatorCharSetParser.with(
+                EbnfParserCombinatorCharSet.range('a', 'z')
+                        .union(EbnfParserCombinatorCharSet.range('\u00c0', '\u00ff'))
+                        .difference(EbnfParserCombinatorCharSet.character('q')),
+                EQUIVALENT
+        );
+    }
+
+    @Override
+    public FakeParserContext createContext() {
+        return new FakeParserContext();
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorCharSetParser<FakeParserContext>> type() {
+        return Cast.to(EbnfParserCombinatorCharSetParser.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorCharSetTest implements ClassTesting2<EbnfParserCombinatorCharSet> {
+
+    @Test
+    public void testRangeInvalidFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorCharSet.range('z', 'a')
+        );
+    }
+
+    @Test
+    public void testEmpty() {
+        final EbnfParserCombinatorCharSet set = EbnfParserCombinatorCharSet.EMPTY;
+
+        this.checkEquals(true, set.isEmpty(), "isEmpty");
+        this.checkEquals(false, set.test('a'), "a");
+        this.checkEquals(false, set.test('\u00e9'), "e acute");
+    }
+
+    @Test
+    public void testCharacter() {
+        final EbnfParserCombinatorCharSet set = EbnfParserCombinatorCharSet.character('a');
+
+        this.checkEquals(false, set.isEmpty(), "isEmpty");
+        this.checkEquals(true, set.test('a'), "a");
+        this.checkEquals(false, set.test('b'), "b");
+    }
+
+    @Test
+    public void testRange() {
+        final EbnfParserCombinatorCharSet set = EbnfParserCombinatorCharSet.range('0', 'C');
+
+        this.checkEquals(true, set.test('0'), "0");
+        this.checkEquals(true, set.test('A'), "A");
+        this.checkEquals(true, set.test('C'), "C");
+        this.checkEquals(false, set.test('D'), "D");
+        this.checkEquals(false, set.test('\u00e9'), "e acute");
+    }
+
+    @Test
+    public void testRangeNonAscii() {
+        final EbnfParserCombinatorCharSet set = EbnfParserCombinatorCharSet.range('z', '\u00ff');
+
+        this.checkEquals(true, set.test('z'), "z");
+        this.checkEquals(true, set.test('\u00e9'), "e acute");
+        this.checkEquals(false, set.test('\u0100'), "0x100");
+        this.checkEquals(false, set.test('a'), "a");
+    }
+
+    @Test
+    public void testUnionOverlapping() {
+        this.checkEquals(
+                EbnfParserCombinatorCharSet.range('a', 'z'),
+                EbnfParserCombinatorCharSet.range('a', 'm')
+                        .union(EbnfParserCombinatorCharSet.range('k', 'z'))
+        );
+    }
+
+    @Test
+    public void testUnionAdjacent() {
+        this.checkEquals(
+                EbnfParserCombinatorCharSet.range('a', 'z'),
+                EbnfParserCombinatorCharSet.range('n', 'z')
+                        .union(EbnfParserCombinatorCharSet.range('a', 'm'))
+        );
+    }
+
+    @Test
+    public void testUnionSeparate() {
+        final EbnfParserCombinatorCharSet set = EbnfParserCombinatorCharSet.character('x')
+                .union(EbnfParserCombinatorCharSet.range('\u4e00', '\u9fff'))
+                .union(EbnfParserCombinatorCharSet.character('a'));
+
+        this.checkEquals(true, set.test('a'), "a");
+        this.checkEquals(true, set.test('x'), "x");
+        this.checkEquals(false, set.test('b'), "b");
+        this.checkEquals(true, set.test('\u4e2d'), "cjk");
+        this.checkEquals(false, set.test('\u00e9'), "e acute");
+    }
+
+    @Test
+    public void testSizeAndGet() {
+        final EbnfParserCombinatorCharSet set = EbnfParserCombinatorCharSet.range('a', 'c')
+                .union(EbnfParserCombinatorCharSet.character('x'));
+
+        this.checkEquals(4, set.size(), "size");
+        this.checkEquals('a', set.get(0), "0");
+        this.checkEquals('c', set.get(2), "2");
+        this.checkEquals('x', set.get(3), "3");
+    }
+
+    @Test
+    public void testGetInvalidIndexFails() {
+        assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> EbnfParserCombinatorCharSet.character('a')
+                        .get(1)
+        );
+    }
+
+    @Test
+    public void testDifferenceMiddle() {
+        this.checkToString(
+                EbnfParserCombinatorCharSet.range('a', 'z')
+                        .difference(EbnfParserCombinatorCharSet.character('q')),
+                "\"a\"..\"p\" \"r\"..\"z\""
+        );
+    }
+
+    @Test
+    public void testDifferenceEnds() {
+        this.checkToString(
+                EbnfParserCombinatorCharSet.range('a', 'z')
+                        .difference(
+                                EbnfParserCombinatorCharSet.range('0', 'c')
+                                        .union(EbnfParserCombinatorCharSet.range('x', '~'))
+                        ),
+                "\"d\"..\"w\""
+        );
+    }
+
+    @Test
+    public void testDifferenceSpanningRanges() {
+        this.checkToString(
+                EbnfParserCombinatorCharSet.range('a', 'c')
+                        .union(EbnfParserCombinatorCharSet.range('x', 'z'))
+                        .difference(EbnfParserCombinatorCharSet.range('b', 'y')),
+                "\"a\" \"z\""
+        );
+    }
+
+    @Test
+    public void testDifferenceAll() {
+        this.checkEquals(
+                EbnfParserCombinatorCharSet.EMPTY,
+                EbnfParserCombinatorCharSet.range('a', 'z')
+                        .difference(EbnfParserCombinatorCharSet.range('A', 'z'))
+        );
+    }
+
+    @Test
+    public void testDifferenceNone() {
+        this.checkEquals(
+                EbnfParserCombinatorCharSet.range('a', 'z'),
+                EbnfParserCombinatorCharSet.range('a', 'z')
+                        .difference(EbnfParserCombinatorCharSet.character('0'))
+        );
+    }
+
+    @Test
+    public void testDifferenceTest() {
+        final EbnfParserCombinatorCharSet set = EbnfParserCombinatorCharSet.range('a', 'z')
+                .difference(EbnfParserCombinatorCharSet.character('q'));
+
+        this.checkEquals(true, set.test('p'), "p");
+        this.checkEquals(false, set.test('q'), "q");
+        this.checkEquals(true, set.test('r'), "r");
+    }
+
+    @Test
+    public void testToString() {
+        this.checkToString(
+                EbnfParserCombinatorCharSet.range('a', 'z')
+                        .union(EbnfParserCombinatorCharSet.character('_')),
+                "\"_\" \"a\"..\"z\""
+        );
+    }
+
+    private void checkToString(final EbnfParserCombinatorCharSet set,
+                               final String expected) {
+        this.checkEquals(
+                expected,
+                set.toString()
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorCharSet> type() {
+        return EbnfParserCombinatorCharSet.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorCharSetsTest implements ClassTesting2<EbnfParserCombinatorCharSets> {
+
+    @Test
+    public void testWithNullRulesFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorCharSets.with(
+                        null,
+                        (t) -> true
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullExactFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorCharSets.with(
+                        EbnfParserCombinatorTokens.rules(EbnfParserToken.parse("A=\"a\";")),
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testTerminal() {
+        this.charSetAndCheck(
+                "A=\"a\";",
+                "\"a\""
+        );
+    }
+
+    @Test
+    public void testTerminalManyCharacters() {
+        this.charSetAndCheck(
+                "A=\"abc\";"
+        );
+    }
+
+    @Test
+    public void testRange() {
+        this.charSetAndCheck(
+                "A=\"a\"..\"z\";",
+                "\"a\"..\"z\""
+        );
+    }
+
+    @Test
+    public void testRangeIdentifiers() {
+        this.charSetAndCheck(
+                "A=B..C;B=\"x\";C=\"z\";",
+                "\"x\"..\"z\""
+        );
+    }
+
+    @Test
+    public void testRangeManyCharacters() {
+        this.charSetAndCheck(
+                "A=\"aa\"..\"zz\";"
+        );
+    }
+
+    @Test
+    public void testAlternatives() {
+        this.charSetAndCheck(
+                "A=\"a\" | \"c\" | \"b\" | \"x\"..\"z\";",
+                "\"a\"..\"c\" \"x\"..\"z\""
+        );
+    }
+
+    @Test
+    public void testAlternativesConcatenation() {
+        this.charSetAndCheck(
+                "A=\"a\" | (\"b\", \"c\");"
+        );
+    }
+
+    @Test
+    public void testException() {
+        this.charSetAndCheck(
+                "A=\"a\"..\"z\" - (\"m\" | \"q\");",
+                "\"a\"..\"l\" \"n\"..\"p\" \"r\"..\"z\""
+        );
+    }
+
+    @Test
+    public void testIdentifier() {
+        this.charSetAndCheck(
+                "A=B | C;B=\"b\";C=\"c\";",
+                "\"b\"..\"c\""
+        );
+    }
+
+    @Test
+    public void testIdentifierExternal() {
+        this.charSetAndCheck(
+                "A=\"a\" | EXTERNAL;"
+        );
+    }
+
+    @Test
+    public void testRecursive() {
+        this.charSetAndCheck(
+                "A=B | \"a\";B=A;"
+        );
+    }
+
+    @Test
+    public void testOptional() {
+        this.charSetAndCheck(
+                "A=[\"a\"];"
+        );
+    }
+
+    @Test
+    public void testNotExact() {
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = EbnfParserCombinatorTokens.rules(
+                EbnfParserToken.parse("A=\"a\";")
+        );
+
+        this.checkEquals(
+                Optional.empty(),
+                EbnfParserCombinatorCharSets.with(
+                        rules,
+                        (t) -> false
+                ).charSet(rules.get(A))
+        );
+    }
+
+    private void charSetAndCheck(final String grammar) {
+        this.charSetAndCheck(
+                grammar,
+                Optional.empty()
+        );
+    }
+
+    private void charSetAndCheck(final String grammar,
+                                 final String expected) {
+        this.charSetAndCheck(
+                grammar,
+                Optional.of(expected)
+        );
+    }
+
+    private void charSetAndCheck(final String grammar,
+                                 final Optional<String> expected) {
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = EbnfParserCombinatorTokens.rules(
+                EbnfParserToken.parse(grammar)
+        );
+
+        this.checkEquals(
+                expected,
+                EbnfParserCombinatorCharSets.with(
+                        rules,
+                        (t) -> true
+                ).charSet(rules.get(A))
+                        .map(EbnfParserCombinatorCharSet::toString),
+                () -> "charSet " + grammar
+        );
+    }
+
+    private final static EbnfIdentifierName A = EbnfIdentifierName.with("A");
+
+    @Override
+    public Class<EbnfParserCombinatorCharSets> type() {
+        return EbnfParserCombinatorCharSets.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
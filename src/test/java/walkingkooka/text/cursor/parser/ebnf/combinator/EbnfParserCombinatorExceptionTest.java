@@ -17,11 +17,60 @@
 
 package walkingkooka.text.cursor.parser.ebnf.combinator;
 
+import org.junit.jupiter.api.Test;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.reflect.StandardThrowableTesting;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public final class EbnfParserCombinatorExceptionTest implements StandardThrowableTesting<EbnfParserCombinatorException> {
 
+    @Test
+    public void testStacklessWithNullMessageFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorException.stackless(null)
+        );
+    }
+
+    @Test
+    public void testStacklessMessageLazy() {
+        final AtomicInteger count = new AtomicInteger();
+        final EbnfParserCombinatorException thrown = EbnfParserCombinatorException.stackless(
+                () -> {
+                    count.incrementAndGet();
+                    return "Lazy message 123";
+                }
+        );
+
+        this.checkEquals(0, count.get(), "message built before getMessage");
+        this.checkEquals("Lazy message 123", thrown.getMessage());
+        this.checkEquals("Lazy message 123", thrown.getMessage());
+        this.checkEquals(1, count.get(), "message built more than once");
+    }
+
+    @Test
+    public void testStacklessNoStackTrace() {
+        this.checkEquals(
+                0,
+                EbnfParserCombinatorException.stackless(() -> "message")
+                        .getStackTrace()
+                        .length
+        );
+    }
+
+    @Test
+    public void testStackTrace() {
+        this.checkNotEquals(
+                0,
+                this.createThrowable("message")
+                        .getStackTrace()
+                        .length
+        );
+    }
+
     @Override
     public EbnfParserCombinatorException createThrowable(final String message) {
         return new EbnfParserCombinatorException(message);
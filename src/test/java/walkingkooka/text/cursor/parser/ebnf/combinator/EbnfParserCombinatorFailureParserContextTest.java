@@ -0,0 +1,312 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfLineIndex;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserContexts;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorFailureParserContextTest implements ClassTesting2<EbnfParserCombinatorFailureParserContext> {
+
+    private final static EbnfIdentifierName A = EbnfIdentifierName.with("A");
+
+    private final static EbnfIdentifierName B = EbnfIdentifierName.with("B");
+
+    private final static EbnfIdentifierName C = EbnfIdentifierName.with("C");
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorFailureParserContext.with(null)
+        );
+    }
+
+    @Test
+    public void testNoFailures() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+
+        this.checkEquals(-1, context.farthestOffset(), "farthestOffset");
+        this.checkEquals(Lists.empty(), context.expected(), "expected");
+        this.checkEquals(Optional.empty(), context.failure(), "failure");
+    }
+
+    @Test
+    public void testFailedFarthestClearsExpected() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+        final TextCursor cursor = TextCursors.charSequence("abc");
+
+        context.failed(cursor, 0, A);
+        cursor.next();
+        context.failed(cursor, 1, B);
+        context.failed(cursor, 2, C);
+
+        this.checkEquals(1, context.farthestOffset(), "farthestOffset");
+        this.checkEquals(Lists.of(B, C), context.expected(), "expected");
+    }
+
+    @Test
+    public void testFailedBeforeFarthestIgnored() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+        final TextCursor cursor = TextCursors.charSequence("abc");
+        final TextCursor cursor2 = TextCursors.charSequence("abc");
+
+        cursor.next();
+        context.failed(cursor, 1, B);
+        context.failed(cursor2, 0, A);
+
+        this.checkEquals(1, context.farthestOffset(), "farthestOffset");
+        this.checkEquals(Lists.of(B), context.expected(), "expected");
+    }
+
+    @Test
+    public void testFailedSameRuleTwice() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+        final TextCursor cursor = TextCursors.charSequence("abc");
+
+        context.failed(cursor, 1, B);
+        context.failed(cursor, 0, A);
+        context.failed(cursor, 1, B);
+
+        this.checkEquals(Lists.of(A, B), context.expected(), "expected");
+    }
+
+    @Test
+    public void testFailedLargeIds() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+        final TextCursor cursor = TextCursors.charSequence("abc");
+
+        context.failed(cursor, 200, C);
+        context.failed(cursor, 64, B);
+        context.failed(cursor, 63, A);
+
+        this.checkEquals(Lists.of(A, B, C), context.expected(), "expected");
+    }
+
+    @Test
+    public void testFailureOne() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+        final TextCursor cursor = TextCursors.charSequence("abc");
+        cursor.next();
+        cursor.next();
+
+        final TextCursorLineInfo lineInfo = cursor.lineInfo();
+        context.failed(cursor, 0, A);
+
+        this.checkEquals(
+                "Expected A at line " + lineInfo.lineNumber() + " column " + lineInfo.columnNumber(),
+                context.failure()
+                        .get()
+                        .getMessage()
+        );
+    }
+
+    @Test
+    public void testFailureSeveral() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+        final TextCursor cursor = TextCursors.charSequence("abc");
+        cursor.next();
+
+        final TextCursorLineInfo lineInfo = cursor.lineInfo();
+        context.failed(cursor, 1, B);
+        context.failed(cursor, 0, A);
+
+        this.checkEquals(
+                "Expected one of A, B at line " + lineInfo.lineNumber() + " column " + lineInfo.columnNumber(),
+                context.failure()
+                        .get()
+                        .getMessage()
+        );
+    }
+
+    @Test
+    public void testFailedSeveral() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+        final TextCursor cursor = TextCursors.charSequence("abc");
+        cursor.next();
+
+        context.failed(
+                cursor,
+                new int[]{2, 0},
+                new EbnfIdentifierName[]{C, A}
+        );
+
+        this.checkEquals(1, context.farthestOffset(), "farthestOffset");
+        this.checkEquals(Lists.of(A, C), context.expected(), "expected");
+    }
+
+    @Test
+    public void testFailureCursorRestored() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+        final TextCursor cursor = TextCursors.charSequence("ab\ncd");
+        final TextCursorSavePoint save = cursor.save();
+
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        context.failed(cursor, 0, A);
+        save.restore();
+
+        this.checkEquals(
+                "Expected A at line 2 column 2",
+                context.failure()
+                        .get()
+                        .getMessage()
+        );
+        this.checkEquals(
+                'a',
+                cursor.at(),
+                "cursor restored"
+        );
+    }
+
+    @Test
+    public void testFailureCursorMovedPast() {
+        final EbnfParserCombinatorFailureParserContext context = this.createContext();
+        final TextCursor cursor = TextCursors.charSequence("ab\ncd");
+
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        context.failed(cursor, 0, A);
+        cursor.end();
+
+        this.checkEquals(
+                "Expected A at line 2 column 2",
+                context.failure()
+                        .get()
+                        .getMessage()
+        );
+        this.checkEquals(
+                true,
+                cursor.isEmpty(),
+                "cursor restored"
+        );
+    }
+
+    @Test
+    public void testFailureLineIndex() {
+        final EbnfParserCombinatorFailureParserContext context = EbnfParserCombinatorFailureParserContext.with(
+                EbnfParserContexts.lineIndex(
+                        EbnfParserContexts.basic(),
+                        "ab\ncd"
+                )
+        );
+        final TextCursor cursor = TextCursors.charSequence("ab\ncd");
+
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        context.failed(cursor, 0, A);
+        cursor.end();
+
+        this.checkEquals(
+                "Expected A at line 2 column 2",
+                context.failure()
+                        .get()
+                        .getMessage()
+        );
+    }
+
+    @Test
+    public void testMemo() {
+        final EbnfParserCombinatorMemoParserContext memo = EbnfParserCombinatorMemoParserContext.with(
+                EbnfParserContexts.basic(),
+                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+        );
+
+        this.checkEquals(
+                memo.memo(),
+                EbnfParserCombinatorFailureParserContext.with(memo)
+                        .memo()
+        );
+    }
+
+    @Test
+    public void testMemoMissing() {
+        this.checkEquals(
+                Optional.empty(),
+                EbnfParserCombinatorFailureParserContext.with(EbnfParserContexts.basic())
+                        .memo()
+        );
+    }
+
+    @Test
+    public void testLineIndex() {
+        final Optional<EbnfLineIndex> lineIndex = EbnfParserCombinatorFailureParserContext.with(
+                EbnfParserContexts.lineIndex(
+                        EbnfParserContexts.basic(),
+                        "abc\ndef"
+                )
+        ).lineIndex();
+
+        this.checkEquals(
+                2,
+                lineIndex.get()
+                        .lineNumber(5)
+        );
+    }
+
+    @Test
+    public void testLineIndexMissing() {
+        this.checkEquals(
+                Optional.empty(),
+                EbnfParserCombinatorFailureParserContext.with(
+                        EbnfParserContexts.basic()
+                ).lineIndex()
+        );
+    }
+
+    @Test
+    public void testDelegates() {
+        this.checkEquals(
+                EbnfParserContexts.basic().decimalSeparator(),
+                this.createContext()
+                        .decimalSeparator()
+        );
+    }
+
+    private EbnfParserCombinatorFailureParserContext createContext() {
+        return EbnfParserCombinatorFailureParserContext.with(EbnfParserContexts.basic());
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorFailureParserContext> type() {
+        return EbnfParserCombinatorFailureParserContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class EbnfParserCombinatorFirstSetTest implements ClassTesting2<EbnfParserCombinatorFirstSet> {
+
+    @Test
+    public void testCharacter() {
+        final EbnfParserCombinatorFirstSet first = EbnfParserCombinatorFirstSet.character('a');
+
+        this.checkEquals(true, first.test('a'), "a");
+        this.checkEquals(false, first.test('b'), "b");
+        this.checkEquals(false, first.nullable, "nullable");
+    }
+
+    @Test
+    public void testRange() {
+        final EbnfParserCombinatorFirstSet first = EbnfParserCombinatorFirstSet.range('0', 'C');
+
+        this.checkEquals(true, first.test('0'), "0");
+        this.checkEquals(true, first.test('A'), "A");
+        this.checkEquals(true, first.test('C'), "C");
+        this.checkEquals(false, first.test('D'), "D");
+        this.checkEquals(false, first.nonAscii, "nonAscii");
+    }
+
+    @Test
+    public void testRangeNonAscii() {
+        final EbnfParserCombinatorFirstSet first = EbnfParserCombinatorFirstSet.range('z', '\u00ff');
+
+        this.checkEquals(true, first.test('z'), "z");
+        this.checkEquals(true, first.test('\u00e9'), "e acute");
+        this.checkEquals(false, first.test('a'), "a");
+    }
+
+    @Test
+    public void testUnion() {
+        final EbnfParserCombinatorFirstSet first = EbnfParserCombinatorFirstSet.character('a')
+                .union(EbnfParserCombinatorFirstSet.character('b'));
+
+        this.checkEquals(true, first.test('a'), "a");
+        this.checkEquals(true, first.test('b'), "b");
+        this.checkEquals(false, first.test('c'), "c");
+    }
+
+    @Test
+    public void testConcatNotNullable() {
+        final EbnfParserCombinatorFirstSet a = EbnfParserCombinatorFirstSet.character('a');
+
+        assertSame(
+                a,
+                a.concat(EbnfParserCombinatorFirstSet.character('b'))
+        );
+    }
+
+    @Test
+    public void testConcatNullable() {
+        final EbnfParserCombinatorFirstSet first = EbnfParserCombinatorFirstSet.character('a')
+                .setNullable(true)
+                .concat(EbnfParserCombinatorFirstSet.character('b'));
+
+        this.checkEquals(true, first.test('a'), "a");
+        this.checkEquals(true, first.test('b'), "b");
+        this.checkEquals(false, first.nullable, "nullable");
+    }
+
+    @Test
+    public void testOverlaps() {
+        this.checkEquals(
+                true,
+                EbnfParserCombinatorFirstSet.range('a', 'c')
+                        .overlaps(EbnfParserCombinatorFirstSet.character('c'))
+        );
+    }
+
+    @Test
+    public void testOverlapsFalse() {
+        this.checkEquals(
+                false,
+                EbnfParserCombinatorFirstSet.range('a', 'c')
+                        .overlaps(EbnfParserCombinatorFirstSet.character('d'))
+        );
+    }
+
+    @Test
+    public void testAnyCanonical() {
+        assertSame(
+                EbnfParserCombinatorFirstSet.ANY,
+                EbnfParserCombinatorFirstSet.range((char) 0, (char) 0xffff)
+                        .setNullable(true)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+                "\"abc\" nullable",
+                EbnfParserCombinatorFirstSet.range('a', 'c')
+                        .setNullable(true)
+                        .toString()
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorFirstSet> type() {
+        return EbnfParserCombinatorFirstSet.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
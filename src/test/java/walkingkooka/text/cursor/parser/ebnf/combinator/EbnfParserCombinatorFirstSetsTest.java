@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorFirstSetsTest implements ClassTesting2<EbnfParserCombinatorFirstSets> {
+
+    @Test
+    public void testWithNullRulesFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorFirstSets.with(
+                        null,
+                        (t) -> true
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullExactFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorFirstSets.with(
+                        EbnfParserCombinatorTokens.rules(EbnfParserToken.parse("A=\"a\";")),
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testTerminal() {
+        this.firstAndCheck(
+                "A=\"abc\";",
+                "\"a\""
+        );
+    }
+
+    @Test
+    public void testAlternatives() {
+        this.firstAndCheck(
+                "A=\"a\" | \"b\" | \"c\";",
+                "\"abc\""
+        );
+    }
+
+    @Test
+    public void testConcatenation() {
+        this.firstAndCheck(
+                "A=\"a\", \"b\";",
+                "\"a\""
+        );
+    }
+
+    @Test
+    public void testConcatenationOptionalFirst() {
+        this.firstAndCheck(
+                "A=[\"a\"], \"b\";",
+                "\"ab\""
+        );
+    }
+
+    @Test
+    public void testRepeated() {
+        this.firstAndCheck(
+                "A={\"a\"};",
+                "\"a\" nullable"
+        );
+    }
+
+    @Test
+    public void testRange() {
+        this.firstAndCheck(
+                "A=\"a\"..\"e\";",
+                "\"abcde\""
+        );
+    }
+
+    @Test
+    public void testRangeIdentifiers() {
+        this.firstAndCheck(
+                "A=B..C;B=\"x\";C=\"z\";",
+                "\"xyz\""
+        );
+    }
+
+    @Test
+    public void testIdentifier() {
+        this.firstAndCheck(
+                "A=B | C;B=\"b\";C=\"c\";",
+                "\"bc\""
+        );
+    }
+
+    @Test
+    public void testIdentifierExternal() {
+        this.firstAndCheck(
+                "A=\"a\" | EXTERNAL;",
+                EbnfParserCombinatorFirstSet.ANY.toString()
+        );
+    }
+
+    @Test
+    public void testRecursive() {
+        this.firstAndCheck(
+                "A=\"(\", A, \")\" | \"x\";",
+                "\"(x\""
+        );
+    }
+
+    @Test
+    public void testLeftRecursiveNullable() {
+        this.firstAndCheck(
+                "A=[B], \"a\";B=A | \"b\";",
+                "\"ab\""
+        );
+    }
+
+    @Test
+    public void testNotExact() {
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = EbnfParserCombinatorTokens.rules(
+                EbnfParserToken.parse("A=\"a\";")
+        );
+
+        this.checkEquals(
+                EbnfParserCombinatorFirstSet.ANY,
+                EbnfParserCombinatorFirstSets.with(
+                        rules,
+                        (t) -> false
+                ).first(rules.get(A))
+        );
+    }
+
+    @Test
+    public void testLeadingRulesAlternatives() {
+        this.leadingRulesAndCheck(
+                "A=B | C;B=\"b\";C=\"c\";",
+                "B",
+                "C"
+        );
+    }
+
+    @Test
+    public void testLeadingRulesConcatenation() {
+        this.leadingRulesAndCheck(
+                "A=B, C;B=\"b\";C=\"c\";",
+                "B"
+        );
+    }
+
+    @Test
+    public void testLeadingRulesConcatenationNullableFirst() {
+        this.leadingRulesAndCheck(
+                "A=B, C;B=[\"b\"];C=\"c\";",
+                "C"
+        );
+    }
+
+    @Test
+    public void testLeadingRulesNested() {
+        this.leadingRulesAndCheck(
+                "A=B;B=C, \"x\";C=\"c\";",
+                "B",
+                "C"
+        );
+    }
+
+    @Test
+    public void testLeadingRulesRecursive() {
+        this.leadingRulesAndCheck(
+                "A=B;B=B, \"x\" | \"b\";",
+                "B"
+        );
+    }
+
+    @Test
+    public void testLeadingRulesExternal() {
+        this.leadingRulesAndCheck(
+                "A=EXTERNAL;"
+        );
+    }
+
+    private void leadingRulesAndCheck(final String grammar,
+                                      final String... expected) {
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = EbnfParserCombinatorTokens.rules(
+                EbnfParserToken.parse(grammar)
+        );
+
+        final List<EbnfIdentifierName> names = Lists.array();
+        for (final String name : expected) {
+            names.add(EbnfIdentifierName.with(name));
+        }
+
+        this.checkEquals(
+                names,
+                EbnfParserCombinatorFirstSets.with(
+                        rules,
+                        (t) -> true
+                ).leadingRules(rules.get(A)),
+                () -> "leadingRules " + grammar
+        );
+    }
+
+    private void firstAndCheck(final String grammar,
+                               final String expected) {
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = EbnfParserCombinatorTokens.rules(
+                EbnfParserToken.parse(grammar)
+        );
+
+        this.checkEquals(
+                expected,
+                EbnfParserCombinatorFirstSets.with(
+                        rules,
+                        (t) -> true
+                ).first(rules.get(A))
+                        .toString(),
+                () -> "first " + grammar
+        );
+    }
+
+    private final static EbnfIdentifierName A = EbnfIdentifierName.with("A");
+
+    @Override
+    public Class<EbnfParserCombinatorFirstSets> type() {
+        return EbnfParserCombinatorFirstSets.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
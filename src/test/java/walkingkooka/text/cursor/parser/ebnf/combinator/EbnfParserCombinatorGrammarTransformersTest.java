@@ -0,0 +1,742 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.reflect.PublicStaticHelperTesting;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.SequenceParserToken;
+import walkingkooka.text.cursor.parser.StringParserToken;
+import walkingkooka.text.cursor.parser.ebnf.AlternativeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.ConcatenationEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserContexts;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GroupEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public final class EbnfParserCombinatorGrammarTransformersTest implements PublicStaticHelperTesting<EbnfParserCombinatorGrammarTransformers> {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    private final static EbnfIdentifierName A = EbnfIdentifierName.with("A");
+
+    // TEST=(A, "x") | (A, "y");
+    // A="a", "b";
+    private final static String BACKTRACKING = "TEST=(A, \"x\") | (A, \"y\");\nA=\"a\", \"b\";";
+
+    // basic............................................................................................................
+
+    @Test
+    public void testBasicPreservesFirstSets() {
+        this.checkEquals(
+                true,
+                EbnfParserCombinatorGrammarTransformers.basic()
+                        .preservesFirstSets()
+        );
+    }
+
+    @Test
+    public void testWrapperPreservesFirstSets() {
+        this.checkEquals(
+                false,
+                EbnfParserCombinatorGrammarTransformers.failureTracking(
+                        new FakeEbnfParserCombinatorGrammarTransformer<>(),
+                        (n) -> true
+                ).preservesFirstSets()
+        );
+    }
+
+    @Test
+    public void testBasicRange() {
+        this.checkEquals(
+                Optional.of("m"),
+                this.parse(
+                        EbnfParserCombinators.<ParserContext>transform(
+                                EbnfParserToken.parse("TEST=\"a\"..\"z\";"),
+                                (n) -> Optional.empty(),
+                                EbnfParserCombinatorGrammarTransformers.basic()
+                        ).apply(TEST)
+                                .get(),
+                        "m",
+                        EbnfParserContexts.basic()
+                ).map(ParserToken::text)
+        );
+    }
+
+    // actions........................................................................................................
+
+    @Test
+    public void testActionsConcatenation() {
+        this.actionsParseAndCheck(
+                "TEST=\"a\", [B], \"d\";\nB=\"b\", {\"c\"};",
+                "abccd!",
+                "a/bcc/d=abccd"
+        );
+    }
+
+    @Test
+    public void testActionsConcatenationOptionalMissing() {
+        this.actionsParseAndCheck(
+                "TEST=\"a\", [B], \"d\";\nB=\"b\", {\"c\"};",
+                "ad!",
+                "a/d=ad"
+        );
+    }
+
+    @Test
+    public void testActionsNotConcatenation() {
+        this.actionsParseAndCheck(
+                "TEST=\"a\" | \"b\";",
+                "b!",
+                "b=b"
+        );
+    }
+
+    @Test
+    public void testActionsNoneSameTokens() {
+        final String grammar = "TEST=\"a\", B;\nB=\"b\", \"c\";";
+
+        this.checkEquals(
+                this.parse(
+                        EbnfParserCombinators.<ParserContext>transform(
+                                EbnfParserToken.parse(grammar),
+                                (n) -> Optional.empty(),
+                                EbnfParserCombinatorGrammarTransformers.basic()
+                        ).apply(TEST)
+                                .get(),
+                        "abc",
+                        EbnfParserContexts.basic()
+                ),
+                this.parse(
+                        EbnfParserCombinators.<ParserContext>transform(
+                                EbnfParserToken.parse(grammar),
+                                (n) -> Optional.empty(),
+                                EbnfParserCombinatorGrammarTransformers.actions(
+                                        EbnfParserCombinatorGrammarTransformers.basic(),
+                                        (n) -> Optional.empty()
+                                )
+                        ).apply(TEST)
+                                .get(),
+                        "abc",
+                        EbnfParserContexts.basic()
+                )
+        );
+    }
+
+    @Test
+    public void testActionsConcatenationTransformed() {
+        final EbnfParserCombinatorRuleAction<ParserContext> action = this::action;
+
+        final Parser<ParserContext> parser = EbnfParserCombinators.<ParserContext>transform(
+                EbnfParserToken.parse("TEST=\"a\", \"b\", \"c\";"),
+                (n) -> Optional.empty(),
+                new EbnfParserCombinatorGrammarTransformerWrapper<ParserContext>(
+                        EbnfParserCombinatorGrammarTransformers.actions(
+                                EbnfParserCombinatorGrammarTransformers.basic(),
+                                (n) -> Optional.of(action)
+                        )
+                ) {
+                    @Override
+                    public Parser<ParserContext> concatenation(final ConcatenationEbnfParserToken token,
+                                                               final Parser<ParserContext> parser) {
+                        return Parsers.string("abc", CaseSensitivity.SENSITIVE);
+                    }
+                }
+        ).apply(TEST)
+                .get();
+
+        this.checkEquals(
+                Optional.of("abc"),
+                this.parse(
+                        parser,
+                        "abc",
+                        EbnfParserContexts.basic()
+                ).map(t -> ((StringParserToken) t).value())
+        );
+    }
+
+    private void actionsParseAndCheck(final String grammar,
+                                      final String text,
+                                      final String expected) {
+        this.checkEquals(
+                Optional.of(expected),
+                this.parse(
+                        this.actionsParser(grammar),
+                        text,
+                        EbnfParserContexts.basic()
+                ).map(t -> ((StringParserToken) t).value())
+        );
+    }
+
+    /**
+     * Only the TEST rule has an action, which joins the text of each child token.
+     */
+    private Parser<ParserContext> actionsParser(final String grammar) {
+        final EbnfParserCombinatorRuleAction<ParserContext> action = this::action;
+
+        return EbnfParserCombinators.<ParserContext>transform(
+                EbnfParserToken.parse(grammar),
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.actions(
+                        EbnfParserCombinatorGrammarTransformers.basic(),
+                        (n) -> Optional.ofNullable(
+                                n.equals(TEST) ?
+                                        action :
+                                        null
+                        )
+                )
+        ).apply(TEST)
+                .get();
+    }
+
+    private ParserToken action(final List<ParserToken> children,
+                               final String text,
+                               final ParserContext context) {
+        final StringBuilder b = new StringBuilder();
+        String separator = "";
+
+        for (final ParserToken child : children) {
+            b.append(separator);
+            b.append(child.text());
+            separator = "/";
+        }
+        b.append('=');
+        b.append(text);
+
+        return ParserTokens.string(
+                b.toString(),
+                text
+        );
+    }
+
+    // recognizing......................................................................................................
+
+    @Test
+    public void testRecognizing() {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse("TEST=\"a\", B;\nB=\"b\", {\"c\"};");
+
+        this.checkEquals(
+                Optional.of(
+                        ParserTokens.string("bcc", "bcc")
+                ),
+                this.parse(
+                        EbnfParserCombinators.<ParserContext>transform(
+                                grammar,
+                                (n) -> Optional.empty(),
+                                EbnfParserCombinatorGrammarTransformers.recognizing(
+                                        EbnfParserCombinatorGrammarTransformers.basic(),
+                                        EbnfParserCombinators.uncaptured(
+                                                grammar,
+                                                Sets.of(TEST)
+                                        )
+                                )
+                        ).apply(TEST)
+                                .get(),
+                        "abcc!",
+                        EbnfParserContexts.basic()
+                ).map(t -> ((SequenceParserToken) t).value().get(1))
+        );
+    }
+
+    @Test
+    public void testRecognizingTransformerChangesTerminal() {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse("TEST=\"a\", B;\nB=\"b\", {\"c\"};");
+        final Parser<ParserContext> parser = EbnfParserCombinators.<ParserContext>transform(
+                grammar,
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.recognizing(
+                        new EbnfParserCombinatorGrammarTransformerWrapper<ParserContext>(EbnfParserCombinatorGrammarTransformers.basic()) {
+                            @Override
+                            public Parser<ParserContext> terminal(final TerminalEbnfParserToken token,
+                                                                  final Parser<ParserContext> parser) {
+                                return "b".equals(token.value()) ?
+                                        Parsers.string("x", CaseSensitivity.SENSITIVE) :
+                                        parser;
+                            }
+
+                            @Override
+                            public boolean preservesFirstSets() {
+                                return false;
+                            }
+                        },
+                        EbnfParserCombinators.uncaptured(
+                                grammar,
+                                Sets.of(TEST)
+                        )
+                )
+        ).apply(TEST)
+                .get();
+
+        this.checkEquals(
+                Optional.of("axcc"),
+                this.parse(
+                        parser,
+                        "axcc!",
+                        EbnfParserContexts.basic()
+                ).map(ParserToken::text),
+                "transformed terminal"
+        );
+        this.checkEquals(
+                Optional.empty(),
+                this.parse(
+                        parser,
+                        "abcc!",
+                        EbnfParserContexts.basic()
+                ),
+                "grammar terminal"
+        );
+    }
+
+    // repeatedCharactersString.........................................................................................
+
+    @Test
+    public void testRepeatedCharactersString() {
+        this.checkEquals(
+                Optional.of(
+                        ParserTokens.string("abc", "abc")
+                ),
+                this.parse(
+                        EbnfParserCombinators.<ParserContext>transform(
+                                EbnfParserToken.parse("TEST=\"a\"..\"z\", {\"a\"..\"z\"};"),
+                                (n) -> Optional.empty(),
+                                EbnfParserCombinatorGrammarTransformers.repeatedCharactersString(
+                                        EbnfParserCombinatorGrammarTransformers.basic()
+                                )
+                        ).apply(TEST)
+                                .get(),
+                        "abc!",
+                        EbnfParserContexts.basic()
+                ).map(t -> ((SequenceParserToken) t).value().get(1))
+        );
+    }
+
+    // failureTracking..................................................................................................
+
+    @Test
+    public void testFailureTrackingFarthest() {
+        final EbnfParserCombinatorFailureParserContext context = EbnfParserCombinatorFailureParserContext.with(EbnfParserContexts.basic());
+
+        this.checkEquals(
+                Optional.empty(),
+                this.parse(
+                        this.failureTrackingParser(FAILURE),
+                        "abx",
+                        context
+                )
+        );
+
+        this.checkEquals(2, context.farthestOffset(), "farthestOffset");
+        final Set<EbnfIdentifierName> expected = SortedSets.tree();
+        expected.addAll(context.expected());
+
+        this.checkEquals(
+                Sets.of(
+                        EbnfIdentifierName.with("C"),
+                        EbnfIdentifierName.with("D")
+                ),
+                expected,
+                "expected"
+        );
+    }
+
+    @Test
+    public void testFailureTrackingSameTokens() {
+        final Parser<ParserContext> parser = this.failureTrackingParser(FAILURE);
+
+        this.checkEquals(
+                this.parse(
+                        parser,
+                        "abc",
+                        EbnfParserContexts.basic()
+                ),
+                this.parse(
+                        parser,
+                        "abc",
+                        EbnfParserCombinatorFailureParserContext.with(EbnfParserContexts.basic())
+                )
+        );
+    }
+
+    @Test
+    public void testFailureTrackingSkippedNested() {
+        final EbnfParserCombinatorFailureParserContext context = EbnfParserCombinatorFailureParserContext.with(EbnfParserContexts.basic());
+
+        this.checkEquals(
+                Optional.empty(),
+                this.parse(
+                        this.failureTrackingParser("TEST=A, (C | D);\nA=\"a\";\nC=E, \"c\";\nD=\"d\";\nE=\"e\";"),
+                        "ax",
+                        context
+                )
+        );
+
+        this.checkEquals(1, context.farthestOffset(), "farthestOffset");
+        final Set<EbnfIdentifierName> expected = SortedSets.tree();
+        expected.addAll(context.expected());
+
+        this.checkEquals(
+                Sets.of(
+                        EbnfIdentifierName.with("C"),
+                        EbnfIdentifierName.with("D"),
+                        EbnfIdentifierName.with("E")
+                ),
+                expected,
+                "expected"
+        );
+    }
+
+    @Test
+    public void testFailureTrackingSkippedNestedMemoized() {
+        final EbnfParserCombinatorFailureParserContext context = EbnfParserCombinatorFailureParserContext.with(
+                EbnfParserCombinatorMemoParserContext.with(
+                        EbnfParserContexts.basic(),
+                        EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+                )
+        );
+
+        this.checkEquals(
+                Optional.empty(),
+                this.parse(
+                        EbnfParserCombinators.<ParserContext>transform(
+                                EbnfParserToken.parse("TEST=A, (C | D);\nA=\"a\";\nC=E, \"c\";\nD=\"d\";\nE=\"e\";"),
+                                (n) -> Optional.empty(),
+                                EbnfParserCombinatorGrammarTransformers.memoizing(
+                                        EbnfParserCombinatorGrammarTransformers.failureTracking(
+                                                EbnfParserCombinatorGrammarTransformers.basic(),
+                                                (n) -> true
+                                        ),
+                                        (n) -> true
+                                )
+                        ).apply(TEST)
+                                .get(),
+                        "ax",
+                        context
+                )
+        );
+
+        final Set<EbnfIdentifierName> expected = SortedSets.tree();
+        expected.addAll(context.expected());
+
+        this.checkEquals(
+                Sets.of(
+                        EbnfIdentifierName.with("C"),
+                        EbnfIdentifierName.with("D"),
+                        EbnfIdentifierName.with("E")
+                ),
+                expected,
+                "expected"
+        );
+    }
+
+    private final static String FAILURE = "TEST=A, B, (C | D);\nA=\"a\";\nB=\"b\";\nC=\"c\";\nD=\"d\";";
+
+    private Parser<ParserContext> failureTrackingParser(final String grammar) {
+        return EbnfParserCombinators.<ParserContext>transform(
+                EbnfParserToken.parse(grammar),
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.failureTracking(
+                        EbnfParserCombinatorGrammarTransformers.basic(),
+                        (n) -> true
+                )
+        ).apply(TEST)
+                .get();
+    }
+
+    // memoizing........................................................................................................
+
+    @Test
+    public void testMemoizingSameTokens() {
+        final Parser<ParserContext> parser = this.memoizingParser(
+                BACKTRACKING,
+                (n) -> true
+        );
+
+        this.checkEquals(
+                this.parse(
+                        parser,
+                        "aby",
+                        EbnfParserContexts.basic()
+                ),
+                this.parse(
+                        parser,
+                        "aby",
+                        EbnfParserCombinatorMemoParserContext.with(
+                                EbnfParserContexts.basic(),
+                                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+                        )
+                )
+        );
+    }
+
+    @Test
+    public void testMemoizingHits() {
+        final EbnfParserCombinatorMemoParserContext context = EbnfParserCombinatorMemoParserContext.with(
+                EbnfParserContexts.basic(),
+                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+        );
+
+        this.checkEquals(
+                Optional.of("aby"),
+                this.parse(
+                        this.memoizingParser(
+                                BACKTRACKING,
+                                (n) -> true
+                        ),
+                        "aby",
+                        context
+                ).map(ParserToken::text)
+        );
+
+        final Map<EbnfIdentifierName, Integer> hits = Maps.sorted();
+        hits.put(A, 1);
+
+        this.checkEquals(
+                hits,
+                context.hits()
+        );
+    }
+
+    @Test
+    public void testMemoizingRuleNotSelected() {
+        final EbnfParserCombinatorMemoParserContext context = EbnfParserCombinatorMemoParserContext.with(
+                EbnfParserContexts.basic(),
+                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+        );
+
+        this.parse(
+                this.memoizingParser(
+                        BACKTRACKING,
+                        TEST::equals
+                ),
+                "aby",
+                context
+        );
+
+        this.checkEquals(
+                Maps.sorted(),
+                context.hits()
+        );
+    }
+
+    @Test
+    public void testMemoizingFailure() {
+        this.checkEquals(
+                Optional.empty(),
+                this.parse(
+                        this.memoizingParser(
+                                BACKTRACKING,
+                                (n) -> true
+                        ),
+                        "abz",
+                        EbnfParserCombinatorMemoParserContext.with(
+                                EbnfParserContexts.basic(),
+                                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+                        )
+                )
+        );
+    }
+
+    @Test
+    public void testMemoizingWithFailureContext() {
+        final EbnfParserCombinatorMemoParserContext memo = EbnfParserCombinatorMemoParserContext.with(
+                EbnfParserContexts.basic(),
+                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+        );
+
+        this.checkEquals(
+                Optional.of("aby"),
+                this.parse(
+                        this.memoizingParser(
+                                BACKTRACKING,
+                                (n) -> true
+                        ),
+                        "aby",
+                        EbnfParserCombinatorFailureParserContext.with(memo)
+                ).map(ParserToken::text)
+        );
+
+        final Map<EbnfIdentifierName, Integer> hits = Maps.sorted();
+        hits.put(A, 1);
+
+        this.checkEquals(
+                hits,
+                memo.hits()
+        );
+    }
+
+    @Test
+    public void testMemoizingOffsetTextCursor() {
+        final EbnfParserCombinatorMemoParserContext context = EbnfParserCombinatorMemoParserContext.with(
+                EbnfParserContexts.basic(),
+                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+        );
+
+        this.checkEquals(
+                Optional.of("aby"),
+                this.memoizingParser(
+                        BACKTRACKING,
+                        (n) -> true
+                ).parse(
+                        EbnfParserCombinatorOffsetTextCursor.with(
+                                TextCursors.charSequence("aby")
+                        ),
+                        context
+                ).map(ParserToken::text)
+        );
+
+        final Map<EbnfIdentifierName, Integer> hits = Maps.sorted();
+        hits.put(A, 1);
+
+        this.checkEquals(
+                hits,
+                context.hits()
+        );
+    }
+
+    @Test
+    public void testMemoizingSharedMemo() {
+        final EbnfParserCombinatorMemoParserContext context = EbnfParserCombinatorMemoParserContext.with(
+                EbnfParserContexts.basic(),
+                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+        );
+
+        // two grammars built by different transformers share a memo, their rule ids must not collide
+        this.checkEquals(
+                Optional.of("aby"),
+                this.parse(
+                        this.memoizingParser(
+                                BACKTRACKING,
+                                (n) -> true
+                        ),
+                        "aby",
+                        context
+                ).map(ParserToken::text)
+        );
+        this.checkEquals(
+                Optional.empty(),
+                this.parse(
+                        this.memoizingParser(
+                                "TEST=\"a\", \"c\";",
+                                (n) -> true
+                        ),
+                        "aby",
+                        context
+                )
+        );
+    }
+
+    private Parser<ParserContext> memoizingParser(final String grammar,
+                                                  final Predicate<EbnfIdentifierName> rules) {
+        return EbnfParserCombinators.<ParserContext>transform(
+                EbnfParserToken.parse(grammar),
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.memoizing(
+                        this.transformer(),
+                        rules
+                )
+        ).apply(TEST)
+                .get();
+    }
+
+    private Optional<ParserToken> parse(final Parser<ParserContext> parser,
+                                        final String text,
+                                        final ParserContext context) {
+        return parser.parse(
+                TextCursors.charSequence(text),
+                context
+        );
+    }
+
+    private EbnfParserCombinatorGrammarTransformer<ParserContext> transformer() {
+        return new FakeEbnfParserCombinatorGrammarTransformer<>() {
+            @Override
+            public Parser<ParserContext> alternatives(final AlternativeEbnfParserToken token,
+                                                      final Parser<ParserContext> parser) {
+                return parser;
+            }
+
+            @Override
+            public Parser<ParserContext> concatenation(final ConcatenationEbnfParserToken token,
+                                                       final Parser<ParserContext> parser) {
+                return parser;
+            }
+
+            @Override
+            public Parser<ParserContext> group(final GroupEbnfParserToken token,
+                                               final Parser<ParserContext> parser) {
+                return parser;
+            }
+
+            @Override
+            public Parser<ParserContext> identifier(final IdentifierEbnfParserToken token,
+                                                    final Parser<ParserContext> parser) {
+                return parser;
+            }
+
+            @Override
+            public Parser<ParserContext> rule(final RuleEbnfParserToken token,
+                                              final Parser<ParserContext> parser) {
+                return parser;
+            }
+
+            @Override
+            public Parser<ParserContext> terminal(final TerminalEbnfParserToken token,
+                                                  final Parser<ParserContext> parser) {
+                return parser;
+            }
+        };
+    }
+
+    // PublicStaticHelperTesting........................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorGrammarTransformers> type() {
+        return EbnfParserCombinatorGrammarTransformers.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+
+    @Override
+    public boolean canHavePublicTypes(final Method method) {
+        return false;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorLl1AnalyzerTest implements ClassTesting2<EbnfParserCombinatorLl1Analyzer> {
+
+    @Test
+    public void testConflictsNullGrammarFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorLl1Analyzer.conflicts(null)
+        );
+    }
+
+    @Test
+    public void testAlternatives() {
+        this.conflictsAndCheck("A=\"a\"|\"b\";");
+    }
+
+    @Test
+    public void testAlternativesSharedFirstCharacter() {
+        this.conflictsAndCheck(
+                "A=\"a\"|\"ab\";",
+                "Rule \"A\" \"a\"|\"ab\" alternatives 1 and 2 share \"a\""
+        );
+    }
+
+    @Test
+    public void testAlternativesExternal() {
+        this.conflictsAndCheck(
+                "A=\"a\"|EXTERNAL;",
+                "Rule \"A\" \"a\"|EXTERNAL alternatives 1 and 2 share \"a\""
+        );
+    }
+
+    @Test
+    public void testAlternativesRules() {
+        this.conflictsAndCheck(
+                "A=B|C;B=\"b\";C=\"c\";"
+        );
+    }
+
+    @Test
+    public void testAlternativesRulesConflict() {
+        this.conflictsAndCheck(
+                "A=B|C;B=\"x1\";C=\"x2\";",
+                "Rule \"A\" B|C alternatives 1 and 2 share \"x\""
+        );
+    }
+
+    @Test
+    public void testOptionalFollowedBySameCharacter() {
+        this.conflictsAndCheck(
+                "A=[\"a\"],\"a\";",
+                "Rule \"A\" [\"a\"] and what follows share \"a\""
+        );
+    }
+
+    @Test
+    public void testOptionalFollowedByDifferentCharacter() {
+        this.conflictsAndCheck(
+                "A=[\"a\"],\"b\";"
+        );
+    }
+
+    @Test
+    public void testRepeated() {
+        this.conflictsAndCheck(
+                "A={\"a\"},\"b\";"
+        );
+    }
+
+    @Test
+    public void testRepeatedFollowedByRule() {
+        this.conflictsAndCheck(
+                "A={\"a\"},B;B=\"a\";",
+                "Rule \"A\" {\"a\"} and what follows share \"a\""
+        );
+    }
+
+    @Test
+    public void testRecursive() {
+        this.conflictsAndCheck(
+                "A=\"(\",[A],\")\"|\"x\";"
+        );
+    }
+
+    @Test
+    public void testFollowThroughRule() {
+        this.conflictsAndCheck(
+                "A=B,\"b\";B=\"a\",[\"b\"];",
+                "Rule \"B\" [\"b\"] and what follows share \"b\""
+        );
+    }
+
+    private void conflictsAndCheck(final String grammar,
+                                   final String... expected) {
+        this.checkEquals(
+                Arrays.asList(expected),
+                EbnfParserCombinatorLl1Analyzer.conflicts(
+                        EbnfParserToken.parse(grammar)
+                ),
+                () -> "conflicts " + grammar
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorLl1Analyzer> type() {
+        return EbnfParserCombinatorLl1Analyzer.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
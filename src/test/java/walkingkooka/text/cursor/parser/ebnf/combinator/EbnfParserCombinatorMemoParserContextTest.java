@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfLineIndex;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserContexts;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorMemoParserContextTest implements ClassTesting2<EbnfParserCombinatorMemoParserContext> {
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorMemoParserContext.with(
+                        null,
+                        EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+                )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxEntriesFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorMemoParserContext.with(
+                        EbnfParserContexts.basic(),
+                        0
+                )
+        );
+    }
+
+    @Test
+    public void testHits() {
+        final EbnfParserCombinatorMemoParserContext context = EbnfParserCombinatorMemoParserContext.with(
+                EbnfParserContexts.basic(),
+                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+        );
+        final EbnfIdentifierName a = EbnfIdentifierName.with("A");
+
+        context.memo()
+                .get()
+                .hit(0, a);
+
+        final Map<EbnfIdentifierName, Integer> expected = Maps.sorted();
+        expected.put(a, 1);
+
+        this.checkEquals(
+                expected,
+                context.hits()
+        );
+    }
+
+    @Test
+    public void testMemoSame() {
+        final EbnfParserCombinatorMemoParserContext context = EbnfParserCombinatorMemoParserContext.with(
+                EbnfParserContexts.basic(),
+                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+        );
+
+        assertSame(
+                context.memo().get(),
+                context.memo().get()
+        );
+    }
+
+    @Test
+    public void testLineIndex() {
+        final Optional<EbnfLineIndex> lineIndex = EbnfParserCombinatorMemoParserContext.with(
+                EbnfParserContexts.lineIndex(
+                        EbnfParserContexts.basic(),
+                        "abc\ndef"
+                ),
+                EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+        ).lineIndex();
+
+        this.checkEquals(
+                2,
+                lineIndex.get()
+                        .lineNumber(5)
+        );
+    }
+
+    @Test
+    public void testLineIndexMissing() {
+        this.checkEquals(
+                Optional.empty(),
+                EbnfParserCombinatorMemoParserContext.with(
+                        EbnfParserContexts.basic(),
+                        EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+                ).lineIndex()
+        );
+    }
+
+    @Test
+    public void testDelegates() {
+        this.checkEquals(
+                EbnfParserContexts.basic().decimalSeparator(),
+                EbnfParserCombinatorMemoParserContext.with(
+                        EbnfParserContexts.basic(),
+                        EbnfParserCombinatorMemoParserContext.DEFAULT_MAX_ENTRIES
+                ).decimalSeparator()
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorMemoParserContext> type() {
+        return EbnfParserCombinatorMemoParserContext.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorMemoTableTest implements ClassTesting2<EbnfParserCombinatorMemoTable> {
+
+    @Test
+    public void testWithInvalidMaxEntriesFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorMemoTable.with(0)
+        );
+    }
+
+    @Test
+    public void testNextIdUnique() {
+        final int id = EbnfParserCombinatorMemoTable.nextId();
+
+        this.checkEquals(
+                true,
+                EbnfParserCombinatorMemoTable.nextId() > id
+        );
+    }
+
+    @Test
+    public void testFindMissing() {
+        this.checkEquals(
+                -1,
+                EbnfParserCombinatorMemoTable.with(10)
+                        .find(1, 2)
+        );
+    }
+
+    @Test
+    public void testPutFind() {
+        final EbnfParserCombinatorMemoTable table = EbnfParserCombinatorMemoTable.with(10);
+        final ParserToken token = ParserTokens.string("abc", "abc");
+
+        table.put(1, 2, 5, token);
+
+        final int slot = table.find(1, 2);
+        this.checkEquals(true, slot >= 0, "slot");
+        this.checkEquals(5, table.end(slot), "end");
+        assertSame(token, table.token(slot));
+
+        this.checkEquals(-1, table.find(2, 1), "different rule");
+        this.checkEquals(-1, table.find(1, 3), "different offset");
+    }
+
+    @Test
+    public void testPutFailure() {
+        final EbnfParserCombinatorMemoTable table = EbnfParserCombinatorMemoTable.with(10);
+        table.put(1, 2, 2, null);
+
+        this.checkEquals(null, table.token(table.find(1, 2)));
+    }
+
+    @Test
+    public void testPutReplaces() {
+        final EbnfParserCombinatorMemoTable table = EbnfParserCombinatorMemoTable.with(10);
+        table.put(1, 2, 2, null);
+        table.put(1, 2, 3, null);
+
+        this.checkEquals(1, table.size(), "size");
+        this.checkEquals(3, table.end(table.find(1, 2)), "end");
+    }
+
+    @Test
+    public void testManyCollisions() {
+        final EbnfParserCombinatorMemoTable table = EbnfParserCombinatorMemoTable.with(1000);
+        for (int i = 0; i < 1000; i++) {
+            table.put(i % 7, i, i + 1, null);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            this.checkEquals(i + 1, table.end(table.find(i % 7, i)), "end " + i);
+        }
+    }
+
+    @Test
+    public void testBounded() {
+        final EbnfParserCombinatorMemoTable table = EbnfParserCombinatorMemoTable.with(20);
+        for (int i = 0; i < 21; i++) {
+            table.put(0, i, i, null);
+        }
+
+        this.checkEquals(1, table.size(), "size");
+        this.checkEquals(-1, table.find(0, 0), "cleared");
+        this.checkEquals(20, table.end(table.find(0, 20)), "most recent");
+    }
+
+    @Test
+    public void testClear() {
+        final EbnfParserCombinatorMemoTable table = EbnfParserCombinatorMemoTable.with(10);
+        table.put(1, 2, 3, null);
+        table.clear();
+
+        this.checkEquals(0, table.size(), "size");
+        this.checkEquals(-1, table.find(1, 2), "find");
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorMemoTable> type() {
+        return EbnfParserCombinatorMemoTable.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
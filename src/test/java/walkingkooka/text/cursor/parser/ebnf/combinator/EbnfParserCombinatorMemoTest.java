@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorMemoTest implements ClassTesting2<EbnfParserCombinatorMemo> {
+
+    @Test
+    public void testWithInvalidMaxEntriesFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorMemo.with(0)
+        );
+    }
+
+    @Test
+    public void testHits() {
+        final EbnfParserCombinatorMemo memo = EbnfParserCombinatorMemo.with(EbnfParserCombinatorMemo.DEFAULT_MAX_ENTRIES);
+        final EbnfIdentifierName a = EbnfIdentifierName.with("A");
+        final EbnfIdentifierName b = EbnfIdentifierName.with("B");
+
+        memo.hit(10, a);
+        memo.hit(11, b);
+        memo.hit(10, a);
+
+        final Map<EbnfIdentifierName, Integer> expected = Maps.sorted();
+        expected.put(a, 2);
+        expected.put(b, 1);
+
+        this.checkEquals(
+                expected,
+                memo.hits()
+        );
+    }
+
+    @Test
+    public void testHitsIdsBeforeAndAfter() {
+        final EbnfParserCombinatorMemo memo = EbnfParserCombinatorMemo.with(EbnfParserCombinatorMemo.DEFAULT_MAX_ENTRIES);
+        final EbnfIdentifierName a = EbnfIdentifierName.with("A");
+        final EbnfIdentifierName b = EbnfIdentifierName.with("B");
+        final EbnfIdentifierName c = EbnfIdentifierName.with("C");
+
+        memo.hit(100, b);
+        memo.hit(3, a);
+        memo.hit(1000, c);
+        memo.hit(100, b);
+
+        final Map<EbnfIdentifierName, Integer> expected = Maps.sorted();
+        expected.put(a, 1);
+        expected.put(b, 2);
+        expected.put(c, 1);
+
+        this.checkEquals(
+                expected,
+                memo.hits()
+        );
+    }
+
+    @Test
+    public void testHitsSameRuleDifferentIds() {
+        final EbnfParserCombinatorMemo memo = EbnfParserCombinatorMemo.with(EbnfParserCombinatorMemo.DEFAULT_MAX_ENTRIES);
+        final EbnfIdentifierName a = EbnfIdentifierName.with("A");
+
+        memo.hit(1, a);
+        memo.hit(2, a);
+
+        final Map<EbnfIdentifierName, Integer> expected = Maps.sorted();
+        expected.put(a, 2);
+
+        this.checkEquals(
+                expected,
+                memo.hits()
+        );
+    }
+
+    @Test
+    public void testHitsNone() {
+        this.checkEquals(
+                Maps.sorted(),
+                EbnfParserCombinatorMemo.with(10)
+                        .hits()
+        );
+    }
+
+    @Test
+    public void testRulesInvalidMinHitsFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorMemo.with(10)
+                        .rules(0)
+        );
+    }
+
+    @Test
+    public void testRules() {
+        final EbnfParserCombinatorMemo memo = EbnfParserCombinatorMemo.with(EbnfParserCombinatorMemo.DEFAULT_MAX_ENTRIES);
+        final EbnfIdentifierName a = EbnfIdentifierName.with("A");
+        final EbnfIdentifierName b = EbnfIdentifierName.with("B");
+
+        memo.hit(1, a);
+        memo.hit(2, b);
+        memo.hit(1, a);
+
+        this.checkEquals(
+                Sets.of(a),
+                memo.rules(2)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final EbnfParserCombinatorMemo memo = EbnfParserCombinatorMemo.with(10);
+
+        this.toStringAndCheck(
+                memo,
+                memo.table.toString()
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorMemo> type() {
+        return EbnfParserCombinatorMemo.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
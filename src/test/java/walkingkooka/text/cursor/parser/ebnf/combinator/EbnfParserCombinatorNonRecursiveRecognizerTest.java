@@ -0,0 +1,369 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorNonRecursiveRecognizerTest implements ClassTesting2<EbnfParserCombinatorNonRecursiveRecognizer> {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    private final static String NESTED = "TEST=\"(\", [TEST], \")\";";
+
+    private final static int MAX_DEPTH = 1000;
+
+    @Test
+    public void testWithNullRecognizerFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorNonRecursiveRecognizer.with(
+                        null,
+                        MAX_DEPTH
+                )
+        );
+    }
+
+    @Test
+    public void testWithNotCompiledRecognizerFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorNonRecursiveRecognizer.with(
+                        (text, from) -> -1,
+                        MAX_DEPTH
+                )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxDepthFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorNonRecursiveRecognizer.with(
+                        this.compile(NESTED),
+                        0
+                )
+        );
+    }
+
+    @Test
+    public void testMatchLengthInvalidFromFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.createRecognizer(NESTED)
+                        .matchLength(
+                                "()",
+                                3
+                        )
+        );
+    }
+
+    @Test
+    public void testTerminal() {
+        this.matchLengthAndCheck(
+                "TEST=\"abc\";",
+                "abc!"
+        );
+    }
+
+    @Test
+    public void testAlternatives() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\" | \"ab\" | \"b\";",
+                "b"
+        );
+    }
+
+    @Test
+    public void testAlternativesFails() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\" | \"b\";",
+                "c"
+        );
+    }
+
+    @Test
+    public void testConcatenationOptionalSkipped() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\", [\"b\"], \"c\";",
+                "ac"
+        );
+    }
+
+    @Test
+    public void testConcatenationFails() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\", \"b\";",
+                "ac"
+        );
+    }
+
+    @Test
+    public void testRepeated() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\", {\"b\"}, \"c\";",
+                "abbbc"
+        );
+    }
+
+    @Test
+    public void testRepeatedRule() {
+        this.matchLengthAndCheck(
+                "TEST={ITEM};\nITEM=\"x\", [\"y\"];",
+                "xyxxy!"
+        );
+    }
+
+    @Test
+    public void testException() {
+        this.matchLengthAndCheck(
+                "TEST=LETTER - \"z\";\nLETTER='a'..'z';",
+                "a"
+        );
+    }
+
+    @Test
+    public void testExceptionFails() {
+        this.matchLengthAndCheck(
+                "TEST=LETTER - \"z\";\nLETTER='a'..'z';",
+                "z"
+        );
+    }
+
+    @Test
+    public void testNested() {
+        this.matchLengthAndCheck(
+                NESTED,
+                "((()))"
+        );
+    }
+
+    @Test
+    public void testNestedUnbalanced() {
+        this.matchLengthAndCheck(
+                NESTED,
+                "((())"
+        );
+    }
+
+    @Test
+    public void testDeeplyNested() {
+        final int depth = 100000;
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            b.append('(');
+        }
+        for (int i = 0; i < depth; i++) {
+            b.append(')');
+        }
+
+        this.checkEquals(
+                depth * 2,
+                EbnfParserCombinators.nonRecursive(
+                        this.compile(NESTED),
+                        depth
+                ).matchLength(
+                        b,
+                        0
+                )
+        );
+    }
+
+    @Test
+    public void testMaxDepthExceededFails() {
+        final EbnfParserCombinatorException thrown = assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> EbnfParserCombinators.nonRecursive(
+                        this.compile(NESTED),
+                        2
+                ).matchLength(
+                        "((()))",
+                        0
+                )
+        );
+        this.checkEquals(
+                "Maximum depth 2 exceeded at 2",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testEvents() {
+        this.eventsAndCheck(
+                "TEST=\"a\", B;\nB=\"bc\";",
+                "abc"
+        );
+    }
+
+    @Test
+    public void testEventsAlternativesBacktracked() {
+        this.eventsAndCheck(
+                "TEST=B | C;\nB=\"a\", \"b\";\nC=\"a\", \"c\";",
+                "ac"
+        );
+    }
+
+    @Test
+    public void testEventsExceptionRightIgnored() {
+        this.eventsAndCheck(
+                "TEST=LETTER - Z;\nLETTER='a'..'z';\nZ=\"z\";",
+                "a"
+        );
+    }
+
+    @Test
+    public void testEventsNested() {
+        this.eventsAndCheck(
+                NESTED,
+                "((())"
+        );
+    }
+
+    @Test
+    public void testEventsRepeated() {
+        this.eventsAndCheck(
+                "TEST={ITEM};\nITEM=VALUE, \",\";\nVALUE=\"x\";",
+                "x,x,x"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final EbnfParserCombinatorRecognizer recognizer = this.compile(NESTED);
+
+        this.toStringAndCheck(
+                EbnfParserCombinatorNonRecursiveRecognizer.with(
+                        recognizer,
+                        MAX_DEPTH
+                ),
+                recognizer.toString()
+        );
+    }
+
+    private EbnfParserCombinatorRecognizer compile(final String grammar) {
+        return EbnfParserCombinators.recognizers(
+                EbnfParserToken.parse(grammar),
+                (n) -> Optional.empty()
+        ).apply(TEST).get();
+    }
+
+    private EbnfParserCombinatorNonRecursiveRecognizer createRecognizer(final String grammar) {
+        return EbnfParserCombinatorNonRecursiveRecognizer.with(
+                this.compile(grammar),
+                MAX_DEPTH
+        );
+    }
+
+    /**
+     * Checks the non recursive recognizer matches the same number of characters as the recursive recognizer.
+     */
+    private void matchLengthAndCheck(final String grammar,
+                                     final String text) {
+        final EbnfParserCombinatorRecognizer recognizer = this.compile(grammar);
+
+        this.checkEquals(
+                recognizer.matchLength(
+                        text,
+                        0
+                ),
+                EbnfParserCombinatorNonRecursiveRecognizer.with(
+                        recognizer,
+                        MAX_DEPTH
+                ).matchLength(
+                        text,
+                        0
+                ),
+                () -> recognizer + " matchLength " + text
+        );
+    }
+
+    /**
+     * Checks the non recursive recognizer fires the same events as the recursive recognizer.
+     */
+    private void eventsAndCheck(final String grammar,
+                                final String text) {
+        final EbnfParserCombinatorRecognizer recognizer = this.compile(grammar);
+
+        final StringBuilder expected = new StringBuilder();
+        expected.append(
+                recognizer.matchLength(
+                        text,
+                        0,
+                        this.listener(expected)
+                )
+        );
+
+        final StringBuilder actual = new StringBuilder();
+        actual.append(
+                EbnfParserCombinatorNonRecursiveRecognizer.with(
+                        recognizer,
+                        MAX_DEPTH
+                ).matchLength(
+                        text,
+                        0,
+                        this.listener(actual)
+                )
+        );
+
+        this.checkEquals(
+                expected.toString(),
+                actual.toString(),
+                () -> recognizer + " events " + text
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerListener listener(final StringBuilder b) {
+        return new EbnfParserCombinatorRecognizerListener() {
+            @Override
+            public void startRule(final EbnfIdentifierName name,
+                                  final int offset) {
+                b.append("startRule " + name + " " + offset + "\n");
+            }
+
+            @Override
+            public void terminal(final EbnfIdentifierName name,
+                                 final int start,
+                                 final int end) {
+                b.append("terminal " + name + " " + start + " " + end + "\n");
+            }
+
+            @Override
+            public void endRule(final EbnfIdentifierName name,
+                                final int offset) {
+                b.append("endRule " + name + " " + offset + "\n");
+            }
+        };
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorNonRecursiveRecognizer> type() {
+        return EbnfParserCombinatorNonRecursiveRecognizer.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
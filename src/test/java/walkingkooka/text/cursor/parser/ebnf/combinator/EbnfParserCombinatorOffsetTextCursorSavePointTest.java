@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursors;
+
+public final class EbnfParserCombinatorOffsetTextCursorSavePointTest implements ClassTesting2<EbnfParserCombinatorOffsetTextCursorSavePoint> {
+
+    @Test
+    public void testSaveMovesSavePoint() {
+        final EbnfParserCombinatorOffsetTextCursor cursor = this.createCursor();
+        final EbnfParserCombinatorOffsetTextCursorSavePoint save = EbnfParserCombinatorOffsetTextCursorSavePoint.with(cursor);
+
+        cursor.next();
+        save.save();
+        cursor.next();
+        cursor.next();
+
+        this.checkEquals(
+                "bc",
+                save.textBetween()
+                        .toString()
+        );
+
+        save.restore();
+        this.checkEquals(1, cursor.offset, "offset");
+    }
+
+    @Test
+    public void testRestoreReturnsCursor() {
+        final EbnfParserCombinatorOffsetTextCursor cursor = this.createCursor();
+        final EbnfParserCombinatorOffsetTextCursorSavePoint save = EbnfParserCombinatorOffsetTextCursorSavePoint.with(cursor);
+        cursor.next();
+
+        this.checkEquals(
+                cursor,
+                save.restore()
+        );
+        this.checkEquals(
+                'a',
+                cursor.at()
+        );
+        this.checkEquals(0, cursor.offset, "offset");
+    }
+
+    private EbnfParserCombinatorOffsetTextCursor createCursor() {
+        return EbnfParserCombinatorOffsetTextCursor.with(
+                TextCursors.charSequence("abcd")
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorOffsetTextCursorSavePoint> type() {
+        return EbnfParserCombinatorOffsetTextCursorSavePoint.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.TextCursors;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorOffsetTextCursorTest implements ClassTesting2<EbnfParserCombinatorOffsetTextCursor> {
+
+    @Test
+    public void testWithNullCursorFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorOffsetTextCursor.with(null)
+        );
+    }
+
+    @Test
+    public void testWithStartsAtWrappedOffset() {
+        final TextCursor wrapped = TextCursors.charSequence("abcd");
+        wrapped.next();
+        wrapped.next();
+
+        final EbnfParserCombinatorOffsetTextCursor cursor = EbnfParserCombinatorOffsetTextCursor.with(wrapped);
+        this.checkEquals(2, cursor.offset, "offset");
+        this.checkEquals('c', cursor.at());
+    }
+
+    @Test
+    public void testWrapIfNecessary() {
+        final TextCursor wrapped = TextCursors.charSequence("abcd");
+        wrapped.next();
+
+        final TextCursor cursor = EbnfParserCombinatorOffsetTextCursor.wrapIfNecessary(wrapped);
+        this.checkEquals(
+                1,
+                ((EbnfParserCombinatorOffsetTextCursor) cursor).offset,
+                "offset"
+        );
+
+        cursor.next();
+        this.checkEquals('c', wrapped.at(), "wrapped cursor moved");
+    }
+
+    @Test
+    public void testWrapIfNecessaryAlreadyOffset() {
+        final EbnfParserCombinatorOffsetTextCursor cursor = this.createCursor();
+
+        assertSame(
+                cursor,
+                EbnfParserCombinatorOffsetTextCursor.wrapIfNecessary(cursor)
+        );
+    }
+
+    @Test
+    public void testNext() {
+        final EbnfParserCombinatorOffsetTextCursor cursor = this.createCursor();
+
+        this.checkEquals('a', cursor.at());
+        cursor.next();
+        this.checkEquals('b', cursor.at());
+        this.checkEquals(1, cursor.offset, "offset");
+        this.checkEquals(
+                1,
+                EbnfParserCombinatorTextCursorOffset.offset(cursor)
+        );
+    }
+
+    @Test
+    public void testEnd() {
+        final EbnfParserCombinatorOffsetTextCursor cursor = this.createCursor();
+        cursor.end();
+
+        this.checkEquals(true, cursor.isEmpty());
+        this.checkEquals(4, cursor.offset, "offset");
+    }
+
+    @Test
+    public void testRestore() {
+        final EbnfParserCombinatorOffsetTextCursor cursor = this.createCursor();
+        cursor.next();
+
+        final TextCursorSavePoint save = cursor.save();
+        cursor.next();
+        cursor.next();
+        save.restore();
+
+        this.checkEquals('b', cursor.at());
+        this.checkEquals(1, cursor.offset, "offset");
+    }
+
+    @Test
+    public void testLineInfo() {
+        final EbnfParserCombinatorOffsetTextCursor cursor = EbnfParserCombinatorOffsetTextCursor.with(
+                TextCursors.charSequence("ab\ncd")
+        );
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        cursor.next();
+
+        this.checkEquals(
+                2,
+                cursor.lineInfo()
+                        .lineNumber()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final TextCursor wrapped = TextCursors.charSequence("abcd");
+        wrapped.next();
+
+        this.toStringAndCheck(
+                EbnfParserCombinatorOffsetTextCursor.with(wrapped),
+                wrapped.toString()
+        );
+    }
+
+    private EbnfParserCombinatorOffsetTextCursor createCursor() {
+        return EbnfParserCombinatorOffsetTextCursor.with(
+                TextCursors.charSequence("abcd")
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorOffsetTextCursor> type() {
+        return EbnfParserCombinatorOffsetTextCursor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
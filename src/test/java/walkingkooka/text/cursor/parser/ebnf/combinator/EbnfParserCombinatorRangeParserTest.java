@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.ParserTesting2;
+import walkingkooka.text.cursor.parser.ParserTokens;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorRangeParserTest implements ParserTesting2<EbnfParserCombinatorRangeParser<FakeParserContext>, FakeParserContext>,
+        ClassTesting2<EbnfParserCombinatorRangeParser<FakeParserContext>> {
+
+    @Test
+    public void testWithNullBeginFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRangeParser.with(null, "z")
+        );
+    }
+
+    @Test
+    public void testWithEmptyEndFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorRangeParser.with("a", "")
+        );
+    }
+
+    @Test
+    public void testWithBeginGreaterThanEndFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorRangeParser.with("z", "a")
+        );
+    }
+
+    // character........................................................................................................
+
+    @Test
+    public void testParseCharacterBegin() {
+        this.parseAndCheck2("a..z", "a", "a", "");
+    }
+
+    @Test
+    public void testParseCharacterEnd() {
+        this.parseAndCheck2("a..z", "z1", "z", "1");
+    }
+
+    @Test
+    public void testParseCharacterBeforeFails() {
+        this.parseFailAndCheck(
+                EbnfParserCombinatorRangeParser.with("b", "y"),
+                "a"
+        );
+    }
+
+    @Test
+    public void testParseCharacterAfterFails() {
+        this.parseFailAndCheck(
+                EbnfParserCombinatorRangeParser.with("b", "y"),
+                "z"
+        );
+    }
+
+    @Test
+    public void testParseCharacterEmptyFails() {
+        this.parseFailAndCheck("");
+    }
+
+    @Test
+    public void testParseCharacterSameToken() {
+        final EbnfParserCombinatorRangeParser<FakeParserContext> parser = this.createParser();
+
+        assertSame(
+                parser.parse(
+                        TextCursors.charSequence("m"),
+                        this.createContext()
+                ).get(),
+                parser.parse(
+                        TextCursors.charSequence("m"),
+                        this.createContext()
+                ).get()
+        );
+    }
+
+    @Test
+    public void testParseCharacterLargeRange() {
+        this.parseAndCheck2("\u0000..\uffff", "\u1234!", "\u1234", "!");
+    }
+
+    // code point.......................................................................................................
+
+    @Test
+    public void testParseCodePoint() {
+        this.parseAndCheck2(
+                "\uD83D\uDE00..\uD83D\uDE4F", // emoticons
+                "\uD83D\uDE03!",
+                "\uD83D\uDE03",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseCodePointAfterFails() {
+        this.parseFailAndCheck(
+                EbnfParserCombinatorRangeParser.with("\uD83D\uDE00", "\uD83D\uDE4F"),
+                "\uD83D\uDE80"
+        );
+    }
+
+    @Test
+    public void testParseCodePointMissingLowSurrogateFails() {
+        this.parseFailAndCheck(
+                EbnfParserCombinatorRangeParser.with("\uD83D\uDE00", "\uD83D\uDE4F"),
+                "\uD83D"
+        );
+    }
+
+    // string...........................................................................................................
+
+    @Test
+    public void testParseStringBegin() {
+        this.parseAndCheck2("ab..cd", "ab!", "ab", "!");
+    }
+
+    @Test
+    public void testParseStringEnd() {
+        this.parseAndCheck2("ab..cd", "cd!", "cd", "!");
+    }
+
+    @Test
+    public void testParseStringBetween() {
+        this.parseAndCheck2("ab..cd", "bz!", "bz", "!");
+    }
+
+    @Test
+    public void testParseStringBeforeFails() {
+        this.parseFailAndCheck(
+                EbnfParserCombinatorRangeParser.with("ab", "cd"),
+                "aa"
+        );
+    }
+
+    @Test
+    public void testParseStringAfterFails() {
+        this.parseFailAndCheck(
+                EbnfParserCombinatorRangeParser.with("ab", "cd"),
+                "ce"
+        );
+    }
+
+    @Test
+    public void testParseStringTooShortFails() {
+        this.parseFailAndCheck(
+                EbnfParserCombinatorRangeParser.with("ab", "cd"),
+                "b"
+        );
+    }
+
+    @Test
+    public void testParseStringDifferentLengthsLongest() {
+        this.parseAndCheck2("a..zz", "bz!", "bz", "!");
+    }
+
+    @Test
+    public void testParseStringDifferentLengthsShorter() {
+        this.parseAndCheck2("a..zz", "b!", "b", "!");
+    }
+
+    @Test
+    public void testParseStringDifferentLengthsGreaterThanEnd() {
+        this.parseAndCheck2("b..bb", "bc", "b", "c");
+    }
+
+    private void parseAndCheck2(final String range,
+                                final String text,
+                                final String consumed,
+                                final String after) {
+        final int between = range.indexOf("..");
+
+        this.parseAndCheck(
+                EbnfParserCombinatorRangeParser.with(
+                        range.substring(0, between),
+                        range.substring(between + 2)
+                ),
+                text,
+                ParserTokens.string(consumed, consumed),
+                consumed,
+                after
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createParser(),
+                "\"a\"..\"z\""
+        );
+    }
+
+    @Override
+    public EbnfParserCombinatorRangeParser<FakeParserContext> createParser() {
+        return EbnfParserCombinatorRangeParser.with("a", "z");
+    }
+
+    @Override
+    public FakeParserContext createContext() {
+        return new FakeParserContext();
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRangeParser<FakeParserContext>> type() {
+        return Cast.to(EbnfParserCombinatorRangeParser.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.StringReader;
+
+public final class EbnfParserCombinatorReaderTextCursorSavePointTest implements ClassTesting2<EbnfParserCombinatorReaderTextCursorSavePoint> {
+
+    @Test
+    public void testSaveMovesSavePoint() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor();
+        final EbnfParserCombinatorReaderTextCursorSavePoint save = EbnfParserCombinatorReaderTextCursorSavePoint.with(cursor);
+
+        cursor.next();
+        save.save();
+        cursor.next();
+        cursor.next();
+
+        this.checkEquals(
+                "bc",
+                save.textBetween()
+                        .toString()
+        );
+    }
+
+    @Test
+    public void testRestoreReturnsCursor() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor();
+        final EbnfParserCombinatorReaderTextCursorSavePoint save = EbnfParserCombinatorReaderTextCursorSavePoint.with(cursor);
+        cursor.next();
+
+        this.checkEquals(
+                cursor,
+                save.restore()
+        );
+        this.checkEquals(
+                'a',
+                cursor.at()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor();
+        cursor.next();
+
+        this.toStringAndCheck(
+                EbnfParserCombinatorReaderTextCursorSavePoint.with(cursor),
+                "1"
+        );
+    }
+
+    private EbnfParserCombinatorReaderTextCursor createCursor() {
+        return EbnfParserCombinatorReaderTextCursor.with(
+                new StringReader("abcd"),
+                100
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorReaderTextCursorSavePoint> type() {
+        return EbnfParserCombinatorReaderTextCursorSavePoint.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
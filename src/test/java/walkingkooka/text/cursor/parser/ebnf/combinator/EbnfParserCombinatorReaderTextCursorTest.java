@@ -0,0 +1,475 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorReaderTextCursorTest implements ClassTesting2<EbnfParserCombinatorReaderTextCursor> {
+
+    private final static int BLOCK_SIZE = EbnfParserCombinatorReaderTextCursor.BLOCK_SIZE;
+
+    @Test
+    public void testWithNullReaderFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorReaderTextCursor.with(
+                        null,
+                        0
+                )
+        );
+    }
+
+    @Test
+    public void testWithNegativeMaxBacktrackFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorReaderTextCursor.with(
+                        new StringReader("abc"),
+                        -1
+                )
+        );
+    }
+
+    @Test
+    public void testEmpty() {
+        this.checkEquals(
+                true,
+                this.createCursor("")
+                        .isEmpty()
+        );
+    }
+
+    @Test
+    public void testAtEmptyFails() {
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> this.createCursor("")
+                        .at()
+        );
+    }
+
+    @Test
+    public void testNextEmptyFails() {
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> this.createCursor("")
+                        .next()
+        );
+    }
+
+    @Test
+    public void testAtAndNext() {
+        this.readAndCheck(
+                this.createCursor("abc"),
+                "abc"
+        );
+    }
+
+    @Test
+    public void testAtAndNextReaderReturnsSingleCharacters() {
+        this.readAndCheck(
+                EbnfParserCombinatorReaderTextCursor.with(
+                        this.singleCharacterReader("abcdef"),
+                        0
+                ),
+                "abcdef"
+        );
+    }
+
+    @Test
+    public void testAtAndNextManyBlocks() {
+        final String text = this.text(BLOCK_SIZE * 3 + 1);
+
+        this.readAndCheck(
+                EbnfParserCombinatorReaderTextCursor.with(
+                        new StringReader(text),
+                        0
+                ),
+                text
+        );
+    }
+
+    @Test
+    public void testEnd() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor("abc");
+        cursor.end();
+
+        this.checkEquals(
+                true,
+                cursor.isEmpty()
+        );
+    }
+
+    @Test
+    public void testSaveRestore() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor("abc");
+        cursor.next();
+
+        final TextCursorSavePoint save = cursor.save();
+        cursor.next();
+        cursor.next();
+        save.restore();
+
+        this.readAndCheck(
+                cursor,
+                "bc"
+        );
+    }
+
+    @Test
+    public void testTextBetween() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor("abcd");
+        cursor.next();
+
+        final TextCursorSavePoint save = cursor.save();
+        cursor.next();
+        cursor.next();
+
+        this.checkEquals(
+                "bc",
+                save.textBetween()
+                        .toString()
+        );
+    }
+
+    @Test
+    public void testTextBetweenAfterRestore() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor("abcd");
+        final TextCursorSavePoint start = cursor.save();
+
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        final TextCursorSavePoint end = cursor.save();
+
+        start.restore();
+        cursor.next();
+
+        this.checkEquals(
+                "bc",
+                end.textBetween()
+                        .toString()
+        );
+    }
+
+    @Test
+    public void testSaveRestoreWithinMaxBacktrack() {
+        final String text = this.text(BLOCK_SIZE * 3);
+        final EbnfParserCombinatorReaderTextCursor cursor = EbnfParserCombinatorReaderTextCursor.with(
+                new StringReader(text),
+                BLOCK_SIZE * 2
+        );
+
+        final TextCursorSavePoint save = cursor.save();
+        this.skip(
+                cursor,
+                BLOCK_SIZE * 2
+        );
+        this.checkEquals(
+                text.substring(0, BLOCK_SIZE * 2),
+                save.textBetween()
+                        .toString()
+        );
+
+        save.restore();
+        this.readAndCheck(
+                cursor,
+                text
+        );
+    }
+
+    @Test
+    public void testRestoreReleasedFails() {
+        final EbnfParserCombinatorReaderTextCursor cursor = EbnfParserCombinatorReaderTextCursor.with(
+                new StringReader(this.text(BLOCK_SIZE * 3)),
+                10
+        );
+
+        final TextCursorSavePoint save = cursor.save();
+        this.skip(
+                cursor,
+                BLOCK_SIZE * 2
+        );
+
+        final EbnfParserCombinatorException thrown = assertThrows(
+                EbnfParserCombinatorException.class,
+                save::restore
+        );
+        this.checkEquals(
+                "Text at 0 was released, only text after " + (BLOCK_SIZE * 2 - 20) + " is available, max backtrack 10",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testCutReleases() {
+        final EbnfParserCombinatorReaderTextCursor cursor = EbnfParserCombinatorReaderTextCursor.with(
+                new StringReader(this.text(BLOCK_SIZE * 3)),
+                Integer.MAX_VALUE
+        );
+
+        final TextCursorSavePoint save = cursor.save();
+        this.skip(
+                cursor,
+                BLOCK_SIZE - 1
+        );
+        cursor.cut();
+        cursor.next();
+        cursor.next();
+
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                save::restore
+        );
+    }
+
+    @Test
+    public void testLineInfo() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor("ab\ncd\r\nef\rgh");
+        this.skip(
+                cursor,
+                4
+        );
+        this.lineInfoAndCheck(
+                cursor,
+                "cd",
+                2,
+                2,
+                4
+        );
+
+        this.skip(
+                cursor,
+                4
+        );
+        this.lineInfoAndCheck(
+                cursor,
+                "ef",
+                3,
+                2,
+                8
+        );
+
+        this.skip(
+                cursor,
+                3
+        );
+        this.lineInfoAndCheck(
+                cursor,
+                "gh",
+                4,
+                2,
+                11
+        );
+    }
+
+    @Test
+    public void testLineInfoAfterRestore() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor("ab\ncd\nef");
+        cursor.next();
+        final TextCursorSavePoint save = cursor.save();
+
+        this.skip(
+                cursor,
+                5
+        );
+        save.restore();
+
+        this.lineInfoAndCheck(
+                cursor,
+                "ab",
+                1,
+                2,
+                1
+        );
+    }
+
+    @Test
+    public void testLineInfoTextOffsetTooLargeFails() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor("abc");
+        cursor.position = Integer.MAX_VALUE + 1L;
+        cursor.lineStart = cursor.position;
+
+        final TextCursorLineInfo lineInfo = cursor.lineInfo();
+        this.checkEquals(1, lineInfo.column(), "column");
+
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                lineInfo::textOffset
+        );
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                cursor::offset
+        );
+    }
+
+    @Test
+    public void testParseRecordsBoundedBuffer() {
+        final EbnfIdentifierName record = EbnfIdentifierName.with("RECORD");
+        final Parser<FakeParserContext> parser = EbnfParserToken.parse("RECORD=\"a\", {\"b\"}, \";\";")
+                .combinator(
+                        (n) -> Optional.empty(),
+                        EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+                ).apply(record)
+                .get();
+
+        final int count = 20000;
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append('a');
+            for (int j = 0; j < i % 10; j++) {
+                text.append('b');
+            }
+            text.append(';');
+        }
+
+        final int maxBacktrack = 16;
+        final EbnfParserCombinatorReaderTextCursor cursor = EbnfParserCombinatorReaderTextCursor.with(
+                new StringReader(text.toString()),
+                maxBacktrack
+        );
+        final FakeParserContext context = new FakeParserContext();
+
+        final StringBuilder parsed = new StringBuilder();
+        int records = 0;
+        while (false == cursor.isEmpty()) {
+            final ParserToken token = parser.parse(
+                    cursor,
+                    context
+            ).get();
+            parsed.append(token.text());
+            records++;
+            cursor.cut();
+        }
+
+        this.checkEquals(count, records, "records");
+        this.checkEquals(text.toString(), parsed.toString(), "text");
+        this.checkEquals(
+                true,
+                cursor.capacity() <= maxBacktrack + BLOCK_SIZE,
+                () -> "capacity " + cursor.capacity()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor("abc");
+        cursor.next();
+
+        this.toStringAndCheck(
+                cursor,
+                "0..3 @1"
+        );
+    }
+
+    private EbnfParserCombinatorReaderTextCursor createCursor(final String text) {
+        return EbnfParserCombinatorReaderTextCursor.with(
+                new StringReader(text),
+                Integer.MAX_VALUE
+        );
+    }
+
+    private String text(final int length) {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            b.append((char) ('a' + i % 26));
+        }
+        return b.toString();
+    }
+
+    private Reader singleCharacterReader(final String text) {
+        final StringReader reader = new StringReader(text);
+
+        return new Reader() {
+            @Override
+            public int read(final char[] buffer,
+                            final int offset,
+                            final int length) {
+                return reader.read(
+                        buffer,
+                        offset,
+                        Math.min(1, length)
+                );
+            }
+
+            @Override
+            public void close() {
+                // nop
+            }
+        };
+    }
+
+    private void skip(final EbnfParserCombinatorReaderTextCursor cursor,
+                      final int count) {
+        for (int i = 0; i < count; i++) {
+            cursor.next();
+        }
+    }
+
+    private void readAndCheck(final EbnfParserCombinatorReaderTextCursor cursor,
+                              final String expected) {
+        final StringBuilder b = new StringBuilder();
+        while (false == cursor.isEmpty()) {
+            b.append(cursor.at());
+            cursor.next();
+        }
+
+        this.checkEquals(
+                expected,
+                b.toString()
+        );
+    }
+
+    private void lineInfoAndCheck(final EbnfParserCombinatorReaderTextCursor cursor,
+                                  final String text,
+                                  final int lineNumber,
+                                  final int column,
+                                  final int textOffset) {
+        final TextCursorLineInfo lineInfo = cursor.lineInfo();
+
+        this.checkEquals(text, lineInfo.text().toString(), "text");
+        this.checkEquals(lineNumber, lineInfo.lineNumber(), "lineNumber");
+        this.checkEquals(column, lineInfo.column(), "column");
+        this.checkEquals(textOffset, lineInfo.textOffset(), "textOffset");
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorReaderTextCursor> type() {
+        return EbnfParserCombinatorReaderTextCursor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
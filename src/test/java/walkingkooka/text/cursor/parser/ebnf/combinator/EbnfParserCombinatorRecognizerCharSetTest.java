@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class EbnfParserCombinatorRecognizerCharSetTest implements ClassTesting2<EbnfParserCombinatorRecognizerCharSet> {
+
+    @Test
+    public void testMatch() {
+        this.matchLengthAndCheck(
+                EbnfParserCombinatorRecognizerCharSet.with(
+                        EbnfParserCombinatorCharSet.range('a', 'z')
+                ),
+                "mn",
+                1
+        );
+    }
+
+    @Test
+    public void testMatchFails() {
+        this.matchLengthAndCheck(
+                EbnfParserCombinatorRecognizerCharSet.with(
+                        EbnfParserCombinatorCharSet.range('a', 'z')
+                ),
+                "M",
+                -1
+        );
+    }
+
+    @Test
+    public void testMatchEmptyText() {
+        this.matchLengthAndCheck(
+                EbnfParserCombinatorRecognizerCharSet.with(
+                        EbnfParserCombinatorCharSet.range('a', 'z')
+                ),
+                "",
+                -1
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                EbnfParserCombinatorRecognizerCharSet.with(
+                        EbnfParserCombinatorCharSet.range('a', 'z')
+                ),
+                "\"a\"..\"z\""
+        );
+    }
+
+    private void matchLengthAndCheck(final EbnfParserCombinatorRecognizer recognizer,
+                                     final String text,
+                                     final int expected) {
+        this.checkEquals(
+                expected,
+                recognizer.matchLength(
+                        text,
+                        0
+                ),
+                () -> recognizer + " matchLength " + text
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRecognizerCharSet> type() {
+        return EbnfParserCombinatorRecognizerCharSet.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
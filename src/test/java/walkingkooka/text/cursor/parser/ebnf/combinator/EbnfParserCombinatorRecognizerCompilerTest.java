@@ -0,0 +1,513 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorRecognizerCompilerTest implements ClassTesting2<EbnfParserCombinatorRecognizerCompiler> {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    @Test
+    public void testCompileNullGrammarFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRecognizerCompiler.compile(
+                        null,
+                        (n) -> Optional.empty()
+                )
+        );
+    }
+
+    @Test
+    public void testCompileNullIdentifierToRecognizerFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRecognizerCompiler.compile(
+                        EbnfParserToken.parse("TEST=\"a\";"),
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testCompileMissingIdentifierFails() {
+        final EbnfParserCombinatorException thrown = assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> EbnfParserCombinatorRecognizerCompiler.compile(
+                        EbnfParserToken.parse("TEST=UNKNOWN;"),
+                        (n) -> Optional.empty()
+                )
+        );
+        this.checkEquals(
+                "Missing recognizer for UNKNOWN",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testUnknownRule() {
+        this.checkEquals(
+                Optional.empty(),
+                EbnfParserCombinatorRecognizerCompiler.compile(
+                        EbnfParserToken.parse("TEST=\"a\";"),
+                        (n) -> Optional.empty()
+                ).apply(EbnfIdentifierName.with("UNKNOWN"))
+        );
+    }
+
+    @Test
+    public void testTerminal() {
+        this.matchLengthAndCheck(
+                "TEST=\"abc\";",
+                "abc"
+        );
+    }
+
+    @Test
+    public void testTerminalFails() {
+        this.matchLengthAndCheck(
+                "TEST=\"abc\";",
+                "abX"
+        );
+    }
+
+    @Test
+    public void testTerminalTextAfter() {
+        this.matchLengthAndCheck(
+                "TEST=\"abc\";",
+                "abc123"
+        );
+    }
+
+    @Test
+    public void testAlternativesOrderedChoice() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\" | \"ab\";",
+                "ab"
+        );
+    }
+
+    @Test
+    public void testAlternativesSecond() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\" | \"bc\";",
+                "bc"
+        );
+    }
+
+    @Test
+    public void testConcatenation() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\", \"b\", \"c\";",
+                "abc"
+        );
+    }
+
+    @Test
+    public void testConcatenationOptionalSkipped() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\", [\"b\"], \"c\";",
+                "ac"
+        );
+    }
+
+    @Test
+    public void testConcatenationRepeated() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\", {\"b\"}, \"c\";",
+                "abbbc"
+        );
+    }
+
+    @Test
+    public void testConcatenationRepeatedSkipped() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\", {\"b\"}, \"c\";",
+                "ac"
+        );
+    }
+
+    @Test
+    public void testConcatenationOptionalRuleSkipped() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\", B, \"c\";\nB=[\"b\"];",
+                "ac"
+        );
+    }
+
+    @Test
+    public void testConcatenationFails() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\", \"b\", \"c\";",
+                "abX"
+        );
+    }
+
+    @Test
+    public void testRangeCharacter() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\"..\"z\";",
+                "m1"
+        );
+    }
+
+    @Test
+    public void testRangeString() {
+        this.matchLengthAndCheck(
+                "TEST=\"aa\"..\"zz\";",
+                "mm1"
+        );
+    }
+
+    @Test
+    public void testRangeIdentifiers() {
+        this.matchLengthAndCheck(
+                "TEST=FROM..TO;\nFROM=\"a\";\nTO=\"z\";",
+                "q"
+        );
+    }
+
+    @Test
+    public void testRepeatedRange() {
+        this.matchLengthAndCheck(
+                "TEST={\"a\"..\"z\"};",
+                "hello world"
+        );
+    }
+
+    @Test
+    public void testException() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\"..\"z\" - \"q\";",
+                "m"
+        );
+    }
+
+    @Test
+    public void testExceptionFails() {
+        this.matchLengthAndCheck(
+                "TEST=\"a\"..\"z\" - \"q\";",
+                "q"
+        );
+    }
+
+    @Test
+    public void testExceptionRule() {
+        this.matchLengthAndCheck(
+                "TEST={\"a\"..\"z\"} - KEYWORD;\nKEYWORD=\"if\" | \"else\";",
+                "else"
+        );
+    }
+
+    @Test
+    public void testRecursion() {
+        this.matchLengthAndCheck(
+                "TEST=\"(\", [TEST], \")\";",
+                "((()))"
+        );
+    }
+
+    @Test
+    public void testRecursionUnbalanced() {
+        this.matchLengthAndCheck(
+                "TEST=\"(\", [TEST], \")\";",
+                "((())"
+        );
+    }
+
+    @Test
+    public void testExternal() {
+        final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers = EbnfParserCombinatorRecognizerCompiler.compile(
+                EbnfParserToken.parse("TEST=\"x\", DIGITS;"),
+                (n) -> Optional.of(
+                        (text, from) -> {
+                            int i = from;
+                            while (i < text.length() && Character.isDigit(text.charAt(i))) {
+                                i++;
+                            }
+                            return i > from ?
+                                    i - from :
+                                    -1;
+                        }
+                )
+        );
+
+        final EbnfParserCombinatorRecognizer recognizer = recognizers.apply(TEST)
+                .get();
+        this.checkEquals(
+                4,
+                recognizer.matchLength(
+                        "x123!",
+                        0
+                )
+        );
+        this.checkEquals(
+                false,
+                recognizer.test("x")
+        );
+    }
+
+    // events...........................................................................................................
+
+    @Test
+    public void testEventsConcatenation() {
+        this.eventsAndCheck(
+                "TEST=\"a\", B;\nB=\"bc\";",
+                "abc",
+                3,
+                "startRule TEST 0\n" +
+                        "terminal TEST 0 1\n" +
+                        "startRule B 1\n" +
+                        "terminal B 1 3\n" +
+                        "endRule B 3\n" +
+                        "endRule TEST 3\n"
+        );
+    }
+
+    @Test
+    public void testEventsAlternativesBacktracked() {
+        this.eventsAndCheck(
+                "TEST=A | B;\nA=\"x\", \"1\";\nB=\"x\", \"2\";",
+                "x2",
+                2,
+                "startRule TEST 0\n" +
+                        "startRule B 0\n" +
+                        "terminal B 0 1\n" +
+                        "terminal B 1 2\n" +
+                        "endRule B 2\n" +
+                        "endRule TEST 2\n"
+        );
+    }
+
+    @Test
+    public void testEventsOptionalBacktracked() {
+        this.eventsAndCheck(
+                "TEST=[A], \"x\", \"3\";\nA=\"x\", \"1\";",
+                "x3",
+                2,
+                "startRule TEST 0\n" +
+                        "terminal TEST 0 1\n" +
+                        "terminal TEST 1 2\n" +
+                        "endRule TEST 2\n"
+        );
+    }
+
+    @Test
+    public void testEventsFails() {
+        this.eventsAndCheck(
+                "TEST=A, \"!\";\nA=\"a\";",
+                "a?",
+                -1,
+                ""
+        );
+    }
+
+    @Test
+    public void testEventsExceptionRightIgnored() {
+        this.eventsAndCheck(
+                "TEST={\"a\"..\"z\"} - KEYWORD;\nKEYWORD=\"if\";",
+                "ab",
+                2,
+                "startRule TEST 0\n" +
+                        "terminal TEST 0 1\n" +
+                        "terminal TEST 1 2\n" +
+                        "endRule TEST 2\n"
+        );
+    }
+
+    @Test
+    public void testEventsExternal() {
+        final StringBuilder b = new StringBuilder();
+
+        this.checkEquals(
+                3,
+                EbnfParserCombinatorRecognizerCompiler.compile(
+                        EbnfParserToken.parse("TEST=\"x\", DIGITS;"),
+                        (n) -> Optional.of(
+                                (text, from) -> text.length() - from
+                        )
+                ).apply(TEST)
+                        .get()
+                        .matchLength(
+                                "x12",
+                                0,
+                                this.listener(b)
+                        )
+        );
+
+        this.checkEquals(
+                "startRule TEST 0\n" +
+                        "terminal TEST 0 1\n" +
+                        "terminal DIGITS 1 3\n" +
+                        "endRule TEST 3\n",
+                b.toString()
+        );
+    }
+
+    @Test
+    public void testEventsRepeatedFlushedEachItem() {
+        final StringBuilder b = new StringBuilder();
+
+        // VALUE records when it is called, showing the events of earlier items were already given to the listener
+        EbnfParserCombinatorRecognizerCompiler.compile(
+                EbnfParserToken.parse("TEST={ITEM};\nITEM=VALUE, \",\";"),
+                (n) -> Optional.of(
+                        (text, from) -> {
+                            b.append("VALUE " + from + "\n");
+                            return from < text.length() && 'v' == text.charAt(from) ?
+                                    1 :
+                                    -1;
+                        }
+                )
+        ).apply(TEST)
+                .get()
+                .matchLength(
+                        "v,v,",
+                        0,
+                        this.listener(b)
+                );
+
+        this.checkEquals(
+                "VALUE 0\n" +
+                        "startRule TEST 0\n" +
+                        "startRule ITEM 0\n" +
+                        "terminal VALUE 0 1\n" +
+                        "terminal ITEM 1 2\n" +
+                        "endRule ITEM 2\n" +
+                        "VALUE 2\n" +
+                        "startRule ITEM 2\n" +
+                        "terminal VALUE 2 3\n" +
+                        "terminal ITEM 3 4\n" +
+                        "endRule ITEM 4\n" +
+                        "VALUE 4\n" +
+                        "endRule TEST 4\n",
+                b.toString()
+        );
+    }
+
+    private void eventsAndCheck(final String grammar,
+                                final String text,
+                                final int expectedLength,
+                                final String expectedEvents) {
+        final EbnfParserCombinatorRecognizer recognizer = EbnfParserCombinatorRecognizerCompiler.compile(
+                EbnfParserToken.parse(grammar),
+                (n) -> Optional.empty()
+        ).apply(TEST).get();
+
+        final StringBuilder b = new StringBuilder();
+
+        this.checkEquals(
+                expectedLength,
+                recognizer.matchLength(
+                        text,
+                        0,
+                        this.listener(b)
+                ),
+                () -> recognizer + " matchLength " + text
+        );
+        this.checkEquals(
+                expectedEvents,
+                b.toString(),
+                () -> recognizer + " events " + text
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerListener listener(final StringBuilder b) {
+        return new EbnfParserCombinatorRecognizerListener() {
+            @Override
+            public void startRule(final EbnfIdentifierName name,
+                                  final int offset) {
+                b.append("startRule " + name + " " + offset + "\n");
+            }
+
+            @Override
+            public void terminal(final EbnfIdentifierName name,
+                                 final int start,
+                                 final int end) {
+                b.append("terminal " + name + " " + start + " " + end + "\n");
+            }
+
+            @Override
+            public void endRule(final EbnfIdentifierName name,
+                                final int offset) {
+                b.append("endRule " + name + " " + offset + "\n");
+            }
+        };
+    }
+
+    /**
+     * Compiles the grammar into both a recognizer and parsers, checking both match the same number of characters.
+     */
+    private void matchLengthAndCheck(final String grammar,
+                                     final String text) {
+        final GrammarEbnfParserToken grammarToken = EbnfParserToken.parse(grammar);
+
+        final EbnfParserCombinatorRecognizer recognizer = EbnfParserCombinatorRecognizerCompiler.compile(
+                grammarToken,
+                (n) -> Optional.empty()
+        ).apply(TEST).get();
+
+        final Parser<FakeParserContext> parser = grammarToken.combinator(
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+        ).apply(TEST).get();
+
+        final TextCursor cursor = TextCursors.charSequence(text);
+        final int expected = parser.parse(
+                        cursor,
+                        new FakeParserContext()
+                ).map(ParserToken::text)
+                .map(String::length)
+                .orElse(-1);
+
+        this.checkEquals(
+                expected,
+                recognizer.matchLength(
+                        text,
+                        0
+                ),
+                () -> recognizer + " matchLength " + text
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRecognizerCompiler> type() {
+        return EbnfParserCombinatorRecognizerCompiler.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
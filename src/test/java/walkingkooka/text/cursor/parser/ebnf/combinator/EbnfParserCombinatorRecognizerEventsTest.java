@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+public final class EbnfParserCombinatorRecognizerEventsTest implements ClassTesting2<EbnfParserCombinatorRecognizerEvents> {
+
+    private final static EbnfIdentifierName RULE = EbnfIdentifierName.with("RULE");
+
+    private final static EbnfIdentifierName RULE2 = EbnfIdentifierName.with("RULE2");
+
+    @Test
+    public void testTerminalWithoutFramesFlushed() {
+        final StringBuilder b = new StringBuilder();
+        final EbnfParserCombinatorRecognizerEvents events = this.createEvents(b);
+
+        events.terminal(RULE, 0, 1);
+
+        this.checkEquals(0, events.size(), "size");
+        this.checkEquals("terminal RULE 0 1\n", b.toString());
+    }
+
+    @Test
+    public void testUncommittedBuffered() {
+        final StringBuilder b = new StringBuilder();
+        final EbnfParserCombinatorRecognizerEvents events = this.createEvents(b);
+
+        events.enter();
+        events.startRule(RULE, 0);
+        events.terminal(0, 1);
+
+        this.checkEquals(2, events.size(), "size");
+        this.checkEquals("", b.toString());
+    }
+
+    @Test
+    public void testExitFailureRemovesEvents() {
+        final StringBuilder b = new StringBuilder();
+        final EbnfParserCombinatorRecognizerEvents events = this.createEvents(b);
+
+        final int mark = events.enter();
+        events.startRule(RULE, 0);
+        events.terminal(0, 1);
+        events.endRule(RULE, EbnfParserCombinatorRecognizerNode.NO_MATCH);
+        events.exit(mark, EbnfParserCombinatorRecognizerNode.NO_MATCH);
+
+        this.checkEquals(0, events.size(), "size");
+        this.checkEquals("", b.toString());
+    }
+
+    @Test
+    public void testExitSuccessFlushed() {
+        final StringBuilder b = new StringBuilder();
+        final EbnfParserCombinatorRecognizerEvents events = this.createEvents(b);
+
+        final int mark = events.enter();
+        events.startRule(RULE, 0);
+        events.terminal(0, 1);
+        events.endRule(RULE, 1);
+        events.exit(mark, 1);
+
+        this.checkEquals(0, events.size(), "size");
+        this.checkEquals(
+                "startRule RULE 0\n" +
+                        "terminal RULE 0 1\n" +
+                        "endRule RULE 1\n",
+                b.toString()
+        );
+    }
+
+    @Test
+    public void testCommitPropagates() {
+        final StringBuilder b = new StringBuilder();
+        final EbnfParserCombinatorRecognizerEvents events = this.createEvents(b);
+
+        events.enter();
+        events.startRule(RULE, 0);
+        events.propagate(true);
+
+        events.enter();
+        events.startRule(RULE2, 0);
+        events.terminal(0, 1);
+        events.commit();
+
+        this.checkEquals(0, events.size(), "size");
+        this.checkEquals(
+                "startRule RULE 0\n" +
+                        "startRule RULE2 0\n" +
+                        "terminal RULE2 0 1\n",
+                b.toString()
+        );
+    }
+
+    @Test
+    public void testCommitNotPropagated() {
+        final StringBuilder b = new StringBuilder();
+        final EbnfParserCombinatorRecognizerEvents events = this.createEvents(b);
+
+        events.enter();
+        events.startRule(RULE, 0);
+        events.propagate(false);
+
+        events.enter();
+        events.startRule(RULE2, 0);
+        events.terminal(0, 1);
+        events.commit();
+
+        this.checkEquals(3, events.size(), "size");
+        this.checkEquals("", b.toString());
+    }
+
+    @Test
+    public void testManyEvents() {
+        final StringBuilder b = new StringBuilder();
+        final EbnfParserCombinatorRecognizerEvents events = this.createEvents(b);
+
+        final int mark = events.enter();
+        for (int i = 0; i < 100; i++) {
+            events.terminal(RULE, i, i + 1);
+        }
+        this.checkEquals(100, events.size(), "size");
+
+        events.exit(mark, 100);
+        this.checkEquals(0, events.size(), "size");
+    }
+
+    private EbnfParserCombinatorRecognizerEvents createEvents(final StringBuilder b) {
+        return EbnfParserCombinatorRecognizerEvents.with(
+                new EbnfParserCombinatorRecognizerListener() {
+                    @Override
+                    public void startRule(final EbnfIdentifierName name,
+                                          final int offset) {
+                        b.append("startRule " + name + " " + offset + "\n");
+                    }
+
+                    @Override
+                    public void terminal(final EbnfIdentifierName name,
+                                         final int start,
+                                         final int end) {
+                        b.append("terminal " + name + " " + start + " " + end + "\n");
+                    }
+
+                    @Override
+                    public void endRule(final EbnfIdentifierName name,
+                                        final int offset) {
+                        b.append("endRule " + name + " " + offset + "\n");
+                    }
+                }
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRecognizerEvents> type() {
+        return EbnfParserCombinatorRecognizerEvents.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class EbnfParserCombinatorRecognizerExceptionTest implements ClassTesting2<EbnfParserCombinatorRecognizerException> {
+
+    @Test
+    public void testMatch() {
+        this.matchLengthAndCheck(
+                this.createException(),
+                "abc",
+                3
+        );
+    }
+
+    @Test
+    public void testMatchExcluded() {
+        this.matchLengthAndCheck(
+                this.createException(),
+                "abx",
+                -1
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createException(),
+                "{\"a\"..\"z\"} - \"abx\""
+        );
+    }
+
+    private EbnfParserCombinatorRecognizerException createException() {
+        return EbnfParserCombinatorRecognizerException.with(
+                EbnfParserCombinatorRecognizerRepeated.with(
+                        EbnfParserCombinatorRecognizerCharSet.with(
+                                EbnfParserCombinatorCharSet.range('a', 'z')
+                        )
+                ),
+                EbnfParserCombinatorRecognizerTerminal.with("abx")
+        );
+    }
+
+    private void matchLengthAndCheck(final EbnfParserCombinatorRecognizer recognizer,
+                                     final String text,
+                                     final int expected) {
+        this.checkEquals(
+                expected,
+                recognizer.matchLength(
+                        text,
+                        0
+                ),
+                () -> recognizer + " matchLength " + text
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRecognizerException> type() {
+        return EbnfParserCombinatorRecognizerException.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
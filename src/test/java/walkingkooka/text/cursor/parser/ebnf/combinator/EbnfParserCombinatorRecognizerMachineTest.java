@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+public final class EbnfParserCombinatorRecognizerMachineTest implements ClassTesting2<EbnfParserCombinatorRecognizerMachine> {
+
+    @Test
+    public void testRunLeaf() {
+        this.runAndCheck(
+                EbnfParserCombinatorRecognizerTerminal.with("abc"),
+                "abc",
+                3
+        );
+    }
+
+    @Test
+    public void testRunLeafFails() {
+        this.runAndCheck(
+                EbnfParserCombinatorRecognizerTerminal.with("abc"),
+                "xyz",
+                EbnfParserCombinatorRecognizerNode.NO_MATCH
+        );
+    }
+
+    @Test
+    public void testRunGrowsFrames() {
+        // RULE = "(", [RULE], ")";
+        final EbnfParserCombinatorRecognizerRule rule = EbnfParserCombinatorRecognizerRule.with(EbnfIdentifierName.with("RULE"));
+        rule.setAssignment(
+                EbnfParserCombinatorRecognizerConcatenation.with(
+                        new EbnfParserCombinatorRecognizerNode[]{
+                                EbnfParserCombinatorRecognizerTerminal.with("("),
+                                rule,
+                                EbnfParserCombinatorRecognizerTerminal.with(")")
+                        },
+                        new boolean[]{
+                                false,
+                                true,
+                                false
+                        }
+                )
+        );
+
+        this.runAndCheck(
+                rule,
+                "((((((((((((((((((((((((((((((()))))))))))))))))))))))))))))))!",
+                62
+        );
+    }
+
+    private void runAndCheck(final EbnfParserCombinatorRecognizerNode node,
+                             final String text,
+                             final int expected) {
+        this.checkEquals(
+                expected,
+                EbnfParserCombinatorRecognizerMachine.with(
+                        text,
+                        null,
+                        100
+                ).run(
+                        node,
+                        0
+                ),
+                () -> node + " run " + text
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRecognizerMachine> type() {
+        return EbnfParserCombinatorRecognizerMachine.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
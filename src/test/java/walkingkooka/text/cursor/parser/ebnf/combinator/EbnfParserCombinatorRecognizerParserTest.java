@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserTesting2;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorRecognizerParserTest implements ParserTesting2<EbnfParserCombinatorRecognizerParser<FakeParserContext>, FakeParserContext>,
+        ClassTesting2<EbnfParserCombinatorRecognizerParser<FakeParserContext>> {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    @Test
+    public void testWithNullRecognizerFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRecognizerParser.with(
+                        null,
+                        REPLACED
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullParserFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRecognizerParser.with(
+                        this.recognizer(),
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testParse() {
+        this.parseAndCheck(
+                "a123!",
+                ParserTokens.string("a123", "a123"),
+                "a123",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseFails() {
+        this.parseFailAndCheck("123");
+    }
+
+    @Test
+    public void testParseEmptyFails() {
+        this.parseFailAndCheck("");
+    }
+
+    @Test
+    public void testParseRecognizerNotCompiled() {
+        this.parseAndCheck(
+                EbnfParserCombinatorRecognizerParser.with(
+                        (text, from) -> text.length() - from > 1 ?
+                                2 :
+                                -1,
+                        REPLACED
+                ),
+                "xyz",
+                ParserTokens.string("xy", "xy"),
+                "xy",
+                "z"
+        );
+    }
+
+    @Test
+    public void testMinCountMaxCount() {
+        final Parser<FakeParserContext> repeating = REPLACED.repeating();
+        final EbnfParserCombinatorRecognizerParser<FakeParserContext> parser = EbnfParserCombinatorRecognizerParser.with(
+                this.recognizer(),
+                repeating
+        );
+
+        this.checkEquals(repeating.minCount(), parser.minCount(), "minCount");
+        this.checkEquals(repeating.maxCount(), parser.maxCount(), "maxCount");
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createParser(),
+                "TEST"
+        );
+    }
+
+    private final static Parser<FakeParserContext> REPLACED = Parsers.string(
+            "replaced",
+            CaseSensitivity.SENSITIVE
+    );
+
+    // TEST="a", {"0".."9"};
+    private EbnfParserCombinatorRecognizer recognizer() {
+        return EbnfParserCombinatorRecognizerCompiler.compile(
+                EbnfParserToken.parse("TEST=\"a\", {\"0\"..\"9\"};"),
+                (n) -> Optional.empty()
+        ).apply(TEST).get();
+    }
+
+    @Override
+    public EbnfParserCombinatorRecognizerParser<FakeParserContext> createParser() {
+        return EbnfParserCombinatorRecognizerParser.with(
+                this.recognizer(),
+                REPLACED
+        );
+    }
+
+    @Override
+    public FakeParserContext createContext() {
+        return new FakeParserContext();
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRecognizerParser<FakeParserContext>> type() {
+        return Cast.to(EbnfParserCombinatorRecognizerParser.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class EbnfParserCombinatorRecognizerRuleTest implements ClassTesting2<EbnfParserCombinatorRecognizerRule> {
+
+    @Test
+    public void testMatch() {
+        this.matchLengthAndCheck(
+                this.createRule(),
+                "abc",
+                3
+        );
+    }
+
+    @Test
+    public void testMatchRecursive() {
+        // RULE = "(", [RULE], ")";
+        final EbnfParserCombinatorRecognizerRule rule = EbnfParserCombinatorRecognizerRule.with(NAME);
+        rule.setAssignment(
+                EbnfParserCombinatorRecognizerConcatenation.with(
+                        new EbnfParserCombinatorRecognizerNode[]{
+                                EbnfParserCombinatorRecognizerTerminal.with("("),
+                                rule,
+                                EbnfParserCombinatorRecognizerTerminal.with(")")
+                        },
+                        new boolean[]{
+                                false,
+                                true,
+                                false
+                        }
+                )
+        );
+
+        this.matchLengthAndCheck(
+                rule,
+                "((()))!",
+                6
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createRule(),
+                "RULE"
+        );
+    }
+
+    private final static EbnfIdentifierName NAME = EbnfIdentifierName.with("RULE");
+
+    private EbnfParserCombinatorRecognizerRule createRule() {
+        final EbnfParserCombinatorRecognizerRule rule = EbnfParserCombinatorRecognizerRule.with(NAME);
+        rule.setAssignment(
+                EbnfParserCombinatorRecognizerTerminal.with("abc")
+        );
+        return rule;
+    }
+
+    private void matchLengthAndCheck(final EbnfParserCombinatorRecognizer recognizer,
+                                     final String text,
+                                     final int expected) {
+        this.checkEquals(
+                expected,
+                recognizer.matchLength(
+                        text,
+                        0
+                ),
+                () -> recognizer + " matchLength " + text
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRecognizerRule> type() {
+        return EbnfParserCombinatorRecognizerRule.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
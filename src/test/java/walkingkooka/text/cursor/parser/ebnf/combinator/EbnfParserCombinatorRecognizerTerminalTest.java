@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorRecognizerTerminalTest implements ClassTesting2<EbnfParserCombinatorRecognizerTerminal> {
+
+    @Test
+    public void testMatch() {
+        this.matchLengthAndCheck(
+                EbnfParserCombinatorRecognizerTerminal.with("abc"),
+                "abcd",
+                3
+        );
+    }
+
+    @Test
+    public void testMatchFails() {
+        this.matchLengthAndCheck(
+                EbnfParserCombinatorRecognizerTerminal.with("abc"),
+                "abX",
+                -1
+        );
+    }
+
+    @Test
+    public void testMatchTextTooShort() {
+        this.matchLengthAndCheck(
+                EbnfParserCombinatorRecognizerTerminal.with("abc"),
+                "ab",
+                -1
+        );
+    }
+
+    @Test
+    public void testMatchFrom() {
+        this.checkEquals(
+                3,
+                EbnfParserCombinatorRecognizerTerminal.with("abc")
+                        .matchLength(
+                                "123abc",
+                                3
+                        )
+        );
+    }
+
+    @Test
+    public void testMatchLengthInvalidFromFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorRecognizerTerminal.with("abc")
+                        .matchLength(
+                                "abc",
+                                4
+                        )
+        );
+    }
+
+    @Test
+    public void testTest() {
+        this.checkEquals(
+                true,
+                EbnfParserCombinatorRecognizerTerminal.with("abc")
+                        .test("abc")
+        );
+    }
+
+    @Test
+    public void testTestTextAfterFalse() {
+        this.checkEquals(
+                false,
+                EbnfParserCombinatorRecognizerTerminal.with("abc")
+                        .test("abcd")
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                EbnfParserCombinatorRecognizerTerminal.with("abc"),
+                "\"abc\""
+        );
+    }
+
+    private void matchLengthAndCheck(final EbnfParserCombinatorRecognizer recognizer,
+                                     final String text,
+                                     final int expected) {
+        this.checkEquals(
+                expected,
+                recognizer.matchLength(
+                        text,
+                        0
+                ),
+                () -> recognizer + " matchLength " + text
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRecognizerTerminal> type() {
+        return EbnfParserCombinatorRecognizerTerminal.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserTesting2;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorRepeatedCharSetParserTest implements ParserTesting2<EbnfParserCombinatorRepeatedCharSetParser<FakeParserContext>, FakeParserContext>,
+        ClassTesting2<EbnfParserCombinatorRepeatedCharSetParser<FakeParserContext>> {
+
+    @Test
+    public void testWithNullCharSetFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRepeatedCharSetParser.with(
+                        null,
+                        EQUIVALENT
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullEquivalentFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRepeatedCharSetParser.with(
+                        EbnfParserCombinatorCharSet.EMPTY,
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testParseOne() {
+        this.parseAndCheck2(
+                "a",
+                "a"
+        );
+    }
+
+    @Test
+    public void testParseMany() {
+        this.parseAndCheck2(
+                "abc!",
+                "abc"
+        );
+    }
+
+    @Test
+    public void testParseNonAscii() {
+        this.parseAndCheck2(
+                "a\u00e9b!",
+                "a\u00e9b"
+        );
+    }
+
+    @Test
+    public void testParseNoneFails() {
+        this.parseFailAndCheck("!");
+    }
+
+    @Test
+    public void testParseEmptyFails() {
+        this.parseFailAndCheck("");
+    }
+
+    private void parseAndCheck2(final String text,
+                                final String consumed) {
+        final List<ParserToken> tokens = Lists.array();
+        for (final char c : consumed.toCharArray()) {
+            final String s = String.valueOf(c);
+            tokens.add(
+                    ParserTokens.string(s, s)
+            );
+        }
+
+        this.parseAndCheck(
+                text,
+                ParserTokens.repeated(
+                        tokens,
+                        consumed
+                ),
+                consumed,
+                text.substring(consumed.length())
+        );
+    }
+
+    // string...........................................................................................................
+
+    @Test
+    public void testStringSame() {
+        final EbnfParserCombinatorRepeatedCharSetParser<FakeParserContext> string = this.createParser()
+                .string();
+        assertSame(
+                string,
+                string.string()
+        );
+    }
+
+    @Test
+    public void testStringParse() {
+        this.parseAndCheck(
+                this.createParser()
+                        .string(),
+                "abc!",
+                ParserTokens.string("abc", "abc"),
+                "abc",
+                "!"
+        );
+    }
+
+    @Test
+    public void testStringParseNoneFails() {
+        this.parseFailAndCheck(
+                this.createParser()
+                        .string(),
+                "!"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createParser(),
+                EQUIVALENT.toString()
+        );
+    }
+
+    private final static Parser<FakeParserContext> EQUIVALENT = Parsers.<FakeParserContext>string(
+            "equivalent",
+            CaseSensitivity.SENSITIVE
+    ).repeating();
+
+    @Override
+    public EbnfParserCombinatorRepeatedCharSetParser<FakeParserContext> createParser() {
+        return EbnfParserCombinatorRepeatedCharSetParser.with(
+                EbnfParserCombinatorCharSet.range('a', 'z')
+                        .union(EbnfParserCombinatorCharSet.range('\u00c0', '\u00ff')),
+                EQUIVALENT
+        );
+    }
+
+    @Override
+    public FakeParserContext createContext() {
+        return new FakeParserContext();
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRepeatedCharSetParser<FakeParserContext>> type() {
+        return Cast.to(EbnfParserCombinatorRepeatedCharSetParser.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
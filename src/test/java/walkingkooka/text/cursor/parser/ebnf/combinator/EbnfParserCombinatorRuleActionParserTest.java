@@ -0,0 +1,268 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserTesting2;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorRuleActionParserTest implements ParserTesting2<EbnfParserCombinatorRuleActionParser<FakeParserContext>, FakeParserContext>,
+        ClassTesting2<EbnfParserCombinatorRuleActionParser<FakeParserContext>> {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    private final static Parser<FakeParserContext> A = Parsers.string("a", CaseSensitivity.SENSITIVE);
+
+    private final static Parser<FakeParserContext> B = Parsers.string("b", CaseSensitivity.SENSITIVE);
+
+    private final static Parser<FakeParserContext> C = Parsers.string("c", CaseSensitivity.SENSITIVE);
+
+    private final static Parser<FakeParserContext> EQUIVALENT = A.and(B.optional())
+            .and(C);
+
+    /**
+     * Joins the text of each child with a slash, followed by the text of the entire rule.
+     */
+    private final static EbnfParserCombinatorRuleAction<FakeParserContext> ACTION = (children, text, context) -> {
+        final StringBuilder b = new StringBuilder();
+        String separator = "";
+        for (final ParserToken child : children) {
+            b.append(separator);
+            b.append(child.text());
+            separator = "/";
+        }
+        b.append('=');
+        b.append(text);
+
+        final String value = b.toString();
+        return ParserTokens.string(
+                value,
+                text
+        );
+    };
+
+    @Test
+    public void testWithNullRuleFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRuleActionParser.with(
+                        null,
+                        this.children(),
+                        ACTION,
+                        EQUIVALENT
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullChildrenFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRuleActionParser.with(
+                        TEST,
+                        null,
+                        ACTION,
+                        EQUIVALENT
+                )
+        );
+    }
+
+    @Test
+    public void testWithEmptyChildrenFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorRuleActionParser.with(
+                        TEST,
+                        Lists.empty(),
+                        ACTION,
+                        EQUIVALENT
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullActionFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRuleActionParser.with(
+                        TEST,
+                        this.children(),
+                        null,
+                        EQUIVALENT
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullEquivalentFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorRuleActionParser.with(
+                        TEST,
+                        this.children(),
+                        ACTION,
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testParse() {
+        this.parseAndCheck(
+                "abc!",
+                ParserTokens.string("a/b/c=abc", "abc"),
+                "abc",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseOptionalMissing() {
+        this.parseAndCheck(
+                "ac!",
+                ParserTokens.string("a/c=ac", "ac"),
+                "ac",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseOptionalMinCountZero() {
+        this.parseAndCheck(
+                EbnfParserCombinatorRuleActionParser.with(
+                        TEST,
+                        Lists.of(
+                                A,
+                                B.repeating()
+                                        .optional(),
+                                C
+                        ),
+                        ACTION,
+                        EQUIVALENT
+                ),
+                "ac!",
+                ParserTokens.string("a/c=ac", "ac"),
+                "ac",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseRequiredMissingFails() {
+        this.parseFailAndCheck("ab!");
+    }
+
+    @Test
+    public void testParseFirstMissingFails() {
+        this.parseFailAndCheck("bc");
+    }
+
+    @Test
+    public void testParseActionReturnsNullFails() {
+        final EbnfParserCombinatorException thrown = assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> EbnfParserCombinatorRuleActionParser.with(
+                        TEST,
+                        this.children(),
+                        (children, text, context) -> null,
+                        EQUIVALENT
+                ).parse(
+                        TextCursors.charSequence("abc"),
+                        this.createContext()
+                )
+        );
+        this.checkEquals(
+                "Action for TEST returned null",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testMinCountMaxCount() {
+        final Parser<FakeParserContext> repeating = EQUIVALENT.repeating();
+        final EbnfParserCombinatorRuleActionParser<FakeParserContext> parser = EbnfParserCombinatorRuleActionParser.with(
+                TEST,
+                this.children(),
+                ACTION,
+                repeating
+        );
+
+        this.checkEquals(repeating.minCount(), parser.minCount(), "minCount");
+        this.checkEquals(repeating.maxCount(), parser.maxCount(), "maxCount");
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createParser(),
+                EQUIVALENT.toString()
+        );
+    }
+
+    private List<Parser<FakeParserContext>> children() {
+        return Lists.of(
+                A,
+                EbnfParserCombinatorOptionalParser.with(
+                        B,
+                        EbnfParserToken.parse("TEST=[\"b\"];")
+                ),
+                C
+        );
+    }
+
+    @Override
+    public EbnfParserCombinatorRuleActionParser<FakeParserContext> createParser() {
+        return EbnfParserCombinatorRuleActionParser.with(
+                TEST,
+                this.children(),
+                ACTION,
+                EQUIVALENT
+        );
+    }
+
+    @Override
+    public FakeParserContext createContext() {
+        return new FakeParserContext();
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorRuleActionParser<FakeParserContext>> type() {
+        return Cast.to(EbnfParserCombinatorRuleActionParser.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.benchmark.EbnfBenchmarkGrammars;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorSentenceGeneratorTest implements ClassTesting2<EbnfParserCombinatorSentenceGenerator> {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    private final static String NESTED = "TEST=\"(\", [TEST], \")\";";
+
+    private final static double BIAS = 0.5;
+
+    private final static int MAX_DEPTH = 10;
+
+    private final static int COUNT = 100;
+
+    @Test
+    public void testWithNullGrammarFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorSentenceGenerator.with(
+                        null,
+                        new Random(),
+                        BIAS,
+                        MAX_DEPTH
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullRandomFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorSentenceGenerator.with(
+                        EbnfParserToken.parse(NESTED),
+                        null,
+                        BIAS,
+                        MAX_DEPTH
+                )
+        );
+    }
+
+    @Test
+    public void testWithNegativeBiasFails() {
+        this.withInvalidFails(
+                -0.1,
+                MAX_DEPTH
+        );
+    }
+
+    @Test
+    public void testWithBiasOneFails() {
+        this.withInvalidFails(
+                1,
+                MAX_DEPTH
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxDepthFails() {
+        this.withInvalidFails(
+                BIAS,
+                0
+        );
+    }
+
+    private void withInvalidFails(final double bias,
+                                  final int maxDepth) {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorSentenceGenerator.with(
+                        EbnfParserToken.parse(NESTED),
+                        new Random(),
+                        bias,
+                        maxDepth
+                )
+        );
+    }
+
+    @Test
+    public void testWithMissingRuleFails() {
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> this.createGenerator("TEST=EXTERNAL;")
+        );
+    }
+
+    @Test
+    public void testGenerateUnknownRuleFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.createGenerator(NESTED)
+                        .generate(EbnfIdentifierName.with("UNKNOWN"))
+        );
+    }
+
+    @Test
+    public void testGenerateNeverEndsFails() {
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> this.createGenerator("TEST=\"a\", TEST;")
+                        .generate(TEST)
+        );
+    }
+
+    @Test
+    public void testGenerateNullAppendableFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createGenerator(NESTED)
+                        .generate(
+                                TEST,
+                                null
+                        )
+        );
+    }
+
+    @Test
+    public void testGenerateTerminal() {
+        this.generateAndCheck(
+                "TEST=\"abc\";",
+                "abc"
+        );
+    }
+
+    @Test
+    public void testGenerateConcatenation() {
+        this.generateAndCheck(
+                "TEST=\"a\", B, \"c\";" +
+                        "B=\"b\";",
+                "abc"
+        );
+    }
+
+    @Test
+    public void testGenerateZeroBiasSkipsOptionalAndRepeated() {
+        this.generateAndCheck(
+                "TEST=\"a\", {\"b\"}, [\"c\"];",
+                0,
+                MAX_DEPTH,
+                "a"
+        );
+    }
+
+    @Test
+    public void testGenerateMaxDepthChoosesShortest() {
+        this.generateAndCheck(
+                "TEST=(\"(\", TEST, \")\") | \"x\";",
+                0,
+                1,
+                "x"
+        );
+    }
+
+    @Test
+    public void testGenerateAvoidsAlternativesThatNeverEnd() {
+        this.generateAndCheck(
+                "TEST=(\"a\", LOOP) | \"b\";" +
+                        "LOOP=\"c\", LOOP;",
+                "b"
+        );
+    }
+
+    @Test
+    public void testGenerateNestedLimitedByMaxDepth() {
+        final int maxDepth = 5;
+        final EbnfParserCombinatorSentenceGenerator generator = EbnfParserCombinatorSentenceGenerator.with(
+                EbnfParserToken.parse(NESTED),
+                new Random(1),
+                0.99,
+                maxDepth
+        );
+
+        for (int i = 0; i < COUNT; i++) {
+            final String sentence = generator.generate(TEST);
+            this.checkEquals(
+                    true,
+                    sentence.length() <= maxDepth * 2,
+                    () -> sentence
+            );
+        }
+    }
+
+    @Test
+    public void testGenerateNested() {
+        this.generateAndMatch(NESTED);
+    }
+
+    @Test
+    public void testGenerateRanges() {
+        this.generateAndMatch(
+                "TEST=LETTER, {LETTER | DIGIT};" +
+                        "LETTER='a'..'z' | 'A'..'Z';" +
+                        "DIGIT='0'..'9';"
+        );
+    }
+
+    @Test
+    public void testGenerateStringRange() {
+        this.generateAndMatch("TEST=\"aa\"..\"zz\";");
+    }
+
+    @Test
+    public void testGenerateCharacterException() {
+        final EbnfParserCombinatorSentenceGenerator generator = this.createGenerator("TEST={'a'..'z' - \"q\"};");
+
+        for (int i = 0; i < COUNT; i++) {
+            final String sentence = generator.generate(TEST);
+            this.checkEquals(
+                    -1,
+                    sentence.indexOf('q'),
+                    () -> sentence
+            );
+        }
+    }
+
+    @Test
+    public void testGenerateException() {
+        this.generateAndMatch(
+                "TEST=WORD - \"if\";" +
+                        "WORD=('a'..'z' | \"if\"), {'a'..'z'};"
+        );
+    }
+
+    @Test
+    public void testGenerateSameSeed() {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse(EbnfBenchmarkGrammars.JSON);
+
+        this.checkEquals(
+                EbnfParserCombinatorSentenceGenerator.with(
+                        grammar,
+                        new Random(123),
+                        BIAS,
+                        MAX_DEPTH
+                ).generate(EbnfBenchmarkGrammars.JSON_RULE),
+                EbnfParserCombinatorSentenceGenerator.with(
+                        grammar,
+                        new Random(123),
+                        BIAS,
+                        MAX_DEPTH
+                ).generate(EbnfBenchmarkGrammars.JSON_RULE)
+        );
+    }
+
+    @Test
+    public void testGenerateAppendable() throws IOException {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse(EbnfBenchmarkGrammars.JSON);
+        final StringBuilder b = new StringBuilder();
+
+        EbnfParserCombinatorSentenceGenerator.with(
+                grammar,
+                new Random(123),
+                BIAS,
+                MAX_DEPTH
+        ).generate(
+                EbnfBenchmarkGrammars.JSON_RULE,
+                b
+        );
+
+        this.checkEquals(
+                EbnfParserCombinatorSentenceGenerator.with(
+                        grammar,
+                        new Random(123),
+                        BIAS,
+                        MAX_DEPTH
+                ).generate(EbnfBenchmarkGrammars.JSON_RULE),
+                b.toString()
+        );
+    }
+
+    @Test
+    public void testGenerateJsonParsed() {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse(EbnfBenchmarkGrammars.JSON);
+        final Parser<FakeParserContext> parser = grammar.combinator(
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+        ).apply(EbnfBenchmarkGrammars.JSON_RULE)
+                .get();
+        final EbnfParserCombinatorSentenceGenerator generator = EbnfParserCombinatorSentenceGenerator.with(
+                grammar,
+                new Random(1),
+                BIAS,
+                MAX_DEPTH
+        );
+
+        for (int i = 0; i < COUNT; i++) {
+            final String json = generator.generate(EbnfBenchmarkGrammars.JSON_RULE);
+
+            this.checkEquals(
+                    json,
+                    parser.parse(
+                            TextCursors.charSequence(json),
+                            new FakeParserContext()
+                    ).map(ParserToken::text)
+                            .orElse(null),
+                    () -> "parse " + json
+            );
+        }
+    }
+
+    private void generateAndCheck(final String grammar,
+                                  final String expected) {
+        this.generateAndCheck(
+                grammar,
+                BIAS,
+                MAX_DEPTH,
+                expected
+        );
+    }
+
+    private void generateAndCheck(final String grammar,
+                                  final double bias,
+                                  final int maxDepth,
+                                  final String expected) {
+        final EbnfParserCombinatorSentenceGenerator generator = EbnfParserCombinatorSentenceGenerator.with(
+                EbnfParserToken.parse(grammar),
+                new Random(1),
+                bias,
+                maxDepth
+        );
+
+        for (int i = 0; i < COUNT; i++) {
+            this.checkEquals(
+                    expected,
+                    generator.generate(TEST),
+                    grammar
+            );
+        }
+    }
+
+    /**
+     * Generates many sentences, checking each is matched by a recognizer of the same grammar.
+     */
+    private void generateAndMatch(final String grammar) {
+        final GrammarEbnfParserToken token = EbnfParserToken.parse(grammar);
+        final EbnfParserCombinatorRecognizer recognizer = EbnfParserCombinators.recognizers(
+                token,
+                (n) -> Optional.empty()
+        ).apply(TEST)
+                .get();
+        final EbnfParserCombinatorSentenceGenerator generator = EbnfParserCombinatorSentenceGenerator.with(
+                token,
+                new Random(1),
+                BIAS,
+                MAX_DEPTH
+        );
+
+        for (int i = 0; i < COUNT; i++) {
+            final String sentence = generator.generate(TEST);
+            this.checkEquals(
+                    true,
+                    recognizer.test(sentence),
+                    () -> grammar + " " + sentence
+            );
+        }
+    }
+
+    private EbnfParserCombinatorSentenceGenerator createGenerator(final String grammar) {
+        return EbnfParserCombinatorSentenceGenerator.with(
+                EbnfParserToken.parse(grammar),
+                new Random(1),
+                BIAS,
+                MAX_DEPTH
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorSentenceGenerator> type() {
+        return EbnfParserCombinatorSentenceGenerator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorSequenceChildrenTest implements ClassTesting2<EbnfParserCombinatorSequenceChildren<?>> {
+
+    private final static Parser<FakeParserContext> A = Parsers.string("a", CaseSensitivity.SENSITIVE);
+
+    private final static Parser<FakeParserContext> B = Parsers.string("b", CaseSensitivity.SENSITIVE);
+
+    private final static Parser<FakeParserContext> C = Parsers.string("c", CaseSensitivity.SENSITIVE);
+
+    @Test
+    public void testWithNullChildrenFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorSequenceChildren.with(null)
+        );
+    }
+
+    @Test
+    public void testParseAll() {
+        this.parseAndCheck(
+                "abc!",
+                "a/b/c",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseOptionalMissing() {
+        this.parseAndCheck(
+                "ac!",
+                "a/c",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseRequiredMissing() {
+        this.parseAndCheck(
+                "ab!",
+                null,
+                "ab!"
+        );
+    }
+
+    private void parseAndCheck(final String text,
+                               final String tokens,
+                               final String left) {
+        final EbnfParserCombinatorSequenceChildren<FakeParserContext> children = EbnfParserCombinatorSequenceChildren.with(
+                Lists.of(
+                        A,
+                        EbnfParserCombinatorOptionalParser.with(
+                                B,
+                                EbnfParserToken.parse("TEST=[\"b\"];")
+                        ),
+                        C
+                )
+        );
+
+        final TextCursor cursor = TextCursors.charSequence(text);
+        final TextCursorSavePoint save = cursor.save();
+
+        final List<ParserToken> parsed = children.parse(
+                cursor,
+                new FakeParserContext(),
+                save
+        );
+
+        String joined = null;
+        if (null != parsed) {
+            final StringBuilder b = new StringBuilder();
+            String separator = "";
+            for (final ParserToken token : parsed) {
+                b.append(separator);
+                b.append(token.text());
+                separator = "/";
+            }
+            joined = b.toString();
+        }
+
+        this.checkEquals(
+                tokens,
+                joined,
+                "tokens"
+        );
+
+        final TextCursorSavePoint after = cursor.save();
+        cursor.end();
+        this.checkEquals(
+                left,
+                after.textBetween()
+                        .toString(),
+                "left"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorSequenceChildren<?>> type() {
+        return Cast.to(EbnfParserCombinatorSequenceChildren.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserTesting2;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorSequenceParserTest implements ParserTesting2<EbnfParserCombinatorSequenceParser<FakeParserContext>, FakeParserContext>,
+        ClassTesting2<EbnfParserCombinatorSequenceParser<FakeParserContext>> {
+
+    private final static Parser<FakeParserContext> A = Parsers.string("a", CaseSensitivity.SENSITIVE);
+
+    private final static Parser<FakeParserContext> B = Parsers.string("b", CaseSensitivity.SENSITIVE);
+
+    private final static Parser<FakeParserContext> C = Parsers.string("c", CaseSensitivity.SENSITIVE);
+
+    @Test
+    public void testWithNullChildrenFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorSequenceParser.with(null)
+        );
+    }
+
+    @Test
+    public void testWithOneChildFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorSequenceParser.with(
+                        Lists.of(A)
+                )
+        );
+    }
+
+    @Test
+    public void testParse() {
+        this.parseAndCheck(
+                "abc!",
+                sequence(
+                        string("a"),
+                        string("b"),
+                        string("c")
+                ),
+                "abc",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseOptionalMissing() {
+        this.parseAndCheck(
+                "ac!",
+                sequence(
+                        string("a"),
+                        string("c")
+                ),
+                "ac",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseMinCountZeroMissing() {
+        this.parseAndCheck(
+                EbnfParserCombinatorSequenceParser.with(
+                        Lists.of(
+                                A,
+                                B.repeating(),
+                                C
+                        )
+                ),
+                "ac!",
+                sequence(
+                        string("a"),
+                        string("c")
+                ),
+                "ac",
+                "!"
+        );
+    }
+
+    @Test
+    public void testParseRequiredMissingFails() {
+        this.parseFailAndCheck("ab!");
+    }
+
+    @Test
+    public void testParseFirstMissingFails() {
+        this.parseFailAndCheck("bc");
+    }
+
+    @Test
+    public void testParseEmptyFails() {
+        this.parseFailAndCheck("");
+    }
+
+    @Test
+    public void testParseSameAsAnd() {
+        final Parser<FakeParserContext> and = A.and(B.optional())
+                .and(C);
+
+        for (final String text : Lists.of("abc!", "ac!", "ab!", "a", "")) {
+            this.checkEquals(
+                    and.parse(
+                            TextCursors.charSequence(text),
+                            this.createContext()
+                    ),
+                    this.createParser()
+                            .parse(
+                                    TextCursors.charSequence(text),
+                                    this.createContext()
+                            ),
+                    () -> "parse " + CharSequences.quoteAndEscape(text)
+            );
+        }
+    }
+
+    @Test
+    public void testParseSameAsAndOptionalRepeated() {
+        this.parseSameAsAndCheck(
+                Lists.of(
+                        A,
+                        optional(B),
+                        optional(C.repeating())
+                ),
+                A.and(B.optional())
+                        .and(C.repeating().optional()),
+                "abccc!",
+                "abc",
+                "accc",
+                "ab",
+                "a!",
+                "bcc",
+                ""
+        );
+    }
+
+    @Test
+    public void testParseSameAsAndOptionalFirst() {
+        this.parseSameAsAndCheck(
+                Lists.of(
+                        optional(A),
+                        B.repeating(),
+                        optional(C)
+                ),
+                A.optional()
+                        .and(B.repeating())
+                        .and(C.optional()),
+                "abbc!",
+                "bbb",
+                "bc",
+                "ac",
+                "a",
+                "c",
+                ""
+        );
+    }
+
+    @Test
+    public void testParseSameAsAndRepeatedThenSame() {
+        this.parseSameAsAndCheck(
+                Lists.of(
+                        optional(A.repeating()),
+                        A
+                ),
+                A.repeating()
+                        .optional()
+                        .and(A),
+                "aaa!",
+                "a",
+                "b",
+                ""
+        );
+    }
+
+    @Test
+    public void testParseSameAsAndOnlyOptionals() {
+        this.parseSameAsAndCheck(
+                Lists.of(
+                        optional(A),
+                        optional(B.repeating()),
+                        optional(C)
+                ),
+                A.optional()
+                        .and(B.repeating().optional())
+                        .and(C.optional()),
+                "abbc!",
+                "c",
+                "bb",
+                "ac!"
+        );
+    }
+
+    /**
+     * Parses each text with a {@link EbnfParserCombinatorSequenceParser} of the children and the equivalent chain of
+     * {@link Parser#and(Parser)}, checking both return the same token and leave the cursor at the same position.
+     */
+    private void parseSameAsAndCheck(final List<Parser<FakeParserContext>> children,
+                                     final Parser<FakeParserContext> and,
+                                     final String... texts) {
+        final EbnfParserCombinatorSequenceParser<FakeParserContext> sequence = EbnfParserCombinatorSequenceParser.with(children);
+
+        for (final String text : texts) {
+            final TextCursor andCursor = TextCursors.charSequence(text);
+            final TextCursor sequenceCursor = TextCursors.charSequence(text);
+
+            this.checkEquals(
+                    and.parse(
+                            andCursor,
+                            this.createContext()
+                    ),
+                    sequence.parse(
+                            sequenceCursor,
+                            this.createContext()
+                    ),
+                    () -> "parse " + CharSequences.quoteAndEscape(text)
+            );
+            this.checkEquals(
+                    remaining(andCursor),
+                    remaining(sequenceCursor),
+                    () -> "cursor after parse " + CharSequences.quoteAndEscape(text)
+            );
+        }
+    }
+
+    private static Parser<FakeParserContext> optional(final Parser<FakeParserContext> parser) {
+        return EbnfParserCombinatorOptionalParser.with(
+                parser,
+                EbnfParserToken.parse("TEST=[\"x\"];")
+        );
+    }
+
+    private static String remaining(final TextCursor cursor) {
+        final TextCursorSavePoint save = cursor.save();
+        cursor.end();
+        return save.textBetween()
+                .toString();
+    }
+
+    @Test
+    public void testMinCountMaxCount() {
+        final Parser<FakeParserContext> and = A.and(B.optional())
+                .and(C);
+        final EbnfParserCombinatorSequenceParser<FakeParserContext> parser = this.createParser();
+
+        this.checkEquals(and.minCount(), parser.minCount(), "minCount");
+        this.checkEquals(and.maxCount(), parser.maxCount(), "maxCount");
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createParser(),
+                A.and(B.optional())
+                        .and(C)
+                        .toString()
+        );
+    }
+
+    private static ParserToken sequence(final ParserToken... tokens) {
+        final List<ParserToken> list = Lists.of(tokens);
+
+        return ParserTokens.sequence(
+                list,
+                ParserToken.text(list)
+        );
+    }
+
+    private static ParserToken string(final String text) {
+        return ParserTokens.string(
+                text,
+                text
+        );
+    }
+
+    @Override
+    public EbnfParserCombinatorSequenceParser<FakeParserContext> createParser() {
+        return EbnfParserCombinatorSequenceParser.with(
+                Lists.of(
+                        A,
+                        EbnfParserCombinatorOptionalParser.with(
+                                B,
+                                EbnfParserToken.parse("TEST=[\"b\"];")
+                        ),
+                        C
+                )
+        );
+    }
+
+    @Override
+    public FakeParserContext createContext() {
+        return new FakeParserContext();
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorSequenceParser<FakeParserContext>> type() {
+        return Cast.to(EbnfParserCombinatorSequenceParser.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserContexts;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorSkippedRulesTest implements ClassTesting2<EbnfParserCombinatorSkippedRules> {
+
+    private final static EbnfIdentifierName A = EbnfIdentifierName.with("A");
+
+    private final static EbnfIdentifierName B = EbnfIdentifierName.with("B");
+
+    @Test
+    public void testWithNullRulesFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorSkippedRules.with(null)
+        );
+    }
+
+    @Test
+    public void testFailedOnlyTrackedRules() {
+        final EbnfParserCombinatorSkippedRules skippedRules = EbnfParserCombinatorSkippedRules.with(
+                Lists.of(A, B)
+        );
+        final Parser<ParserContext> parser = Parsers.fake();
+        skippedRules.resolve(
+                (n) -> A.equals(n) ?
+                        EbnfParserCombinatorFailureParser.with(
+                                parser,
+                                A,
+                                1
+                        ) :
+                        parser
+        );
+
+        final EbnfParserCombinatorFailureParserContext context = EbnfParserCombinatorFailureParserContext.with(EbnfParserContexts.basic());
+        final TextCursor cursor = TextCursors.charSequence("abc");
+        cursor.next();
+
+        skippedRules.failed(
+                cursor,
+                context
+        );
+
+        this.checkEquals(1, context.farthestOffset(), "farthestOffset");
+        this.checkEquals(Lists.of(A), context.expected(), "expected");
+    }
+
+    @Test
+    public void testFailedBeforeResolve() {
+        final EbnfParserCombinatorFailureParserContext context = EbnfParserCombinatorFailureParserContext.with(EbnfParserContexts.basic());
+
+        EbnfParserCombinatorSkippedRules.with(
+                Lists.of(A)
+        ).failed(
+                TextCursors.charSequence("abc"),
+                context
+        );
+
+        this.checkEquals(-1, context.farthestOffset(), "farthestOffset");
+    }
+
+    @Test
+    public void testToString() {
+        this.checkEquals(
+                "[A, B]",
+                EbnfParserCombinatorSkippedRules.with(
+                        Lists.of(A, B)
+                ).toString()
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorSkippedRules> type() {
+        return EbnfParserCombinatorSkippedRules.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorTextCursorCharSequenceTest implements ClassTesting2<EbnfParserCombinatorTextCursorCharSequence> {
+
+    @Test
+    public void testCharAtReadsOnlyNeeded() {
+        final TextCursor cursor = TextCursors.charSequence("abc");
+        final EbnfParserCombinatorTextCursorCharSequence text = EbnfParserCombinatorTextCursorCharSequence.with(cursor);
+
+        this.checkEquals('b', text.charAt(1));
+        this.checkEquals('b', cursor.at(), "cursor");
+    }
+
+    @Test
+    public void testCharAtBackwards() {
+        final TextCursor cursor = TextCursors.charSequence("abcd");
+        final EbnfParserCombinatorTextCursorCharSequence text = EbnfParserCombinatorTextCursorCharSequence.with(cursor);
+
+        this.checkEquals('c', text.charAt(2));
+        this.checkEquals('a', text.charAt(0));
+        this.checkEquals('b', text.charAt(1));
+        this.checkEquals('d', text.charAt(3));
+        this.checkEquals('a', text.charAt(0));
+    }
+
+    @Test
+    public void testCharAtAfterEndFails() {
+        final EbnfParserCombinatorTextCursorCharSequence text = EbnfParserCombinatorTextCursorCharSequence.with(
+                TextCursors.charSequence("ab")
+        );
+
+        assertThrows(
+                StringIndexOutOfBoundsException.class,
+                () -> text.charAt(2)
+        );
+    }
+
+    @Test
+    public void testCursorNotAtStart() {
+        final TextCursor cursor = TextCursors.charSequence("xyabc");
+        cursor.next();
+        cursor.next();
+
+        final EbnfParserCombinatorTextCursorCharSequence text = EbnfParserCombinatorTextCursorCharSequence.with(cursor);
+        this.checkEquals('c', text.charAt(2));
+        this.checkEquals('a', text.charAt(0));
+        this.checkEquals("abc", text.toString());
+    }
+
+    @Test
+    public void testIsEnd() {
+        final TextCursor cursor = TextCursors.charSequence("ab");
+        final EbnfParserCombinatorTextCursorCharSequence text = EbnfParserCombinatorTextCursorCharSequence.with(cursor);
+
+        this.checkEquals(false, text.isEnd(0), "0");
+        this.checkEquals(false, text.isEnd(1), "1");
+        this.checkEquals(true, text.isEnd(2), "2");
+    }
+
+    @Test
+    public void testLength() {
+        final TextCursor cursor = TextCursors.charSequence("abc");
+        final EbnfParserCombinatorTextCursorCharSequence text = EbnfParserCombinatorTextCursorCharSequence.with(cursor);
+
+        this.checkEquals(3, text.length());
+        this.checkEquals(true, cursor.isEmpty(), "cursor");
+    }
+
+    @Test
+    public void testSubSequence() {
+        final EbnfParserCombinatorTextCursorCharSequence text = EbnfParserCombinatorTextCursorCharSequence.with(
+                TextCursors.charSequence("abcd")
+        );
+
+        this.checkEquals(
+                "bc",
+                text.subSequence(1, 3)
+                        .toString()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                EbnfParserCombinatorTextCursorCharSequence.with(
+                        TextCursors.charSequence("abc")
+                ),
+                "abc"
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorTextCursorCharSequence> type() {
+        return EbnfParserCombinatorTextCursorCharSequence.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
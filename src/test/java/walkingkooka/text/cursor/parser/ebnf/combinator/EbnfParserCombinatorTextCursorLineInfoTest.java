@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorTextCursorLineInfoTest implements ClassTesting2<EbnfParserCombinatorTextCursorLineInfo> {
+
+    @Test
+    public void testWith() {
+        final EbnfParserCombinatorTextCursorLineInfo lineInfo = this.createLineInfo();
+
+        this.checkEquals("cd", lineInfo.text().toString(), "text");
+        this.checkEquals(2, lineInfo.lineNumber(), "lineNumber");
+        this.checkEquals(2, lineInfo.column(), "column");
+        this.checkEquals(4, lineInfo.textOffset(), "textOffset");
+    }
+
+    @Test
+    public void testTextLazy() {
+        final EbnfParserCombinatorReaderTextCursor cursor = this.createCursor();
+        final EbnfParserCombinatorTextCursorLineInfo lineInfo = (EbnfParserCombinatorTextCursorLineInfo) cursor.lineInfo();
+
+        cursor.next();
+        cursor.next();
+
+        this.checkEquals("cd", lineInfo.text().toString(), "text");
+        this.checkEquals(2, lineInfo.column(), "column");
+        this.checkEquals(4, lineInfo.textOffset(), "textOffset");
+    }
+
+    @Test
+    public void testColumnTooLargeFails() {
+        final EbnfParserCombinatorTextCursorLineInfo lineInfo = EbnfParserCombinatorTextCursorLineInfo.with(
+                this.createCursor(),
+                1,
+                0,
+                Integer.MAX_VALUE
+        );
+
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                lineInfo::column
+        );
+    }
+
+    @Test
+    public void testTextOffsetTooLargeFails() {
+        final EbnfParserCombinatorTextCursorLineInfo lineInfo = EbnfParserCombinatorTextCursorLineInfo.with(
+                this.createCursor(),
+                1,
+                Integer.MAX_VALUE,
+                Integer.MAX_VALUE + 1L
+        );
+
+        this.checkEquals(2, lineInfo.column(), "column");
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                lineInfo::textOffset
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createLineInfo(),
+                "(2,2) \"cd\""
+        );
+    }
+
+    private EbnfParserCombinatorTextCursorLineInfo createLineInfo() {
+        return (EbnfParserCombinatorTextCursorLineInfo) this.createCursor()
+                .lineInfo();
+    }
+
+    /**
+     * Returns a cursor at the d in the second line.
+     */
+    private EbnfParserCombinatorReaderTextCursor createCursor() {
+        final EbnfParserCombinatorReaderTextCursor cursor = EbnfParserCombinatorReaderTextCursor.with(
+                new StringReader("ab\ncd\nef"),
+                100
+        );
+        for (int i = 0; i < 4; i++) {
+            cursor.next();
+        }
+        return cursor;
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorTextCursorLineInfo> type() {
+        return EbnfParserCombinatorTextCursorLineInfo.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+
+import java.io.StringReader;
+
+public final class EbnfParserCombinatorTextCursorOffsetTest implements ClassTesting2<EbnfParserCombinatorTextCursorOffset> {
+
+    @Test
+    public void testCharSequence() {
+        final TextCursor cursor = TextCursors.charSequence("abc");
+        cursor.next();
+        cursor.next();
+
+        this.checkEquals(
+                2,
+                EbnfParserCombinatorTextCursorOffset.offset(cursor)
+        );
+    }
+
+    @Test
+    public void testReader() {
+        final TextCursor cursor = EbnfParserCombinatorReaderTextCursor.with(
+                new StringReader("abc\ndef"),
+                100
+        );
+        for (int i = 0; i < 5; i++) {
+            cursor.next();
+        }
+
+        this.checkEquals(
+                5,
+                EbnfParserCombinatorTextCursorOffset.offset(cursor)
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorTextCursorOffset> type() {
+        return EbnfParserCombinatorTextCursorOffset.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.Map;
+import java.util.Optional;
+
+public final class EbnfParserCombinatorTokensTest implements ClassTesting2<EbnfParserCombinatorTokens> {
+
+    @Test
+    public void testChildrenAlternatives() {
+        this.checkEquals(
+                3,
+                EbnfParserCombinatorTokens.children(
+                        this.assignment("A=\"a\" | \"b\" | C;C=\"c\";")
+                ).size()
+        );
+    }
+
+    @Test
+    public void testChildrenTerminal() {
+        this.checkEquals(
+                0,
+                EbnfParserCombinatorTokens.children(
+                        this.assignment("A=\"a\";")
+                ).size()
+        );
+    }
+
+    @Test
+    public void testChildOptional() {
+        this.checkEquals(
+                "\"a\"",
+                EbnfParserCombinatorTokens.child(
+                        this.assignment("A=[\"a\"];")
+                ).text()
+        );
+    }
+
+    @Test
+    public void testTerminalTextIdentifier() {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse("A=B..\"z\";B=C;C=\"a\";");
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = EbnfParserCombinatorTokens.rules(grammar);
+
+        this.checkEquals(
+                Optional.of("a"),
+                EbnfParserCombinatorTokens.terminalText(
+                        rules.get(EbnfIdentifierName.with("A"))
+                                .assignment()
+                                .cast(RangeEbnfParserToken.class)
+                                .begin(),
+                        rules
+                )
+        );
+    }
+
+    @Test
+    public void testTerminalTextExternal() {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse("A=EXTERNAL..\"z\";");
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> rules = EbnfParserCombinatorTokens.rules(grammar);
+
+        this.checkEquals(
+                Optional.empty(),
+                EbnfParserCombinatorTokens.terminalText(
+                        rules.get(EbnfIdentifierName.with("A"))
+                                .assignment()
+                                .cast(RangeEbnfParserToken.class)
+                                .begin(),
+                        rules
+                )
+        );
+    }
+
+    private EbnfParserToken assignment(final String grammar) {
+        return EbnfParserCombinatorTokens.rules(
+                EbnfParserToken.parse(grammar)
+        ).get(EbnfIdentifierName.with("A"))
+                .assignment();
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorTokens> type() {
+        return EbnfParserCombinatorTokens.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
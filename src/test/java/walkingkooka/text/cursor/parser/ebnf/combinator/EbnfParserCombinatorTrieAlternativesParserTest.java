@@ -0,0 +1,261 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserTesting2;
+import walkingkooka.text.cursor.parser.ParserTokens;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorTrieAlternativesParserTest implements ParserTesting2<EbnfParserCombinatorTrieAlternativesParser<FakeParserContext>, FakeParserContext>,
+        ClassTesting2<EbnfParserCombinatorTrieAlternativesParser<FakeParserContext>> {
+
+    @Test
+    public void testWithNullTerminalsFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorTrieAlternativesParser.with(
+                        null,
+                        Lists.empty()
+                )
+        );
+    }
+
+    @Test
+    public void testWithEmptyTerminalsFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorTrieAlternativesParser.with(
+                        Lists.empty(),
+                        Lists.empty()
+                )
+        );
+    }
+
+    @Test
+    public void testWithDifferentCountFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorTrieAlternativesParser.with(
+                        Lists.of(
+                                terminal("a")
+                        ),
+                        Lists.empty()
+                )
+        );
+    }
+
+    @Test
+    public void testParseFirst() {
+        this.parseAndCheck2(
+                "abc",
+                "abc"
+        );
+    }
+
+    @Test
+    public void testParseLast() {
+        this.parseAndCheck2(
+                "xyz",
+                "xyz"
+        );
+    }
+
+    @Test
+    public void testParseTextAfter() {
+        this.parseAndCheck2(
+                "def!",
+                "def"
+        );
+    }
+
+    @Test
+    public void testParseEmptyFails() {
+        this.parseFailAndCheck("");
+    }
+
+    @Test
+    public void testParseUnknownFails() {
+        this.parseFailAndCheck("!");
+    }
+
+    @Test
+    public void testParsePartialFails() {
+        this.parseFailAndCheck("ab");
+    }
+
+    @Test
+    public void testParseEarlierShorterWins() {
+        this.parseAndCheck3(
+                "ab!",
+                "a",
+                "b!",
+                "a",
+                "ab"
+        );
+    }
+
+    @Test
+    public void testParseEarlierLongerWins() {
+        this.parseAndCheck3(
+                "ab!",
+                "ab",
+                "!",
+                "ab",
+                "a"
+        );
+    }
+
+    @Test
+    public void testParseLongerMissingBacktracks() {
+        this.parseAndCheck3(
+                "abd",
+                "a",
+                "bd",
+                "abc",
+                "a"
+        );
+    }
+
+    @Test
+    public void testParseLaterShorterWins() {
+        this.parseAndCheck3(
+                "abd",
+                "ab",
+                "d",
+                "abc",
+                "x",
+                "ab",
+                "a"
+        );
+    }
+
+    @Test
+    public void testParseDuplicate() {
+        this.parseAndCheck3(
+                "a",
+                "a",
+                "",
+                "a",
+                "a"
+        );
+    }
+
+    private void parseAndCheck2(final String text,
+                                final String consumed) {
+        this.parseAndCheck(
+                text,
+                ParserTokens.string(consumed, consumed),
+                consumed,
+                text.substring(consumed.length())
+        );
+    }
+
+    private void parseAndCheck3(final String text,
+                                final String consumed,
+                                final String after,
+                                final String... terminals) {
+        this.parseAndCheck(
+                this.createParser(terminals),
+                text,
+                ParserTokens.string(consumed, consumed),
+                consumed,
+                after
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createParser(),
+                Parsers.alternatives(
+                        Lists.of(
+                                Parsers.string("abc", CaseSensitivity.SENSITIVE),
+                                Parsers.string("def", CaseSensitivity.SENSITIVE),
+                                Parsers.string("xyz", CaseSensitivity.SENSITIVE)
+                        )
+                ).toString()
+        );
+    }
+
+    @Override
+    public EbnfParserCombinatorTrieAlternativesParser<FakeParserContext> createParser() {
+        return this.createParser(
+                "abc",
+                "def",
+                "xyz"
+        );
+    }
+
+    private EbnfParserCombinatorTrieAlternativesParser<FakeParserContext> createParser(final String... values) {
+        final List<TerminalEbnfParserToken> terminals = Lists.array();
+        final List<Parser<FakeParserContext>> parsers = Lists.array();
+
+        for (final String value : values) {
+            terminals.add(
+                    terminal(value)
+            );
+            parsers.add(
+                    Parsers.string(
+                            value,
+                            CaseSensitivity.SENSITIVE
+                    )
+            );
+        }
+
+        return EbnfParserCombinatorTrieAlternativesParser.with(
+                terminals,
+                parsers
+        );
+    }
+
+    private static TerminalEbnfParserToken terminal(final String value) {
+        return EbnfParserToken.terminal(
+                value,
+                "\"" + value + "\""
+        );
+    }
+
+    @Override
+    public FakeParserContext createContext() {
+        return new FakeParserContext();
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorTrieAlternativesParser<FakeParserContext>> type() {
+        return Cast.to(EbnfParserCombinatorTrieAlternativesParser.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorUncapturedTest implements ClassTesting2<EbnfParserCombinatorUncaptured> {
+
+    // VALUE=STRING | NUMBER | LIST;
+    // LIST="[", VALUE, {",", VALUE}, "]";
+    // STRING="'", {"a".."z"}, "'";
+    // NUMBER={"0".."9"};
+    // WHITESPACE={" "};
+    private final static String GRAMMAR = "VALUE=STRING | NUMBER | LIST;\n" +
+            "LIST=\"[\", VALUE, {\",\", VALUE}, \"]\";\n" +
+            "STRING=\"'\", {\"a\"..\"z\"}, \"'\";\n" +
+            "NUMBER={\"0\"..\"9\"};\n" +
+            "WHITESPACE={\" \"};";
+
+    @Test
+    public void testRecognizersNullGrammarFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorUncaptured.recognizers(
+                        null,
+                        Sets.empty()
+                )
+        );
+    }
+
+    @Test
+    public void testRecognizersNullCaptureFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorUncaptured.recognizers(
+                        EbnfParserToken.parse(GRAMMAR),
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testRecognizersUnknownCaptureFails() {
+        final EbnfParserCombinatorException thrown = assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> EbnfParserCombinatorUncaptured.recognizers(
+                        EbnfParserToken.parse(GRAMMAR),
+                        Sets.of(
+                                EbnfIdentifierName.with("UNKNOWN")
+                        )
+                )
+        );
+        this.checkEquals(
+                "Unknown captured rule(s) [UNKNOWN]",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testRecognizersCaptureLeaf() {
+        this.recognizersAndCheck(
+                GRAMMAR,
+                Sets.of(
+                        EbnfIdentifierName.with("STRING")
+                ),
+                "NUMBER",
+                "WHITESPACE"
+        );
+    }
+
+    @Test
+    public void testRecognizersCaptureRecursive() {
+        this.recognizersAndCheck(
+                GRAMMAR,
+                Sets.of(
+                        EbnfIdentifierName.with("LIST")
+                ),
+                "NUMBER",
+                "STRING",
+                "WHITESPACE"
+        );
+    }
+
+    @Test
+    public void testRecognizersCaptureNone() {
+        this.recognizersAndCheck(
+                GRAMMAR,
+                Sets.empty(),
+                "LIST",
+                "NUMBER",
+                "STRING",
+                "VALUE",
+                "WHITESPACE"
+        );
+    }
+
+    @Test
+    public void testRecognizersExternalNeedsTokens() {
+        this.recognizersAndCheck(
+                "TEST=A | B;\nA=\"a\", EXTERNAL;\nB=\"b\";",
+                Sets.empty(),
+                "B"
+        );
+    }
+
+    private void recognizersAndCheck(final String grammar,
+                                     final Set<EbnfIdentifierName> capture,
+                                     final String... uncaptured) {
+        final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> recognizers = EbnfParserCombinatorUncaptured.recognizers(
+                EbnfParserToken.parse(grammar),
+                capture
+        );
+
+        final Set<String> expected = Sets.of(uncaptured);
+        for (final String name : new String[]{"A", "B", "LIST", "NUMBER", "STRING", "TEST", "VALUE", "WHITESPACE"}) {
+            this.checkEquals(
+                    expected.contains(name),
+                    recognizers.apply(EbnfIdentifierName.with(name))
+                            .isPresent(),
+                    () -> name + " uncaptured"
+            );
+        }
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorUncaptured> type() {
+        return EbnfParserCombinatorUncaptured.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
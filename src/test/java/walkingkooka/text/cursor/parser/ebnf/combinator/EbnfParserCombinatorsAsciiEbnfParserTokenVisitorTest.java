@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserTokenVisitorTesting;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorsAsciiEbnfParserTokenVisitorTest implements EbnfParserTokenVisitorTesting<EbnfParserCombinatorsAsciiEbnfParserTokenVisitor, EbnfParserToken> {
+
+    @Test
+    public void testNonAsciiTerminalsNullGrammarFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorsAsciiEbnfParserTokenVisitor.nonAsciiTerminals(null)
+        );
+    }
+
+    @Test
+    public void testNonAsciiTerminalsAscii() {
+        this.nonAsciiTerminalsAndCheck(
+                "TEST=\"abc\", ['a'..'z'], {\"~\"};"
+        );
+    }
+
+    @Test
+    public void testNonAsciiTerminalsTerminal() {
+        this.nonAsciiTerminalsAndCheck(
+                "TEST=\"abc\", \"caf\u00e9\";",
+                "Rule TEST terminal contains non ASCII character U+00E9 at 3"
+        );
+    }
+
+    @Test
+    public void testNonAsciiTerminalsRange() {
+        this.nonAsciiTerminalsAndCheck(
+                "TEST=\"abc\";\nLATIN=' '..'\u00ff';",
+                "Rule LATIN terminal contains non ASCII character U+00FF at 0"
+        );
+    }
+
+    @Test
+    public void testNonAsciiTerminalsSeveralRules() {
+        this.nonAsciiTerminalsAndCheck(
+                "A=\"\u00e9\";\nB=\"b\";\nC=\"c\u20ac\";",
+                "Rule A terminal contains non ASCII character U+00E9 at 0",
+                "Rule C terminal contains non ASCII character U+20AC at 1"
+        );
+    }
+
+    @Test
+    public void testEbnfParserCombinatorsNonAsciiTerminals() {
+        this.checkEquals(
+                Lists.empty(),
+                EbnfParserCombinators.nonAsciiTerminals(
+                        EbnfParserToken.parse("TEST=\"abc\";")
+                )
+        );
+    }
+
+    private void nonAsciiTerminalsAndCheck(final String grammar,
+                                           final String... expected) {
+        final List<String> messages = EbnfParserCombinatorsAsciiEbnfParserTokenVisitor.nonAsciiTerminals(
+                EbnfParserToken.parse(grammar)
+        );
+        this.checkEquals(
+                Lists.of(expected),
+                messages,
+                grammar
+        );
+    }
+
+    @Override
+    public EbnfParserCombinatorsAsciiEbnfParserTokenVisitor createVisitor() {
+        return new EbnfParserCombinatorsAsciiEbnfParserTokenVisitor();
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorsAsciiEbnfParserTokenVisitor> type() {
+        return EbnfParserCombinatorsAsciiEbnfParserTokenVisitor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+
+    @Override
+    public String typeNamePrefix() {
+        return EbnfParserCombinators.class.getSimpleName();
+    }
+}
@@ -21,9 +21,11 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.predicate.character.CharPredicates;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.reflect.PublicStaticHelperTesting;
+import walkingkooka.text.CaseSensitivity;
 import walkingkooka.text.cursor.TextCursors;
 import walkingkooka.text.cursor.parser.BigIntegerParserToken;
 import walkingkooka.text.cursor.parser.FakeParserContext;
@@ -290,6 +292,305 @@ public final class EbnfParserCombinatorsTest implements ParserTesting2<Parser<Fa
         );
     }
 
+    // TEST="abc", ["def"], "ghi";
+    @Test
+    public void testTransformConcatenationSingleSequenceParser() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST=\"abc\", [\"def\"], \"ghi\";",
+                EbnfParserCombinatorGrammarTransformers.basic()
+        );
+
+        this.checkEquals(
+                EbnfParserCombinatorSequenceParser.class,
+                parser.getClass(),
+                () -> "parser " + parser
+        );
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                "abcghi",
+                sequence(
+                        this.string("abc"),
+                        this.string("ghi")
+                ),
+                "abcghi"
+        );
+    }
+
+    // TEST="<", "!", "-", "-";
+    @Test
+    public void testTransformConcatenationUntransformedTerminalsFused() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST=\"<\", \"!\", \"-\", \"-\";",
+                this.untransformedTerminalTransformer()
+        );
+
+        this.checkEquals(
+                EbnfParserCombinatorTerminalsParser.class,
+                parser.getClass(),
+                () -> "parser " + parser
+        );
+
+        final String text = "<!--";
+        final String after = "!!!";
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                text + after,
+                sequence(
+                        this.string("<"),
+                        this.string("!"),
+                        this.string("-"),
+                        this.string("-")
+                ),
+                text,
+                after
+        );
+    }
+
+    // TEST="<", "!", "-", "-";
+    @Test
+    public void testTransformConcatenationUntransformedTerminalsFusedFails() {
+        this.parseFailAndCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=\"<\", \"!\", \"-\", \"-\";",
+                        this.untransformedTerminalTransformer()
+                ),
+                "<!-!"
+        );
+    }
+
+    // TEST="<", "!", "-", "-";
+    @Test
+    public void testTransformConcatenationUntransformedTerminalsFusedToString() {
+        this.checkEquals(
+                "\"<\", \"!\", \"-\", \"-\"",
+                this.parseGrammarAndGetParser(
+                        "TEST=\"<\", \"!\", \"-\", \"-\";",
+                        this.untransformedTerminalTransformer()
+                ).toString()
+        );
+    }
+
+    // TEST="a1" | "b2" | ONLY_LETTERS;
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsDispatch() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST=\"a1\" | \"b2\" | ONLY_LETTERS;",
+                this.untransformedTerminalTransformer()
+        );
+
+        this.checkEquals(
+                EbnfParserCombinatorDispatchAlternativesParser.class,
+                parser.getClass(),
+                () -> "parser " + parser
+        );
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                "b2"
+        );
+    }
+
+    // TEST="a1" | "b2" | ONLY_LETTERS;
+    @Test
+    public void testTransformAlternativesNotPreservesFirstSets() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST=\"a1\" | \"b2\" | ONLY_LETTERS;",
+                new FakeEbnfParserCombinatorGrammarTransformer<>() {
+                    @Override
+                    public Parser<FakeParserContext> alternatives(final AlternativeEbnfParserToken token,
+                                                                  final Parser<FakeParserContext> parser) {
+                        return parser;
+                    }
+
+                    @Override
+                    public Parser<FakeParserContext> rule(final RuleEbnfParserToken token,
+                                                          final Parser<FakeParserContext> parser) {
+                        return parser;
+                    }
+
+                    @Override
+                    public Parser<FakeParserContext> terminal(final TerminalEbnfParserToken token,
+                                                              final Parser<FakeParserContext> parser) {
+                        return parser;
+                    }
+                }
+        );
+
+        this.checkNotEquals(
+                EbnfParserCombinatorDispatchAlternativesParser.class,
+                parser.getClass(),
+                () -> "parser " + parser
+        );
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                "b2"
+        );
+    }
+
+    // TEST="a1" | "b2" | "a3";
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsTrie() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST=\"a1\" | \"b2\" | \"a3\";",
+                this.untransformedTerminalTransformer()
+        );
+
+        this.checkEquals(
+                EbnfParserCombinatorTrieAlternativesParser.class,
+                parser.getClass(),
+                () -> "parser " + parser
+        );
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                "a3"
+        );
+    }
+
+    // TEST="ab" | "a";
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsTrieLongerFirst() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=\"ab\" | \"a\";",
+                        this.untransformedTerminalTransformer()
+                ),
+                "ab"
+        );
+    }
+
+    // TEST="abc" | "a";
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsTriePartialMatch() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=\"abc\" | \"a\";",
+                        this.untransformedTerminalTransformer()
+                ),
+                "abd",
+                this.string("a"),
+                "a",
+                "bd"
+        );
+    }
+
+    // TEST="a1" | "b2" | "a3";
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsDispatchFirst() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=\"a1\" | \"b2\" | \"a3\";",
+                        this.untransformedTerminalTransformer()
+                ),
+                "b2"
+        );
+    }
+
+    // TEST="a" | "ab";
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsDispatchOrderedChoice() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=\"a\" | \"ab\";",
+                        this.untransformedTerminalTransformer()
+                ),
+                "ab",
+                this.string("a"),
+                "a",
+                "b"
+        );
+    }
+
+    // TEST="a1" | "b2" | "a3";
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsDispatchFails() {
+        this.parseFailAndCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=\"a1\" | \"b2\" | \"a3\";",
+                        this.untransformedTerminalTransformer()
+                ),
+                "c"
+        );
+    }
+
+    // TEST="a1" | "b2" | "a3";
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsDispatchEmptyFails() {
+        this.parseFailAndCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=\"a1\" | \"b2\" | \"a3\";",
+                        this.untransformedTerminalTransformer()
+                ),
+                ""
+        );
+    }
+
+    // TEST="1" | ONLY_LETTERS;
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsDispatchExternal() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=\"1\" | ONLY_LETTERS;",
+                        this.untransformedTerminalTransformer()
+                ),
+                "abc"
+        );
+    }
+
+    // TEST="a1" | "b2" | "a3";
+    @Test
+    public void testTransformAlternativesUntransformedTerminalsDispatchToString() {
+        this.checkEquals(
+                Parsers.alternatives(
+                        Lists.of(
+                                Parsers.string("a1", CaseSensitivity.SENSITIVE),
+                                Parsers.string("b2", CaseSensitivity.SENSITIVE),
+                                Parsers.string("a3", CaseSensitivity.SENSITIVE)
+                        )
+                ).toString(),
+                this.parseGrammarAndGetParser(
+                        "TEST=\"a1\" | \"b2\" | \"a3\";",
+                        this.untransformedTerminalTransformer()
+                ).toString()
+        );
+    }
+
+    private EbnfParserCombinatorGrammarTransformer<FakeParserContext> untransformedTerminalTransformer() {
+        return new FakeEbnfParserCombinatorGrammarTransformer<>() {
+            @Override
+            public Parser<FakeParserContext> alternatives(final AlternativeEbnfParserToken token,
+                                                          final Parser<FakeParserContext> parser) {
+                return parser;
+            }
+
+            @Override
+            public Parser<FakeParserContext> concatenation(final ConcatenationEbnfParserToken token,
+                                                           final Parser<FakeParserContext> parser) {
+                return parser;
+            }
+
+            @Override
+            public Parser<FakeParserContext> rule(final RuleEbnfParserToken token,
+                                                  final Parser<FakeParserContext> parser) {
+                return parser;
+            }
+
+            @Override
+            public Parser<FakeParserContext> terminal(final TerminalEbnfParserToken token,
+                                                      final Parser<FakeParserContext> parser) {
+                return parser;
+            }
+
+            @Override
+            public boolean preservesFirstSets() {
+                return true;
+            }
+        };
+    }
+
     // TEST=["abc"] ,  "def";
     @Test
     public void testTransformConcatenationMissingOptionalTerminalTerminal() {
@@ -715,6 +1016,127 @@ public final class EbnfParserCombinatorsTest implements ParserTesting2<Parser<Fa
         );
     }
 
+    // TEST=ONLY_LETTERS - "q";
+    @Test
+    public void testTransformExceptionCharSetGuard() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST=ONLY_LETTERS - \"q\";",
+                EbnfParserCombinatorGrammarTransformers.basic()
+        );
+
+        this.checkEquals(
+                EbnfParserCombinatorCharSetGuardParser.class,
+                parser.getClass(),
+                () -> "parser " + parser
+        );
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                "abc"
+        );
+    }
+
+    // TEST=ONLY_LETTERS - "q";
+    @Test
+    public void testTransformExceptionCharSetGuardFails() {
+        this.parseFailAndCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=ONLY_LETTERS - \"q\";",
+                        EbnfParserCombinatorGrammarTransformers.basic()
+                ),
+                "qrs"
+        );
+    }
+
+    // TEST="a".."z" - "q";
+    @Test
+    public void testTransformExceptionCharSetDifference() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST=\"a\"..\"z\" - \"q\";",
+                EbnfParserCombinatorGrammarTransformers.basic()
+        );
+
+        this.checkEquals(
+                EbnfParserCombinatorCharSetParser.class,
+                parser.getClass(),
+                () -> "parser " + parser
+        );
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                "m"
+        );
+    }
+
+    // TEST="a".."z" - VOWEL;
+    // VOWEL="a" | "e" | "i" | "o" | "u";
+    @Test
+    public void testTransformExceptionCharSetDifferenceRule() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST=\"a\"..\"z\" - VOWEL;\nVOWEL=\"a\" | \"e\" | \"i\" | \"o\" | \"u\";",
+                EbnfParserCombinatorGrammarTransformers.basic()
+        );
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                "b"
+        );
+        this.parseFailAndCheck(
+                parser,
+                "e"
+        );
+    }
+
+    // TEST="a".."z" - VOWEL;
+    // VOWEL="a" | "e" | "i" | "o" | "u";
+    @Test
+    public void testTransformExceptionNotPreservesFirstSets() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST=\"a\"..\"z\" - VOWEL;\nVOWEL=\"a\" | \"e\" | \"i\" | \"o\" | \"u\";",
+                new EbnfParserCombinatorGrammarTransformerWrapper<FakeParserContext>(EbnfParserCombinatorGrammarTransformers.basic()) {
+                    @Override
+                    public Parser<FakeParserContext> rule(final RuleEbnfParserToken token,
+                                                          final Parser<FakeParserContext> parser) {
+                        return EbnfIdentifierName.with("VOWEL").equals(token.identifier().value()) ?
+                                Parsers.string("e", CaseSensitivity.SENSITIVE) :
+                                parser;
+                    }
+
+                    @Override
+                    public boolean preservesFirstSets() {
+                        return false;
+                    }
+                }
+        );
+
+        this.checkEquals(
+                false,
+                parser instanceof EbnfParserCombinatorCharSetParser || parser instanceof EbnfParserCombinatorCharSetGuardParser,
+                () -> "parser " + parser
+        );
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                "a"
+        );
+        this.parseFailAndCheck(
+                parser,
+                "e"
+        );
+    }
+
+    // TEST="a".."z" - "q";
+    @Test
+    public void testTransformExceptionCharSetDifferenceFails() {
+        this.parseFailAndCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST=\"a\"..\"z\" - \"q\";",
+                        EbnfParserCombinatorGrammarTransformers.basic()
+                ),
+                "q"
+        );
+    }
+
     // group............................................................................................................
 
     // TEST = ("abc");
@@ -1165,6 +1587,88 @@ public final class EbnfParserCombinatorsTest implements ParserTesting2<Parser<Fa
         );
     }
 
+    // recognizers......................................................................................................
+
+    @Test
+    public void testRecognizers() {
+        final EbnfParserCombinatorRecognizer recognizer = EbnfParserCombinators.recognizers(
+                this.parseGrammar("TEST=\"a\", {\"0\"..\"9\"}, [\"z\"];"),
+                (n) -> Optional.empty()
+        ).apply(TEST).get();
+
+        this.checkEquals(
+                true,
+                recognizer.test("a123z")
+        );
+        this.checkEquals(
+                false,
+                recognizer.test("a123x")
+        );
+        this.checkEquals(
+                4,
+                recognizer.matchLength(
+                        "a123x",
+                        0
+                )
+        );
+    }
+
+    @Test
+    public void testRecognizersMissingFails() {
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> EbnfParserCombinators.recognizers(
+                        this.parseGrammar("TEST=UNKNOWN;"),
+                        (n) -> Optional.empty()
+                )
+        );
+    }
+
+    // uncaptured.......................................................................................................
+
+    @Test
+    public void testUncaptured() {
+        final Function<EbnfIdentifierName, Optional<EbnfParserCombinatorRecognizer>> uncaptured = EbnfParserCombinators.uncaptured(
+                this.parseGrammar("TEST=\"a\", B;\nB=\"b\";"),
+                Sets.of(TEST)
+        );
+
+        this.checkEquals(
+                false,
+                uncaptured.apply(TEST).isPresent(),
+                "TEST"
+        );
+        this.checkEquals(
+                true,
+                uncaptured.apply(EbnfIdentifierName.with("B")).isPresent(),
+                "B"
+        );
+    }
+
+    @Test
+    public void testCombinatorCapture() {
+        final GrammarEbnfParserToken grammar = this.parseGrammar("TEST=\"a\", B;\nB=\"b\", \"c\";");
+
+        this.parseAndCheck(
+                grammar.combinator(
+                        (n) -> Optional.empty(),
+                        EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic(),
+                        Sets.of(TEST)
+                ).apply(TEST)
+                        .get(),
+                "abc",
+                ParserTokens.sequence(
+                        Lists.of(
+                                ParserTokens.string("a", "a"),
+                                ParserTokens.string("bc", "bc")
+                        ),
+                        "abc"
+                ),
+                "abc",
+                ""
+        );
+    }
+
     // range............................................................................................................
 
     // TEST = "a".."b";
@@ -1406,6 +1910,74 @@ public final class EbnfParserCombinatorsTest implements ParserTesting2<Parser<Fa
         );
     }
 
+    // TEST={"a".."z"};
+    @Test
+    public void testTransformRepeatRange() {
+        final Parser<FakeParserContext> parser = this.parseGrammarAndGetParser(
+                "TEST={\"a\"..\"z\"};",
+                EbnfParserCombinatorGrammarTransformers.basic()
+        );
+
+        this.checkEquals(
+                EbnfParserCombinatorRepeatedCharSetParser.class,
+                parser.getClass(),
+                () -> "parser " + parser
+        );
+
+        this.parseGrammarAndGetParserAndParseCheck(
+                parser,
+                "ab!",
+                ParserTokens.repeated(
+                        Lists.of(
+                                this.string("a"),
+                                this.string("b")
+                        ),
+                        "ab"
+                ),
+                "ab",
+                "!"
+        );
+    }
+
+    // TEST={LETTER};
+    // LETTER="a" | "b";
+    @Test
+    public void testTransformRepeatIdentifierAlternatives() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST={LETTER};\nLETTER=\"a\" | \"b\";",
+                        EbnfParserCombinatorGrammarTransformers.basic()
+                ),
+                "abc",
+                ParserTokens.repeated(
+                        Lists.of(
+                                this.string("a"),
+                                this.string("b")
+                        ),
+                        "ab"
+                ),
+                "ab",
+                "c"
+        );
+    }
+
+    // TEST={"a".."z"};
+    @Test
+    public void testTransformRepeatRangeRepeatedCharactersString() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseGrammarAndGetParser(
+                        "TEST={\"a\"..\"z\"};",
+                        EbnfParserCombinatorGrammarTransformers.repeatedCharactersString(
+                                EbnfParserCombinatorGrammarTransformers.basic()
+                        )
+                ),
+                "ab!",
+                this.string("ab"),
+                "ab",
+                "!"
+        );
+    }
+
     // HELPERS .........................................................................................................
 
     @Override
@@ -1796,6 +2368,128 @@ public final class EbnfParserCombinatorsTest implements ParserTesting2<Parser<Fa
         );
     }
 
+    // transformLl1.....................................................................................................
+
+    @Test
+    public void testTransformLl1NotLl1Fails() {
+        final EbnfParserCombinatorException thrown = assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> this.parseLl1GrammarAndGetParser("TEST=\"a\" | \"ab\";")
+        );
+
+        this.checkEquals(
+                "Grammar is not LL(1), 1 conflict(s)\n" +
+                        "Rule \"TEST\" \"a\" | \"ab\" alternatives 1 and 2 share \"a\"",
+                thrown.getMessage()
+        );
+    }
+
+    // TEST="abc" | "def";
+    @Test
+    public void testTransformLl1Alternatives() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseLl1GrammarAndGetParser("TEST=\"abc\" | \"def\";"),
+                "def"
+        );
+    }
+
+    // TEST="abc" | "def";
+    @Test
+    public void testTransformLl1AlternativesFails() {
+        this.parseFailAndCheck(
+                this.parseLl1GrammarAndGetParser("TEST=\"abc\" | \"def\";"),
+                "xyz"
+        );
+    }
+
+    // TEST=["abc"], "def";
+    @Test
+    public void testTransformLl1OptionalPresent() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseLl1GrammarAndGetParser("TEST=[\"abc\"], \"def\";"),
+                "abcdef",
+                sequence(
+                        this.string("abc"),
+                        this.string("def")
+                ),
+                "abcdef"
+        );
+    }
+
+    // TEST=["abc"], "def";
+    @Test
+    public void testTransformLl1OptionalMissing() {
+        this.parseGrammarAndGetParserAndParseCheck(
+                this.parseLl1GrammarAndGetParser("TEST=[\"abc\"], \"def\";"),
+                "def",
+                sequence(
+                        this.string("def")
+                ),
+                "def"
+        );
+    }
+
+    private Parser<FakeParserContext> parseLl1GrammarAndGetParser(final String grammar) {
+        return EbnfParserCombinators.transformLl1(
+                this.parseGrammar(grammar),
+                (n) -> Optional.empty(),
+                this.transformer()
+        ).apply(TEST)
+                .get();
+    }
+
+    // ll1Conflicts.....................................................................................................
+
+    @Test
+    public void testLl1ConflictsNone() {
+        this.checkEquals(
+                Lists.empty(),
+                EbnfParserCombinators.ll1Conflicts(
+                        this.parseGrammar("TEST=\"a\" | \"b\";")
+                )
+        );
+    }
+
+    @Test
+    public void testLl1Conflicts() {
+        this.checkEquals(
+                Lists.of(
+                        "Rule \"TEST\" [\"a\"] and what follows share \"a\""
+                ),
+                EbnfParserCombinators.ll1Conflicts(
+                        this.parseGrammar("TEST=[\"a\"], \"a\";")
+                )
+        );
+    }
+
+    // range............................................................................................................
+
+    @Test
+    public void testRange() {
+        this.checkEquals(
+                Optional.of(
+                        ParserTokens.string("m", "m")
+                ),
+                EbnfParserCombinators.<FakeParserContext>range("a", "z")
+                        .parse(
+                                TextCursors.charSequence("m"),
+                                new FakeParserContext()
+                        )
+        );
+    }
+
+    @Test
+    public void testRangeOutsideFails() {
+        this.checkEquals(
+                Optional.empty(),
+                EbnfParserCombinators.<FakeParserContext>range("a", "z")
+                        .parse(
+                                TextCursors.charSequence("A"),
+                                new FakeParserContext()
+                        )
+        );
+    }
+
     // toString.........................................................................................................
 
     @Test
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.ascii;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorAsciiCharSequenceTest implements ClassTesting2<EbnfParserCombinatorAsciiCharSequence> {
+
+    @Test
+    public void testLengthAndCharAt() {
+        final EbnfParserCombinatorAsciiCharSequence chars = this.createCharSequence();
+
+        this.checkEquals(3, chars.length(), "length");
+        this.checkEquals('b', chars.charAt(0), "charAt 0");
+        this.checkEquals('d', chars.charAt(2), "charAt 2");
+    }
+
+    @Test
+    public void testCharAtInvalidIndexFails() {
+        assertThrows(
+                StringIndexOutOfBoundsException.class,
+                () -> this.createCharSequence()
+                        .charAt(3)
+        );
+    }
+
+    @Test
+    public void testCharAtHighByte() {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{(byte) 0xe9});
+
+        this.checkEquals(
+                (char) 0xe9,
+                EbnfParserCombinatorAsciiCharSequence.with(
+                        buffer,
+                        0,
+                        1
+                ).charAt(0)
+        );
+    }
+
+    @Test
+    public void testSubSequence() {
+        this.checkEquals(
+                "cd",
+                this.createCharSequence()
+                        .subSequence(1, 3)
+                        .toString()
+        );
+    }
+
+    @Test
+    public void testSubSequenceAll() {
+        final EbnfParserCombinatorAsciiCharSequence chars = this.createCharSequence();
+
+        assertSame(
+                chars,
+                chars.subSequence(0, 3)
+        );
+    }
+
+    @Test
+    public void testSubSequenceInvalidFails() {
+        assertThrows(
+                StringIndexOutOfBoundsException.class,
+                () -> this.createCharSequence()
+                        .subSequence(2, 4)
+        );
+    }
+
+    @Test
+    public void testBufferPositionUnchanged() {
+        final ByteBuffer buffer = this.buffer();
+        EbnfParserCombinatorAsciiCharSequence.with(
+                buffer,
+                1,
+                3
+        ).toString();
+
+        this.checkEquals(
+                0,
+                buffer.position()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createCharSequence(),
+                "bcd"
+        );
+    }
+
+    private EbnfParserCombinatorAsciiCharSequence createCharSequence() {
+        return EbnfParserCombinatorAsciiCharSequence.with(
+                this.buffer(),
+                1,
+                3
+        );
+    }
+
+    private ByteBuffer buffer() {
+        return ByteBuffer.wrap(
+                "abcde".getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorAsciiCharSequence> type() {
+        return EbnfParserCombinatorAsciiCharSequence.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
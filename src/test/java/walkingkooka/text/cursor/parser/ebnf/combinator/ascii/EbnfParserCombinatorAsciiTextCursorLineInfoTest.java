@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.ascii;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class EbnfParserCombinatorAsciiTextCursorLineInfoTest implements ClassTesting2<EbnfParserCombinatorAsciiTextCursorLineInfo> {
+
+    @Test
+    public void testWith() {
+        final EbnfParserCombinatorAsciiTextCursorLineInfo lineInfo = this.createLineInfo("ab\ncde\nf");
+
+        this.checkEquals("cde", lineInfo.text().toString(), "text");
+        this.checkEquals(2, lineInfo.lineNumber(), "lineNumber");
+        this.checkEquals(3, lineInfo.column(), "column");
+        this.checkEquals(5, lineInfo.textOffset(), "textOffset");
+    }
+
+    @Test
+    public void testTextLastLine() {
+        this.checkEquals(
+                "cde",
+                this.createLineInfo("ab\ncde")
+                        .text()
+                        .toString()
+        );
+    }
+
+    @Test
+    public void testTextCached() {
+        final EbnfParserCombinatorAsciiTextCursorLineInfo lineInfo = this.createLineInfo("ab\ncde\nf");
+
+        assertSame(
+                lineInfo.text(),
+                lineInfo.text()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createLineInfo("ab\ncde\r\nf"),
+                "(3,2) \"cde\""
+        );
+    }
+
+    /**
+     * Line info for the 'e' on the second line.
+     */
+    private EbnfParserCombinatorAsciiTextCursorLineInfo createLineInfo(final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+
+        return EbnfParserCombinatorAsciiTextCursorLineInfo.with(
+                ByteBuffer.wrap(bytes),
+                3,
+                bytes.length,
+                2,
+                3,
+                5
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorAsciiTextCursorLineInfo> type() {
+        return EbnfParserCombinatorAsciiTextCursorLineInfo.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
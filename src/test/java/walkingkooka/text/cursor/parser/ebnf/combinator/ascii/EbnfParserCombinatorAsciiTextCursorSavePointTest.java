@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.ascii;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class EbnfParserCombinatorAsciiTextCursorSavePointTest implements ClassTesting2<EbnfParserCombinatorAsciiTextCursorSavePoint> {
+
+    @Test
+    public void testSaveMovesSavePoint() {
+        final EbnfParserCombinatorAsciiTextCursor cursor = this.createCursor();
+        final EbnfParserCombinatorAsciiTextCursorSavePoint save = EbnfParserCombinatorAsciiTextCursorSavePoint.with(cursor);
+
+        cursor.next();
+        save.save();
+        cursor.next();
+        cursor.next();
+
+        this.checkEquals(
+                "bc",
+                save.textBetween()
+                        .toString()
+        );
+    }
+
+    @Test
+    public void testRestoreReturnsCursor() {
+        final EbnfParserCombinatorAsciiTextCursor cursor = this.createCursor();
+        final EbnfParserCombinatorAsciiTextCursorSavePoint save = EbnfParserCombinatorAsciiTextCursorSavePoint.with(cursor);
+        cursor.next();
+
+        this.checkEquals(
+                cursor,
+                save.restore()
+        );
+        this.checkEquals(
+                'a',
+                cursor.at()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final EbnfParserCombinatorAsciiTextCursor cursor = this.createCursor();
+        cursor.next();
+
+        this.toStringAndCheck(
+                EbnfParserCombinatorAsciiTextCursorSavePoint.with(cursor),
+                "1"
+        );
+    }
+
+    private EbnfParserCombinatorAsciiTextCursor createCursor() {
+        return EbnfParserCombinatorAsciiTextCursor.with(
+                ByteBuffer.wrap(
+                        "abcd".getBytes(StandardCharsets.US_ASCII)
+                )
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorAsciiTextCursorSavePoint> type() {
+        return EbnfParserCombinatorAsciiTextCursorSavePoint.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
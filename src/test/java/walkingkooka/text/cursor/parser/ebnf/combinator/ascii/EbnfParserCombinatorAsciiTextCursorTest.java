@@ -0,0 +1,259 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.ascii;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorLineInfo;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorException;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformers;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorRecognizer;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinators;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorAsciiTextCursorTest implements ClassTesting2<EbnfParserCombinatorAsciiTextCursor> {
+
+    @Test
+    public void testWithNullBufferFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorAsciiTextCursor.with(null)
+        );
+    }
+
+    @Test
+    public void testEmpty() {
+        this.checkEquals(
+                true,
+                this.createCursor("")
+                        .isEmpty()
+        );
+    }
+
+    @Test
+    public void testAtEmptyFails() {
+        assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> this.createCursor("")
+                        .at()
+        );
+    }
+
+    @Test
+    public void testAtAndNext() {
+        this.readAndCheck(
+                this.createCursor("abc"),
+                "abc"
+        );
+    }
+
+    @Test
+    public void testBufferPositionAndLimit() {
+        final ByteBuffer buffer = this.buffer("abcde");
+        buffer.position(1);
+        buffer.limit(4);
+
+        this.readAndCheck(
+                EbnfParserCombinatorAsciiTextCursor.with(buffer),
+                "bcd"
+        );
+        this.checkEquals(
+                1,
+                buffer.position(),
+                "position"
+        );
+    }
+
+    @Test
+    public void testEnd() {
+        final TextCursor cursor = this.createCursor("abc");
+        cursor.end();
+
+        this.checkEquals(
+                true,
+                cursor.isEmpty()
+        );
+    }
+
+    @Test
+    public void testSaveRestoreTextBetween() {
+        final TextCursor cursor = this.createCursor("abcd");
+        cursor.next();
+
+        final TextCursorSavePoint save = cursor.save();
+        cursor.next();
+        cursor.next();
+
+        this.checkEquals(
+                "bc",
+                save.textBetween()
+                        .toString(),
+                "textBetween"
+        );
+
+        save.restore();
+        this.readAndCheck(
+                cursor,
+                "bcd"
+        );
+    }
+
+    @Test
+    public void testLineInfo() {
+        final TextCursor cursor = this.createCursor("ab\ncd\r\nef");
+        for (int i = 0; i < 8; i++) {
+            cursor.next();
+        }
+
+        final TextCursorLineInfo lineInfo = cursor.lineInfo();
+        this.checkEquals("ef", lineInfo.text().toString(), "text");
+        this.checkEquals(3, lineInfo.lineNumber(), "lineNumber");
+        this.checkEquals(2, lineInfo.column(), "column");
+        this.checkEquals(8, lineInfo.textOffset(), "textOffset");
+    }
+
+    @Test
+    public void testLineInfoTextOffsetFromBufferPosition() {
+        final ByteBuffer buffer = this.buffer("xyzabc");
+        buffer.position(3);
+
+        final TextCursor cursor = EbnfParserCombinatorAsciiTextCursor.with(buffer);
+        cursor.next();
+
+        this.checkEquals(
+                1,
+                cursor.lineInfo()
+                        .textOffset()
+        );
+    }
+
+    @Test
+    public void testParseSameAsCharSequenceCursor() {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse(
+                "CSV=LINE, {\";\", LINE};\n" +
+                        "LINE=FIELD, {\",\", FIELD};\n" +
+                        "FIELD={'a'..'z' | '0'..'9'};"
+        );
+        this.checkEquals(
+                0,
+                EbnfParserCombinators.nonAsciiTerminals(grammar).size(),
+                "nonAsciiTerminals"
+        );
+
+        final Parser<FakeParserContext> parser = grammar.combinator(
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+        ).apply(EbnfIdentifierName.with("CSV"))
+                .get();
+
+        final String text = "abc,123,x;def,,456;";
+
+        this.checkEquals(
+                parser.parse(
+                        TextCursors.charSequence(text),
+                        new FakeParserContext()
+                ),
+                parser.parse(
+                        EbnfParserCombinatorByteBuffers.ascii(
+                                this.buffer(text)
+                        ),
+                        new FakeParserContext()
+                )
+        );
+    }
+
+    @Test
+    public void testRecognizerOverAsciiCharSequence() {
+        final EbnfParserCombinatorRecognizer recognizer = EbnfParserCombinators.recognizers(
+                EbnfParserToken.parse("TEST={'a'..'z'}, \";\";"),
+                (n) -> Optional.empty()
+        ).apply(EbnfIdentifierName.with("TEST"))
+                .get();
+
+        this.checkEquals(
+                4,
+                recognizer.matchLength(
+                        EbnfParserCombinatorByteBuffers.asciiCharSequence(
+                                this.buffer("abc;def")
+                        ),
+                        0
+                )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final TextCursor cursor = this.createCursor("abc");
+        cursor.next();
+
+        this.toStringAndCheck(
+                cursor,
+                "a|bc"
+        );
+    }
+
+    private TextCursor createCursor(final String text) {
+        return EbnfParserCombinatorAsciiTextCursor.with(
+                this.buffer(text)
+        );
+    }
+
+    private ByteBuffer buffer(final String text) {
+        return ByteBuffer.wrap(
+                text.getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+
+    private void readAndCheck(final TextCursor cursor,
+                              final String expected) {
+        final StringBuilder b = new StringBuilder();
+        while (false == cursor.isEmpty()) {
+            b.append(cursor.at());
+            cursor.next();
+        }
+
+        this.checkEquals(
+                expected,
+                b.toString()
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorAsciiTextCursor> type() {
+        return EbnfParserCombinatorAsciiTextCursor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.batch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.FakeParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorException;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorBatchParserTest implements ClassTesting2<EbnfParserCombinatorBatchParser<FakeParserContext>> {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    private final static int PARALLELISM = 4;
+
+    @Test
+    public void testWithNullParserFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorBatchParsers.threads(
+                        null,
+                        FakeParserContext::new,
+                        PARALLELISM
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullContextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorBatchParsers.threads(
+                        this.parser(),
+                        null,
+                        PARALLELISM
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorBatchParsers.executor(
+                        this.parser(),
+                        FakeParserContext::new,
+                        null,
+                        PARALLELISM
+                )
+        );
+    }
+
+    @Test
+    public void testWithInvalidParallelismFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorBatchParsers.threads(
+                        this.parser(),
+                        FakeParserContext::new,
+                        0
+                )
+        );
+    }
+
+    @Test
+    public void testParseEmpty() {
+        this.checkEquals(
+                Lists.empty(),
+                this.createBatch()
+                        .parse(Lists.empty())
+        );
+    }
+
+    @Test
+    public void testParseInputOrder() {
+        final List<String> inputs = this.inputs(1000);
+
+        this.checkEquals(
+                this.tokens(inputs),
+                this.createBatch()
+                        .parse(inputs)
+        );
+    }
+
+    @Test
+    public void testParseFailFast() {
+        final List<String> inputs = this.inputs(1000);
+        inputs.set(500, "a!");
+        inputs.set(700, "!");
+
+        final EbnfParserCombinatorException thrown = assertThrows(
+                EbnfParserCombinatorException.class,
+                () -> this.createBatch()
+                        .parse(inputs)
+        );
+        this.checkEquals(
+                "Unable to parse \"a!\" at 1",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testParseParserThrows() {
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> EbnfParserCombinatorBatchParsers.threads(
+                        Parsers.<FakeParserContext>fake(),
+                        FakeParserContext::new,
+                        PARALLELISM
+                ).parse(
+                        Lists.of("a")
+                )
+        );
+    }
+
+    @Test
+    public void testParseAllCollectsErrors() {
+        final List<String> inputs = this.inputs(100);
+        inputs.set(10, "a!");
+        inputs.set(20, "!");
+
+        final List<EbnfParserCombinatorBatchResult> results = this.createBatch()
+                .parseAll(inputs);
+        this.checkEquals(
+                inputs.size(),
+                results.size(),
+                "results"
+        );
+
+        final List<ParserToken> tokens = this.tokens(inputs);
+
+        for (int i = 0; i < inputs.size(); i++) {
+            final EbnfParserCombinatorBatchResult result = results.get(i);
+            this.checkEquals(
+                    inputs.get(i),
+                    result.input(),
+                    "input"
+            );
+
+            switch (i) {
+                case 10:
+                    this.checkEquals(
+                            "Unable to parse \"a!\" at 1",
+                            result.error()
+                                    .get()
+                                    .getMessage()
+                    );
+                    break;
+                case 20:
+                    this.checkEquals(
+                            "Unable to parse \"!\" at 0",
+                            result.error()
+                                    .get()
+                                    .getMessage()
+                    );
+                    break;
+                default:
+                    this.checkEquals(
+                            Optional.of(tokens.get(i)),
+                            result.token(),
+                            "token"
+                    );
+                    break;
+            }
+        }
+    }
+
+    @Test
+    public void testParseContextPerWorker() {
+        final AtomicInteger contexts = new AtomicInteger();
+
+        EbnfParserCombinatorBatchParsers.threads(
+                this.parser(),
+                () -> {
+                    contexts.incrementAndGet();
+                    return new FakeParserContext();
+                },
+                PARALLELISM
+        ).parse(
+                this.inputs(1000)
+        );
+
+        this.checkEquals(
+                PARALLELISM,
+                contexts.get()
+        );
+    }
+
+    @Test
+    public void testParseCallingThreadOnly() {
+        final List<String> inputs = this.inputs(10);
+
+        this.checkEquals(
+                this.tokens(inputs),
+                EbnfParserCombinatorBatchParsers.executor(
+                        this.parser(),
+                        FakeParserContext::new,
+                        (r) -> {
+                            throw new UnsupportedOperationException();
+                        },
+                        1
+                ).parse(inputs)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final Parser<FakeParserContext> parser = this.parser();
+
+        this.toStringAndCheck(
+                EbnfParserCombinatorBatchParsers.threads(
+                        parser,
+                        FakeParserContext::new,
+                        PARALLELISM
+                ),
+                parser + " parallelism " + PARALLELISM
+        );
+    }
+
+    private EbnfParserCombinatorBatchParser<FakeParserContext> createBatch() {
+        return EbnfParserCombinatorBatchParsers.threads(
+                this.parser(),
+                FakeParserContext::new,
+                PARALLELISM
+        );
+    }
+
+    private Parser<FakeParserContext> parser() {
+        return EbnfParserToken.parse("TEST=\"a\", {\"b\"};")
+                .combinator(
+                        (n) -> Optional.empty(),
+                        EbnfParserCombinatorGrammarTransformers.<FakeParserContext>basic()
+                ).apply(TEST)
+                .get();
+    }
+
+    /**
+     * Inputs of different lengths, a, ab, abb...
+     */
+    private List<String> inputs(final int count) {
+        final List<String> inputs = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            final StringBuilder b = new StringBuilder();
+            b.append('a');
+            for (int j = 0; j < i % 17; j++) {
+                b.append('b');
+            }
+            inputs.add(b.toString());
+        }
+
+        return inputs;
+    }
+
+    /**
+     * Parses each input in order on the calling thread.
+     */
+    private List<ParserToken> tokens(final List<String> inputs) {
+        final Parser<FakeParserContext> parser = this.parser();
+        final List<ParserToken> tokens = new ArrayList<>();
+
+        for (final String input : inputs) {
+            tokens.add(
+                    parser.parse(
+                            TextCursors.charSequence(input),
+                            new FakeParserContext()
+                    ).get()
+            );
+        }
+
+        return tokens;
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorBatchParser<FakeParserContext>> type() {
+        return Cast.to(EbnfParserCombinatorBatchParser.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
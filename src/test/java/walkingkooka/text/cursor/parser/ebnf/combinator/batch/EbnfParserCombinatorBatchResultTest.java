@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.batch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ParserTokens;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorBatchResultTest implements ClassTesting2<EbnfParserCombinatorBatchResult> {
+
+    private final static String INPUT = "abc";
+
+    @Test
+    public void testTokenNullFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorBatchResult.token(
+                        INPUT,
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testErrorNullFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorBatchResult.error(
+                        INPUT,
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testToken() {
+        final ParserToken token = this.token();
+        final EbnfParserCombinatorBatchResult result = EbnfParserCombinatorBatchResult.token(
+                INPUT,
+                token
+        );
+
+        this.checkEquals(INPUT, result.input(), "input");
+        this.checkEquals(Optional.of(token), result.token(), "token");
+        this.checkEquals(Optional.empty(), result.error(), "error");
+    }
+
+    @Test
+    public void testError() {
+        final RuntimeException error = new EbnfParserCombinatorException("Failed!");
+        final EbnfParserCombinatorBatchResult result = EbnfParserCombinatorBatchResult.error(
+                INPUT,
+                error
+        );
+
+        this.checkEquals(INPUT, result.input(), "input");
+        this.checkEquals(Optional.empty(), result.token(), "token");
+        this.checkEquals(Optional.of(error), result.error(), "error");
+    }
+
+    @Test
+    public void testToStringToken() {
+        final ParserToken token = this.token();
+
+        this.toStringAndCheck(
+                EbnfParserCombinatorBatchResult.token(
+                        INPUT,
+                        token
+                ),
+                "\"abc\" " + token
+        );
+    }
+
+    @Test
+    public void testToStringError() {
+        this.toStringAndCheck(
+                EbnfParserCombinatorBatchResult.error(
+                        INPUT,
+                        new EbnfParserCombinatorException("Failed!")
+                ),
+                "\"abc\" Failed!"
+        );
+    }
+
+    private ParserToken token() {
+        return ParserTokens.string(
+                INPUT,
+                INPUT
+        );
+    }
+
+    @Override
+    public Class<EbnfParserCombinatorBatchResult> type() {
+        return EbnfParserCombinatorBatchResult.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class EbnfParserCombinatorProfileSiteTest implements ClassTesting2<EbnfParserCombinatorProfileSite> {
+
+    @Test
+    public void testRecordSuccess() {
+        final EbnfParserCombinatorProfileSite site = EbnfParserCombinatorProfileSite.with("A");
+        site.record(true, 2, 5, 7);
+
+        this.toStringAndCheck(
+                site,
+                "A invocations=1 successes=1 failures=0 consumed=2 backtracked=3 nanos=7"
+        );
+    }
+
+    @Test
+    public void testRecordFailure() {
+        final EbnfParserCombinatorProfileSite site = EbnfParserCombinatorProfileSite.with("A");
+        site.record(false, 0, 4, 0);
+
+        this.toStringAndCheck(
+                site,
+                "A invocations=1 successes=0 failures=1 consumed=0 backtracked=4 nanos=0"
+        );
+    }
+
+    @Test
+    public void testCost() {
+        final EbnfParserCombinatorProfileSite site = EbnfParserCombinatorProfileSite.with("A");
+        site.record(true, 2, 5, 7);
+        site.record(false, 0, 1, 3);
+
+        this.checkEquals(6L, site.cost(false), "characters read");
+        this.checkEquals(10L, site.cost(true), "nanos");
+    }
+
+    @Test
+    public void testAddChoiceDuplicate() {
+        final EbnfParserCombinatorProfileSite site = EbnfParserCombinatorProfileSite.with("A | B");
+        final EbnfParserCombinatorProfileSite a = EbnfParserCombinatorProfileSite.with("A");
+        final EbnfParserCombinatorProfileSite b = EbnfParserCombinatorProfileSite.with("B");
+
+        site.addChoice(a);
+        site.addChoice(b);
+        site.addChoice(a);
+
+        this.checkEquals(
+                2,
+                site.choices.size()
+        );
+    }
+
+    @Test
+    public void testReset() {
+        final EbnfParserCombinatorProfileSite site = EbnfParserCombinatorProfileSite.with("A");
+        site.record(true, 2, 5, 7);
+        site.reset();
+
+        this.toStringAndCheck(
+                site,
+                "A invocations=0 successes=0 failures=0 consumed=0 backtracked=0 nanos=0"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorProfileSite> type() {
+        return EbnfParserCombinatorProfileSite.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorProfileTest implements ClassTesting2<EbnfParserCombinatorProfile> {
+
+    @Test
+    public void testWithInvalidSampleRateFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfParserCombinatorProfile.with(0, false)
+        );
+    }
+
+    @Test
+    public void testSample() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfile.with(3, false);
+
+        this.checkEquals(true, profile.sample(), "1");
+        this.checkEquals(false, profile.sample(), "2");
+        this.checkEquals(false, profile.sample(), "3");
+        this.checkEquals(true, profile.sample(), "4");
+        this.checkEquals(false, profile.sample(), "5");
+    }
+
+    @Test
+    public void testSampleEvery() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfile.with(1, false);
+
+        this.checkEquals(true, profile.sample(), "1");
+        this.checkEquals(true, profile.sample(), "2");
+    }
+
+    @Test
+    public void testSampleConcurrent() throws Exception {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfile.with(7, false);
+        final AtomicInteger sampled = new AtomicInteger();
+
+        final int threadCount = 4;
+        final int perThread = 7 * 10_000;
+        final Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    if (profile.sample()) {
+                        sampled.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.checkEquals(
+                threadCount * perThread / 7,
+                sampled.get()
+        );
+    }
+
+    @Test
+    public void testReportEmpty() {
+        this.checkEquals(
+                "Sampled 1 in 10 invocations\n" +
+                        "Rules by characters read:\n" +
+                        "Alternatives by failures:\n",
+                EbnfParserCombinatorProfile.with(10, false)
+                        .report()
+        );
+    }
+
+    @Test
+    public void testReportSkipsUnmeasured() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfile.with(1, false);
+        profile.rule("A");
+        profile.alternatives("A | B");
+
+        this.checkEquals(
+                "Sampled 1 in 1 invocations\n" +
+                        "Rules by characters read:\n" +
+                        "Alternatives by failures:\n",
+                profile.report()
+        );
+    }
+
+    @Test
+    public void testReport() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfile.with(1, false);
+
+        profile.rule("A")
+                .record(true, 1, 1, 0);
+        profile.rule("B")
+                .record(true, 2, 5, 0);
+        profile.rule("C")
+                .record(true, 1, 1, 0);
+
+        final EbnfParserCombinatorProfileSite alternatives = profile.alternatives("X | Y");
+        alternatives.record(true, 1, 3, 0);
+
+        final EbnfParserCombinatorProfileSite x = profile.identifier("X");
+        x.record(false, 0, 2, 0);
+        alternatives.addChoice(x);
+
+        final EbnfParserCombinatorProfileSite y = profile.identifier("Y");
+        y.record(true, 1, 1, 0);
+        alternatives.addChoice(y);
+
+        this.checkEquals(
+                "Sampled 1 in 1 invocations\n" +
+                        "Rules by characters read:\n" +
+                        "  B invocations=1 successes=1 failures=0 consumed=2 backtracked=3 nanos=0\n" +
+                        "  A invocations=1 successes=1 failures=0 consumed=1 backtracked=0 nanos=0\n" +
+                        "  C invocations=1 successes=1 failures=0 consumed=1 backtracked=0 nanos=0\n" +
+                        "Alternatives by failures:\n" +
+                        "  X | Y invocations=1 successes=1 failures=0 consumed=1 backtracked=2 nanos=0\n" +
+                        "    X invocations=1 successes=0 failures=1 consumed=0 backtracked=2 nanos=0\n" +
+                        "    Y invocations=1 successes=1 failures=0 consumed=1 backtracked=0 nanos=0\n",
+                profile.report()
+        );
+    }
+
+    @Test
+    public void testReportTiming() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfile.with(1, true);
+
+        profile.rule("A")
+                .record(true, 5, 5, 10);
+        profile.rule("B")
+                .record(true, 1, 1, 20);
+
+        this.checkEquals(
+                "Sampled 1 in 1 invocations\n" +
+                        "Rules by time:\n" +
+                        "  B invocations=1 successes=1 failures=0 consumed=1 backtracked=0 nanos=20\n" +
+                        "  A invocations=1 successes=1 failures=0 consumed=5 backtracked=0 nanos=10\n" +
+                        "Alternatives by failures:\n",
+                profile.report()
+        );
+    }
+
+    @Test
+    public void testReset() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfile.with(1, false);
+
+        profile.rule("A")
+                .record(true, 1, 1, 0);
+        profile.reset();
+
+        this.checkEquals(
+                "Sampled 1 in 1 invocations\n" +
+                        "Rules by characters read:\n" +
+                        "Alternatives by failures:\n",
+                profile.report()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorProfile> type() {
+        return EbnfParserCombinatorProfile.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
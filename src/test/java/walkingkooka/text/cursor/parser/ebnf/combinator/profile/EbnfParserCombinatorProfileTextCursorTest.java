@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.TextCursors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfParserCombinatorProfileTextCursorTest implements ClassTesting2<EbnfParserCombinatorProfileTextCursor> {
+
+    @Test
+    public void testWithNullCursorFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> EbnfParserCombinatorProfileTextCursor.with(null)
+        );
+    }
+
+    @Test
+    public void testNext() {
+        final EbnfParserCombinatorProfileTextCursor cursor = this.createCursor();
+
+        this.checkEquals('a', cursor.at());
+        cursor.next();
+        this.checkEquals('b', cursor.at());
+
+        this.checkEquals(1L, cursor.position, "position");
+        this.checkEquals(1L, cursor.read, "read");
+    }
+
+    @Test
+    public void testEnd() {
+        final EbnfParserCombinatorProfileTextCursor cursor = this.createCursor();
+        cursor.end();
+
+        this.checkEquals(true, cursor.isEmpty());
+        this.checkEquals(4L, cursor.position, "position");
+        this.checkEquals(4L, cursor.read, "read");
+    }
+
+    @Test
+    public void testRestoreKeepsRead() {
+        final EbnfParserCombinatorProfileTextCursor cursor = this.createCursor();
+        cursor.next();
+
+        final TextCursorSavePoint save = cursor.save();
+        cursor.next();
+        cursor.next();
+        save.restore();
+
+        this.checkEquals('b', cursor.at());
+        this.checkEquals(1L, cursor.position, "position");
+        this.checkEquals(3L, cursor.read, "read");
+    }
+
+    @Test
+    public void testLineInfo() {
+        final TextCursor wrapped = TextCursors.charSequence("abcd");
+        wrapped.next();
+
+        this.checkEquals(
+                wrapped.lineInfo()
+                        .column(),
+                EbnfParserCombinatorProfileTextCursor.with(wrapped)
+                        .lineInfo()
+                        .column()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final TextCursor wrapped = TextCursors.charSequence("abcd");
+        wrapped.next();
+
+        this.toStringAndCheck(
+                EbnfParserCombinatorProfileTextCursor.with(wrapped),
+                wrapped.toString()
+        );
+    }
+
+    private EbnfParserCombinatorProfileTextCursor createCursor() {
+        return EbnfParserCombinatorProfileTextCursor.with(
+                TextCursors.charSequence("abcd")
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorProfileTextCursor> type() {
+        return EbnfParserCombinatorProfileTextCursor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.combinator.profile;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserContexts;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinatorGrammarTransformers;
+import walkingkooka.text.cursor.parser.ebnf.combinator.EbnfParserCombinators;
+
+import java.util.Optional;
+
+public final class EbnfParserCombinatorProfilingGrammarTransformerTest implements ClassTesting2<EbnfParserCombinatorProfilingGrammarTransformer<?>> {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    @Test
+    public void testProfilingSameTokens() {
+        this.checkEquals(
+                this.parse(
+                        EbnfParserCombinators.<ParserContext>transform(
+                                EbnfParserToken.parse(PROFILING),
+                                (n) -> Optional.empty(),
+                                EbnfParserCombinatorGrammarTransformers.basic()
+                        ).apply(TEST)
+                                .get(),
+                        "aby",
+                        EbnfParserContexts.basic()
+                ),
+                this.parse(
+                        this.profilingParser(
+                                PROFILING,
+                                EbnfParserCombinatorProfiles.profile(1, true)
+                        ),
+                        "aby",
+                        EbnfParserContexts.basic()
+                )
+        );
+    }
+
+    @Test
+    public void testProfilingRules() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfiles.profile(1, false);
+
+        this.checkEquals(
+                Optional.of("aby"),
+                this.parse(
+                        this.profilingParser(
+                                PROFILING,
+                                profile
+                        ),
+                        "aby",
+                        EbnfParserContexts.basic()
+                ).map(ParserToken::text)
+        );
+
+        final String report = profile.report();
+        this.checkReport(report, "  TEST invocations=1 successes=1 failures=0 consumed=3 backtracked=");
+        this.checkReport(report, "  A invocations=2 successes=2 failures=0 consumed=4 backtracked=0 nanos=0\n");
+        this.checkReport(report, "  B invocations=1 successes=0 failures=1 consumed=0 backtracked=");
+        this.checkReport(report, "  C invocations=1 successes=1 failures=0 consumed=3 backtracked=0 nanos=0\n");
+    }
+
+    @Test
+    public void testProfilingAlternativesChoices() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfiles.profile(1, false);
+
+        this.parse(
+                this.profilingParser(
+                        PROFILING,
+                        profile
+                ),
+                "aby",
+                EbnfParserContexts.basic()
+        );
+
+        final String report = profile.report();
+        this.checkReport(report, "Alternatives by failures:\n");
+
+        final String choices = report.substring(report.indexOf("Alternatives by failures:\n"));
+        this.checkReport(choices, "  B | C invocations=1 successes=1 failures=0 consumed=3 backtracked=");
+        this.checkReport(choices, "    B invocations=1 successes=0 failures=1 consumed=0 backtracked=");
+        this.checkReport(choices, "    C invocations=1 successes=1 failures=0 consumed=3 backtracked=0 nanos=0\n");
+    }
+
+    @Test
+    public void testProfilingSampled() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfiles.profile(1000, false);
+        final Parser<ParserContext> parser = this.profilingParser(
+                PROFILING,
+                profile
+        );
+
+        this.parse(parser, "aby", EbnfParserContexts.basic());
+        this.parse(parser, "aby", EbnfParserContexts.basic());
+
+        this.checkReport(
+                profile.report(),
+                "  TEST invocations=1 successes=1 failures=0 consumed=3 backtracked="
+        );
+    }
+
+    @Test
+    public void testProfilingTerminalAlternativesNotProfiled() {
+        final EbnfParserCombinatorProfile profile = EbnfParserCombinatorProfiles.profile(1, false);
+
+        this.checkEquals(
+                Optional.of("b"),
+                this.parse(
+                        this.profilingParser(
+                                "TEST=\"a\" | \"b\";",
+                                profile
+                        ),
+                        "b",
+                        EbnfParserContexts.basic()
+                ).map(ParserToken::text)
+        );
+
+        final String report = profile.report();
+        this.checkEquals(
+                true,
+                report.endsWith("Alternatives by failures:\n"),
+                () -> report
+        );
+    }
+
+    private void checkReport(final String report,
+                             final String line) {
+        this.checkEquals(
+                true,
+                report.contains(line),
+                () -> line + " missing from\n" + report
+        );
+    }
+
+    // TEST=B | C;
+    // B=A, "x";
+    // C=A, "y";
+    // A="a", "b";
+    private final static String PROFILING = "TEST=B | C;\nB=A, \"x\";\nC=A, \"y\";\nA=\"a\", \"b\";";
+
+    private Parser<ParserContext> profilingParser(final String grammar,
+                                                  final EbnfParserCombinatorProfile profile) {
+        return EbnfParserCombinators.<ParserContext>transform(
+                EbnfParserToken.parse(grammar),
+                (n) -> Optional.empty(),
+                EbnfParserCombinatorProfiles.transformer(
+                        EbnfParserCombinatorGrammarTransformers.basic(),
+                        profile
+                )
+        ).apply(TEST)
+                .get();
+    }
+
+    private Optional<ParserToken> parse(final Parser<ParserContext> parser,
+                                        final String text,
+                                        final ParserContext context) {
+        return parser.parse(
+                TextCursors.charSequence(text),
+                context
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<EbnfParserCombinatorProfilingGrammarTransformer<?>> type() {
+        return Cast.to(EbnfParserCombinatorProfilingGrammarTransformer.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}